@@ -39,6 +39,7 @@ import io.fair_acc.chartfx.ui.geometry.Side;
 import io.fair_acc.chartfx.ui.layout.ChartPane;
 import io.fair_acc.chartfx.ui.layout.FullSizePane;
 import io.fair_acc.chartfx.ui.layout.TitleLabel;
+import io.fair_acc.chartfx.utils.ChartRenderScheduler;
 import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.chartfx.utils.PropUtil;
 import io.fair_acc.dataset.AxisDescription;
@@ -73,7 +74,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
     // This creates a race condition where delta bits that are already cleared in the datasets may end up dirtying the
     // chart and trigger an unnecessary redraw. To avoid this issue we ignore the delta and pass the current state.
     protected final BitState dataSetState = BitState.initDirtyMultiThreaded(this, BitState.ALL_BITS)
-                                                    .addChangeListener(FXUtils.runOnFxThread((src, deltaBits) -> state.setDirty(src.getBits())));
+                                                    .addChangeListener(FXUtils.runOnFxThread((src, deltaBits) -> mergeDataSetBits(src.getBits())));
 
     private static final String CHART_CSS = Objects.requireNonNull(Chart.class.getResource("chart.css")).toExternalForm();
     private static final CssPropertyFactory<Chart> CSS = new CssPropertyFactory<>(Region.getClassCssMetaData());
@@ -85,6 +86,24 @@ public abstract class Chart extends Region implements EventSource, Measurable {
      * When true any data changes will be animated.
      */
     private final BooleanProperty animated = new SimpleBooleanProperty(this, "animated", false);
+
+    /**
+     * Optional scheduler that shares a per-frame time budget between many charts, null: redraw whenever dirty
+     */
+    private final ObjectProperty<ChartRenderScheduler> renderScheduler = new SimpleObjectProperty<>(this, "renderScheduler") {
+        private ChartRenderScheduler registered;
+
+        @Override
+        protected void invalidated() {
+            if (registered != null) {
+                registered.unregister(Chart.this);
+            }
+            registered = get();
+            if (registered != null) {
+                registered.register(Chart.this);
+            }
+        }
+    };
     // TODO: Check whether 'this' or chart contents need to be added
     /**
      * Animator for animating stuff on the chart
@@ -298,6 +317,22 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         return animated;
     }
 
+    public final ObjectProperty<ChartRenderScheduler> renderSchedulerProperty() {
+        return renderScheduler;
+    }
+
+    public final ChartRenderScheduler getRenderScheduler() {
+        return renderSchedulerProperty().get();
+    }
+
+    /**
+     * @param value scheduler that decides when this chart may redraw (e.g. {@link ChartRenderScheduler#getDefault()}),
+     *            or null to redraw whenever the chart is dirty
+     */
+    public final void setRenderScheduler(final ChartRenderScheduler value) {
+        renderSchedulerProperty().set(value);
+    }
+
     /**
      * @return datasets attached to all renderers
      */
@@ -479,7 +514,11 @@ public abstract class Chart extends Region implements EventSource, Measurable {
     }
 
     protected void runPreLayout() {
-        state.setDirty(dataSetState.clear());
+        final ChartRenderScheduler scheduler = getRenderScheduler();
+        if (scheduler != null) {
+            scheduler.beginFrame();
+        }
+        mergeDataSetBits(dataSetState.clear());
         if (state.isClean()) {
             return;
         }
@@ -564,6 +603,13 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         if (state.isClean() && !hasLocked) {
             return;
         }
+        final ChartRenderScheduler scheduler = getRenderScheduler();
+        if (scheduler != null && !scheduler.isRedrawGranted(this)) {
+            // keep the dirty bits for a later frame, but do not block the data set writers in the meantime
+            unlockDataSets();
+            return;
+        }
+        final long startTime = scheduler == null ? 0 : System.nanoTime();
         benchPostLayout.start();
 
         // Redraw the axes (they internally check dirty bits)
@@ -593,6 +639,9 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         // Clear bits
         clearStates();
         benchPostLayout.stop();
+        if (scheduler != null) {
+            scheduler.recordRedraw(this, System.nanoTime() - startTime);
+        }
     }
 
     protected void ensureLockedDataSets() {
@@ -622,6 +671,12 @@ public abstract class Chart extends Region implements EventSource, Measurable {
                 axisDescription.getBitState().clear();
             }
             ds.getBitState().clear(); // technically a 'write'
+        }
+        unlockDataSets();
+    }
+
+    protected void unlockDataSets() {
+        for (var ds : lockedDataSets) {
             ds.lock().readUnLock();
         }
         hasLocked = false;
@@ -639,6 +694,25 @@ public abstract class Chart extends Region implements EventSource, Measurable {
     private final List<DataSet> lockedDataSets = new ArrayList<>();
     private boolean hasLocked = false;
 
+    /**
+     * @return true while the aggregated DataSet bits are being forwarded to the chart state. Allows invalidation
+     *         listeners of the chart state to tell DataSet updates apart from chart-level invalidations.
+     */
+    protected boolean isMergingDataSetBits() {
+        return mergingDataSetBits;
+    }
+
+    private void mergeDataSetBits(final int bits) {
+        mergingDataSetBits = true;
+        try {
+            state.setDirty(bits);
+        } finally {
+            mergingDataSetBits = false;
+        }
+    }
+
+    private boolean mergingDataSetBits = false;
+
     public final ObjectProperty<Legend> legendProperty() {
         return legend;
     }
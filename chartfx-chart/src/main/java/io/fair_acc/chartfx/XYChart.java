@@ -1,5 +1,8 @@
 package io.fair_acc.chartfx;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -8,7 +11,9 @@ import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
+import javafx.scene.Scene;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.stage.Window;
 
 import io.fair_acc.bench.DurationMeasure;
 import io.fair_acc.bench.MeasurementRecorder;
@@ -22,9 +27,11 @@ import io.fair_acc.chartfx.renderer.spi.GridRenderer;
 import io.fair_acc.chartfx.renderer.spi.LabelledMarkerRenderer;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.geometry.Side;
+import io.fair_acc.chartfx.utils.CanvasLayerCache;
 import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.chartfx.utils.PropUtil;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.utils.AssertUtils;
 
@@ -44,6 +51,12 @@ public class XYChart extends Chart {
     protected final BooleanProperty polarPlot = new SimpleBooleanProperty(this, "polarPlot", false);
     private final ObjectProperty<PolarTickStep> polarStepSize = new SimpleObjectProperty<>(PolarTickStep.THIRTY);
     private final GridRenderer gridRenderer = new GridRenderer(this);
+    private final BooleanProperty layerCaching = new SimpleBooleanProperty(this, "layerCaching", false);
+    private final CanvasLayerCache layerCache = new CanvasLayerCache();
+    private double[] layerKey = new double[0];
+    private boolean layersInvalidated = true;
+    private final List<Renderer> layersToCapture = new ArrayList<>();
+    private boolean captureGrid;
 
     /**
      * Construct a new XYChart with the given axes.
@@ -86,7 +99,14 @@ public class XYChart extends Chart {
                 gridRenderer.getHorizontalMinorGrid().changeCounterProperty(),
                 gridRenderer.getVerticalMajorGrid().changeCounterProperty(),
                 gridRenderer.getVerticalMinorGrid().changeCounterProperty(),
-                gridRenderer.drawOnTopProperty());
+                gridRenderer.drawOnTopProperty(),
+                layerCaching);
+        // chart-level canvas invalidations (e.g. renderer or grid properties) cannot be attributed to a single layer
+        getBitState().addInvalidateListener(BitState.mask(ChartBits.ChartCanvas, ChartBits.ChartRenderers, ChartBits.ChartDataSets), (src, bits) -> {
+            if (!isMergingDataSetBits()) {
+                layersInvalidated = true;
+            }
+        });
 
         getRenderers().addListener(this::rendererChanged);
 
@@ -162,6 +182,14 @@ public class XYChart extends Chart {
         return getFirstAxis(Orientation.VERTICAL);
     }
 
+    /**
+     * @return true if the canvas output of the grid and of cacheable renderers is cached in image layers
+     * @see #layerCachingProperty()
+     */
+    public final boolean isLayerCaching() {
+        return layerCachingProperty().get();
+    }
+
     /**
      * whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -180,6 +208,20 @@ public class XYChart extends Chart {
         return polarPlot;
     }
 
+    /**
+     * Enables caching the canvas output of the grid and of renderers that are {@link Renderer#isLayerCacheable()
+     * cacheable} in image layers. Layers are re-used as long as the axes, the canvas size, and the renderer's DataSets
+     * (data and style) do not change, so that e.g. a chart with many static reference traces and one live trace only
+     * re-rasterises the live trace on updates. Layers are only captured for renderers that stayed unchanged for a
+     * frame, i.e. continuously updated renderers are drawn directly. N.B. changes of DataSets that are shared with
+     * other charts may be missed if their dirty bits are cleared by the other chart first.
+     *
+     * @return property controlling the layer caching (default: false)
+     */
+    public final BooleanProperty layerCachingProperty() {
+        return layerCaching;
+    }
+
     public ObjectProperty<PolarTickStep> polarStepSizeProperty() {
         return polarStepSize;
     }
@@ -195,6 +237,14 @@ public class XYChart extends Chart {
         return this;
     }
 
+    /**
+     * @param state true: cache the canvas output of the grid and of cacheable renderers in image layers
+     * @see #layerCachingProperty()
+     */
+    public final void setLayerCaching(final boolean state) {
+        layerCachingProperty().set(state);
+    }
+
     public void setPolarStepSize(final PolarTickStep step) {
         polarStepSizeProperty().set(step);
     }
@@ -262,28 +312,136 @@ public class XYChart extends Chart {
         FXUtils.assertJavaFxThread();
 
         final GraphicsContext gc = canvas.getGraphicsContext2D();
+        final boolean caching = isLayerCaching();
+        if (caching) {
+            updateLayers();
+        } else {
+            layerCache.clear();
+        }
+        layersInvalidated = false;
+
+        // start the FX-independent preparation of all renderers that are drawn in this frame
+        for (final Renderer renderer : getRenderers()) {
+            if (!layerCache.isValid(renderer)) {
+                renderer.prepareRender();
+            }
+        }
+        if (caching) {
+            captureLayers(gc);
+        }
+
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
         // Bottom grid
         if (!gridRenderer.isDrawOnTop()) {
             benchDrawGrid.start();
-            gridRenderer.render();
+            drawLayer(gc, gridRenderer);
             benchDrawGrid.stop();
         }
 
         // Data
         benchDrawData.start();
         for (final Renderer renderer : getRenderers()) {
-            renderer.render();
+            drawLayer(gc, renderer);
         }
         benchDrawData.stop();
 
         // Top grid
         if (gridRenderer.isDrawOnTop()) {
             benchDrawGrid.start();
+            drawLayer(gc, gridRenderer);
+            benchDrawGrid.stop();
+        }
+
+        if (caching) {
+            layerCache.endFrame();
+        }
+    }
+
+    /**
+     * updates the layer states and determines the layers that became static and need to be captured
+     */
+    private void updateLayers() {
+        layerCache.beginFrame(computeLayerKey(), layersInvalidated);
+        captureGrid = layerCache.needsCapture(gridRenderer, false);
+        layersToCapture.clear();
+        for (final Renderer renderer : getRenderers()) {
+            if (layerCache.needsCapture(renderer, !renderer.isLayerCacheable() || isDataSetDirty(renderer))) {
+                layersToCapture.add(renderer);
+            }
+        }
+    }
+
+    /**
+     * (re-)captures the layers of the grid and of the renderers that became static, each into the cleared canvas
+     */
+    private void captureLayers(final GraphicsContext gc) {
+        if (captureGrid) {
+            benchDrawGrid.start();
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
             gridRenderer.render();
+            layerCache.capture(gridRenderer, canvas);
             benchDrawGrid.stop();
         }
+        for (final Renderer renderer : layersToCapture) {
+            benchDrawData.start();
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            renderer.render();
+            layerCache.capture(renderer, canvas);
+            benchDrawData.stop();
+        }
+        layersToCapture.clear();
+    }
+
+    /**
+     * @return projection state of all layers: canvas size and output scale, polar settings, and the axis ranges,
+     *         transforms and tick marks
+     */
+    private double[] computeLayerKey() {
+        final int nAxes = getAxes().size();
+        final int length = 5 + 10 * nAxes;
+        if (layerKey.length != length) {
+            layerKey = new double[length];
+        }
+        final double[] key = layerKey;
+        final Scene scene = canvas.getScene();
+        final Window window = scene == null ? null : scene.getWindow();
+        int i = 0;
+        key[i++] = canvas.getWidth();
+        key[i++] = canvas.getHeight();
+        key[i++] = window == null ? 1.0 : Math.max(window.getRenderScaleX(), window.getRenderScaleY());
+        key[i++] = isPolarPlot() ? 1 : 0;
+        key[i++] = getPolarStepSize() == null ? -1 : getPolarStepSize().ordinal();
+        for (final Axis axis : getAxes()) {
+            final double min = axis.getMin();
+            final double max = axis.getMax();
+            key[i++] = min;
+            key[i++] = max;
+            key[i++] = axis.getLength();
+            key[i++] = axis.getTickUnit();
+            key[i++] = axis.getDisplayPosition(min);
+            key[i++] = axis.getDisplayPosition(max);
+            key[i++] = axis.getDisplayPosition(0.5 * (min + max)); // non-linear (e.g. log) transforms
+            key[i++] = axis.getSide() == null ? -1 : axis.getSide().ordinal();
+            key[i++] = axis.getTickMarks().size();
+            key[i++] = axis.getMinorTickMarks().size();
+        }
+        return key;
+    }
+
+    private void drawLayer(final GraphicsContext gc, final Renderer renderer) {
+        if (!layerCache.draw(renderer, gc)) {
+            renderer.render();
+        }
+    }
+
+    private static boolean isDataSetDirty(final Renderer renderer) {
+        for (final DataSet dataSet : renderer.getDatasets()) {
+            if (dataSet.getBitState().isDirty()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -847,6 +847,7 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
             // We don't want the first label to flip rows when shifting, so we base it off the tick value
             isEven = ((int) tickMarks.get(0).getValue()) % 2 == 0;
         }
+        final boolean useSprites = isTickLabelSpriteCaching();
         for (TickMark tickMark : tickMarks) {
             isEven = !isEven;
 
@@ -857,10 +858,12 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
 
             double position = tickMark.getPosition();
             double coord = isEven ? evenCoord : oddCoord;
-            if (isHorizontal) {
-                drawTickMarkLabel(gc, position, coord, scaleFont, tickMark);
+            final double x = isHorizontal ? position : coord;
+            final double y = isHorizontal ? coord : position;
+            if (useSprites) {
+                tickLabelSprites.draw(gc, x, y, scaleFont, tickMark.getText());
             } else {
-                drawTickMarkLabel(gc, coord, position, scaleFont, tickMark);
+                drawTickMarkLabel(gc, x, y, scaleFont, tickMark);
             }
         }
 
@@ -973,6 +976,7 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
     }
 
     private final TickMark tmpTickMark = new TickMark(getTickLabelStyle());
+    private final TickLabelSpriteCache tickLabelSprites = new TickLabelSpriteCache(getTickLabelStyle());
 
     protected void updateAxisLabelAlignment() {
         // TODO: maybe set this via CSS?
@@ -88,6 +88,7 @@ public abstract class AbstractAxisParameter extends Pane implements Axis {
                 minorTickStyle.changeCounterProperty(), // not used for layout calculation
                 minorTickCount,
                 minorTickLength,
+                tickLabelSpriteCaching,
 
                 // item placement
                 axisCenterPosition,
@@ -259,6 +260,12 @@ public abstract class AbstractAxisParameter extends Pane implements Axis {
      */
     private final transient BooleanProperty animated = new SimpleBooleanProperty(this, "animated", false);
 
+    /**
+     * When true the tick labels are rasterised once and drawn as cached sprites as long as their text and style remain
+     * unchanged (useful for fast-moving, e.g. time or oscilloscope, axes with many redraws).
+     */
+    private final transient BooleanProperty tickLabelSpriteCaching = new SimpleBooleanProperty(this, "tickLabelSpriteCaching", false);
+
     /**
      * The scale factor from data units to visual units
      */
@@ -621,6 +628,13 @@ public abstract class AbstractAxisParameter extends Pane implements Axis {
         return tickLengthProperty().get();
     }
 
+    /**
+     * @return value of {@link #tickLabelSpriteCachingProperty} property
+     */
+    public boolean isTickLabelSpriteCaching() {
+        return tickLabelSpriteCachingProperty().get();
+    }
+
     /**
      * @return observable list containing of each major TickMark on this axis
      */
@@ -956,6 +970,15 @@ public abstract class AbstractAxisParameter extends Pane implements Axis {
         tickLengthProperty().set(value);
     }
 
+    /**
+     * Sets {@link #tickLabelSpriteCachingProperty} property
+     *
+     * @param value {@code true} if the tick labels shall be drawn as cached raster images
+     */
+    public void setTickLabelSpriteCaching(final boolean value) {
+        tickLabelSpriteCachingProperty().set(value);
+    }
+
     /**
      * This is {@code true} when the axis labels and data point should be plotted according to some time-axis definition
      *
@@ -1009,6 +1032,17 @@ public abstract class AbstractAxisParameter extends Pane implements Axis {
         return tickLength;
     }
 
+    /**
+     * When true the tick labels are rasterised once and drawn as cached sprites as long as their text and style remain
+     * unchanged. The sprites are rendered at the screen's output scale but, unlike text drawn directly, are placed
+     * without sub-pixel glyph positioning.
+     *
+     * @return tickLabelSpriteCaching property
+     */
+    public BooleanProperty tickLabelSpriteCachingProperty() {
+        return tickLabelSpriteCaching;
+    }
+
     /**
      * This is {@code true} when the axis labels and data point should be plotted according to some time-axis definition
      *
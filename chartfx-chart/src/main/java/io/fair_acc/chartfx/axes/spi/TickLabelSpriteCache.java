@@ -0,0 +1,145 @@
+package io.fair_acc.chartfx.axes.spi;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+import javafx.stage.Window;
+
+import io.fair_acc.chartfx.ui.css.TextStyle;
+
+/**
+ * Keeps rasterised images ('sprites') of tick mark labels so that recurring labels are drawn with a single image blit
+ * instead of a text layout and glyph rasterisation on every axis redraw.
+ * <p>
+ * The sprites are rendered at the output scale of the window and the font scale of the axis. They are invalidated
+ * whenever the label style (e.g. font, fill or rotation) or the scale changes, and the cache is reset once more than
+ * {@link #MAX_SPRITES} different labels have been rendered. Only to be used from the JavaFX application thread.
+ */
+public class TickLabelSpriteCache {
+    /** maximum number of cached label images before the cache is reset */
+    public static final int MAX_SPRITES = 512;
+    private final TextStyle style;
+    private final Text renderNode = new Text();
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+    private final Map<String, Sprite> sprites = new HashMap<>();
+    private long usedStyle = -1;
+    private double usedScale = Double.NaN;
+
+    /**
+     * @param style the style of the labels
+     */
+    public TickLabelSpriteCache(final TextStyle style) {
+        this.style = style;
+        snapshotParameters.setFill(Color.TRANSPARENT);
+    }
+
+    /**
+     * Draws the label with its anchor (as defined by the text alignment and origin of the style) at the given position.
+     * N.B. the graphics context is expected to have the label style applied, its global alpha is respected.
+     *
+     * @param gc graphics context to be drawn into
+     * @param x horizontal anchor position
+     * @param y vertical anchor position
+     * @param scaleFont font scaling factor
+     * @param text label text
+     */
+    public void draw(final GraphicsContext gc, final double x, final double y, final double scaleFont, final String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        final double rasterScale = getOutputScale(gc) * scaleFont;
+        if (usedStyle != style.getChangeCounter() || usedScale != rasterScale || sprites.size() >= MAX_SPRITES) {
+            sprites.clear();
+            usedStyle = style.getChangeCounter();
+            usedScale = rasterScale;
+            copyStyle();
+            snapshotParameters.setTransform(new Scale(rasterScale, rasterScale));
+        }
+        Sprite sprite = sprites.get(text);
+        if (sprite == null) {
+            sprite = render(text);
+            sprites.put(text, sprite);
+        }
+        if (sprite.image != null) {
+            gc.drawImage(sprite.image, x + scaleFont * sprite.offsetX, y + scaleFont * sprite.offsetY, scaleFont * sprite.width, scaleFont * sprite.height);
+        }
+    }
+
+    /**
+     * @return number of cached label images
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    private void copyStyle() {
+        renderNode.setFont(style.getFont());
+        renderNode.setFontSmoothingType(style.getFontSmoothingType());
+        renderNode.setFill(style.getFill());
+        renderNode.setStroke(style.getStroke());
+        renderNode.setStrokeWidth(style.getStrokeWidth());
+        renderNode.setTextAlignment(style.getTextAlignment());
+        renderNode.setTextOrigin(style.getTextOrigin());
+        renderNode.setRotate(style.getRotate());
+        // N.B. the opacity is applied via the global alpha of the graphics context
+    }
+
+    private Sprite render(final String text) {
+        renderNode.setText(text);
+        final Bounds layoutBounds = renderNode.getLayoutBounds();
+        final double anchorX;
+        switch (renderNode.getTextAlignment()) {
+        case CENTER:
+            anchorX = layoutBounds.getMinX() + 0.5 * layoutBounds.getWidth();
+            break;
+        case RIGHT:
+            anchorX = layoutBounds.getMaxX();
+            break;
+        case LEFT:
+        case JUSTIFY:
+        default:
+            anchorX = layoutBounds.getMinX();
+            break;
+        }
+        // the vertical anchor coincides with the text origin, the rotation is applied around the anchor by the
+        // graphics context and around the centre by the node, i.e. the offsets need to be relative to the anchor
+        final Point2D anchor = renderNode.localToParent(anchorX, 0.0);
+        final Bounds bounds = renderNode.getBoundsInParent();
+        if (bounds.getWidth() <= 0 || bounds.getHeight() <= 0) {
+            return new Sprite(null, 0, 0, 0, 0);
+        }
+        final WritableImage image = renderNode.snapshot(snapshotParameters, null);
+        return new Sprite(image, bounds.getMinX() - anchor.getX(), bounds.getMinY() - anchor.getY(), bounds.getWidth(), bounds.getHeight());
+    }
+
+    private static double getOutputScale(final GraphicsContext gc) {
+        final Scene scene = gc.getCanvas().getScene();
+        final Window window = scene == null ? null : scene.getWindow();
+        return window == null ? 1.0 : Math.max(window.getRenderScaleX(), window.getRenderScaleY());
+    }
+
+    private static class Sprite {
+        private final WritableImage image;
+        private final double offsetX;
+        private final double offsetY;
+        private final double width;
+        private final double height;
+
+        private Sprite(final WritableImage image, final double offsetX, final double offsetY, final double width, final double height) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
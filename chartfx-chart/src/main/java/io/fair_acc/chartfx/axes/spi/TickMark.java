@@ -57,10 +57,9 @@ public class TickMark {
                 height = 0;
                 width = 0;
             } else {
-                // N.B. important: usage of getBoundsInParent() which also takes into
+                // N.B. important: usage of the bounds in parent which also take into
                 // account text rotations
-                style.setText(text);
-                var bounds = style.getBoundsInParent();
+                var bounds = style.getTextBounds(text);
                 height = bounds.getHeight();
                 width = bounds.getWidth();
             }
@@ -130,6 +130,6 @@ public class DefaultTimeFormatter extends AbstractFormatter {
 
     @Override
     public String toString(final Number utcValueSeconds) {
-        return labelCache.computeIfAbsent(utcValueSeconds, this::getTimeString);
+        return labelCache.computeIfAbsent(utcValueSeconds.doubleValue(), this::getTimeString);
     }
 }
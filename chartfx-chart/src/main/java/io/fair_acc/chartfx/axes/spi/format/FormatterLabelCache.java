@@ -1,36 +1,137 @@
 package io.fair_acc.chartfx.axes.spi.format;
 
-import java.util.WeakHashMap;
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
 
 import javafx.util.StringConverter;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
- * Simple cache to keep recurring results of String formatters
+ * Simple cache to keep recurring results of String formatters.
+ * <p>
+ * The labels are stored in an open-addressing hash table keyed by the primitive {@code double} value (compared like
+ * {@link Double#equals(Object)}) to avoid boxing the tick values on every axis redraw. The cache is bounded: once more
+ * than {@link #getMaxSize()} labels have been added it is cleared and starts over, which keeps the memory footprint
+ * constant for continuously scrolling (e.g. time) axes while the labels of the visible range are re-computed only once.
+ * The class is not thread-safe.
  *
  * @author rstein
  */
-public class FormatterLabelCache extends WeakHashMap<Number, String> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(FormatterLabelCache.class);
+public class FormatterLabelCache {
+    /** default maximum number of labels kept before the cache is reset */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+    private final int maxSize;
+    private long[] keys;
+    private String[] values;
+    private int mask;
+    private int size;
 
     public FormatterLabelCache() {
-        super();
+        this(DEFAULT_MAX_SIZE);
     }
 
-    public String get(final StringConverter<Number> formatter, final Number value) {
+    /**
+     * @param maxSize maximum number of labels kept before the cache is reset
+     */
+    public FormatterLabelCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        // capacity: power of two with a load factor of at most 0.5
+        final int capacity = Integer.highestOneBit(Math.max(8, 2 * maxSize - 1)) << 1;
+        keys = new long[capacity];
+        values = new String[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * removes all cached labels
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * @param value numeric value
+     * @param labelFunction computes the label if it is not cached yet
+     * @return the cached or newly computed label
+     */
+    public String computeIfAbsent(final double value, final DoubleFunction<String> labelFunction) {
+        final long key = Double.doubleToLongBits(value);
+        int index = hash(key) & mask;
+        String label;
+        while ((label = values[index]) != null) {
+            if (keys[index] == key) {
+                return label;
+            }
+            index = (index + 1) & mask;
+        }
+        label = labelFunction.apply(value);
+        if (label == null) {
+            return null; // N.B. 'null' marks empty slots and cannot be cached
+        }
+        if (size >= maxSize) {
+            clear();
+            index = hash(key) & mask;
+        }
+        keys[index] = key;
+        values[index] = label;
+        size++;
+        return label;
+    }
+
+    /**
+     * @param value numeric value
+     * @param labelFunction computes the label if it is not cached yet
+     * @return the cached or newly computed label
+     * @deprecated boxes the value, use {@link #computeIfAbsent(double, DoubleFunction)} (N.B. the cache is no longer a
+     *             {@code WeakHashMap<Number, String>})
+     */
+    @Deprecated
+    public String computeIfAbsent(final Number value, final Function<? super Number, String> labelFunction) {
+        return computeIfAbsent(value.doubleValue(), v -> labelFunction.apply(value));
+    }
+
+    /**
+     * @param formatter formatter used to compute missing labels
+     * @param value numeric value
+     * @return the cached or newly formatted label
+     */
+    public String get(final StringConverter<Number> formatter, final double value) {
         return computeIfAbsent(value, formatter::toString);
     }
 
-    // @Override
-    // public String get(Object key) {
-    // String ret = super.get(key);
-    // if (ret == null) {
-    // System.out.println("cache missed");
-    // } else {
-    // System.out.println("cache hit");
-    // }
-    // return ret;
-    // }
+    /**
+     * @param formatter formatter used to compute missing labels
+     * @param value numeric value
+     * @return the cached or newly formatted label
+     * @deprecated boxes the value, use {@link #get(StringConverter, double)}
+     */
+    @Deprecated
+    public String get(final StringConverter<Number> formatter, final Number value) {
+        return computeIfAbsent(value.doubleValue(), v -> formatter.toString(value));
+    }
+
+    /**
+     * @return maximum number of labels kept before the cache is reset
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return number of cached labels
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
 }
@@ -1,12 +1,11 @@
 package io.fair_acc.chartfx.bench;
 
-import java.util.WeakHashMap;
-
 import javafx.util.StringConverter;
 
 import io.fair_acc.chartfx.axes.AxisLabelOverlapPolicy;
 import io.fair_acc.chartfx.axes.spi.AxisRange;
 import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.axes.spi.format.FormatterLabelCache;
 import io.fair_acc.dataset.spi.fastutil.DoubleArrayList;
 
 /**
@@ -26,8 +25,8 @@ class PercentileAxis extends DefaultNumericAxis {
         setTickLabelFormatter(new StringConverter<Number>() {
             @Override
             public String toString(Number object) {
-                return labelCache.computeIfAbsent(object, number -> {
-                    String str = String.valueOf(HdrHistogramDataSet.convertPercentileFromX(number.doubleValue()));
+                return labelCache.computeIfAbsent(object.doubleValue(), value -> {
+                    String str = String.valueOf(HdrHistogramDataSet.convertPercentileFromX(value));
                     if (str.endsWith(".0")) {
                         str = str.substring(0, str.length() - 2);
                     }
@@ -102,5 +101,5 @@ class PercentileAxis extends DefaultNumericAxis {
     DoubleArrayList majorTicks = new DoubleArrayList();
     DoubleArrayList minorTicks = new DoubleArrayList();
 
-    private static WeakHashMap<Number, String> labelCache = new WeakHashMap<>();
+    private static final FormatterLabelCache labelCache = new FormatterLabelCache(); // N.B. only used on the FX thread
 }
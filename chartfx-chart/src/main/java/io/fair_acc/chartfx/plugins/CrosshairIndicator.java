@@ -4,6 +4,10 @@
 
 package io.fair_acc.chartfx.plugins;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
@@ -17,13 +21,22 @@ import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import javafx.scene.text.Text;
 
+import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
+import io.fair_acc.chartfx.renderer.spi.utils.ScreenPointIndex;
+import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.spi.utils.Tuple;
 
 /**
  * Horizontal and vertical {@link Line} drawn on the plot area, crossing at the mouse cursor location, together with a
  * {@link Text} displaying the cursor coordinates in data units.
  * <p>
+ * If {@link #snapToDataPointProperty()} is enabled, the crosshair snaps to the nearest data point (drawn by an
+ * {@link ErrorDataSetRenderer}) within the {@link #pickingDistanceProperty()}, which is looked up in the renderer's
+ * {@link ErrorDataSetRenderer#getScreenPointIndex(DataSet) screen-space index}, and the label shows its coordinates.
+ * <p>
  * CSS style class names: {@value #STYLE_CLASS_PATH} and {@value #STYLE_CLASS_LABEL}
  *
  * @author Grzegorz Kruk
@@ -36,6 +49,15 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
 
     protected final Path crosshairPath = new Path();
     protected final Text coordinatesLabel = new Text();
+    private final BooleanProperty snapToDataPoint = new SimpleBooleanProperty(this, "snapToDataPoint", false);
+    private final DoubleProperty pickingDistance = new SimpleDoubleProperty(this, "pickingDistance", DataPointTooltip.DEFAULT_PICKING_DISTANCE) {
+        @Override
+        protected void invalidated() {
+            if (get() <= 0) {
+                throw new IllegalArgumentException("The " + getName() + " must be a positive value");
+            }
+        }
+    };
 
     /**
      * Creates a new instance of CrosshairIndicator class.
@@ -56,8 +78,18 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
             }
 
             final Bounds plotAreaBounds = getChart().getPlotArea().getBoundsInLocal();
-            updatePath(event, plotAreaBounds);
-            updateLabel(event, plotAreaBounds);
+            final Point2D mouseLocation = getLocationInPlotArea(event);
+            final SnapPoint snapPoint = isSnapToDataPoint() ? findNearestDataPoint(mouseLocation) : null;
+            if (snapPoint == null) {
+                updatePath(event.getX(), event.getY(), plotAreaBounds);
+                updateLabel(event.getX(), event.getY(), plotAreaBounds, formatLabelText(mouseLocation));
+            } else {
+                // shift from plot area to chart coordinates
+                final double x = event.getX() + snapPoint.displayX - mouseLocation.getX();
+                final double y = event.getY() + snapPoint.displayY - mouseLocation.getY();
+                updatePath(x, y, plotAreaBounds);
+                updateLabel(x, y, plotAreaBounds, formatData(snapPoint.renderer, new Tuple<>(snapPoint.x, snapPoint.y)));
+            }
 
             if (!getChartChildren().contains(crosshairPath)) {
                 getChartChildren().addAll(crosshairPath, coordinatesLabel);
@@ -66,6 +98,95 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
         registerInputEventHandler(MouseEvent.ANY, mouseMoveHandler);
     }
 
+    /**
+     * @param mouseLocation mouse location in plot area coordinates
+     * @return nearest data point within the picking distance, {@code null} if none
+     */
+    protected SnapPoint findNearestDataPoint(final Point2D mouseLocation) {
+        if (mouseLocation == null || !(getChart() instanceof XYChart)) {
+            return null;
+        }
+        SnapPoint nearest = null;
+        for (final Renderer renderer : ((XYChart) getChart()).getRenderers()) {
+            if (!(renderer instanceof ErrorDataSetRenderer)) {
+                continue;
+            }
+            final ErrorDataSetRenderer errorRenderer = (ErrorDataSetRenderer) renderer;
+            for (final DataSet dataSet : renderer.getDatasets()) {
+                final ScreenPointIndex screenPointIndex = errorRenderer.getScreenPointIndex(dataSet);
+                final int index = screenPointIndex == null ? -1 : screenPointIndex.findNearest(mouseLocation.getX(), mouseLocation.getY(), getPickingDistance());
+                if (index < 0) {
+                    continue;
+                }
+                // N.B. snap to the indexed screen position rather than the axis display positions, which differ for polar plots
+                final double displayX = screenPointIndex.getNearestX();
+                final double displayY = screenPointIndex.getNearestY();
+                final SnapPoint candidate = dataSet.lock().readLockGuard(() -> {
+                    if (index >= dataSet.getDataCount()) {
+                        return null;
+                    }
+                    return new SnapPoint(renderer, dataSet.get(DataSet.DIM_X, index), dataSet.get(DataSet.DIM_Y, index), displayX, displayY, mouseLocation);
+                });
+                if (candidate != null && (nearest == null || candidate.distance < nearest.distance)) {
+                    nearest = candidate;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Returns the value of the {@link #pickingDistanceProperty()}.
+     *
+     * @return the current picking distance
+     */
+    public final double getPickingDistance() {
+        return pickingDistanceProperty().get();
+    }
+
+    /**
+     * @return true if the crosshair snaps to the nearest data point
+     */
+    public final boolean isSnapToDataPoint() {
+        return snapToDataPointProperty().get();
+    }
+
+    /**
+     * Maximum distance of the mouse cursor from a data point (expressed in display units) for the crosshair to snap to
+     * it. By default initialised to {@value DataPointTooltip#DEFAULT_PICKING_DISTANCE}.
+     *
+     * @return the picking distance property
+     */
+    public final DoubleProperty pickingDistanceProperty() {
+        return pickingDistance;
+    }
+
+    /**
+     * Sets the value of {@link #pickingDistanceProperty()}.
+     *
+     * @param distance the new picking distance
+     */
+    public final void setPickingDistance(final double distance) {
+        pickingDistanceProperty().set(distance);
+    }
+
+    /**
+     * @param state true: the crosshair snaps to the nearest data point within the picking distance
+     */
+    public final void setSnapToDataPoint(final boolean state) {
+        snapToDataPointProperty().set(state);
+    }
+
+    /**
+     * Whether the crosshair snaps to the nearest data point within the {@link #pickingDistanceProperty()}. Disabled by
+     * default.
+     *
+     * @return the snap-to-data-point property
+     */
+    public final BooleanProperty snapToDataPointProperty() {
+        return snapToDataPoint;
+    }
+
     private String formatLabelText(final Point2D displayPointInPlotArea) {
         final Axis yAxis = getChart().getFirstAxis(Orientation.VERTICAL);
         if (yAxis == null) {
@@ -79,30 +200,51 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
         return formatData(getChart(), tuple);
     }
 
-    private void updateLabel(final MouseEvent event, final Bounds plotAreaBounds) {
-        coordinatesLabel.setText(formatLabelText(getLocationInPlotArea(event)));
+    private void updateLabel(final double mouseX, final double mouseY, final Bounds plotAreaBounds, final String text) {
+        coordinatesLabel.setText(text);
 
         final double width = coordinatesLabel.prefWidth(-1);
         final double height = coordinatesLabel.prefHeight(width);
 
-        double xLocation = event.getX() + CrosshairIndicator.LABEL_X_OFFSET;
-        double yLocation = event.getY() + CrosshairIndicator.LABEL_Y_OFFSET;
+        double xLocation = mouseX + CrosshairIndicator.LABEL_X_OFFSET;
+        double yLocation = mouseY + CrosshairIndicator.LABEL_Y_OFFSET;
 
         if (xLocation + width > plotAreaBounds.getMaxX()) {
-            xLocation = event.getX() - CrosshairIndicator.LABEL_X_OFFSET - width;
+            xLocation = mouseX - CrosshairIndicator.LABEL_X_OFFSET - width;
         }
         if (yLocation + height > plotAreaBounds.getMaxY()) {
-            yLocation = event.getY() - CrosshairIndicator.LABEL_Y_OFFSET - height;
+            yLocation = mouseY - CrosshairIndicator.LABEL_Y_OFFSET - height;
         }
         coordinatesLabel.resizeRelocate(xLocation, yLocation, width, height);
     }
 
-    private void updatePath(final MouseEvent event, final Bounds plotAreaBounds) {
+    private void updatePath(final double mouseX, final double mouseY, final Bounds plotAreaBounds) {
         final ObservableList<PathElement> path = crosshairPath.getElements();
         path.clear();
-        path.add(new MoveTo(plotAreaBounds.getMinX() + 1, event.getY()));
-        path.add(new LineTo(plotAreaBounds.getMaxX(), event.getY()));
-        path.add(new MoveTo(event.getX(), plotAreaBounds.getMinY() + 1));
-        path.add(new LineTo(event.getX(), plotAreaBounds.getMaxY()));
+        path.add(new MoveTo(plotAreaBounds.getMinX() + 1, mouseY));
+        path.add(new LineTo(plotAreaBounds.getMaxX(), mouseY));
+        path.add(new MoveTo(mouseX, plotAreaBounds.getMinY() + 1));
+        path.add(new LineTo(mouseX, plotAreaBounds.getMaxY()));
+    }
+
+    /**
+     * data point the crosshair snaps to
+     */
+    protected static class SnapPoint {
+        public final Renderer renderer;
+        public final double x;
+        public final double y;
+        public final double displayX;
+        public final double displayY;
+        public final double distance;
+
+        public SnapPoint(final Renderer renderer, final double x, final double y, final double displayX, final double displayY, final Point2D mouseLocation) {
+            this.renderer = renderer;
+            this.x = x;
+            this.y = y;
+            this.displayX = displayX;
+            this.displayY = displayY;
+            this.distance = mouseLocation.distance(displayX, displayY);
+        }
     }
 }
@@ -3,10 +3,9 @@
  */
 package io.fair_acc.chartfx.plugins;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javafx.beans.property.DoubleProperty;
@@ -23,6 +22,7 @@ import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.renderer.Renderer;
 import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
+import io.fair_acc.chartfx.renderer.spi.utils.ScreenPointIndex;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.GridDataSet;
 import io.fair_acc.dataset.spi.utils.Tuple;
@@ -32,6 +32,10 @@ import io.fair_acc.dataset.spi.utils.Tuple;
  * created/shown for given plot, the tool tip is shown for the closest data point that is within the
  * {@link #pickingDistanceProperty()} from the mouse cursor.
  * <p>
+ * For {@link ErrorDataSetRenderer}s, the nearest point is looked up in the renderer's
+ * {@link ErrorDataSetRenderer#getScreenPointIndex(DataSet) screen-space index} rather than by scanning the data set,
+ * which keeps the hover responsive also for large, unsorted (e.g. scatter or polar) data sets.
+ * <p>
  * CSS style class name: {@value #STYLE_CLASS_LABEL}
  * <p>
  * TODO: extend so that label = new Label(); is a generic object and can also be overwritten with
@@ -127,7 +131,18 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
             return Stream.empty(); // TODO: correct impl for grid data sets
         }
 
+        final ScreenPointIndex screenPointIndex = renderer instanceof ErrorDataSetRenderer ? ((ErrorDataSetRenderer) renderer).getScreenPointIndex(dataset) : null;
         return dataset.lock().readLockGuard(() -> {
+            if (screenPointIndex != null) {
+                // nearest point drawn during the last redraw, independent of the data ordering
+                final int index = screenPointIndex.findNearest(mouseLocation.getX(), mouseLocation.getY(), getPickingDistance());
+                if (index < 0 || index >= dataset.getDataCount()) {
+                    return Stream.empty();
+                }
+                final DataPoint dataPoint = getDataPointFromDataSet(renderer, dataset, xAxis, yAxis, mouseLocation, index);
+                return Stream.of(dataPoint.withFormattedLabel(formatLabel(dataPoint)));
+            }
+
             int minIdx = 0;
             int maxIdx = dataset.getDataCount();
 
@@ -140,12 +155,18 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
                 maxIdx = Math.min(dataset.getDataCount(), dataset.getIndex(DataSet.DIM_X, xMax) + 1);
             }
 
-            return IntStream.range(minIdx, maxIdx) // loop over all candidate points
-                    .mapToObj(i -> getDataPointFromDataSet(renderer, dataset, xAxis, yAxis, mouseLocation, i)) // get points with distance to mouse
-                    .filter(p -> p.distanceFromMouse <= getPickingDistance()) // filter out points which are too far away
-                    .map(dataPoint -> dataPoint.withFormattedLabel(formatLabel(dataPoint)))
-                    .collect(Collectors.toList()) // Realize list so that calculations are done within the data set lock
-                    .stream();
+            // loop over all candidate points, the data points (and labels) are only created for those in range
+            final double pickingDistance = getPickingDistance();
+            final List<DataPoint> points = new ArrayList<>();
+            for (int i = minIdx; i < maxIdx; i++) {
+                final double dx = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i)) - mouseLocation.getX();
+                final double dy = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i)) - mouseLocation.getY();
+                if (dx * dx + dy * dy <= pickingDistance * pickingDistance) {
+                    final DataPoint dataPoint = getDataPointFromDataSet(renderer, dataset, xAxis, yAxis, mouseLocation, i);
+                    points.add(dataPoint.withFormattedLabel(formatLabel(dataPoint)));
+                }
+            }
+            return points.stream(); // realized list so that calculations are done within the data set lock
         });
     }
 
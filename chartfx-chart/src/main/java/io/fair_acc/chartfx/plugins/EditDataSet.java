@@ -1,5 +1,6 @@
 package io.fair_acc.chartfx.plugins;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,6 +51,8 @@ import io.fair_acc.chartfx.Chart;
 import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
+import io.fair_acc.chartfx.renderer.spi.utils.ScreenPointIndex;
 import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.EditConstraints;
@@ -311,21 +314,65 @@ public class EditDataSet extends TableViewer {
             for (int i = indexMin; i < indexMax; i++) {
                 final double y = dataSet.get(DataSet.DIM_Y, i);
                 if ((y >= yMin) && (y <= yMax)) {
-                    if (isShiftDown()) {
-                        // add if not existing/remove if existing
-                        if (dataSetHashMap.get(i) != null) {
-                            dataSetHashMap.remove(i);
-                        } else {
-                            dataSetHashMap.put(i, new SelectedDataPoint(xAxis, yAxis, dataSet, i));
-                        }
-                    } else {
-                        dataSetHashMap.put(i, new SelectedDataPoint(xAxis, yAxis, dataSet, i));
-                    }
+                    markPoint(dataSetHashMap, xAxis, yAxis, dataSet, i);
                 }
             }
         }
     }
 
+    /**
+     * Marks the points within the selection rectangle. For data sets drawn by an {@link ErrorDataSetRenderer}, the
+     * points are looked up in the renderer's screen-space index (independent of the data ordering), the others are
+     * handled by {@link #findDataPoint(Axis, Axis, List)}.
+     *
+     * @param renderer the renderer drawing the data sets
+     * @param xAxis the renderer's x-axis
+     * @param yAxis the renderer's y-axis
+     * @param dataSets the renderer's data sets
+     */
+    protected void findDataPoint(final Renderer renderer, final Axis xAxis, final Axis yAxis, final List<DataSet> dataSets) {
+        if (!(renderer instanceof ErrorDataSetRenderer) || xAxis == null || yAxis == null || dataSets == null) {
+            findDataPoint(xAxis, yAxis, dataSets);
+            return;
+        }
+        final double xMinScreen = Math.min(selectStartPoint.getX(), selectEndPoint.getX());
+        final double xMaxScreen = Math.max(selectStartPoint.getX(), selectEndPoint.getX());
+        final double yMinScreen = Math.min(selectStartPoint.getY(), selectEndPoint.getY());
+        final double yMaxScreen = Math.max(selectStartPoint.getY(), selectEndPoint.getY());
+
+        final List<DataSet> notIndexed = new ArrayList<>();
+        for (final DataSet ds : dataSets) {
+            final ScreenPointIndex screenPointIndex = ((ErrorDataSetRenderer) renderer).getScreenPointIndex(ds);
+            if (!(ds instanceof EditableDataSet) || screenPointIndex == null) {
+                notIndexed.add(ds);
+                continue;
+            }
+            final EditableDataSet dataSet = (EditableDataSet) ds;
+            final int dataCount = dataSet.getDataCount();
+            final ConcurrentHashMap<Integer, SelectedDataPoint> dataSetHashMap = markedPoints.computeIfAbsent(dataSet,
+                    k -> new ConcurrentHashMap<>());
+            screenPointIndex.forEachInRectangle(xMinScreen, xMaxScreen, yMinScreen, yMaxScreen, i -> {
+                if (i < dataCount) {
+                    markPoint(dataSetHashMap, xAxis, yAxis, dataSet, i);
+                }
+            });
+        }
+        findDataPoint(xAxis, yAxis, notIndexed);
+    }
+
+    private void markPoint(final ConcurrentHashMap<Integer, SelectedDataPoint> dataSetHashMap, final Axis xAxis, final Axis yAxis, final EditableDataSet dataSet, final int index) {
+        if (isShiftDown()) {
+            // add if not existing/remove if existing
+            if (dataSetHashMap.get(index) != null) {
+                dataSetHashMap.remove(index);
+            } else {
+                dataSetHashMap.put(index, new SelectedDataPoint(xAxis, yAxis, dataSet, index));
+            }
+        } else {
+            dataSetHashMap.put(index, new SelectedDataPoint(xAxis, yAxis, dataSet, index));
+        }
+    }
+
     protected DataPoint findNearestDataPoint(final Chart chart, final Point2D mouseLocation) {
         if (!(chart instanceof XYChart)) {
             return null;
@@ -334,8 +381,30 @@ public class EditDataSet extends TableViewer {
         // TODO: iterate through all axes, renderer and datasets
         final double xValue = xyChart.getXAxis().getValueForDisplay(mouseLocation.getX());
 
+        // data sets drawn by an ErrorDataSetRenderer: nearest point from the renderer's screen-space index
+        final List<DataPoint> candidates = new ArrayList<>();
+        final List<DataSet> notIndexed = new ArrayList<>(xyChart.getAllDatasets());
+        for (final Renderer renderer : xyChart.getRenderers()) {
+            if (!(renderer instanceof ErrorDataSetRenderer)) {
+                continue;
+            }
+            for (final DataSet dataSet : renderer.getDatasets()) {
+                final ScreenPointIndex screenPointIndex = ((ErrorDataSetRenderer) renderer).getScreenPointIndex(dataSet);
+                if (screenPointIndex == null) {
+                    continue;
+                }
+                notIndexed.removeIf(ds -> ds == dataSet);
+                final int index = screenPointIndex.findNearest(mouseLocation.getX(), mouseLocation.getY(), Double.POSITIVE_INFINITY);
+                if (index >= 0 && index < dataSet.getDataCount()) {
+                    candidates.add(new DataPoint(getChart(), dataSet, index, dataSet.get(DataSet.DIM_X, index), dataSet.get(DataSet.DIM_Y, index), dataSet.getDataLabel(index)));
+                }
+            }
+        }
+        // other data sets: neighbours in x
+        candidates.addAll(findNeighborPoints(notIndexed, xValue));
+
         DataPoint nearestDataPoint = null;
-        for (final DataPoint dataPoint : findNeighborPoints(xyChart, xValue)) {
+        for (final DataPoint dataPoint : candidates) {
             if (getChart().getFirstAxis(Orientation.HORIZONTAL) != null) {
                 final double x = xyChart.getXAxis().getDisplayPosition(dataPoint.getX());
                 final double y = xyChart.getYAxis().getDisplayPosition(dataPoint.getY());
@@ -387,8 +456,12 @@ public class EditDataSet extends TableViewer {
     }
 
     protected List<DataPoint> findNeighborPoints(final XYChart chart, final double searchedX) {
+        return findNeighborPoints(chart.getAllDatasets(), searchedX);
+    }
+
+    protected List<DataPoint> findNeighborPoints(final List<DataSet> dataSets, final double searchedX) {
         final List<DataPoint> points = new LinkedList<>();
-        for (final DataSet dataSet : chart.getAllDatasets()) {
+        for (final DataSet dataSet : dataSets) {
             final Pair<DataPoint, DataPoint> neighborPoints = findNeighborPoints(dataSet, searchedX);
             if (neighborPoints.getKey() != null) {
                 points.add(neighborPoints.getKey());
@@ -597,7 +670,7 @@ public class EditDataSet extends TableViewer {
 
         for (final Renderer rend : xyChart.getRenderers()) {
             final ObservableList<Axis> axes = rend.getAxes();
-            findDataPoint(getFirstAxis(axes, Orientation.HORIZONTAL), getFirstAxis(axes, Orientation.VERTICAL),
+            findDataPoint(rend, getFirstAxis(axes, Orientation.HORIZONTAL), getFirstAxis(axes, Orientation.VERTICAL),
                     rend.getDatasets());
         }
 
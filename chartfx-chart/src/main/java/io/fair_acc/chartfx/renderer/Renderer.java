@@ -80,6 +80,15 @@ public interface Renderer extends Measurable.EmptyDefault {
         // empty by default
     }
 
+    /**
+     * Optional method that allows the renderer to start the FX-independent preparation of its output (e.g. screen
+     * coordinate transforms and data reduction) on worker threads. Gets called after the layout, i.e. when the axis
+     * ranges and lengths are final, immediately before {@link #render()} within the same frame.
+     */
+    default void prepareRender() { // #NOPMD
+        // empty by default
+    }
+
     default void runPostLayout() { // #NOPMD
         // empty by default
     }
@@ -104,6 +113,17 @@ public interface Renderer extends Measurable.EmptyDefault {
      */
     void updateAxisRange(Axis axis, AxisRange range);
 
+    /**
+     * Whether the output of {@link #render()} only depends on the chart axes and the attached DataSets (including
+     * their styles) so that the chart may cache it in an image layer while none of these change.
+     *
+     * @return true if the rendered output may be cached (default: false)
+     * @see io.fair_acc.chartfx.XYChart#layerCachingProperty()
+     */
+    default boolean isLayerCacheable() {
+        return false;
+    }
+
     /**
      * renders the contents to screen
      */
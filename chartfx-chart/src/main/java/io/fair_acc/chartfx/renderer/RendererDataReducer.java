@@ -5,6 +5,29 @@ package io.fair_acc.chartfx.renderer;
  *         input arrays)
  */
 public interface RendererDataReducer {
+    /**
+     * Whether {@link #reducePoints} may be invoked concurrently for different input arrays, e.g. by the
+     * {@link io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer ErrorDataSetRenderer} which prepares several DataSets
+     * in parallel on worker threads. Reducers that keep per-invocation state in their instance must return
+     * {@code false} (default) and are then only invoked from the rendering thread.
+     *
+     * @return {@code true} if the reducer may be invoked concurrently
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * Parameters the result of {@link #reducePoints} depends on besides its input (e.g. pixel distances or tolerances).
+     * Renderers that cache reduced points, e.g. the {@link io.fair_acc.chartfx.renderer.spi.HistoryDataSetRenderer
+     * HistoryDataSetRenderer}, compare them to detect outdated caches.
+     *
+     * @return the current reduction parameters, empty (default) if the reducer has none
+     */
+    default double[] getReductionParameters() {
+        return new double[0];
+    }
+
     /**
      * Internal function to the ErrorDataSetRenderer arrays are cached copies and operations are assumed to be performed
      * in-place (&lt;-&gt; for performance reasons/minimisation of memory allocation)
@@ -0,0 +1,257 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import java.util.stream.IntStream;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+
+/**
+ * Common base of the reducers that select a subset of the (screen-coordinate) input points without modifying them, e.g.
+ * based on the pixel columns they fall into. Points are moved in-place to the front of the arrays together with their
+ * errors, styles and selection state. Large inputs may be partitioned into contiguous index ranges that are reduced
+ * concurrently and merged afterwards.
+ * <p>
+ * N.B. the error and style arrays may be {@code null} and are then ignored. The partitions are processed on the common
+ * fork-join pool so that the reducers may safely be invoked from within other worker threads.
+ */
+public abstract class AbstractPixelDataReducer implements RendererDataReducer {
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+    private final IntegerProperty pixelColumnWidth = new SimpleIntegerProperty(this, "pixelColumnWidth", 1) {
+        @Override
+        public void set(final int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("pixelColumnWidth " + value + " must be greater than zero");
+            }
+            super.set(value);
+        }
+    };
+    private final IntegerProperty parallelThreshold = new SimpleIntegerProperty(this, "parallelThreshold", DEFAULT_PARALLEL_THRESHOLD) {
+        @Override
+        public void set(final int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("parallelThreshold " + value + " must be greater than or equal to zero");
+            }
+            super.set(value);
+        }
+    };
+
+    protected AbstractPixelDataReducer(final int defaultPixelColumnWidth) {
+        setPixelColumnWidth(defaultPixelColumnWidth);
+    }
+
+    /**
+     * @return the minimum number of points above which the input is partitioned and reduced concurrently
+     */
+    public final int getParallelThreshold() {
+        return parallelThresholdProperty().get();
+    }
+
+    /**
+     * @return the width of the screen columns (in pixel) the points are grouped into
+     */
+    public final int getPixelColumnWidth() {
+        return pixelColumnWidthProperty().get();
+    }
+
+    /**
+     * @return the minimum number of points above which the input is partitioned and reduced concurrently, 0: always
+     *         sequential
+     */
+    public final IntegerProperty parallelThresholdProperty() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @return the width of the screen columns (in pixel) the points are grouped into
+     */
+    public final IntegerProperty pixelColumnWidthProperty() {
+        return pixelColumnWidth;
+    }
+
+    /**
+     * @return the pixel column width and parallel threshold (the partitions are reduced independently)
+     */
+    @Override
+    public double[] getReductionParameters() {
+        return new double[] { getPixelColumnWidth(), getParallelThreshold() };
+    }
+
+    /**
+     * @return {@code true}: the reduction does not modify the reducer state
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        checkArguments(xValues, yValues, pointSelected, indexMin, indexMax);
+        final Points points = new Points(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected);
+        final double columnWidth = getPixelColumnWidth();
+        final int threshold = getParallelThreshold();
+        final int nPartitions = threshold <= 0 ? 1 : Math.min(CachedDaemonThreadFactory.getNumbersOfThreads(), (indexMax - indexMin) / threshold + 1);
+        if (nPartitions <= 1) {
+            return reduce(points, columnWidth, indexMin, indexMax, 0);
+        }
+
+        // partitions start at pixel column boundaries
+        final int[] from = new int[nPartitions + 1];
+        final int[] count = new int[nPartitions];
+        from[0] = indexMin;
+        from[nPartitions] = indexMax;
+        for (int i = 1; i < nPartitions; i++) {
+            int start = Math.max(from[i - 1], indexMin + (int) ((long) (indexMax - indexMin) * i / nPartitions));
+            while (start > indexMin && start < indexMax && getColumn(xValues[start], columnWidth) == getColumn(xValues[start - 1], columnWidth)) {
+                start++;
+            }
+            from[i] = start;
+        }
+        IntStream.range(0, nPartitions).parallel().forEach(i -> { // fork-join: safe to be nested in other workers
+            // each partition compacts its points to the front of its own index range
+            count[i] = from[i] == from[i + 1] ? 0 : reduce(points, columnWidth, from[i], from[i + 1], from[i]);
+        });
+
+        // merge the partitions
+        int nPoints = 0;
+        for (int i = 0; i < nPartitions; i++) {
+            points.moveRange(from[i], nPoints, count[i]);
+            nPoints += count[i];
+        }
+        return nPoints;
+    }
+
+    /**
+     * @param threshold the minimum number of points above which the input is partitioned and reduced concurrently, 0:
+     *            always sequential
+     */
+    public final void setParallelThreshold(final int threshold) {
+        parallelThresholdProperty().set(threshold);
+    }
+
+    /**
+     * @param width the width of the screen columns (in pixel) the points are grouped into
+     */
+    public final void setPixelColumnWidth(final int width) {
+        pixelColumnWidthProperty().set(width);
+    }
+
+    /**
+     * Reduces the points within the range [from, to) and moves the remaining ones in-place to [dest, dest + returned
+     * count). The range is either the whole input or a partition of it starting at a pixel column boundary. N.B.
+     * partitions are reduced concurrently, implementations must not access points outside of their range.
+     *
+     * @param points the points to be reduced
+     * @param columnWidth the width of the pixel columns
+     * @param from minimum index of the range (inclusive)
+     * @param to maximum index of the range (exclusive)
+     * @param dest destination index of the first remaining point, dest &lt;= from
+     * @return number of points that remain after the reduction
+     */
+    protected abstract int reduce(Points points, double columnWidth, int from, int to, int dest);
+
+    static void checkArguments(final double[] xValues, final double[] yValues, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        AssertUtils.checkArrayDimension("yValues", yValues, xValues.length);
+        AssertUtils.checkArrayDimension("pointSelected", pointSelected, xValues.length);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        if (indexMax < indexMin || indexMax > xValues.length) {
+            throw new IllegalArgumentException("indexMax " + indexMax + " must be within [" + indexMin + ", " + xValues.length + "]");
+        }
+    }
+
+    /**
+     * @param x the screen coordinate
+     * @param columnWidth the width of the pixel columns
+     * @return index of the pixel column the coordinate falls into
+     */
+    protected static long getColumn(final double x, final double columnWidth) {
+        return (long) Math.floor(x / columnWidth);
+    }
+
+    /**
+     * View of the point arrays passed to {@link #reducePoints}
+     */
+    protected static final class Points {
+        /** screen x coordinates */
+        public final double[] x;
+        /** screen y coordinates */
+        public final double[] y;
+        private final double[] xErrorPos;
+        private final double[] xErrorNeg;
+        private final double[] yErrorPos;
+        private final double[] yErrorNeg;
+        private final String[] styles;
+        private final boolean[] selected;
+
+        Points(final double[] x, final double[] y, final double[] xErrorPos, final double[] xErrorNeg, final double[] yErrorPos, final double[] yErrorNeg, final String[] styles, final boolean[] selected) {
+            this.x = x;
+            this.y = y;
+            this.xErrorPos = xErrorPos;
+            this.xErrorNeg = xErrorNeg;
+            this.yErrorPos = yErrorPos;
+            this.yErrorNeg = yErrorNeg;
+            this.styles = styles;
+            this.selected = selected;
+        }
+
+        /**
+         * copies the point at index 'from' including its errors, style and selection state to index 'to'
+         *
+         * @param from source index
+         * @param to destination index
+         */
+        public void move(final int from, final int to) {
+            if (from == to) {
+                return;
+            }
+            x[to] = x[from];
+            y[to] = y[from];
+            if (xErrorPos != null && xErrorNeg != null) {
+                xErrorPos[to] = xErrorPos[from];
+                xErrorNeg[to] = xErrorNeg[from];
+            }
+            if (yErrorPos != null && yErrorNeg != null) {
+                yErrorPos[to] = yErrorPos[from];
+                yErrorNeg[to] = yErrorNeg[from];
+            }
+            if (styles != null) {
+                styles[to] = styles[from];
+            }
+            selected[to] = selected[from];
+        }
+
+        /**
+         * copies the points within [from, from + length) to [to, to + length) (ranges may overlap)
+         *
+         * @param from source index
+         * @param to destination index
+         * @param length number of points
+         */
+        public void moveRange(final int from, final int to, final int length) {
+            if (from == to || length <= 0) {
+                return;
+            }
+            System.arraycopy(x, from, x, to, length);
+            System.arraycopy(y, from, y, to, length);
+            if (xErrorPos != null && xErrorNeg != null) {
+                System.arraycopy(xErrorPos, from, xErrorPos, to, length);
+                System.arraycopy(xErrorNeg, from, xErrorNeg, to, length);
+            }
+            if (yErrorPos != null && yErrorNeg != null) {
+                System.arraycopy(yErrorPos, from, yErrorPos, to, length);
+                System.arraycopy(yErrorNeg, from, yErrorNeg, to, length);
+            }
+            if (styles != null) {
+                System.arraycopy(styles, from, styles, to, length);
+            }
+            System.arraycopy(selected, from, selected, to, length);
+        }
+    }
+}
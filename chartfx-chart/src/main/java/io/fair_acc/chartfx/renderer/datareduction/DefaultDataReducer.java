@@ -37,6 +37,22 @@ public class DefaultDataReducer implements RendererDataReducer {
         return minPointPixelDistance;
     }
 
+    /**
+     * @return the minimum point pixel distance
+     */
+    @Override
+    public double[] getReductionParameters() {
+        return new double[] { getMinPointPixelDistance() };
+    }
+
+    /**
+     * @return {@code true}: the reduction does not modify the reducer state
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     /**
      * Internal function to the ErrorDataSetRenderer arrays are cached copies and operations are assumed to be performed
      * in-place (&lt;-&gt; for performance reasons/minimisation of memory allocation)
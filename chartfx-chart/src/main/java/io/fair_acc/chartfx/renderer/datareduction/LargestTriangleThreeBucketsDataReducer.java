@@ -0,0 +1,94 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+/**
+ * Largest-Triangle-Three-Buckets (LTTB) down-sampling (S. Steinarsson, 'Downsampling Time Series for Visual
+ * Representation', MSc thesis, University of Iceland, 2013): the first and last point are kept and every bucket in
+ * between is represented by the point that spans the largest triangle with the point selected for the previous bucket
+ * and the average of the following bucket. The buckets are pixel columns of {@link #getPixelColumnWidth()} pixels so
+ * that the number of remaining points scales with the drawn width rather than the number of input points. Visually
+ * more pleasing than the {@link M4DataReducer} for scatter and sparse line plots but, unlike M4, not lossless. N.B.
+ * numerical complexity: average = worst-case = O(n), computed in-place without allocations.
+ * <p>
+ * The points are kept unmodified including their errors, styles and selection state. Buckets containing NaN points
+ * are represented by their first NaN point so that gaps remain visible. If the input is partitioned for concurrent
+ * reduction, each partition keeps its own first and last point.
+ */
+public class LargestTriangleThreeBucketsDataReducer extends AbstractPixelDataReducer {
+    private static final int DEFAULT_PIXEL_COLUMN_WIDTH = 2;
+
+    public LargestTriangleThreeBucketsDataReducer() {
+        super(DEFAULT_PIXEL_COLUMN_WIDTH);
+    }
+
+    @Override
+    protected int reduce(final Points points, final double columnWidth, final int from, final int to, final int dest) {
+        final int length = to - from;
+        if (length <= 2) {
+            points.moveRange(from, dest, length);
+            return length;
+        }
+        final double[] xValues = points.x;
+        final double[] yValues = points.y;
+
+        // the first point is always kept and is the anchor of the first bucket
+        double anchorX = xValues[from];
+        double anchorY = yValues[from];
+        int count = dest;
+        points.move(from, count++);
+
+        final int innerEnd = to - 1;
+        int bucketStart = from + 1;
+        int bucketEnd = getColumnEnd(xValues, columnWidth, bucketStart, innerEnd);
+        while (bucketStart < innerEnd) {
+            // average of the next bucket or the last point for the final bucket
+            final int nextEnd = bucketEnd < innerEnd ? getColumnEnd(xValues, columnWidth, bucketEnd, innerEnd) : to;
+            double nextX = 0.0;
+            double nextY = 0.0;
+            int nNext = 0;
+            for (int i = bucketEnd; i < nextEnd; i++) {
+                if (!Double.isNaN(yValues[i])) {
+                    nextX += xValues[i];
+                    nextY += yValues[i];
+                    nNext++;
+                }
+            }
+            nextX = nNext == 0 ? Double.NaN : nextX / nNext;
+            nextY = nNext == 0 ? Double.NaN : nextY / nNext;
+
+            // point with the largest triangle area, defaults to the first point if no area can be computed
+            int selected = bucketStart;
+            double maxArea = -1.0;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                if (Double.isNaN(yValues[i])) {
+                    selected = i;
+                    break;
+                }
+                final double area = Math.abs((anchorX - nextX) * (yValues[i] - anchorY) - (anchorX - xValues[i]) * (nextY - anchorY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            anchorX = xValues[selected];
+            anchorY = yValues[selected];
+            // N.B. the destination index is always <= the bucket start and thus does not overwrite unprocessed points
+            points.move(selected, count++);
+
+            bucketStart = bucketEnd;
+            bucketEnd = nextEnd;
+        }
+
+        // the last point is always kept
+        points.move(to - 1, count++);
+        return count - dest;
+    }
+
+    private static int getColumnEnd(final double[] xValues, final double columnWidth, final int start, final int end) {
+        final long column = getColumn(xValues[start], columnWidth);
+        int i = start + 1;
+        while (i < end && getColumn(xValues[i], columnWidth) == column) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,62 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+/**
+ * M4 data reduction for line plots: keeps the first, minimum, maximum and last point of every pixel column, which is
+ * sufficient to rasterise the same poly-line as the full data set (Jugel et al., 'M4: A Visualization-Oriented Time
+ * Series Data Aggregation', VLDB 2014). Thus at most four points per pixel column remain, independent of the number of
+ * input points. N.B. numerical complexity: average = worst-case = O(n), computed in-place without allocations.
+ * <p>
+ * The points are kept unmodified including their errors, styles and selection state. NaN points are always kept and
+ * close the current pixel column. The errors of the dropped points are not propagated, use the
+ * {@link DefaultDataReducer} if error bars or surfaces are drawn.
+ */
+public class M4DataReducer extends AbstractPixelDataReducer {
+    public M4DataReducer() {
+        super(1);
+    }
+
+    @Override
+    protected int reduce(final Points points, final double columnWidth, final int from, final int to, final int dest) {
+        final double[] xValues = points.x;
+        final double[] yValues = points.y;
+        int count = dest;
+        int i = from;
+        while (i < to) {
+            if (Double.isNaN(yValues[i])) {
+                points.move(i++, count++);
+                continue;
+            }
+
+            // find the extremes of the pixel column
+            final long column = getColumn(xValues[i], columnWidth);
+            final int first = i;
+            int min = i;
+            int max = i;
+            i++;
+            while (i < to && !Double.isNaN(yValues[i]) && getColumn(xValues[i], columnWidth) == column) {
+                if (yValues[i] < yValues[min]) {
+                    min = i;
+                } else if (yValues[i] > yValues[max]) {
+                    max = i;
+                }
+                i++;
+            }
+            final int last = i - 1;
+
+            // publish the (unique) points in index order, N.B. the destination index is always <= the source index
+            final int lower = Math.min(min, max);
+            final int upper = Math.max(min, max);
+            points.move(first, count++);
+            if (lower != first) {
+                points.move(lower, count++);
+            }
+            if (upper != lower) {
+                points.move(upper, count++);
+            }
+            if (last != upper) {
+                points.move(last, count++);
+            }
+        }
+        return count - dest;
+    }
+}
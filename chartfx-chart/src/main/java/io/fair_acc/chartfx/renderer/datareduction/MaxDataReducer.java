@@ -59,6 +59,14 @@ public class MaxDataReducer implements RendererDataReducer {
         return count;
     }
 
+    /**
+     * @return {@code true}: the reduction does not modify the reducer state
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
             final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
@@ -1,22 +1,44 @@
 package io.fair_acc.chartfx.renderer.datareduction;
 
+import java.util.Arrays;
+
 import io.fair_acc.chartfx.renderer.RendererDataReducer;
 import io.fair_acc.dataset.utils.AssertUtils;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
-import io.fair_acc.math.ArrayUtils;
 
 /**
  * Filters data using Ramer-Douglas-Peucker algorithm with specified tolerance N.B. numberical complexity: average O(n
  * log (n)) -&gt; worst-case O(n^2)
+ * <p>
+ * The segments are processed iteratively using an explicit stack of primitive indices (thread-local scratch arrays,
+ * no recursion and no allocation for repeated reductions). The surviving points are moved in-place to the front of
+ * the arrays together with their errors, styles and selection state. NaN points are always kept and split the data
+ * into independently simplified segments.
  *
  * @author Rzeźnik
  * @see <a href= "http://en.wikipedia.org/wiki/Ramer-Douglas-Peucker_algorithm">Ramer-Douglas-Peucker algorithm</a>
  */
 public class RamanDouglasPeukerDataReducer implements RendererDataReducer {
-    private double epsilon = 0.1;
+    private double epsilon = 1.0;
 
+    /**
+     * @param data array of [x, y] points
+     * @return the simplified array of [x, y] points (N.B. newly allocated)
+     */
     public double[][] filter(final double[][] data) {
-        return ramerDouglasPeuckerFunction(data, 0, data.length - 1);
+        final int length = data.length;
+        final double[] xValues = new double[length];
+        final double[] yValues = new double[length];
+        for (int i = 0; i < length; i++) {
+            xValues[i] = data[i][0];
+            yValues[i] = data[i][1];
+        }
+        final int count = length == 0 ? 0 : reducePoints(xValues, yValues, null, null, null, null, null, new boolean[length], 0, length);
+        final double[][] result = new double[count][];
+        for (int i = 0; i < count; i++) {
+            result[i] = new double[] { xValues[i], yValues[i] };
+        }
+        return result;
     }
 
     /**
@@ -26,80 +48,122 @@ public class RamanDouglasPeukerDataReducer implements RendererDataReducer {
         return epsilon;
     }
 
-    protected double[][] ramerDouglasPeuckerFunction(final double[][] points, final int startIndex,
-            final int endIndex) {
-        double dmax = 0;
-        int idx = 0;
-        final double dx = points[endIndex][0] - points[startIndex][0];
-        final double dy = points[endIndex][1] - points[startIndex][1];
-        final double c = -(dy * points[startIndex][0] - dx * points[startIndex][1]);
-        final double norm = Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2));
-        for (int i = startIndex + 1; i < endIndex; i++) {
-            final double distance = Math.abs(dy * points[i][0] - dx * points[i][1] + c) / norm;
-            if (distance > dmax) {
-                idx = i;
-                dmax = distance;
-            }
-        }
-        if (dmax >= epsilon) {
-            final double[][] recursiveResult1 = ramerDouglasPeuckerFunction(points, startIndex, idx);
-            final double[][] recursiveResult2 = ramerDouglasPeuckerFunction(points, idx, endIndex);
-            final double[][] result = new double[recursiveResult1.length - 1 + recursiveResult2.length][2];
-            System.arraycopy(recursiveResult1, 0, result, 0, recursiveResult1.length - 1);
-            System.arraycopy(recursiveResult2, 0, result, recursiveResult1.length - 1, recursiveResult2.length);
-            return result;
-        } else {
-            return new double[][] { points[startIndex], points[endIndex] };
-        }
+    /**
+     * @return the maximum distance {@code epsilon}
+     */
+    @Override
+    public double[] getReductionParameters() {
+        return new double[] { epsilon };
+    }
+
+    /**
+     * @return {@code true}: the reduction does not modify the reducer state
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * @param points array of [x, y] points
+     * @param startIndex index of the first point of the segment to be simplified
+     * @param endIndex index of the last (inclusive) point of the segment to be simplified
+     * @return the simplified array of [x, y] points (N.B. newly allocated)
+     * @deprecated recursive legacy interface, delegates to the iterative {@link #filter(double[][])} of the given
+     *             segment
+     */
+    @Deprecated
+    protected double[][] ramerDouglasPeuckerFunction(final double[][] points, final int startIndex, final int endIndex) {
+        return filter(Arrays.copyOfRange(points, startIndex, endIndex + 1));
     }
 
     @Override
     public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
             final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
             final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AbstractPixelDataReducer.checkArguments(xValues, yValues, pointSelected, indexMin, indexMax);
         final long startTimeStamp = ProcessingProfiler.getTimeStamp();
-        final double[][] data = new double[indexMax - indexMin][2];
-        int count = 0;
-        for (int i = indexMin; i < indexMax; i++) {
-            data[count][0] = xValues[i];
-            data[count][1] = yValues[i];
-            count++;
-        }
+        final AbstractPixelDataReducer.Points points = new AbstractPixelDataReducer.Points(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected);
+        final int length = indexMax - indexMin;
+        final ReductionWorkspace workspace = ReductionWorkspace.get();
+        final int[] keep = workspace.getIntArray(0, length);
+        final int[] stack = workspace.getIntArray(1, 2 * length);
 
-        final double[][] ret = ramerDouglasPeuckerFunction(data, 0, data.length - 1);
-        double minY = +Double.MAX_VALUE;
-        double maxY = -Double.MAX_VALUE;
-        final double[] xValuesNew = new double[ret.length];
-        final double[] yValuesNew = new double[ret.length];
-        for (int i = 0; i < ret.length; i++) {
-            xValuesNew[i] = ret[i][0];
-            yValuesNew[i] = ret[i][1];
-            minY = Math.min(minY, yValuesNew[i]);
-            maxY = Math.max(maxY, yValuesNew[i]);
-        }
-        double range = maxY - minY;
-        if (range <= 0) {
-            range = 1.0;
+        // simplify the NaN-free segments, NaNs are kept
+        int start = indexMin;
+        while (start < indexMax) {
+            if (Double.isNaN(yValues[start])) {
+                keep[start - indexMin] = 1;
+                start++;
+                continue;
+            }
+            int end = start + 1;
+            while (end < indexMax && !Double.isNaN(yValues[end])) {
+                end++;
+            }
+            simplify(xValues, yValues, start, end - 1, indexMin, keep, stack);
+            start = end;
         }
-        epsilon = 100 / range;
 
-        System.arraycopy(xValuesNew, 0, xValues, 0, xValuesNew.length);
-        System.arraycopy(yValuesNew, 0, yValues, 0, yValuesNew.length);
-        // ArrayUtils.fillArray(xPointErrorsPos, 0);
-        // ArrayUtils.fillArray(xPointErrorsNeg, 0);
-        ArrayUtils.fillArray(yPointErrorsPos, epsilon);
-        ArrayUtils.fillArray(yPointErrorsNeg, epsilon);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (keep[i] != 0) {
+                points.move(indexMin + i, count++);
+            }
+        }
 
-        ProcessingProfiler.getTimeDiff(startTimeStamp,
-                String.format("data reduction (from %d to %d)", indexMax - indexMin, xValuesNew.length));
-        return xValuesNew.length;
+        ProcessingProfiler.getTimeDiff(startTimeStamp, String.format("data reduction (from %d to %d)", length, count));
+        return count;
     }
 
     /**
-     * @param epsilon maximum distance of a point in data between original curve and simplified curve
+     * @param epsilon maximum distance of a point in data between original curve and simplified curve (in screen
+     *            coordinates, i.e. pixel)
      */
     public void setEpsilon(final double epsilon) {
         AssertUtils.gtEqThanZero("epsilon", epsilon);
         this.epsilon = epsilon;
     }
+
+    private void simplify(final double[] xValues, final double[] yValues, final int first, final int last, final int offset, final int[] keep, final int[] stack) {
+        for (int i = first; i <= last; i++) {
+            keep[i - offset] = 0;
+        }
+        keep[first - offset] = 1;
+        keep[last - offset] = 1;
+
+        // each segment is either split into two or finished -> at most (last - first) pending segments
+        int stackSize = 0;
+        stack[stackSize++] = first;
+        stack[stackSize++] = last;
+        while (stackSize > 0) {
+            final int end = stack[--stackSize];
+            final int start = stack[--stackSize];
+            if (end - start < 2) {
+                continue;
+            }
+            final double x0 = xValues[start];
+            final double y0 = yValues[start];
+            final double dx = xValues[end] - x0;
+            final double dy = yValues[end] - y0;
+            final double norm = Math.sqrt(dx * dx + dy * dy);
+            double dmax = -1.0;
+            int index = start;
+            for (int i = start + 1; i < end; i++) {
+                // perpendicular distance to the segment's line, or to the start point for degenerate segments
+                final double distance = norm > 0 ? Math.abs(dy * (xValues[i] - x0) - dx * (yValues[i] - y0)) / norm : Math.hypot(xValues[i] - x0, yValues[i] - y0);
+                if (distance > dmax) {
+                    dmax = distance;
+                    index = i;
+                }
+            }
+            if (dmax > epsilon) {
+                keep[index - offset] = 1;
+                stack[stackSize++] = start;
+                stack[stackSize++] = index;
+                stack[stackSize++] = index;
+                stack[stackSize++] = end;
+            }
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+/**
+ * Thread-local scratch arrays of the line simplification reducers. The arrays only grow, thus repeated reductions of
+ * similarly sized data do not allocate. Since reducers may be invoked concurrently for different DataSets (e.g. during
+ * the parallel preparation of the ErrorDataSetRenderer), each thread uses its own workspace.
+ */
+final class ReductionWorkspace {
+    private static final ThreadLocal<ReductionWorkspace> WORKSPACE = ThreadLocal.withInitial(ReductionWorkspace::new);
+    private final int[][] intArrays = new int[4][0];
+    private double[] doubleArray = new double[0];
+
+    private ReductionWorkspace() {
+        // use get()
+    }
+
+    /**
+     * @param size minimum required length
+     * @return scratch array (content undefined)
+     */
+    double[] getDoubleArray(final int size) {
+        if (doubleArray.length < size) {
+            doubleArray = new double[size];
+        }
+        return doubleArray;
+    }
+
+    /**
+     * @param slot index of the array [0, 3]
+     * @param size minimum required length
+     * @return scratch array (content undefined)
+     */
+    int[] getIntArray(final int slot, final int size) {
+        if (intArrays[slot].length < size) {
+            intArrays[slot] = new int[size];
+        }
+        return intArrays[slot];
+    }
+
+    /**
+     * @return the workspace of the calling thread
+     */
+    static ReductionWorkspace get() {
+        return WORKSPACE.get();
+    }
+}
@@ -1,13 +1,238 @@
 package io.fair_acc.chartfx.renderer.datareduction;
 
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.ProcessingProfiler;
+
 /**
  * Line generalisation by repeated elimination of the smallest area Visvalingam, Maheswari; Whyatt, J. D. (James Duncan)
  * Cartography -- Data processing; Computer science July 1992 https://hydra.hull.ac.uk/resources/hull:8338
  * https://bost.ocks.org/mike/simplify/
- *
- *
- * TODO: flesh out algorithm
- *
+ * <p>
+ * Points are removed in the order of their effective area (the triangle spanned with their current neighbours) until
+ * all remaining points span at least {@link #getMinArea()} square pixels. The effective areas are kept in an indexed
+ * binary min-heap and the neighbours in a linked list, both stored in thread-local primitive index arrays (no
+ * allocation for repeated reductions). N.B. numerical complexity: average = worst-case = O(n log(n))
+ * <p>
+ * The surviving points are moved in-place to the front of the arrays together with their errors, styles and selection
+ * state. NaN points are always kept and split the data into independently simplified segments.
  */
-public class VisvalingamMaheswariWhyattDataReducer {
+public class VisvalingamMaheswariWhyattDataReducer implements RendererDataReducer {
+    private double minArea = 1.0;
+
+    /**
+     * @return minimum effective area (in square pixel) of the points that remain
+     */
+    public double getMinArea() {
+        return minArea;
+    }
+
+    /**
+     * @return the minimum effective area
+     */
+    @Override
+    public double[] getReductionParameters() {
+        return new double[] { minArea };
+    }
+
+    /**
+     * @return {@code true}: the reduction does not modify the reducer state
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AbstractPixelDataReducer.checkArguments(xValues, yValues, pointSelected, indexMin, indexMax);
+        final long startTimeStamp = ProcessingProfiler.getTimeStamp();
+        final AbstractPixelDataReducer.Points points = new AbstractPixelDataReducer.Points(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected);
+        final int length = indexMax - indexMin;
+        final Segment segment = new Segment(ReductionWorkspace.get(), xValues, yValues, indexMin, length);
+
+        // simplify the NaN-free segments, NaNs are kept
+        int start = indexMin;
+        while (start < indexMax) {
+            if (Double.isNaN(yValues[start])) {
+                segment.keep(start);
+                start++;
+                continue;
+            }
+            int end = start + 1;
+            while (end < indexMax && !Double.isNaN(yValues[end])) {
+                end++;
+            }
+            segment.simplify(start, end, minArea);
+            start = end;
+        }
+
+        int count = 0;
+        for (int i = indexMin; i < indexMax; i++) {
+            if (segment.isKept(i)) {
+                points.move(i, count++);
+            }
+        }
+
+        ProcessingProfiler.getTimeDiff(startTimeStamp, String.format("data reduction (from %d to %d)", length, count));
+        return count;
+    }
+
+    /**
+     * @param minArea minimum effective area (in square pixel) of the points that remain
+     */
+    public void setMinArea(final double minArea) {
+        AssertUtils.gtEqThanZero("minArea", minArea);
+        this.minArea = minArea;
+    }
+
+    /**
+     * linked list and indexed min-heap over the (offset) point indices
+     */
+    private static final class Segment {
+        private static final int REMOVED = -2;
+        private final double[] xValues;
+        private final double[] yValues;
+        private final int offset;
+        private final int[] previous; // previous remaining point or REMOVED
+        private final int[] next;
+        private final int[] heap; // heap of point indices ordered by area
+        private final int[] heapPosition; // position of a point in the heap, -1: not in the heap
+        private final double[] area;
+        private int heapSize;
+
+        private Segment(final ReductionWorkspace workspace, final double[] xValues, final double[] yValues, final int offset, final int length) {
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.offset = offset;
+            previous = workspace.getIntArray(0, length);
+            next = workspace.getIntArray(1, length);
+            heap = workspace.getIntArray(2, length);
+            heapPosition = workspace.getIntArray(3, length);
+            area = workspace.getDoubleArray(length);
+        }
+
+        private boolean isKept(final int index) {
+            return previous[index - offset] != REMOVED;
+        }
+
+        private void keep(final int index) {
+            previous[index - offset] = -1;
+        }
+
+        private void simplify(final int start, final int end, final double minArea) {
+            final int first = start - offset;
+            final int last = end - 1 - offset;
+            heapSize = 0;
+            for (int i = first; i <= last; i++) {
+                previous[i] = i - 1;
+                next[i] = i + 1;
+                heapPosition[i] = -1;
+            }
+            for (int i = first + 1; i < last; i++) {
+                area[i] = computeArea(i - 1, i, i + 1);
+                heap[heapSize] = i;
+                heapPosition[i] = heapSize;
+                heapSize++;
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+
+            double maxRemovedArea = 0.0;
+            while (heapSize > 0 && area[heap[0]] < minArea) {
+                final int point = poll();
+                // enforce monotonically increasing effective areas (points are not removed before their neighbours'
+                // removal has enlarged them)
+                maxRemovedArea = Math.max(maxRemovedArea, area[point]);
+                final int before = previous[point];
+                final int after = next[point];
+                next[before] = after;
+                previous[after] = before;
+                previous[point] = REMOVED;
+                update(before, maxRemovedArea);
+                update(after, maxRemovedArea);
+            }
+        }
+
+        private double computeArea(final int a, final int b, final int c) {
+            final int ia = a + offset;
+            final int ib = b + offset;
+            final int ic = c + offset;
+            return 0.5 * Math.abs((xValues[ia] - xValues[ic]) * (yValues[ib] - yValues[ia]) - (xValues[ia] - xValues[ib]) * (yValues[ic] - yValues[ia]));
+        }
+
+        private void update(final int point, final double minValue) {
+            final int position = heapPosition[point];
+            if (position < 0) {
+                return; // segment end point
+            }
+            final double oldArea = area[point];
+            area[point] = Math.max(minValue, computeArea(previous[point], point, next[point]));
+            if (area[point] < oldArea) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+        }
+
+        private int poll() {
+            final int point = heap[0];
+            heapPosition[point] = -1;
+            heapSize--;
+            if (heapSize > 0) {
+                heap[0] = heap[heapSize];
+                heapPosition[heap[0]] = 0;
+                siftDown(0);
+            }
+            return point;
+        }
+
+        private boolean isLess(final int positionA, final int positionB) {
+            final double areaA = area[heap[positionA]];
+            final double areaB = area[heap[positionB]];
+            // ties are resolved by index for reproducible results
+            return areaA < areaB || (areaA == areaB && heap[positionA] < heap[positionB]); // NOPMD - exact comparison intended
+        }
+
+        private void siftDown(final int startPosition) {
+            int position = startPosition;
+            while (true) {
+                final int left = 2 * position + 1;
+                if (left >= heapSize) {
+                    return;
+                }
+                final int right = left + 1;
+                final int child = right < heapSize && isLess(right, left) ? right : left;
+                if (!isLess(child, position)) {
+                    return;
+                }
+                swap(position, child);
+                position = child;
+            }
+        }
+
+        private void siftUp(final int startPosition) {
+            int position = startPosition;
+            while (position > 0) {
+                final int parent = (position - 1) / 2;
+                if (!isLess(position, parent)) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void swap(final int positionA, final int positionB) {
+            final int pointA = heap[positionA];
+            final int pointB = heap[positionB];
+            heap[positionA] = pointB;
+            heap[positionB] = pointA;
+            heapPosition[pointB] = positionA;
+            heapPosition[pointA] = positionB;
+        }
+    }
 }
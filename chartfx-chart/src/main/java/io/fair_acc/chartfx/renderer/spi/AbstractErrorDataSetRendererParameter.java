@@ -14,6 +14,8 @@ import io.fair_acc.chartfx.renderer.ErrorStyle;
 import io.fair_acc.chartfx.renderer.LineStyle;
 import io.fair_acc.chartfx.renderer.RendererDataReducer;
 import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.LargestTriangleThreeBucketsDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
 import io.fair_acc.chartfx.renderer.datareduction.MaxDataReducer;
 import io.fair_acc.chartfx.renderer.datareduction.RamanDouglasPeukerDataReducer;
 import io.fair_acc.chartfx.renderer.datareduction.VisvalingamMaheswariWhyattDataReducer;
@@ -265,9 +267,10 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
      * <ul>
      * <li>{@link DefaultDataReducer} (default)</li>
      * <li>{@link MaxDataReducer} (a simple down-sampling algorithm, returning fixed number of max. 1000 points)</li>
-     * <li>{@link RamanDouglasPeukerDataReducer}</li>
-     * <li>{@code DouglasPeukerDataReducer}</li>
-     * <li>{@link VisvalingamMaheswariWhyattDataReducer} (being developed)</li>
+     * <li>{@link M4DataReducer} (min/max/first/last per pixel column, visually lossless for line plots)</li>
+     * <li>{@link LargestTriangleThreeBucketsDataReducer} (largest-triangle-three-buckets down-sampling)</li>
+     * <li>{@link RamanDouglasPeukerDataReducer} (line simplification with a max. pixel distance)</li>
+     * <li>{@link VisvalingamMaheswariWhyattDataReducer} (line simplification with a min. pixel area)</li>
      * </ul>
      *
      * @return the rendererDataReducerProperty
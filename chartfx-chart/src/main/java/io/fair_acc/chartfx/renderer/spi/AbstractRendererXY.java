@@ -72,6 +72,17 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
 
     protected abstract void render(GraphicsContext gc, DataSet dataSet, DataSetNode style);
 
+    /**
+     * N.B. derived renderers that draw state other than the axes, the attached DataSets and the renderer properties
+     * need to override this and return false.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isLayerCacheable() {
+        return true;
+    }
+
     @Override
     public void updateAxes() {
         final var xAxisBefore = xAxis;
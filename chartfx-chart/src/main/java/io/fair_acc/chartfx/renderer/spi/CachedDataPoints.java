@@ -176,9 +176,30 @@ public class CachedDataPoints {
         computeScreenCoordinatesNonThreaded(xAxis, yAxis, dataSet, min, max);
     }
 
+    /**
+     * Same as {@link #computeScreenCoordinates(Axis, Axis, DataSet, DataSetNode, int, int, ErrorStyle, boolean, boolean)}
+     * but re-uses the pre-computed screen coordinates of the x values that are shared by several data sets (e.g. the
+     * slices of a {@link io.fair_acc.dataset.GridDataSet}). Falls back to the full computation for polar plots and data
+     * sets with errors in x.
+     *
+     * @param xScreen screen coordinates of the x values within [min, max), indexed like the data points
+     */
+    protected void computeScreenCoordinates(final Axis xAxis, final Axis yAxis, final DataSet dataSet, final DataSetNode style,
+            final int min, final int max, final ErrorStyle localRendErrorStyle,
+            final boolean isPolarPlot, final boolean doAllowForNaNs, final double[] xScreen) {
+        setBoundaryConditions(xAxis, yAxis, dataSet, style, min, max, localRendErrorStyle, isPolarPlot,
+                doAllowForNaNs);
+        if (polarPlot || errorType[DIM_X] != ErrorType.NO_ERROR) {
+            computeScreenCoordinatesNonThreaded(xAxis, yAxis, dataSet, min, max);
+            return;
+        }
+        System.arraycopy(xScreen, min, xValues, min, max - min);
+        computeScreenCoordinatesEuclidean(xAxis, yAxis, dataSet, min, max, DIM_Y);
+    }
+
     private void computeScreenCoordinatesEuclidean(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
-            final int min, final int max) {
-        for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
+            final int min, final int max, final int firstDimIndex) {
+        for (int dimIndex = firstDimIndex; dimIndex < 2; dimIndex++) {
             switch (errorType[dimIndex]) {
             case NO_ERROR:
                 if (allowForNaNs) {
@@ -215,7 +236,7 @@ public class CachedDataPoints {
         if (polarPlot) {
             computeScreenCoordinatesPolar(yAxis, dataSet, min, max);
         } else {
-            computeScreenCoordinatesEuclidean(xAxis, yAxis, dataSet, min, max);
+            computeScreenCoordinatesEuclidean(xAxis, yAxis, dataSet, min, max, DIM_X);
         }
     }
 
@@ -232,7 +253,7 @@ public class CachedDataPoints {
                 if (polarPlot) {
                     computeScreenCoordinatesPolar(yAxis, dataSet, start, Math.min(max, start + stepSize));
                 } else {
-                    computeScreenCoordinatesEuclidean(xAxis, yAxis, dataSet, start, Math.min(max, start + stepSize));
+                    computeScreenCoordinatesEuclidean(xAxis, yAxis, dataSet, start, Math.min(max, start + stepSize), DIM_X);
                 }
                 return Boolean.TRUE;
             });
@@ -1,5 +1,10 @@
 package io.fair_acc.chartfx.renderer.spi;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.shape.FillRule;
@@ -7,15 +12,19 @@ import javafx.scene.shape.FillRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.marker.Marker;
 import io.fair_acc.chartfx.renderer.ErrorStyle;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
 import io.fair_acc.chartfx.renderer.spi.utils.BezierCurve;
+import io.fair_acc.chartfx.renderer.spi.utils.ScreenPointIndex;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.DataSetStyleParser;
 import io.fair_acc.chartfx.utils.FastDoubleArrayCache;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSetError.ErrorType;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
 
 /**
@@ -36,6 +45,10 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
     private static final Logger LOGGER = LoggerFactory.getLogger(ErrorDataSetRenderer.class);
 
     private final DataSetStyleParser styleParser = DataSetStyleParser.newInstance();
+    private final Map<DataSet, ScreenPointIndex> screenPointIndices = new IdentityHashMap<>(); // N.B. DataSet equality is content-based
+    private boolean screenPointIndexRequested;
+    private final Map<DataSet, PreparedPoints> preparedPoints = new IdentityHashMap<>();
+    private boolean preparedFrame;
 
     /**
      * Creates new <code>ErrorDataSetRenderer</code>.
@@ -98,18 +111,138 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         return true;
     }
 
+    /**
+     * Returns the spatial index of the screen coordinates of the given data set as drawn during the last redraw, to be
+     * used for fast nearest-point and region queries (e.g. tool-tips, point selection) that are independent of the
+     * data ordering. The index covers the un-reduced data points within the drawn index range, is rebuilt on every
+     * redraw and is only maintained after it has been requested for the first time: the first call triggers a redraw
+     * and returns {@code null}, as do calls for data sets that have not been drawn.
+     * <p>
+     * N.B. the index reflects the last drawn state: the data set may have been modified since, thus the returned
+     * indices should be checked against the current data count.
+     *
+     * @param dataSet the data set
+     * @return the screen-space index or {@code null} if not (yet) available
+     */
+    public ScreenPointIndex getScreenPointIndex(final DataSet dataSet) {
+        if (!screenPointIndexRequested) {
+            screenPointIndexRequested = true;
+            invalidateCanvas();
+        }
+        final ScreenPointIndex index = screenPointIndices.get(dataSet);
+        return index == null || !index.isValid() ? null : index;
+    }
+
+    /**
+     * Starts the FX-independent part of the drawing (index range lookup, screen coordinate transform, per-point style
+     * lookup and data reduction) of all visible DataSets concurrently on the common worker pool, so that
+     * {@link #render()} only needs to issue the GraphicsContext calls and can draw the first DataSets while the others
+     * are still being prepared. Only active if {@link #isParallelImplementation()} and more than one DataSet is visible:
+     * a single DataSet is prepared in {@link #render()}, where its screen coordinates are computed using all worker
+     * threads. The data reduction is only included into the concurrent preparation if the reducer is
+     * {@link RendererDataReducer#isThreadSafe() thread-safe}, otherwise it is invoked from {@link #render()}. The
+     * workers only access an immutable snapshot of the renderer and axis range state taken before they are started.
+     */
+    @Override
+    public void prepareRender() {
+        if (!isParallelImplementation() || getChart() == null || getDatasetNodes().stream().filter(DataSetNode::isVisible).count() < 2) {
+            return;
+        }
+        finishPreparedFrame(); // e.g. previous preparation without subsequent render()
+        invalidateScreenPointIndices();
+        updateCachedVariables();
+        final Canvas canvas = getChart().getCanvas();
+        final RenderState state = new RenderState(this, canvas.getWidth(), canvas.getHeight());
+        final boolean concurrentReduction = state.reducer == null || state.reducer.isThreadSafe();
+        for (final DataSetNode style : getDatasetNodes()) {
+            if (!style.isVisible()) {
+                continue;
+            }
+            final DataSet dataSet = style.getDataSet();
+            final ScreenPointIndex index = screenPointIndexRequested ? screenPointIndices.computeIfAbsent(dataSet, ds -> new ScreenPointIndex()) : null;
+            final PreparedPoints prepared = preparedPoints.computeIfAbsent(dataSet, ds -> new PreparedPoints());
+            prepared.result = CachedDaemonThreadFactory.getCommonPool().submit(() -> computeDataPoints(prepared.cache, dataSet, style, index, state, false, concurrentReduction));
+            prepared.state = state;
+            prepared.reduced = concurrentReduction;
+            prepared.used = true;
+        }
+        // drop the storage of data sets that are no longer drawn
+        preparedPoints.values().removeIf(prepared -> !prepared.used);
+        preparedFrame = true;
+    }
+
+    @Override
+    public void render() {
+        if (!preparedFrame) {
+            invalidateScreenPointIndices();
+        }
+        try {
+            super.render();
+        } finally {
+            finishPreparedFrame();
+        }
+        // drop the indices of data sets that have not been drawn (removed, hidden or empty)
+        screenPointIndices.values().removeIf(index -> !index.isValid());
+    }
+
     @Override
     protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
         // N.B. print out for debugging purposes, please keep (used for
         // detecting redundant or too frequent render updates)
         // System.err.println(String.format("render for range [%f,%f] and dataset = '%s'", xMin, xMax, dataSet.getName()));
 
+        final PreparedPoints prepared = preparedFrame ? preparedPoints.get(dataSet) : null;
+        final CachedDataPoints points;
+        if (prepared != null && prepared.result != null) {
+            final boolean reduced = prepared.reduced;
+            final RenderState state = prepared.state;
+            points = prepared.await();
+            if (points != null && !reduced) {
+                reducePoints(points, state);
+            }
+        } else {
+            points = computeDataPoints(gc, SHARED_POINTS_CACHE, dataSet, style, screenPointIndexRequested);
+        }
+        if (points == null) {
+            return;
+        }
+
+        // draw individual plot components
+        var timestamp = ProcessingProfiler.getTimeStamp();
+        drawChartComponents(gc, style, points);
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(timestamp, "drawChartComponents()");
+        }
+    }
+
+    /**
+     * Computes the (reduced) screen coordinates of the data set for the current axes.
+     *
+     * @param gc the graphics context from the Canvas parent
+     * @param cache the data point storage to be (re-)used
+     * @param dataSet the data set to be transformed
+     * @param style the style of the data set
+     * @param buildScreenIndex whether to update the {@link #getScreenPointIndex screen-space index} of the data set
+     * @return the computed points, or {@code null} if there is nothing to be drawn
+     */
+    protected CachedDataPoints computeDataPoints(final GraphicsContext gc, final CachedDataPoints cache, final DataSet dataSet, final DataSetNode style, final boolean buildScreenIndex) {
+        final ScreenPointIndex index = buildScreenIndex ? screenPointIndices.computeIfAbsent(dataSet, ds -> new ScreenPointIndex()) : null;
+        final RenderState state = new RenderState(this, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+        return computeDataPoints(cache, dataSet, style, index, state, isParallelImplementation(), true);
+    }
+
+    /**
+     * N.B. only reads the given state snapshot rather than the renderer fields and may thus be called concurrently
+     * for different caches and data sets
+     */
+    private static CachedDataPoints computeDataPoints(final CachedDataPoints cache, final DataSet dataSet, final DataSetNode style, final ScreenPointIndex index, //
+            final RenderState state, final boolean parallelCoordinates, final boolean reduce) {
         var timestamp = ProcessingProfiler.getTimeStamp();
         int indexMin;
         int indexMax; /* indexMax is excluded in the drawing */
-        if (isAssumeSortedData()) {
-            indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, xMin) - 1);
-            indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, xMax) + 2, dataSet.getDataCount());
+        if (state.assumeSortedData) {
+            indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, state.xMin) - 1);
+            indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, state.xMax) + 2, dataSet.getDataCount());
         } else {
             indexMin = 0;
             indexMax = dataSet.getDataCount();
@@ -117,7 +250,7 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         // zero length/range data set -> nothing to be drawn
         if (indexMax - indexMin <= 0) {
-            return;
+            return null;
         }
 
         if (ProcessingProfiler.getDebugState()) {
@@ -126,34 +259,39 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         final boolean enableErrorsX = true; // TODO: what is this used for?
-        final CachedDataPoints points = SHARED_POINTS_CACHE.resizeMin(indexMin, indexMax, dataSet.getDataCount(), enableErrorsX);
+        final CachedDataPoints points = cache.resizeMin(indexMin, indexMax, dataSet.getDataCount(), enableErrorsX);
         if (ProcessingProfiler.getDebugState()) {
             timestamp = ProcessingProfiler.getTimeDiff(timestamp, "get CachedPoints");
         }
 
         // compute local screen coordinates
-        final boolean isPolarPlot = getChart().isPolarPlot();
-        if (isParallelImplementation()) {
-            points.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet, style,
-                    indexMin, indexMax, getErrorType(), isPolarPlot,
-                    isallowNaNs());
+        if (parallelCoordinates) {
+            points.computeScreenCoordinatesInParallel(state.xAxis, state.yAxis, dataSet, style,
+                    indexMin, indexMax, state.errorType, state.polarPlot,
+                    state.allowNaNs);
         } else {
-            points.computeScreenCoordinates(xAxis, yAxis, dataSet, style,
-                    indexMin, indexMax, getErrorType(), isPolarPlot, isallowNaNs());
+            points.computeScreenCoordinates(state.xAxis, state.yAxis, dataSet, style,
+                    indexMin, indexMax, state.errorType, state.polarPlot, state.allowNaNs);
         }
         if (ProcessingProfiler.getDebugState()) {
             timestamp = ProcessingProfiler.getTimeDiff(timestamp, "computeScreenCoordinates()");
         }
 
-        // invoke data reduction algorithm
-        points.reduce(rendererDataReducerProperty().get(), isReducePoints(),
-                getMinRequiredReductionSize());
+        if (index != null) {
+            // N.B. needs to be built before the data reduction which compacts the coordinates
+            final double margin = ScreenPointIndex.DEFAULT_CELL_SIZE;
+            index.build(points.xValues, points.yValues, indexMin, indexMax, -margin, state.canvasWidth + margin, -margin, state.canvasHeight + margin);
+        }
 
-        // draw individual plot components
-        drawChartComponents(gc, style, points);
-        if (ProcessingProfiler.getDebugState()) {
-            timestamp = ProcessingProfiler.getTimeDiff(timestamp, "drawChartComponents()");
+        if (reduce) {
+            reducePoints(points, state);
         }
+        return points;
+    }
+
+    private static void reducePoints(final CachedDataPoints points, final RenderState state) {
+        // invoke data reduction algorithm
+        points.reduce(state.reducer, state.reducePoints, state.minRequiredReductionSize);
     }
 
     /**
@@ -532,7 +670,12 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         return this;
     }
 
-    private void drawChartComponents(final GraphicsContext gc, final DataSetNode style, final CachedDataPoints points) {
+    /**
+     * @param gc the graphics context from the Canvas parent
+     * @param style the style of the data set
+     * @param points the reduced screen coordinates of the data set
+     */
+    protected void drawChartComponents(final GraphicsContext gc, final DataSetNode style, final CachedDataPoints points) {
         final long start = ProcessingProfiler.getTimeStamp();
         switch (getErrorType()) {
         case ERRORBARS:
@@ -802,6 +945,25 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
     }
 
+    /**
+     * waits for the preparations that have not been consumed by the render pass (e.g. hidden during the frame)
+     */
+    private void finishPreparedFrame() {
+        for (final PreparedPoints prepared : preparedPoints.values()) {
+            if (prepared.result != null) {
+                prepared.await();
+            }
+            prepared.used = false;
+        }
+        preparedFrame = false;
+    }
+
+    private void invalidateScreenPointIndices() {
+        for (final ScreenPointIndex index : screenPointIndices.values()) {
+            index.invalidate();
+        }
+    }
+
     private static void compactVector(final double[] input, final int inputLength, final int stopIndex) {
         if (stopIndex >= 0) {
             System.arraycopy(input, inputLength - stopIndex, input, stopIndex, stopIndex);
@@ -813,6 +975,64 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
     private static final FastDoubleArrayCache SHARED_ARRAYS = new FastDoubleArrayCache(4);
     private static final CachedDataPoints SHARED_POINTS_CACHE = new CachedDataPoints();
 
+    /**
+     * per-DataSet storage of the concurrently prepared data points
+     */
+    private static class PreparedPoints {
+        private final CachedDataPoints cache = new CachedDataPoints();
+        private Future<CachedDataPoints> result;
+        private RenderState state;
+        private boolean reduced; // whether the reduction is part of the concurrent preparation
+        private boolean used;
+
+        private CachedDataPoints await() {
+            try {
+                return result.get();
+            } catch (final InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("parallel data point preparation finished execution with error", e);
+            } finally {
+                result = null;
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of the renderer parameters and axis range used to compute the data points of one frame, taken
+     * on the FX thread before the preparation is handed to worker threads. N.B. the axes themselves are laid out before
+     * the canvas is redrawn and are not modified until the frame has been drawn.
+     */
+    private static final class RenderState {
+        private final Axis xAxis;
+        private final Axis yAxis;
+        private final double xMin;
+        private final double xMax;
+        private final double canvasWidth;
+        private final double canvasHeight;
+        private final boolean polarPlot;
+        private final boolean assumeSortedData;
+        private final boolean allowNaNs;
+        private final ErrorStyle errorType;
+        private final RendererDataReducer reducer;
+        private final boolean reducePoints;
+        private final int minRequiredReductionSize;
+
+        private RenderState(final ErrorDataSetRenderer renderer, final double canvasWidth, final double canvasHeight) {
+            xAxis = renderer.xAxis;
+            yAxis = renderer.yAxis;
+            xMin = renderer.xMin;
+            xMax = renderer.xMax;
+            this.canvasWidth = canvasWidth;
+            this.canvasHeight = canvasHeight;
+            polarPlot = renderer.getChart().isPolarPlot();
+            assumeSortedData = renderer.isAssumeSortedData();
+            allowNaNs = renderer.isallowNaNs();
+            errorType = renderer.getErrorType();
+            reducer = renderer.rendererDataReducerProperty().get();
+            reducePoints = renderer.isReducePoints();
+            minRequiredReductionSize = renderer.getMinRequiredReductionSize();
+        }
+    }
+
     /**
      * Deletes all arrays that are larger than necessary for the last drawn dataset
      */
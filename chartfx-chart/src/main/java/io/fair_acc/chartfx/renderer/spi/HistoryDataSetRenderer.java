@@ -1,13 +1,17 @@
 package io.fair_acc.chartfx.renderer.spi;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import javafx.scene.canvas.GraphicsContext;
 
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.spi.AxisRange;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSetError;
@@ -17,6 +21,10 @@ import io.fair_acc.dataset.spi.DoubleErrorDataSet;
 
 /**
  * Renders the data set with the pre-described
+ * <p>
+ * The history layers are kept as reduced screen coordinates which are only re-computed if the axes (or the relevant
+ * renderer settings) change, or if the layer received new data by {@link #shiftHistory()}. A redraw with unchanged axes
+ * thus only computes and reduces the latest data, and the snapshots recycle the storage of the oldest layer.
  *
  * @author R.J. Steinhagen
  */
@@ -40,13 +48,19 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         final double originalIntensity = style.getIntensity();
         try {
             // render historical data oldest first
-            var history = ((HistoryDataSetNode) style).getHistory();
+            final var node = (HistoryDataSetNode) style;
+            final var history = node.getHistory();
+            final double[] key = updateProjectionKey();
             int histIx = history.size() - 1;
             for (DataSet histDs : history) {
                 final var faded = Math.pow(getIntensityFading(), histIx + 2.0) * originalIntensity;
-                style.setIntensity((int) faded);
                 histIx--;
-                super.render(gc, histDs, style);
+                final CachedDataPoints points = node.getLayerPoints(histDs, key, projectionReducer, //
+                        (cache, ds) -> computeDataPoints(gc, cache, ds, style, false));
+                if (points != null) {
+                    style.setIntensity((int) faded);
+                    drawChartComponents(gc, style, points);
+                }
             }
         } finally {
             style.setIntensity(originalIntensity);
@@ -88,6 +102,30 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         return new HistoryDataSetNode(this, dataSet, historyDepth);
     }
 
+    /**
+     * @return the parameters the screen coordinates of the history layers depend on, including those of the data reducer
+     */
+    double[] updateProjectionKey() {
+        double[] key = projectionKey;
+        int i = setAxisKey(key, 0, xAxis);
+        i = setAxisKey(key, i, yAxis);
+        key[i++] = getChart().isPolarPlot() ? 1 : 0;
+        key[i++] = getErrorType().ordinal();
+        key[i++] = isallowNaNs() ? 1 : 0;
+        key[i++] = isAssumeSortedData() ? 1 : 0;
+        key[i++] = isReducePoints() ? 1 : 0;
+        key[i] = getMinRequiredReductionSize();
+        projectionReducer = rendererDataReducerProperty().get();
+        // the parameters of the (same) reducer instance may change as well
+        final double[] parameters = projectionReducer == null ? new double[0] : projectionReducer.getReductionParameters();
+        if (key.length != PROJECTION_KEY_LENGTH + parameters.length) {
+            key = Arrays.copyOf(key, PROJECTION_KEY_LENGTH + parameters.length);
+            projectionKey = key;
+        }
+        System.arraycopy(parameters, 0, key, PROJECTION_KEY_LENGTH, parameters.length);
+        return key;
+    }
+
     static class HistoryDataSetNode extends DataSetNode {
         HistoryDataSetNode(AbstractRenderer<?> renderer, DataSet dataSet, int depth) {
             super(renderer, dataSet);
@@ -106,7 +144,12 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
             if (history.size() < depth) {
                 history.add(copy(src));
             } else {
-                history.add(history.removeFirst().set(src));
+                final DataSet recycled = history.removeFirst();
+                final Layer layer = layers.get(recycled);
+                if (layer != null) {
+                    layer.valid = false;
+                }
+                history.add(recycled.set(src));
             }
 
             // Set names (TODO: is this used anywhere?)
@@ -119,6 +162,25 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
 
         public void clear() {
             history.clear();
+            layers.clear();
+        }
+
+        /**
+         * @param histDs history data set
+         * @param key the current projection parameters
+         * @param reducer the current data reducer
+         * @param compute computes the points if the cached ones are outdated
+         * @return the cached or re-computed screen coordinates of the history layer, {@code null} if nothing to draw
+         */
+        CachedDataPoints getLayerPoints(final DataSet histDs, final double[] key, final Object reducer, final LayerComputation compute) {
+            final Layer layer = layers.computeIfAbsent(histDs, ds -> new Layer());
+            if (!layer.valid || layer.reducer != reducer || !Arrays.equals(layer.key, key)) {
+                layer.drawable = compute.apply(layer.points, histDs) != null;
+                layer.key = Arrays.copyOf(key, key.length);
+                layer.reducer = reducer;
+                layer.valid = true;
+            }
+            return layer.drawable ? layer.points : null;
         }
 
         static DataSet copy(DataSet ds) {
@@ -127,7 +189,35 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
 
         final int depth;
         final LinkedList<DataSet> history = new LinkedList<>();
+        final Map<DataSet, Layer> layers = new IdentityHashMap<>(); // N.B. identity: DataSet#equals compares contents
+    }
+
+    private static int setAxisKey(final double[] key, final int offset, final Axis axis) {
+        final double min = axis.getMin();
+        final double max = axis.getMax();
+        key[offset] = min;
+        key[offset + 1] = max;
+        key[offset + 2] = axis.getDisplayPosition(min);
+        key[offset + 3] = axis.getDisplayPosition(max);
+        key[offset + 4] = axis.getDisplayPosition(0.5 * (min + max)); // non-linear (e.g. log) transforms
+        return offset + 5;
+    }
+
+    @FunctionalInterface
+    interface LayerComputation {
+        CachedDataPoints apply(CachedDataPoints cache, DataSet histDs);
+    }
+
+    private static class Layer {
+        private final CachedDataPoints points = new CachedDataPoints();
+        private double[] key;
+        private Object reducer;
+        private boolean valid;
+        private boolean drawable;
     }
 
+    private static final int PROJECTION_KEY_LENGTH = 16;
+    private double[] projectionKey = new double[PROJECTION_KEY_LENGTH];
+    private RendererDataReducer projectionReducer;
     final int historyDepth;
 }
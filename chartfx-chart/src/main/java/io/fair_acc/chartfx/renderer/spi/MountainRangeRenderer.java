@@ -1,12 +1,15 @@
 package io.fair_acc.chartfx.renderer.spi;
 
+import static io.fair_acc.dataset.DataSet.DIM_X;
 import static io.fair_acc.dataset.DataSet.DIM_Y;
 import static io.fair_acc.dataset.DataSet.DIM_Z;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -23,15 +26,27 @@ import io.fair_acc.dataset.locks.DataSetLock;
 import io.fair_acc.dataset.locks.DefaultDataSetLock;
 import io.fair_acc.dataset.spi.DefaultAxisDescription;
 import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+import io.fair_acc.math.ArrayUtils;
 
 /**
+ * Renders the rows of a {@link GridDataSet} as vertically shifted line plots ('waterfall' or 'mountain range').
+ * <p>
+ * The rows are processed in batches of {@link #BATCH_SIZE} through re-used slice views and point caches: the x values
+ * shared by all rows are transformed to screen coordinates once per frame, the y transform and data reduction of the
+ * rows of a batch are computed in parallel (if {@link #isParallelImplementation()}), and the batch is then drawn
+ * sequentially from the back- to the front-most row.
+ *
  * @author rstein
  */
 public class MountainRangeRenderer extends ErrorDataSetRenderer implements Renderer {
+    /** number of rows that are projected and reduced before being drawn */
+    protected static final int BATCH_SIZE = 64;
+    private static final int MIN_PARALLEL_POINTS = 10_000; // minimum number of points per batch to justify threading
     private static final int MIN_DIM = 3;
     protected DoubleProperty mountainRangeOffset = new SimpleDoubleProperty(this, "mountainRangeOffset", 0.5);
-    private final WeakHashMap<Double, Integer> xWeakIndexMap = new WeakHashMap<>();
-    private final WeakHashMap<Double, Integer> yWeakIndexMap = new WeakHashMap<>();
+    private final List<Slice> slices = new ArrayList<>();
+    private double[] xScreen = new double[0];
     private double mountainRangeExtra;
 
     public MountainRangeRenderer() {
@@ -39,8 +54,6 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
         setDrawMarker(false);
         setDrawBars(false);
         setErrorStyle(ErrorStyle.NONE);
-        xWeakIndexMap.clear();
-        yWeakIndexMap.clear();
     }
 
     public MountainRangeRenderer(final double mountainRangeOffset) {
@@ -69,6 +82,11 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
 
     double zRangeMin, zRangeMax;
 
+    @Override
+    public void prepareRender() {
+        // N.B. the slices are computed and drawn batch-wise in render(..), the ErrorDataSetRenderer preparation does not apply
+    }
+
     @Override
     protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
         // detect and fish-out 3D DataSet, ignore others
@@ -76,8 +94,6 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
             return;
         }
 
-        xWeakIndexMap.clear();
-        yWeakIndexMap.clear();
         mountainRangeExtra = getMountainRangeOffset();
 
         final double max = zRangeMax * (1.0 + mountainRangeExtra);
@@ -91,9 +107,76 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
         }
         yAxis.setAutoRanging(autoRange);
 
-        final int yCountMax = ((GridDataSet) dataSet).getShape(DIM_Y);
-        for (int index = yCountMax - 1; index >= 0; index--) {
-            super.render(gc, new Demux3dTo2dDataSet((GridDataSet) dataSet, index, zRangeMin, max), style);
+        final GridDataSet gridDataSet = (GridDataSet) dataSet;
+        final int nX = gridDataSet.getShape(DIM_X);
+        final int yCountMax = gridDataSet.getShape(DIM_Y);
+        final int indexMin = isAssumeSortedData() ? Math.max(0, gridDataSet.getGridIndex(DIM_X, xMin) - 1) : 0;
+        final int indexMax = isAssumeSortedData() ? Math.min(gridDataSet.getGridIndex(DIM_X, xMax) + 2, nX) : nX;
+        if (indexMax - indexMin <= 0 || yCountMax <= 0) {
+            return;
+        }
+
+        // bulk projection of the x coordinates shared by all rows
+        xScreen = ArrayUtils.resizeMin(xScreen, nX);
+        final boolean allowNaNs = isallowNaNs();
+        for (int i = indexMin; i < indexMax; i++) {
+            final double x = gridDataSet.getGrid(DIM_X, i);
+            xScreen[i] = allowNaNs && !Double.isFinite(x) ? Double.NaN : xAxis.getDisplayPosition(x);
+        }
+
+        // the back-most (last) row is drawn first
+        for (int batchStart = yCountMax - 1; batchStart >= 0; batchStart -= BATCH_SIZE) {
+            final int nRows = Math.min(BATCH_SIZE, batchStart + 1);
+            while (slices.size() < nRows) {
+                slices.add(new Slice());
+            }
+            final int firstRow = batchStart;
+            final boolean parallel = isParallelImplementation() && nRows > 1 && (long) nRows * (indexMax - indexMin) >= MIN_PARALLEL_POINTS;
+            computeSlices(gridDataSet, style, firstRow, nRows, indexMin, indexMax, zRangeMin, max, parallel);
+            for (int k = 0; k < nRows; k++) {
+                drawChartComponents(gc, style, slices.get(k).points);
+            }
+        }
+    }
+
+    private void computeSlice(final Slice slice, final GridDataSet gridDataSet, final DataSetNode style, final int yIndex, final int indexMin, final int indexMax, final double zMin, final double zMax) {
+        slice.view.setSlice(gridDataSet, yIndex, zMin, zMax);
+        final CachedDataPoints points = slice.points.resizeMin(indexMin, indexMax, gridDataSet.getShape(DIM_X), true);
+        points.computeScreenCoordinates(xAxis, yAxis, slice.view, style, indexMin, indexMax, getErrorType(), getChart().isPolarPlot(), isallowNaNs(), xScreen);
+        points.reduce(rendererDataReducerProperty().get(), isReducePoints(), getMinRequiredReductionSize());
+    }
+
+    private void computeSlices(final GridDataSet gridDataSet, final DataSetNode style, final int firstRow, final int nRows, //
+            final int indexMin, final int indexMax, final double zMin, final double zMax, final boolean parallel) {
+        if (!parallel) {
+            for (int k = 0; k < nRows; k++) {
+                computeSlice(slices.get(k), gridDataSet, style, firstRow - k, indexMin, indexMax, zMin, zMax);
+            }
+            return;
+        }
+
+        final int nThreads = Math.min(nRows, CachedDaemonThreadFactory.getNumbersOfThreads());
+        final List<Callable<Boolean>> workers = new ArrayList<>(nThreads);
+        for (int thread = 0; thread < nThreads; thread++) {
+            final int start = thread;
+            workers.add(() -> {
+                for (int k = start; k < nRows; k += nThreads) {
+                    computeSlice(slices.get(k), gridDataSet, style, firstRow - k, indexMin, indexMax, zMin, zMax);
+                }
+                return Boolean.TRUE;
+            });
+        }
+
+        try {
+            final List<Future<Boolean>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
+            for (final Future<Boolean> future : jobs) {
+                final Boolean r = future.get();
+                if (Boolean.FALSE.equals(r)) {
+                    throw new IllegalStateException("one parallel worker thread finished execution with error");
+                }
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
         }
     }
 
@@ -110,20 +193,30 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
         return this;
     }
 
+    /**
+     * re-used slice view and point cache of a row within a batch
+     */
+    private class Slice {
+        private final Demux3dTo2dDataSet view = new Demux3dTo2dDataSet();
+        private final CachedDataPoints points = new CachedDataPoints();
+    }
+
+    /**
+     * re-usable view of a single row of a GridDataSet as 2D data set, shifted vertically by the mountain range offset
+     */
     private class Demux3dTo2dDataSet implements DataSet {
         private static final long serialVersionUID = 3914728138839091421L;
         private final transient DataSetLock<DataSet> localLock = new DefaultDataSetLock<>(this);
-        private final GridDataSet dataSet;
-        private final int yIndex;
-        private final double zMin;
-        private final double zMax;
-        private final double yShift;
+        private GridDataSet dataSet;
+        private int yIndex;
+        private double zMin;
+        private double zMax;
+        private double yShift;
         private final transient List<AxisDescription> axesDescriptions = new ArrayList<>(Arrays.asList( //
                 new DefaultAxisDescription(DIM_X, "x-Axis", "a.u."), //
                 new DefaultAxisDescription(DIM_Y, "y-Axis", "a.u.")));
 
-        public Demux3dTo2dDataSet(final GridDataSet sourceDataSet, final int selectedYIndex, final double zMin, final double zMax) {
-            super();
+        public void setSlice(final GridDataSet sourceDataSet, final int selectedYIndex, final double zMin, final double zMax) {
             dataSet = sourceDataSet;
             yIndex = selectedYIndex;
             this.zMin = zMin;
@@ -173,11 +266,8 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
             AssertUtils.checkArrayDimension("value", value, 1);
             switch (dimIndex) {
             case DIM_X:
-                // added computation of hash since this is recomputed quite often (and the same) for each slice
-                return xWeakIndexMap.computeIfAbsent(value[0], key -> dataSet.getGridIndex(DIM_X, key));
             case DIM_Y:
-                // added computation of hash since this is recomputed quite often (and the same) for each slice
-                return yWeakIndexMap.computeIfAbsent(value[0], key -> dataSet.getGridIndex(DIM_Y, key));
+                return dataSet.getGridIndex(dimIndex, value[0]);
             default:
                 throw new IndexOutOfBoundsException("dimIndex=" + dimIndex + " out of range");
             }
@@ -56,6 +56,15 @@ public abstract class AbstractFinancialRenderer<R extends AbstractRendererXY<R>>
         return (FinancialDataSetNode) super.addDataSet(dataSet);
     }
 
+    /**
+     * @return false: paint bar markers and paint-after extension points may depend on state outside the attached
+     *         DataSets
+     */
+    @Override
+    public boolean isLayerCacheable() {
+        return false;
+    }
+
     protected PaintBarMarker paintBarMarker;
 
     private final BooleanProperty computeLocalYRange = new SimpleBooleanProperty(this, "computeLocalYRange", true);
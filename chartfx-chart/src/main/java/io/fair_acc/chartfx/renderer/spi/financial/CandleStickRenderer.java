@@ -3,11 +3,15 @@ package io.fair_acc.chartfx.renderer.spi.financial;
 import static io.fair_acc.dataset.DataSet.DIM_X;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
 import io.fair_acc.chartfx.renderer.Renderer;
@@ -18,6 +22,8 @@ import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.StyleUtil;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumns;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumnsAware;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModelAware;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
 
@@ -37,6 +43,11 @@ import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
  * <p>
  * In practice, any color can be assigned to rising or falling price candles. A candlestick need not have either a body or a wick.
  * Generally, the longer the body of the candle, the more intense the trading.
+ * <p>
+ * Without extension points or bar marker, the visible candles are first sorted into a rising and a falling/doji bucket,
+ * each bucket is painted as one path. Candles narrower than two pixels are painted in a single pixel-buffer pass. With
+ * extension points, the candles are painted one by one and the {@link OhlcvRendererEpData} objects are re-used from frame
+ * to frame (i.e. they must not be retained by the extension points).
  *
  * @see <a href="https://www.investopedia.com/terms/c/candlestick.asp">Candlestick Investopedia</a>
  *
@@ -50,6 +61,18 @@ public class CandleStickRenderer extends AbstractFinancialRenderer<CandleStickRe
 
     protected final List<RendererPaintAfterEP> paintAfterEPS = new ArrayList<>();
 
+    // re-used per-frame buffers of the batched candle painting
+    private double[] candleX = new double[0];
+    private double[] candleOpen = new double[0];
+    private double[] candleHigh = new double[0];
+    private double[] candleLow = new double[0];
+    private double[] candleClose = new double[0];
+    private int[] candleOrder = new int[0]; // candle positions, rising bucket first
+    private int candleUpCount;
+    private int[] pixelBuffer = new int[0];
+    private WritableImage pixelImage;
+    private final List<OhlcvRendererEpData> epDataPool = new ArrayList<>();
+
     public CandleStickRenderer(boolean paintVolume) {
         StyleUtil.addStyles(this, "candlestick");
         this.paintVolume = paintVolume;
@@ -111,6 +134,10 @@ public class CandleStickRenderer extends AbstractFinancialRenderer<CandleStickRe
         if (ds instanceof AttributeModelAware) {
             attrs = (AttributeModelAware) ds;
         }
+        AttributeColumns attrColumns = null;
+        if (ds instanceof AttributeColumnsAware) {
+            attrColumns = ((AttributeColumnsAware) ds).getAttributeColumns();
+        }
         IOhlcvItemAware itemAware = null;
         if (ds instanceof IOhlcvItemAware) {
             itemAware = (IOhlcvItemAware) ds;
@@ -151,24 +178,42 @@ public class CandleStickRenderer extends AbstractFinancialRenderer<CandleStickRe
             double localBarWidth = minRequiredWidth * barWidthPercent;
             double barWidthHalf = localBarWidth / 2.0;
 
-            for (int i = iMin; i < iMax; i++) {
-                double x0 = xAxis.getDisplayPosition(ds.get(DIM_X, i));
-                double yOpen = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_OPEN, i));
-                double yHigh = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_HIGH, i));
-                double yLow = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_LOW, i));
-                double yClose = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_CLOSE, i));
-
-                double yDiff = yOpen - yClose;
-                double yMin = yDiff > 0 ? yClose : yOpen;
-
-                // prepare extension point data (if EPs available)
-                OhlcvRendererEpData data = null;
-                if (isEpAvailable) {
-                    data = new OhlcvRendererEpData();
+            if (!isEpAvailable) {
+                // no per-bar colouring or painting -> classify and draw the candles in batches
+                computeCandles(ds, iMin, iMax);
+                if (paintVolume) {
+                    assert distances != null;
+                    for (int i = iMin; i < iMax; i++) {
+                        paintVolume(gc, ds, i, candleVolumeLongColor, candleVolumeShortColor, yAxis, distances, localBarWidth, barWidthHalf, candleX[i - iMin]);
+                    }
+                }
+                if (localBarWidth >= 2.0 || !paintCandlePixels(gc, iMax - iMin, candleLongColor, candleShortColor, candleLongWickColor, candleShortWickColor)) {
+                    if (candleShadowColor != null) {
+                        double lineWidth = gc.getLineWidth();
+                        paintCandleShadows(gc, iMax - iMin, candleShadowColor, shadowLineWidth, shadowTransPercent, localBarWidth, barWidthHalf);
+                        gc.setLineWidth(lineWidth);
+                    }
+                    paintCandleBucket(gc, 0, candleUpCount, candleLongColor, candleLongWickColor, localBarWidth, barWidthHalf);
+                    paintCandleBucket(gc, candleUpCount, iMax - iMin, candleShortColor, candleShortWickColor, localBarWidth, barWidthHalf);
+                }
+            } else {
+                for (int i = iMin; i < iMax; i++) {
+                    double x0 = xAxis.getDisplayPosition(ds.get(DIM_X, i));
+                    double yOpen = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_OPEN, i));
+                    double yHigh = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_HIGH, i));
+                    double yLow = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_LOW, i));
+                    double yClose = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_CLOSE, i));
+
+                    double yDiff = yOpen - yClose;
+                    double yMin = yDiff > 0 ? yClose : yOpen;
+
+                    // prepare extension point data (re-used from the pool, valid during this frame)
+                    OhlcvRendererEpData data = getEpData(i - iMin);
                     data.gc = gc;
                     data.ds = ds;
                     data.style = style;
                     data.attrs = attrs;
+                    data.attrColumns = attrColumns;
                     data.ohlcvItemAware = itemAware;
                     data.ohlcvItem = itemAware != null ? itemAware.getItem(i) : null;
                     data.index = i;
@@ -183,53 +228,206 @@ public class CandleStickRenderer extends AbstractFinancialRenderer<CandleStickRe
                     data.yClose = yClose;
                     data.yDiff = yDiff;
                     data.yMin = yMin;
+                    data.addon = null;
+
+                    // paint volume
+                    if (paintVolume) {
+                        assert distances != null;
+                        paintVolume(gc, ds, i, candleVolumeLongColor, candleVolumeShortColor, yAxis, distances, localBarWidth, barWidthHalf, x0);
+                    }
+
+                    // paint shadow
+                    if (candleShadowColor != null) {
+                        double lineWidth = gc.getLineWidth();
+                        paintCandleShadow(gc,
+                                candleShadowColor, shadowLineWidth, shadowTransPercent,
+                                localBarWidth, barWidthHalf, x0, yOpen, yClose, yLow, yHigh, yDiff, yMin);
+                        gc.setLineWidth(lineWidth);
+                    }
+
+                    // choose color of the bar
+                    Paint barPaint = getPaintBarColor(data);
+
+                    if (yDiff > 0) {
+                        gc.setFill(Objects.requireNonNullElse(barPaint, candleLongColor));
+                        gc.setStroke(Objects.requireNonNullElse(barPaint, candleLongWickColor));
+                    } else {
+                        yDiff = Math.abs(yDiff);
+                        gc.setFill(Objects.requireNonNullElse(barPaint, candleShortColor));
+                        gc.setStroke(Objects.requireNonNullElse(barPaint, candleShortWickColor));
+                    }
+
+                    // paint candle
+                    gc.strokeLine(x0, yLow, x0, yDiff > 0 ? yOpen : yClose);
+                    gc.strokeLine(x0, yHigh, x0, yDiff > 0 ? yClose : yOpen);
+                    gc.fillRect(x0 - barWidthHalf, yMin, localBarWidth, yDiff); // open-close
+                    gc.strokeRect(x0 - barWidthHalf, yMin, localBarWidth, yDiff); // open-close
+
+                    // extension point - paint after painting of candle
+                    if (!paintAfterEPS.isEmpty()) {
+                        paintAfter(data);
+                    }
                 }
+            }
+        }
+        gc.restore();
 
-                // paint volume
-                if (paintVolume) {
-                    assert distances != null;
-                    paintVolume(gc, ds, i, candleVolumeLongColor, candleVolumeShortColor, yAxis, distances, localBarWidth, barWidthHalf, x0);
-                }
-
-                // paint shadow
-                if (candleShadowColor != null) {
-                    double lineWidth = gc.getLineWidth();
-                    paintCandleShadow(gc,
-                            candleShadowColor, shadowLineWidth, shadowTransPercent,
-                            localBarWidth, barWidthHalf, x0, yOpen, yClose, yLow, yHigh, yDiff, yMin);
-                    gc.setLineWidth(lineWidth);
-                }
+        // possibility to re-arrange y-axis by min/max of dataset (after paint)
+        if (computeLocalRange()) {
+            applyLocalYRange(ds, yAxis, xMin, xMax);
+        }
+    }
 
-                // choose color of the bar
-                Paint barPaint = data == null ? null : getPaintBarColor(data);
+    /**
+     * Computes the screen coordinates of the candles in [iMin, iMax) and sorts their positions into the rising (first
+     * {@code candleUpCount} entries of {@code candleOrder}) and falling/doji bucket (remaining entries), each in index
+     * order.
+     */
+    private void computeCandles(final DataSet ds, final int iMin, final int iMax) {
+        final int n = iMax - iMin;
+        if (candleX.length < n) {
+            candleX = new double[n];
+            candleOpen = new double[n];
+            candleHigh = new double[n];
+            candleLow = new double[n];
+            candleClose = new double[n];
+            candleOrder = new int[n];
+        }
+        int upCount = 0;
+        for (int i = iMin; i < iMax; i++) {
+            final int k = i - iMin;
+            candleX[k] = xAxis.getDisplayPosition(ds.get(DIM_X, i));
+            candleOpen[k] = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_OPEN, i));
+            candleHigh[k] = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_HIGH, i));
+            candleLow[k] = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_LOW, i));
+            candleClose[k] = yAxis.getDisplayPosition(ds.get(OhlcvDataSet.DIM_Y_CLOSE, i));
+            if (candleOpen[k] - candleClose[k] > 0) {
+                upCount++;
+            }
+        }
+        int up = 0;
+        int down = upCount;
+        for (int k = 0; k < n; k++) {
+            candleOrder[candleOpen[k] - candleClose[k] > 0 ? up++ : down++] = k;
+        }
+        candleUpCount = upCount;
+    }
 
-                if (yDiff > 0) {
-                    gc.setFill(Objects.requireNonNullElse(barPaint, candleLongColor));
-                    gc.setStroke(Objects.requireNonNullElse(barPaint, candleLongWickColor));
-                } else {
-                    yDiff = Math.abs(yDiff);
-                    gc.setFill(Objects.requireNonNullElse(barPaint, candleShortColor));
-                    gc.setStroke(Objects.requireNonNullElse(barPaint, candleShortWickColor));
-                }
+    /**
+     * Paints the wicks and bodies of one bucket of candles as a single path (one fill and one stroke call).
+     */
+    private void paintCandleBucket(final GraphicsContext gc, final int from, final int to, final Paint bodyColor, final Paint wickColor, final double barWidth, final double barWidthHalf) {
+        if (from >= to) {
+            return;
+        }
+        gc.setFill(bodyColor);
+        gc.setStroke(wickColor);
+        gc.beginPath();
+        for (int j = from; j < to; j++) {
+            final int k = candleOrder[j];
+            final double x0 = candleX[k];
+            final double yBodyTop = Math.min(candleOpen[k], candleClose[k]);
+            final double yBodyBottom = Math.max(candleOpen[k], candleClose[k]);
+            gc.moveTo(x0, candleLow[k]);
+            gc.lineTo(x0, yBodyBottom);
+            gc.moveTo(x0, candleHigh[k]);
+            gc.lineTo(x0, yBodyTop);
+            gc.rect(x0 - barWidthHalf, yBodyTop, barWidth, yBodyBottom - yBodyTop);
+        }
+        gc.fill(); // N.B. the wick sub-paths enclose no area
+        gc.stroke();
+        gc.beginPath();
+    }
 
-                // paint candle
-                gc.strokeLine(x0, yLow, x0, yDiff > 0 ? yOpen : yClose);
-                gc.strokeLine(x0, yHigh, x0, yDiff > 0 ? yClose : yOpen);
-                gc.fillRect(x0 - barWidthHalf, yMin, localBarWidth, yDiff); // open-close
-                gc.strokeRect(x0 - barWidthHalf, yMin, localBarWidth, yDiff); // open-close
+    /**
+     * Paints the shadows of all candles as two paths (wicks and bodies), same geometry as
+     * {@link #paintCandleShadow(GraphicsContext, Paint, double, double, double, double, double, double, double, double, double, double, double)}.
+     */
+    private void paintCandleShadows(final GraphicsContext gc, final int n, final Paint shadowColor, final double shadowLineWidth, final double shadowTransPercent, final double barWidth, final double barWidthHalf) {
+        final double trans = shadowTransPercent * barWidthHalf;
+        gc.setLineWidth(shadowLineWidth);
+        gc.setFill(shadowColor);
+        gc.setStroke(shadowColor);
+        gc.beginPath();
+        for (int k = 0; k < n; k++) {
+            final double x0 = candleX[k] + trans;
+            gc.moveTo(x0, candleLow[k] + trans);
+            gc.lineTo(x0, Math.max(candleOpen[k], candleClose[k]) + trans);
+            gc.moveTo(x0, candleHigh[k] + trans);
+            gc.lineTo(x0, Math.min(candleOpen[k], candleClose[k]) + trans);
+        }
+        gc.stroke();
+        gc.beginPath();
+        for (int k = 0; k < n; k++) {
+            final double yBodyTop = Math.min(candleOpen[k], candleClose[k]);
+            gc.rect(candleX[k] - barWidthHalf + trans, yBodyTop + trans, barWidth, Math.max(candleOpen[k], candleClose[k]) - yBodyTop);
+        }
+        gc.fill();
+        gc.beginPath();
+    }
 
-                // extension point - paint after painting of candle
-                if (!paintAfterEPS.isEmpty()) {
-                    paintAfter(data);
-                }
+    /**
+     * Paints candles narrower than two pixels into an ARGB pixel buffer (one vertical pixel span per candle for the
+     * wick and one for the body) that is drawn as a single image. Shadows are omitted at this scale.
+     *
+     * @return false if the colours are not plain {@link Color}s and the candles need to be painted as paths
+     */
+    private boolean paintCandlePixels(final GraphicsContext gc, final int n, final Paint longColor, final Paint shortColor, final Paint longWickColor, final Paint shortWickColor) {
+        if (!(longColor instanceof Color && shortColor instanceof Color && longWickColor instanceof Color && shortWickColor instanceof Color)) {
+            return false;
+        }
+        final int width = (int) Math.ceil(gc.getCanvas().getWidth());
+        final int height = (int) Math.ceil(gc.getCanvas().getHeight());
+        if (width <= 0 || height <= 0) {
+            return true;
+        }
+        if (pixelImage == null || (int) pixelImage.getWidth() != width || (int) pixelImage.getHeight() != height) {
+            pixelImage = new WritableImage(width, height);
+            pixelBuffer = new int[width * height];
+        } else {
+            Arrays.fill(pixelBuffer, 0);
+        }
+        final int longArgb = toArgb((Color) longColor);
+        final int shortArgb = toArgb((Color) shortColor);
+        final int longWickArgb = toArgb((Color) longWickColor);
+        final int shortWickArgb = toArgb((Color) shortWickColor);
+
+        for (int k = 0; k < n; k++) {
+            final double x = candleX[k];
+            if (!(x >= 0.0 && x < width)) { // NOPMD - also excludes NaN
+                continue;
             }
+            final boolean isUp = candleOpen[k] - candleClose[k] > 0;
+            final int column = (int) x;
+            fillSpan(column, width, height, candleHigh[k], candleLow[k], isUp ? longWickArgb : shortWickArgb);
+            fillSpan(column, width, height, candleOpen[k], candleClose[k], isUp ? longArgb : shortArgb);
         }
-        gc.restore();
+        pixelImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixelBuffer, 0, width);
+        gc.drawImage(pixelImage, 0, 0);
+        return true;
+    }
 
-        // possibility to re-arrange y-axis by min/max of dataset (after paint)
-        if (computeLocalRange()) {
-            applyLocalYRange(ds, yAxis, xMin, xMax);
+    private void fillSpan(final int column, final int width, final int height, final double y0, final double y1, final int argb) {
+        if (Double.isNaN(y0) || Double.isNaN(y1)) {
+            return;
+        }
+        final int from = (int) Math.max(0, Math.floor(Math.min(y0, y1)));
+        final int to = (int) Math.min(height - 1.0, Math.floor(Math.max(y0, y1)));
+        for (int y = from, index = from * width + column; y <= to; y++, index += width) {
+            pixelBuffer[index] = argb;
+        }
+    }
+
+    private OhlcvRendererEpData getEpData(final int index) {
+        while (epDataPool.size() <= index) {
+            epDataPool.add(new OhlcvRendererEpData());
         }
+        return epDataPool.get(index);
+    }
+
+    private static int toArgb(final Color color) {
+        return ((int) Math.round(color.getOpacity() * 255) << 24) | ((int) Math.round(color.getRed() * 255) << 16) //
+                | ((int) Math.round(color.getGreen() * 255) << 8) | (int) Math.round(color.getBlue() * 255);
     }
 
     /**
@@ -29,9 +29,12 @@ import io.fair_acc.chartfx.renderer.spi.financial.service.RendererPaintAfterEPAw
 import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.FootprintRendererAttributes;
 import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.NbColumnColorGroup;
 import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.NbColumnColorGroup.FontColor;
+import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.PriceLadder;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.StyleUtil;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumns;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumnsAware;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModelAware;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
@@ -67,6 +70,7 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
     private final FontLoader fontLoader;
 
     private AttributeModelAware attrs;
+    private AttributeColumns attrColumns;
     private IOhlcvItemAware itemAware;
     private boolean isEpAvailable;
     private Paint pocColor;
@@ -87,6 +91,13 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
     private double fontGap;
     private double basicGap;
     private float heightText;
+    // reused per-bar row buffers
+    private double[] rowPrices = new double[0];
+    private double[] rowCenterY = new double[0];
+    private String[] rowBidTexts = new String[0];
+    private String[] rowAskTexts = new String[0];
+    private boolean[] rowIsPoc = new boolean[0];
+    private boolean[] rowIsLastPrice = new boolean[0];
 
     protected List<RendererPaintAfterEP> paintAfterEPS = new ArrayList<>();
 
@@ -159,6 +170,10 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
         if (ds instanceof AttributeModelAware) {
             attrs = (AttributeModelAware) ds;
         }
+        attrColumns = null;
+        if (ds instanceof AttributeColumnsAware) {
+            attrColumns = ((AttributeColumnsAware) ds).getAttributeColumns();
+        }
         itemAware = (IOhlcvItemAware) ds;
         isEpAvailable = !paintAfterEPS.isEmpty() || paintBarMarker != null;
 
@@ -249,8 +264,7 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
         double close = ohlcvItem.getClose();
 
         // call api
-        Collection<Double[]> priceVolumeList = footprintRenderedApi.getPriceVolumeList(ohlcvItem);
-        double pocPrice = footprintRenderedApi.getPocPrice(ohlcvItem);
+        final int rowCount = loadRows(ohlcvItem, isLastBar ? close : Double.NaN);
         NbColumnColorGroup resultColorGroups = footprintRenderedApi.getColumnColorGroup(ohlcvItem);
 
         double yDiff = yOpen - yClose;
@@ -264,6 +278,7 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
             data.ds = ds;
             data.style = style;
             data.attrs = attrs;
+            data.attrColumns = attrColumns;
             data.ohlcvItemAware = itemAware;
             data.ohlcvItem = ohlcvItem;
             data.index = i;
@@ -299,27 +314,25 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
 
         // draw bid-ask rows
         double maxWidthTextBid = -Double.MAX_VALUE;
-        for (Double[] priceVolume : priceVolumeList) {
-            double price = priceVolume[0];
-            double bidVolume = priceVolume[1];
-            double askVolume = priceVolume[2];
-            boolean isLastBarAndLastPrice = isLastBar && price == close;
+        for (int row = 0; row < rowCount; row++) {
+            double price = rowPrices[row];
+            String bidText = rowBidTexts[row];
+            String askText = rowAskTexts[row];
+            boolean isLastBarAndLastPrice = rowIsLastPrice[row];
+            rowCenterY[row] = yAxis.getDisplayPosition(price) + heightText / 2.0; // center of text to price value
 
-            double widthTextBidBasic = computeTextWidth(basicFont, getFormattedVolume(bidVolume), 0);
-            double widthTextBidSelected = computeTextWidth(selectedFont, getFormattedVolume(bidVolume), 0);
-            double widthTextAskBasic = computeTextWidth(basicFont, getFormattedVolume(askVolume), 0);
-            double widthTextAskSelected = computeTextWidth(selectedFont, getFormattedVolume(askVolume), 0);
-            double widthTextBid = isLastBarAndLastPrice ? widthTextBidSelected : widthTextBidBasic;
-            double widthTextAsk = isLastBarAndLastPrice ? widthTextAskSelected : widthTextAskBasic;
+            double widthTextBidBasic = computeTextWidth(basicFont, bidText, 0);
+            double widthTextBid = isLastBarAndLastPrice ? computeTextWidth(selectedFont, bidText, 0) : widthTextBidBasic;
+            double widthTextAsk = computeTextWidth(isLastBarAndLastPrice ? selectedFont : basicFont, askText, 0);
 
             if (widthTextBidBasic > maxWidthTextBid)
                 maxWidthTextBid = widthTextBidBasic;
             double xxBid = x0 - widthTextBid - fontGap;
             double xxAsk = x0 + fontGap;
-            double bidAskVolumeY = yAxis.getDisplayPosition(price) + heightText / 2.0; // center of text to price value
+            double bidAskVolumeY = rowCenterY[row];
 
             // paint POC rectangle
-            if (paintPoc && price == pocPrice) {
+            if (paintPoc && rowIsPoc[row]) {
                 gc.setStroke(pocColor);
                 gc.setLineCap(StrokeLineCap.BUTT);
                 gc.setLineJoin(StrokeLineJoin.MITER);
@@ -337,24 +350,24 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
                 gc.setFont(isLastBarAndLastPrice ? selectedFont : fontColor.bidFont);
                 gc.setFont(new Font(calcFontSize(gc.getFont().getSize(), ratio)));
                 gc.setFill(fontColor.bidColor);
-                gc.fillText(getFormattedVolume(bidVolume), xxBid, bidAskVolumeY);
+                gc.fillText(bidText, xxBid, bidAskVolumeY);
                 gc.setFont(isLastBarAndLastPrice ? selectedFont : fontColor.askFont);
                 gc.setFont(new Font(calcFontSize(gc.getFont().getSize(), ratio)));
                 gc.setFill(fontColor.askColor);
-                gc.fillText(getFormattedVolume(askVolume), xxAsk, bidAskVolumeY);
+                gc.fillText(askText, xxAsk, bidAskVolumeY);
 
             } else {
                 gc.setFont(isLastBarAndLastPrice ? selectedFont : basicFont);
                 gc.setFill(footprintDefaultFontColor);
-                gc.fillText(getFormattedVolume(bidVolume), xxBid, bidAskVolumeY);
-                gc.fillText(getFormattedVolume(askVolume), xxAsk, bidAskVolumeY);
+                gc.fillText(bidText, xxBid, bidAskVolumeY);
+                gc.fillText(askText, xxAsk, bidAskVolumeY);
             }
         } // for
 
         // paint body box indicator
-        for (Double[] priceVolume : priceVolumeList) {
-            double price = priceVolume[0];
-            double bidAskVolumeY = yAxis.getDisplayPosition(price) + heightText / 2.0;
+        for (int row = 0; row < rowCount; row++) {
+            double price = rowPrices[row];
+            double bidAskVolumeY = rowCenterY[row];
             if ((close > open && price >= open && price <= close) || (close <= open && price <= open && price >= close)) {
                 gc.setLineWidth(1.0f);
                 if (close > open) {
@@ -393,8 +406,61 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
 
     //-------------- helpers ------------------
 
-    private String getFormattedVolume(double askVolume) {
-        return String.format("%1.0f", askVolume);
+    /**
+     * Copies the price rows of the bar into the primitive row buffers, directly from the {@link PriceLadder} (with its
+     * cached volume strings) if provided by the API, otherwise from the legacy price-volume list.
+     *
+     * @param ohlcvItem footprint bar
+     * @param lastPrice last price of the bar if it is the last bar, NaN otherwise
+     * @return number of rows
+     */
+    private int loadRows(IOhlcvItem ohlcvItem, double lastPrice) {
+        PriceLadder ladder = footprintRenderedApi.getPriceLadder(ohlcvItem);
+        if (ladder != null) {
+            ensureRowCapacity(ladder.size());
+            int pocLevel = ladder.getPocLevel();
+            int lastPriceLevel = ladder.getLevel(lastPrice);
+            int rowCount = 0;
+            for (int level = 0; level < ladder.size(); level++) {
+                if (!ladder.hasVolume(level)) {
+                    continue;
+                }
+                rowPrices[rowCount] = ladder.getPrice(level);
+                rowBidTexts[rowCount] = ladder.getFormattedBidVolume(level);
+                rowAskTexts[rowCount] = ladder.getFormattedAskVolume(level);
+                rowIsPoc[rowCount] = level == pocLevel;
+                rowIsLastPrice[rowCount] = level == lastPriceLevel;
+                rowCount++;
+            }
+            return rowCount;
+        }
+
+        Collection<Double[]> priceVolumeList = footprintRenderedApi.getPriceVolumeList(ohlcvItem);
+        double pocPrice = footprintRenderedApi.getPocPrice(ohlcvItem);
+        ensureRowCapacity(priceVolumeList.size());
+        int rowCount = 0;
+        for (Double[] priceVolume : priceVolumeList) {
+            double price = priceVolume[0];
+            rowPrices[rowCount] = price;
+            rowBidTexts[rowCount] = PriceLadder.formatVolume(priceVolume[1]);
+            rowAskTexts[rowCount] = PriceLadder.formatVolume(priceVolume[2]);
+            rowIsPoc[rowCount] = price == pocPrice;
+            rowIsLastPrice[rowCount] = price == lastPrice;
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    private void ensureRowCapacity(int capacity) {
+        if (rowPrices.length >= capacity) {
+            return;
+        }
+        rowPrices = new double[capacity];
+        rowCenterY = new double[capacity];
+        rowBidTexts = new String[capacity];
+        rowAskTexts = new String[capacity];
+        rowIsPoc = new boolean[capacity];
+        rowIsLastPrice = new boolean[capacity];
     }
 
     private Font getFontWithRatio(Font fontTemplate, double ratio) {
@@ -440,6 +506,10 @@ public class FootprintRenderer extends AbstractFinancialRenderer<FootprintRender
         Collection<Double[]> getPriceVolumeList(IOhlcvItem ohlcvItem);
         // get POC price (Point of control)
         double getPocPrice(IOhlcvItem ohlcvItem);
+        // primitive price ladder of the bar, if provided it is used instead of the price volume list and POC price
+        default PriceLadder getPriceLadder(IOhlcvItem ohlcvItem) {
+            return null;
+        }
         // column font and colors for each NP value
         NbColumnColorGroup getColumnColorGroup(IOhlcvItem ohlcvItem);
         // try get pullback column (if the feature is active)
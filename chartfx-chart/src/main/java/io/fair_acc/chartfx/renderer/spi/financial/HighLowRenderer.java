@@ -18,6 +18,8 @@ import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.StyleUtil;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumns;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumnsAware;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModelAware;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
 
@@ -101,6 +103,10 @@ public class HighLowRenderer extends AbstractFinancialRenderer<HighLowRenderer>
         if (ds instanceof AttributeModelAware) {
             attrs = (AttributeModelAware) ds;
         }
+        AttributeColumns attrColumns = null;
+        if (ds instanceof AttributeColumnsAware) {
+            attrColumns = ((AttributeColumnsAware) ds).getAttributeColumns();
+        }
         IOhlcvItemAware itemAware = null;
         if (ds instanceof IOhlcvItemAware) {
             itemAware = (IOhlcvItemAware) ds;
@@ -158,6 +164,7 @@ public class HighLowRenderer extends AbstractFinancialRenderer<HighLowRenderer>
                     data.ds = ds;
                     data.style = style;
                     data.attrs = attrs;
+                    data.attrColumns = attrColumns;
                     data.ohlcvItemAware = itemAware;
                     data.ohlcvItem = itemAware != null ? itemAware.getItem(i) : null;
                     data.index = i;
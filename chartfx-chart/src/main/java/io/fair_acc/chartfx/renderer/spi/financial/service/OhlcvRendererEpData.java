@@ -4,6 +4,7 @@ import javafx.scene.canvas.GraphicsContext;
 
 import io.fair_acc.chartfx.renderer.spi.financial.FinancialDataSetNode;
 import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumns;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModelAware;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
@@ -16,6 +17,7 @@ public class OhlcvRendererEpData {
     public DataSet ds;
     public FinancialDataSetNode style; // style information (may wrap a different dataset than ds)
     public AttributeModelAware attrs; // addon (if available)
+    public AttributeColumns attrColumns; // per-bar addons indexed by 'index' (if available)
     public IOhlcvItemAware ohlcvItemAware; // get item by index (if available)
     public IOhlcvItem ohlcvItem; // item domain object (if available)
     public int minIndex; // min index of rendered bar
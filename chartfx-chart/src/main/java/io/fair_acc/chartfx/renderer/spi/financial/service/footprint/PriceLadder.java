@@ -0,0 +1,279 @@
+package io.fair_acc.chartfx.renderer.spi.financial.service.footprint;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Primitive price ladder of one footprint bar: bid and ask volumes are accumulated in {@code double[]} columns indexed
+ * by the price tick ({@code round(price / tickSize)}), i.e. no boxing and no map lookups for updates and painting.
+ * <p>
+ * The ladder levels are numbered from {@code 0} (lowest traded tick) to {@code size() - 1} (highest traded tick), levels
+ * in between without trades are reported by {@link #hasVolume(int)}. The point of control (POC, level with the highest
+ * total volume) and the formatted volume strings used by the {@link io.fair_acc.chartfx.renderer.spi.financial.FootprintRenderer
+ * FootprintRenderer} are maintained incrementally: {@link #getPocPrice()} is O(1) and the strings are only re-formatted
+ * for levels that changed since they have been painted last.
+ * <p>
+ * N.B. the ladder is not synchronised, updates and painting are guarded by the footprint API lock of the bar.
+ */
+public class PriceLadder {
+    private static final int DEFAULT_CAPACITY = 16;
+    private final double tickSize;
+    private long originTick; // tick of array index 0
+    private int lowIndex = -1; // array index of level 0, -1: empty
+    private int highIndex = -1;
+    private double[] prices; // first traded price of each tick, NaN: no trade on this tick
+    private double[] bidVolumes;
+    private double[] askVolumes;
+    private String[] bidTexts; // lazily formatted volumes, null: to be (re-)formatted
+    private String[] askTexts;
+    private int pocIndex = -1;
+    private double pocVolume = -Double.MAX_VALUE;
+
+    /**
+     * @param tickSize minimal price move of the instrument, prices are accumulated per multiple of the tick size
+     */
+    public PriceLadder(final double tickSize) {
+        AssertUtils.gtThanZero("tickSize", tickSize);
+        this.tickSize = tickSize;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Adds bid and ask volume to the given price level.
+     *
+     * @param price traded price
+     * @param bidVolume volume traded on the bid (tick down)
+     * @param askVolume volume traded on the ask (tick up)
+     * @return itself (fluent design)
+     */
+    public PriceLadder add(final double price, final double bidVolume, final double askVolume) {
+        if (!Double.isFinite(price)) {
+            throw new IllegalArgumentException("price must be finite: " + price);
+        }
+        final int index = ensureTick(getTick(price));
+        if (Double.isNaN(prices[index])) {
+            prices[index] = price;
+            bidVolumes[index] = 0.0;
+            askVolumes[index] = 0.0;
+        }
+        bidVolumes[index] += bidVolume;
+        askVolumes[index] += askVolume;
+        bidTexts[index] = null;
+        askTexts[index] = null;
+
+        final double totalVolume = bidVolumes[index] + askVolumes[index];
+        if (totalVolume > pocVolume) {
+            pocVolume = totalVolume;
+            pocIndex = index;
+        } else if (index == pocIndex && totalVolume < pocVolume) {
+            updatePoc(); // volume correction of the POC level
+        }
+        return this;
+    }
+
+    /**
+     * Removes all levels (N.B. the allocated capacity is retained).
+     */
+    public void clear() {
+        if (lowIndex >= 0) {
+            Arrays.fill(prices, lowIndex, highIndex + 1, Double.NaN);
+        }
+        lowIndex = -1;
+        highIndex = -1;
+        pocIndex = -1;
+        pocVolume = -Double.MAX_VALUE;
+    }
+
+    /**
+     * @param level ladder level
+     * @return ask volume of the level
+     */
+    public double getAskVolume(final int level) {
+        return askVolumes[getIndex(level)];
+    }
+
+    /**
+     * @param level ladder level
+     * @return bid volume of the level
+     */
+    public double getBidVolume(final int level) {
+        return bidVolumes[getIndex(level)];
+    }
+
+    /**
+     * @param level ladder level
+     * @return ask volume formatted for display (cached until the level is updated)
+     */
+    public String getFormattedAskVolume(final int level) {
+        final int index = getIndex(level);
+        if (askTexts[index] == null) {
+            askTexts[index] = formatVolume(askVolumes[index]);
+        }
+        return askTexts[index];
+    }
+
+    /**
+     * @param level ladder level
+     * @return bid volume formatted for display (cached until the level is updated)
+     */
+    public String getFormattedBidVolume(final int level) {
+        final int index = getIndex(level);
+        if (bidTexts[index] == null) {
+            bidTexts[index] = formatVolume(bidVolumes[index]);
+        }
+        return bidTexts[index];
+    }
+
+    /**
+     * @param price price
+     * @return ladder level of the price's tick or {@code -1} if it lies outside of the traded range
+     */
+    public int getLevel(final double price) {
+        if (lowIndex < 0 || !Double.isFinite(price)) {
+            return -1;
+        }
+        final long index = getTick(price) - originTick;
+        return index < lowIndex || index > highIndex ? -1 : (int) index - lowIndex;
+    }
+
+    /**
+     * @return ladder level of the point of control or {@code -1} if empty
+     */
+    public int getPocLevel() {
+        return pocIndex < 0 ? -1 : pocIndex - lowIndex;
+    }
+
+    /**
+     * @return price of the point of control (level with the highest total volume), {@code 0.0} if empty
+     */
+    public double getPocPrice() {
+        return pocIndex < 0 ? 0.0 : prices[pocIndex];
+    }
+
+    /**
+     * @return total (bid + ask) volume of the point of control
+     */
+    public double getPocVolume() {
+        return pocVolume;
+    }
+
+    /**
+     * @param level ladder level
+     * @return traded price of the level or {@code NaN} if there have been no trades on this level
+     */
+    public double getPrice(final int level) {
+        return prices[getIndex(level)];
+    }
+
+    /**
+     * @return minimal price move, i.e. the price difference between two adjacent ladder levels
+     */
+    public double getTickSize() {
+        return tickSize;
+    }
+
+    /**
+     * @param level ladder level
+     * @return true if there have been trades on this level
+     */
+    public boolean hasVolume(final int level) {
+        return !Double.isNaN(prices[getIndex(level)]);
+    }
+
+    /**
+     * @return true if there are no levels
+     */
+    public boolean isEmpty() {
+        return lowIndex < 0;
+    }
+
+    /**
+     * @return number of levels between (and including) the lowest and highest traded tick
+     */
+    public int size() {
+        return lowIndex < 0 ? 0 : highIndex - lowIndex + 1;
+    }
+
+    private void allocate(final int capacity) {
+        prices = new double[capacity];
+        Arrays.fill(prices, Double.NaN);
+        bidVolumes = new double[capacity];
+        askVolumes = new double[capacity];
+        bidTexts = new String[capacity];
+        askTexts = new String[capacity];
+    }
+
+    private int ensureTick(final long tick) {
+        if (lowIndex < 0) {
+            // first level, centre it to leave room for growth in both directions
+            originTick = tick - prices.length / 2;
+            lowIndex = prices.length / 2;
+            highIndex = lowIndex;
+            return lowIndex;
+        }
+        long index = tick - originTick;
+        if (index < 0 || index >= prices.length) {
+            final long newLow = Math.min(index, lowIndex);
+            final long newHigh = Math.max(index, highIndex);
+            final long required = newHigh - newLow + 1;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("price range exceeds ladder capacity: " + required + " ticks");
+            }
+            final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(2 * required, DEFAULT_CAPACITY));
+            final int shift = (int) ((capacity - required) / 2 - newLow); // new array index = old index + shift
+            final double[] oldPrices = prices;
+            final double[] oldBidVolumes = bidVolumes;
+            final double[] oldAskVolumes = askVolumes;
+            final String[] oldBidTexts = bidTexts;
+            final String[] oldAskTexts = askTexts;
+            final int length = highIndex - lowIndex + 1;
+            allocate(capacity);
+            System.arraycopy(oldPrices, lowIndex, prices, lowIndex + shift, length);
+            System.arraycopy(oldBidVolumes, lowIndex, bidVolumes, lowIndex + shift, length);
+            System.arraycopy(oldAskVolumes, lowIndex, askVolumes, lowIndex + shift, length);
+            System.arraycopy(oldBidTexts, lowIndex, bidTexts, lowIndex + shift, length);
+            System.arraycopy(oldAskTexts, lowIndex, askTexts, lowIndex + shift, length);
+            originTick -= shift;
+            lowIndex += shift;
+            highIndex += shift;
+            pocIndex += shift;
+            index += shift;
+        }
+        lowIndex = Math.min(lowIndex, (int) index);
+        highIndex = Math.max(highIndex, (int) index);
+        return (int) index;
+    }
+
+    private int getIndex(final int level) {
+        AssertUtils.indexInBounds(level, size());
+        return lowIndex + level;
+    }
+
+    private long getTick(final double price) {
+        return Math.round(price / tickSize);
+    }
+
+    private void updatePoc() {
+        pocIndex = -1;
+        pocVolume = -Double.MAX_VALUE;
+        for (int index = lowIndex; index <= highIndex; index++) {
+            final double totalVolume = bidVolumes[index] + askVolumes[index];
+            if (!Double.isNaN(prices[index]) && totalVolume > pocVolume) {
+                pocVolume = totalVolume;
+                pocIndex = index;
+            }
+        }
+    }
+
+    /**
+     * @param volume volume
+     * @return volume formatted without fractional digits (same as {@code String.format("%1.0f", volume)})
+     */
+    public static String formatVolume(final double volume) {
+        if (volume >= 0 && volume < 1e15) {
+            return Long.toString(Math.round(volume));
+        }
+        return String.format("%1.0f", volume);
+    }
+}
@@ -0,0 +1,281 @@
+package io.fair_acc.chartfx.renderer.spi.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Uniform pixel-grid spatial index of the screen coordinates of data points, e.g. as computed by a renderer during
+ * its last redraw. The points are bucketed into square cells of {@link #getCellSize()} pixels (stored in a compact,
+ * cell-sorted layout) so that nearest-point and rectangle queries only need to visit the few cells around the query
+ * location rather than all data points, i.e. cost O(1) for a bounded picking distance independent of the number of
+ * points.
+ * <p>
+ * Points with non-finite coordinates or outside the indexed screen area are ignored. The index is not thread-safe and
+ * is meant to be built and queried from the JavaFX application thread.
+ */
+public class ScreenPointIndex {
+    /** default width and height of a grid cell in pixels */
+    public static final double DEFAULT_CELL_SIZE = 16.0;
+    private final double cellSize;
+    private double originX;
+    private double originY;
+    private int nCellsX;
+    private int nCellsY;
+    private int size;
+    private boolean valid;
+    private int[] cellStart = new int[1];
+    private int[] cellCount = new int[0];
+    private int[] cellOfPoint = new int[0];
+    private int[] indices = new int[0];
+    private double[] xCoordinates = new double[0];
+    private double[] yCoordinates = new double[0];
+    private double nearestX = Double.NaN;
+    private double nearestY = Double.NaN;
+
+    /**
+     * Creates an (invalid) index with cells of {@value #DEFAULT_CELL_SIZE} pixels.
+     */
+    public ScreenPointIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param cellSize width and height of a grid cell in pixels, should be of the order of the typical picking distance
+     */
+    public ScreenPointIndex(final double cellSize) {
+        if (!(cellSize > 0) || !Double.isFinite(cellSize)) {
+            throw new IllegalArgumentException("cellSize must be a finite positive number: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * (Re-)builds the index from the screen coordinates {@code x[i], y[i]} for {@code i} in [from, to[. The internal
+     * buffers are re-used and only grow if needed.
+     *
+     * @param x screen x-coordinates indexed by the data point index
+     * @param y screen y-coordinates indexed by the data point index
+     * @param from first data point index (inclusive)
+     * @param to last data point index (exclusive)
+     * @param minX lower x-bound of the indexed screen area
+     * @param maxX upper x-bound of the indexed screen area
+     * @param minY lower y-bound of the indexed screen area
+     * @param maxY upper y-bound of the indexed screen area
+     */
+    public void build(final double[] x, final double[] y, final int from, final int to, final double minX, final double maxX, final double minY, final double maxY) {
+        AssertUtils.notNull("x", x);
+        AssertUtils.notNull("y", y);
+        if (from < 0 || to < from || to > x.length || to > y.length) {
+            throw new IllegalArgumentException("invalid index range [" + from + ", " + to + "[ for arrays of length " + x.length + " and " + y.length);
+        }
+        if (!(maxX >= minX) || !(maxY >= minY)) {
+            throw new IllegalArgumentException("invalid screen area [" + minX + ", " + maxX + "] x [" + minY + ", " + maxY + "]");
+        }
+        originX = minX;
+        originY = minY;
+        nCellsX = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        nCellsY = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+        final int nCells = nCellsX * nCellsY;
+        final int nPoints = to - from;
+        if (cellCount.length < nCells) {
+            cellCount = new int[nCells];
+            cellStart = new int[nCells + 1];
+        } else {
+            Arrays.fill(cellCount, 0, nCells, 0);
+        }
+        if (cellOfPoint.length < nPoints) {
+            cellOfPoint = new int[nPoints];
+        }
+
+        // first pass: assign and count points per cell
+        int nIndexed = 0;
+        for (int i = from; i < to; i++) {
+            final int cell = cellOf(x[i], y[i]);
+            cellOfPoint[i - from] = cell;
+            if (cell >= 0) {
+                cellCount[cell]++;
+                nIndexed++;
+            }
+        }
+        cellStart[0] = 0;
+        for (int cell = 0; cell < nCells; cell++) {
+            cellStart[cell + 1] = cellStart[cell] + cellCount[cell];
+        }
+        if (indices.length < nIndexed) {
+            indices = new int[nIndexed];
+            xCoordinates = new double[nIndexed];
+            yCoordinates = new double[nIndexed];
+        }
+
+        // second pass: scatter points in cell order (cellCount is re-used as the fill position)
+        for (int i = from; i < to; i++) {
+            final int cell = cellOfPoint[i - from];
+            if (cell >= 0) {
+                final int slot = cellStart[cell + 1] - cellCount[cell]--;
+                indices[slot] = i;
+                xCoordinates[slot] = x[i];
+                yCoordinates[slot] = y[i];
+            }
+        }
+        size = nIndexed;
+        valid = true;
+    }
+
+    /**
+     * Returns the index of the point closest to the given screen location. In case of equal distances the point with
+     * the lowest index is returned.
+     *
+     * @param x screen x-coordinate
+     * @param y screen y-coordinate
+     * @param maxDistance maximum (inclusive) distance in pixels, may be {@link Double#POSITIVE_INFINITY}
+     * @return index of the nearest data point, or -1 if there is none within {@code maxDistance} or the index is invalid
+     * @see #getNearestX()
+     * @see #getNearestY()
+     */
+    public int findNearest(final double x, final double y, final double maxDistance) {
+        nearestX = Double.NaN;
+        nearestY = Double.NaN;
+        if (!valid || size == 0 || !Double.isFinite(x) || !Double.isFinite(y)) {
+            return -1;
+        }
+        final long qx = (long) Math.floor((x - originX) / cellSize);
+        final long qy = (long) Math.floor((y - originY) / cellSize);
+        // first ring touching and last ring covering the grid as seen from the query cell (which may lie outside)
+        final long minRing = Math.max(Math.max(0, Math.max(-qx, qx - nCellsX + 1)), Math.max(-qy, qy - nCellsY + 1));
+        final long maxRing = Math.max(Math.max(qx, nCellsX - 1 - qx), Math.max(qy, nCellsY - 1 - qy));
+        final double maxDistance2 = maxDistance * maxDistance;
+        int bestIndex = -1;
+        int bestSlot = -1;
+        double bestDistance2 = Double.POSITIVE_INFINITY;
+        for (long ring = minRing; ring <= maxRing; ring++) {
+            // all points in ring 'ring' are at least (ring - 1) * cellSize away from the query location
+            final double ringDistance = Math.max(0, ring - 1) * cellSize;
+            if (ringDistance > maxDistance || ringDistance * ringDistance > bestDistance2) {
+                break;
+            }
+            final long cyMin = Math.max(0, qy - ring);
+            final long cyMax = Math.min(nCellsY - 1L, qy + ring);
+            for (long cy = cyMin; cy <= cyMax; cy++) {
+                // top and bottom rows of the ring are traversed fully, otherwise only the left and right cells
+                final boolean edgeRow = cy == qy - ring || cy == qy + ring;
+                final long step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                final long cxMax = edgeRow ? Math.min(nCellsX - 1L, qx + ring) : qx + ring;
+                for (long cx = edgeRow ? Math.max(0, qx - ring) : qx - ring; cx <= cxMax; cx += step) {
+                    if (cx < 0 || cx >= nCellsX) {
+                        continue;
+                    }
+                    final int cell = (int) (cy * nCellsX + cx);
+                    for (int slot = cellStart[cell]; slot < cellStart[cell + 1]; slot++) {
+                        final double dx = xCoordinates[slot] - x;
+                        final double dy = yCoordinates[slot] - y;
+                        final double distance2 = dx * dx + dy * dy;
+                        if (distance2 <= maxDistance2 && (distance2 < bestDistance2 || (distance2 == bestDistance2 && indices[slot] < bestIndex))) {
+                            bestDistance2 = distance2;
+                            bestIndex = indices[slot];
+                            bestSlot = slot;
+                        }
+                    }
+                }
+            }
+        }
+        if (bestSlot >= 0) {
+            nearestX = xCoordinates[bestSlot];
+            nearestY = yCoordinates[bestSlot];
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Invokes the consumer for the index of each point within the given (inclusive) screen rectangle, in cell order.
+     *
+     * @param minX lower x-bound
+     * @param maxX upper x-bound
+     * @param minY lower y-bound
+     * @param maxY upper y-bound
+     * @param consumer receives the data point indices
+     * @return number of points within the rectangle
+     */
+    public int forEachInRectangle(final double minX, final double maxX, final double minY, final double maxY, final IntConsumer consumer) {
+        AssertUtils.notNull("consumer", consumer);
+        if (!valid || size == 0 || !(maxX >= minX) || !(maxY >= minY)) {
+            return 0;
+        }
+        final int cxMin = clampCell(minX - originX, nCellsX);
+        final int cxMax = clampCell(maxX - originX, nCellsX);
+        final int cyMin = clampCell(minY - originY, nCellsY);
+        final int cyMax = clampCell(maxY - originY, nCellsY);
+        int count = 0;
+        for (int cy = cyMin; cy <= cyMax; cy++) {
+            for (int cx = cxMin; cx <= cxMax; cx++) {
+                final int cell = cy * nCellsX + cx;
+                for (int slot = cellStart[cell]; slot < cellStart[cell + 1]; slot++) {
+                    final double px = xCoordinates[slot];
+                    final double py = yCoordinates[slot];
+                    if (px >= minX && px <= maxX && py >= minY && py <= maxY) {
+                        consumer.accept(indices[slot]);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return width and height of a grid cell in pixels
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return indexed screen x-coordinate of the point returned by the last {@link #findNearest} call, NaN if none
+     */
+    public double getNearestX() {
+        return nearestX;
+    }
+
+    /**
+     * @return indexed screen y-coordinate of the point returned by the last {@link #findNearest} call, NaN if none
+     */
+    public double getNearestY() {
+        return nearestY;
+    }
+
+    /**
+     * marks the index as out-of-date, e.g. after the underlying screen coordinates changed
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * @return true if the index has been built and not been invalidated since
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return number of indexed points
+     */
+    public int size() {
+        return valid ? size : 0;
+    }
+
+    private int cellOf(final double x, final double y) {
+        final double cx = Math.floor((x - originX) / cellSize);
+        final double cy = Math.floor((y - originY) / cellSize);
+        // N.B. comparisons are false for NaN coordinates
+        if (!(cx >= 0 && cx < nCellsX && cy >= 0 && cy < nCellsY)) {
+            return -1;
+        }
+        return (int) cy * nCellsX + (int) cx;
+    }
+
+    private int clampCell(final double offset, final int nCells) {
+        return (int) Math.max(0, Math.min(nCells - 1, Math.floor(offset / cellSize)));
+    }
+}
@@ -1,8 +1,12 @@
 package io.fair_acc.chartfx.ui.css;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javafx.beans.property.LongProperty;
 import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleLongProperty;
+import javafx.geometry.Bounds;
 import javafx.scene.text.Text;
 
 /**
@@ -27,5 +31,27 @@ public class TextStyle extends Text implements StyleUtil.StyleNode {
         return changeCounter;
     }
 
+    /**
+     * Measures the given text rendered with this style. The results are cached per text until the next style (e.g.
+     * font or rotation) change, which avoids the comparatively expensive text layout for recurring labels.
+     * N.B. sets the text of this node as a side effect.
+     *
+     * @param text text to be measured
+     * @return the bounds in parent, i.e. including the rotation, of the text
+     */
+    public Bounds getTextBounds(final String text) {
+        if (boundsCacheCounter != getChangeCounter() || boundsCache.size() >= MAX_CACHED_BOUNDS) {
+            boundsCache.clear();
+            boundsCacheCounter = getChangeCounter();
+        }
+        return boundsCache.computeIfAbsent(text, key -> {
+            setText(key);
+            return getBoundsInParent();
+        });
+    }
+
+    private static final int MAX_CACHED_BOUNDS = 1024;
     private final LongProperty changeCounter = new SimpleLongProperty(0);
+    private final Map<String, Bounds> boundsCache = new HashMap<>();
+    private long boundsCacheCounter = -1;
 }
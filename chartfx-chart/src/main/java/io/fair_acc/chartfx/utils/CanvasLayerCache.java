@@ -0,0 +1,201 @@
+package io.fair_acc.chartfx.utils;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
+import javafx.stage.Window;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Caches the canvas output of individual chart layers (e.g. the grid or a renderer) as images so that layers whose
+ * content did not change can be composited with a single image blit instead of being re-rasterised on every redraw.
+ * <p>
+ * The layers are keyed by a caller-provided projection state (e.g. canvas size and axis ranges): a changed key or an
+ * explicit invalidation drops all layers. A layer is only captured once its owner was clean in a frame with an
+ * unchanged projection, so that continuously changing owners (live traces) or continuous zooming and panning are drawn
+ * directly and do not pay for the snapshots. Only to be used from the JavaFX application thread.
+ * <p>
+ * Usage per frame:
+ *
+ * <pre>
+ * cache.beginFrame(key, invalidateAll);
+ * for (owner : owners) { // capture the layers that became static
+ *     if (cache.needsCapture(owner, isDirty(owner))) {
+ *         clear(canvas); owner.render(); cache.capture(owner, canvas);
+ *     }
+ * }
+ * clear(canvas);
+ * for (owner : owners) { // composite
+ *     if (!cache.draw(owner, gc)) {
+ *         owner.render();
+ *     }
+ * }
+ * cache.endFrame();
+ * </pre>
+ */
+public class CanvasLayerCache {
+    private final Map<Object, Layer> layers = new IdentityHashMap<>();
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+    private double[] key = new double[0];
+    private boolean stableFrame;
+    private long frame;
+    private long captureCount;
+
+    public CanvasLayerCache() {
+        snapshotParameters.setFill(Color.TRANSPARENT);
+    }
+
+    /**
+     * Starts a new frame.
+     *
+     * @param frameKey projection state of the frame (e.g. canvas size and axis ranges), layers captured for a
+     *            different key are dropped
+     * @param invalidateAll true: drop all layers (e.g. because a chart-wide style property changed)
+     */
+    public void beginFrame(final double[] frameKey, final boolean invalidateAll) {
+        AssertUtils.notNull("frameKey", frameKey);
+        frame++;
+        final boolean keyChanged = !Arrays.equals(key, frameKey);
+        if (keyChanged) {
+            key = frameKey.clone();
+        }
+        if (keyChanged || invalidateAll) {
+            invalidateAll();
+        }
+        stableFrame = !keyChanged && !invalidateAll;
+    }
+
+    /**
+     * Captures the current canvas content as the layer of the given owner. N.B. the canvas is expected to contain only
+     * the output of this owner.
+     *
+     * @param owner the layer owner
+     * @param canvas the canvas the owner has been drawn into
+     */
+    public void capture(final Object owner, final Canvas canvas) {
+        final Layer layer = getLayer(owner);
+        final double scale = getOutputScale(canvas);
+        final int width = (int) Math.ceil(canvas.getWidth() * scale);
+        final int height = (int) Math.ceil(canvas.getHeight() * scale);
+        if (width <= 0 || height <= 0) {
+            layer.valid = false;
+            return;
+        }
+        snapshotParameters.setTransform(new Scale(scale, scale));
+        final WritableImage recycle = layer.image != null && (int) layer.image.getWidth() == width && (int) layer.image.getHeight() == height ? layer.image : null;
+        layer.image = canvas.snapshot(snapshotParameters, recycle);
+        layer.width = canvas.getWidth();
+        layer.height = canvas.getHeight();
+        layer.valid = true;
+        captureCount++;
+    }
+
+    /**
+     * drops all layers and their images
+     */
+    public void clear() {
+        layers.clear();
+        key = new double[0];
+        stableFrame = false;
+    }
+
+    /**
+     * Draws the cached layer of the given owner.
+     *
+     * @param owner the layer owner
+     * @param gc the graphics context to composite into
+     * @return false if there is no valid layer for the owner, i.e. it needs to be drawn directly
+     */
+    public boolean draw(final Object owner, final GraphicsContext gc) {
+        final Layer layer = layers.get(owner);
+        if (layer == null || !layer.valid) {
+            return false;
+        }
+        gc.drawImage(layer.image, 0, 0, layer.width, layer.height);
+        return true;
+    }
+
+    /**
+     * Ends the frame and drops the layers of owners that have not been used in this frame (e.g. removed renderers).
+     */
+    public void endFrame() {
+        layers.values().removeIf(layer -> layer.lastUsed != frame);
+    }
+
+    /**
+     * @return number of layer snapshots taken since the creation of the cache (diagnostics)
+     */
+    public long getCaptureCount() {
+        return captureCount;
+    }
+
+    /**
+     * drops the images of all layers (but keeps the image buffers for re-use)
+     */
+    public void invalidateAll() {
+        for (final Layer layer : layers.values()) {
+            layer.valid = false;
+        }
+    }
+
+    /**
+     * @param owner the layer owner
+     * @return true if a valid image of the owner's layer exists
+     */
+    public boolean isValid(final Object owner) {
+        final Layer layer = layers.get(owner);
+        return layer != null && layer.valid;
+    }
+
+    /**
+     * Updates the state of the owner's layer. Owners that are dirty lose their layer and need to be drawn directly.
+     *
+     * @param owner the layer owner
+     * @param dirty true if the owner's content changed since the last frame
+     * @return true if the owner's layer should be captured in this frame
+     */
+    public boolean needsCapture(final Object owner, final boolean dirty) {
+        final Layer layer = getLayer(owner);
+        if (dirty) {
+            layer.valid = false;
+            return false;
+        }
+        return !layer.valid && stableFrame;
+    }
+
+    /**
+     * @return number of layers (valid or not) tracked by the cache
+     */
+    public int size() {
+        return layers.size();
+    }
+
+    private Layer getLayer(final Object owner) {
+        final Layer layer = layers.computeIfAbsent(AssertUtils.notNull("owner", owner), o -> new Layer());
+        layer.lastUsed = frame;
+        return layer;
+    }
+
+    private static double getOutputScale(final Canvas canvas) {
+        final Scene scene = canvas.getScene();
+        final Window window = scene == null ? null : scene.getWindow();
+        return window == null ? 1.0 : Math.max(window.getRenderScaleX(), window.getRenderScaleY());
+    }
+
+    private static class Layer {
+        private WritableImage image;
+        private double width;
+        private double height;
+        private boolean valid;
+        private long lastUsed;
+    }
+}
@@ -0,0 +1,323 @@
+package io.fair_acc.chartfx.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import io.fair_acc.bench.Measurable;
+import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.bench.TimeMeasure;
+import io.fair_acc.chartfx.Chart;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Shares a per-frame time budget between the charts of e.g. a dashboard with many live charts. Without a scheduler,
+ * every dirty chart redraws during each JavaFX pulse, which may exceed the frame period and starve the UI.
+ * <p>
+ * Charts take part via {@link Chart#setRenderScheduler(ChartRenderScheduler)}. During the first post-layout callback
+ * of a pulse the scheduler collects all dirty charts, ranks them (charts that are hovered or contain the focus owner
+ * first, then charts that are visible on screen, then hidden charts) and grants redraws in that order as long as the
+ * sum of their estimated redraw times (a moving average of the measured redraw durations) fits into the
+ * {@link #getFrameBudget() frame budget}. Deferred charts keep their dirty state and are redrawn in one of the
+ * following pulses, at the latest after {@link #getMaxDeferredFrames()} frames. Hidden (e.g. scrolled-out or
+ * invisible) charts are decimated, i.e. only redrawn every {@link #getHiddenRefreshInterval()} frames if there is
+ * budget left.
+ * <p>
+ * Frames that exceed the budget are counted as dropped and reported via the 'scheduler-frameOverrun' measure of the
+ * {@link #setRecorder(MeasurementRecorder) recorder}. The scheduler must only be used from the JavaFX application
+ * thread.
+ */
+public class ChartRenderScheduler implements Measurable {
+    /** default time budget for chart redraws per frame in nanoseconds (leaves head-room for a 60 Hz frame rate) */
+    public static final long DEFAULT_FRAME_BUDGET = TimeUnit.MILLISECONDS.toNanos(12);
+    private static final ChartRenderScheduler DEFAULT_INSTANCE = new ChartRenderScheduler();
+    private static final double COST_SMOOTHING = 0.25; // weight of the latest measurement in the cost estimate
+    private static final int PRIORITY_FOCUSED = 0;
+    private static final int PRIORITY_VISIBLE = 1;
+    private static final int PRIORITY_HIDDEN = 2;
+    private static final Comparator<Entry> PRIORITY_ORDER = Comparator.comparingInt((Entry entry) -> entry.priority) //
+                                                                    .thenComparing(Comparator.comparingInt((Entry entry) -> entry.deferredFrames).reversed()) //
+                                                                    .thenComparingLong(entry -> entry.estimatedCost);
+    private final Map<Chart, Entry> charts = new WeakHashMap<>();
+    private final List<Entry> candidates = new ArrayList<>();
+    private long frameBudget = DEFAULT_FRAME_BUDGET;
+    private int maxDeferredFrames = 4;
+    private int hiddenRefreshInterval = 10;
+    private boolean planned;
+    private boolean frameStarted;
+    private long frameDuration;
+    private long frameCount;
+    private long droppedFrameCount;
+    private long deferredRedrawCount;
+    private TimeMeasure benchFrameRender = TimeMeasure.DISABLED;
+    private TimeMeasure benchFrameOverrun = TimeMeasure.DISABLED;
+
+    /**
+     * marks the start of a new pulse, called by the charts before their layout
+     */
+    public void beginFrame() {
+        planned = false;
+    }
+
+    /**
+     * @return number of frames during which the redraws exceeded the frame budget
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    /**
+     * @return number of redraws that have been postponed to a later frame
+     */
+    public long getDeferredRedrawCount() {
+        return deferredRedrawCount;
+    }
+
+    /**
+     * @param chart registered chart
+     * @return the estimated redraw time in nanoseconds, or -1 if the chart has not been drawn yet or is not registered
+     */
+    public long getEstimatedCost(final Chart chart) {
+        final Entry entry = charts.get(chart);
+        return entry == null ? -1 : entry.estimatedCost;
+    }
+
+    /**
+     * @return time budget for chart redraws per frame in nanoseconds
+     */
+    public long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * @return number of frames (with redraws) handled so far
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return number of frames after which a dirty hidden chart is redrawn (if the budget permits)
+     */
+    public int getHiddenRefreshInterval() {
+        return hiddenRefreshInterval;
+    }
+
+    /**
+     * @return maximum number of frames a visible chart may be deferred before it is redrawn regardless of the budget
+     */
+    public int getMaxDeferredFrames() {
+        return maxDeferredFrames;
+    }
+
+    /**
+     * @param chart chart that is about to redraw
+     * @return true if the chart may redraw during this frame, false if it should keep its dirty state for a later frame
+     */
+    public boolean isRedrawGranted(final Chart chart) {
+        final Entry entry = charts.get(chart);
+        if (entry == null) {
+            return true;
+        }
+        if (!planned) {
+            plan();
+        }
+        // N.B. charts that became dirty after planning (e.g. via other charts) are not held back
+        return entry.granted || !entry.candidate;
+    }
+
+    /**
+     * @param chart chart to check
+     * @return whether the chart is managed by this scheduler
+     */
+    public boolean isRegistered(final Chart chart) {
+        return charts.containsKey(chart);
+    }
+
+    /**
+     * Records the measured redraw duration of a chart. Called by the charts after each granted redraw.
+     *
+     * @param chart chart that has been redrawn
+     * @param durationNanos redraw duration in nanoseconds
+     */
+    public void recordRedraw(final Chart chart, final long durationNanos) {
+        final Entry entry = charts.get(chart);
+        if (entry == null) {
+            return;
+        }
+        entry.estimatedCost = entry.estimatedCost < 0 ? durationNanos : Math.round(COST_SMOOTHING * durationNanos + (1.0 - COST_SMOOTHING) * entry.estimatedCost);
+        entry.candidate = false;
+        frameDuration += durationNanos;
+    }
+
+    /**
+     * Adds the chart to this scheduler. N.B. use {@link Chart#setRenderScheduler(ChartRenderScheduler)} which takes care
+     * of (un-)registering.
+     *
+     * @param chart chart to be managed
+     */
+    public void register(final Chart chart) {
+        AssertUtils.notNull("chart", chart);
+        charts.computeIfAbsent(chart, key -> new Entry());
+    }
+
+    /**
+     * @param frameBudget time budget for chart redraws per frame in nanoseconds
+     */
+    public void setFrameBudget(final long frameBudget) {
+        AssertUtils.gtThanZero("frameBudget", frameBudget);
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * @param hiddenRefreshInterval number of frames after which a dirty hidden chart is redrawn (if the budget permits)
+     */
+    public void setHiddenRefreshInterval(final int hiddenRefreshInterval) {
+        AssertUtils.gtThanZero("hiddenRefreshInterval", hiddenRefreshInterval);
+        this.hiddenRefreshInterval = hiddenRefreshInterval;
+    }
+
+    /**
+     * @param maxDeferredFrames maximum number of frames a visible chart may be deferred before it is redrawn regardless
+     *            of the budget
+     */
+    public void setMaxDeferredFrames(final int maxDeferredFrames) {
+        AssertUtils.gtThanZero("maxDeferredFrames", maxDeferredFrames);
+        this.maxDeferredFrames = maxDeferredFrames;
+    }
+
+    @Override
+    public void setRecorder(final MeasurementRecorder recorder) {
+        benchFrameRender = recorder.newTime("scheduler-frameRender");
+        benchFrameOverrun = recorder.newTime("scheduler-frameOverrun");
+    }
+
+    /**
+     * @param chart chart to be removed
+     */
+    public void unregister(final Chart chart) {
+        charts.remove(chart);
+    }
+
+    /**
+     * Ranks all dirty charts and decides which of them may redraw during the current frame.
+     */
+    protected void plan() {
+        finishFrame();
+        planned = true;
+        candidates.clear();
+        for (final Map.Entry<Chart, Entry> mapEntry : charts.entrySet()) {
+            final Chart chart = mapEntry.getKey();
+            final Entry entry = mapEntry.getValue();
+            entry.granted = false;
+            entry.candidate = chart.getBitState().isDirty();
+            if (entry.candidate) {
+                entry.priority = getPriority(chart);
+                candidates.add(entry);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        frameStarted = true;
+        candidates.sort(PRIORITY_ORDER);
+
+        long plannedDuration = 0;
+        boolean first = true;
+        boolean requestPulse = false;
+        for (final Entry entry : candidates) {
+            final long cost = Math.max(0, entry.estimatedCost);
+            final boolean fitsBudget = plannedDuration + cost <= frameBudget;
+            final boolean grant;
+            if (entry.priority == PRIORITY_HIDDEN) {
+                grant = fitsBudget && entry.deferredFrames + 1 >= hiddenRefreshInterval;
+            } else {
+                // N.B. the most important chart is always drawn to guarantee progress
+                grant = first || fitsBudget || entry.deferredFrames >= maxDeferredFrames;
+                first = false;
+            }
+            if (grant) {
+                entry.granted = true;
+                entry.deferredFrames = 0;
+                plannedDuration += cost;
+            } else {
+                entry.deferredFrames++;
+                deferredRedrawCount++;
+                requestPulse |= entry.priority != PRIORITY_HIDDEN;
+            }
+        }
+        if (requestPulse) {
+            // deferred visible charts need another pulse, hidden ones are picked up by the next regular pulse
+            Platform.requestNextPulse();
+        }
+    }
+
+    private void finishFrame() {
+        if (!frameStarted) {
+            return;
+        }
+        frameStarted = false;
+        frameCount++;
+        benchFrameRender.recordTime(TimeUnit.NANOSECONDS, frameDuration);
+        if (frameDuration > frameBudget) {
+            droppedFrameCount++;
+            benchFrameOverrun.recordTime(TimeUnit.NANOSECONDS, frameDuration - frameBudget);
+        }
+        frameDuration = 0;
+    }
+
+    /**
+     * @return the shared default scheduler instance
+     */
+    public static ChartRenderScheduler getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    protected static int getPriority(final Chart chart) {
+        final Scene scene = chart.getScene();
+        if (scene == null || !isTreeVisible(chart)) {
+            return PRIORITY_HIDDEN;
+        }
+        if (chart.isHover() || isAncestor(chart, scene.getFocusOwner())) {
+            return PRIORITY_FOCUSED;
+        }
+        final Bounds bounds = chart.localToScene(chart.getLayoutBounds());
+        final boolean onScreen = bounds.getMaxX() > 0 && bounds.getMinX() < scene.getWidth() && bounds.getMaxY() > 0 && bounds.getMinY() < scene.getHeight();
+        return onScreen ? PRIORITY_VISIBLE : PRIORITY_HIDDEN;
+    }
+
+    private static boolean isAncestor(final Parent parent, final Node node) {
+        for (Node current = node; current != null; current = current.getParent()) {
+            if (current == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTreeVisible(final Node node) {
+        for (Node current = node; current != null; current = current.getParent()) {
+            if (!current.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Entry {
+        private long estimatedCost = -1;
+        private int deferredFrames;
+        private int priority;
+        private boolean candidate;
+        private boolean granted;
+    }
+}
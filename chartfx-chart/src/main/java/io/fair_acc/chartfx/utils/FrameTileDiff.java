@@ -0,0 +1,235 @@
+package io.fair_acc.chartfx.utils;
+
+import java.util.Arrays;
+
+/**
+ * Detects the changes between consecutive (screen-capture) frames on a grid of square tiles. Each {@link #update}
+ * compares the new frame against the internally kept reference frame, marks the tiles containing at least one changed
+ * pixel as dirty and copies only those tiles into the reference. The cost of a frame without changes is thus a single
+ * (vectorised) comparison pass, and the dirty tiles can be used to encode only the changed screen area.
+ * <p>
+ * The first frame and any frame with a different size are considered to be fully dirty. The class is not thread-safe.
+ */
+public class FrameTileDiff {
+    /** default width and height of a tile in pixels */
+    public static final int DEFAULT_TILE_SIZE = 64;
+    private final int tileSize;
+    private int width;
+    private int height;
+    private int nTilesX;
+    private int nTilesY;
+    private int nDirty;
+    private boolean hasReference;
+    private boolean[] dirty = new boolean[0];
+    private int[] reference = new int[0];
+
+    /**
+     * Creates a tile differ with tiles of {@value #DEFAULT_TILE_SIZE} x {@value #DEFAULT_TILE_SIZE} pixels.
+     */
+    public FrameTileDiff() {
+        this(DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * @param tileSize width and height of a tile in pixels
+     */
+    public FrameTileDiff(final int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("tileSize must be positive: " + tileSize);
+        }
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Invokes the consumer for each dirty region of the last {@link #update}. Horizontally adjacent dirty tiles of the
+     * same tile row are merged into a single region.
+     *
+     * @param consumer receives the pixel bounds of the dirty regions
+     * @return number of dirty regions
+     */
+    public int forEachDirtyRegion(final RegionConsumer consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer must not be null");
+        }
+        int nRegions = 0;
+        for (int ty = 0; ty < nTilesY; ty++) {
+            int tx = 0;
+            while (tx < nTilesX) {
+                if (!dirty[ty * nTilesX + tx]) {
+                    tx++;
+                    continue;
+                }
+                final int startTile = tx;
+                while (tx < nTilesX && dirty[ty * nTilesX + tx]) {
+                    tx++;
+                }
+                final int x = startTile * tileSize;
+                final int y = ty * tileSize;
+                consumer.accept(x, y, Math.min(width, tx * tileSize) - x, Math.min(height, y + tileSize) - y);
+                nRegions++;
+            }
+        }
+        return nRegions;
+    }
+
+    /**
+     * @return number of tiles that changed during the last {@link #update}
+     */
+    public int getDirtyTileCount() {
+        return nDirty;
+    }
+
+    /**
+     * @return fraction [0, 1] of tiles that changed during the last {@link #update}
+     */
+    public double getDirtyFraction() {
+        final int nTiles = getTileCount();
+        return nTiles == 0 ? 0.0 : nDirty / (double) nTiles;
+    }
+
+    /**
+     * @return height of the last frame
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return total number of tiles of the last frame
+     */
+    public int getTileCount() {
+        return nTilesX * nTilesY;
+    }
+
+    /**
+     * @return width and height of a tile in pixels
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * @return number of tile columns of the last frame
+     */
+    public int getTilesX() {
+        return nTilesX;
+    }
+
+    /**
+     * @return number of tile rows of the last frame
+     */
+    public int getTilesY() {
+        return nTilesY;
+    }
+
+    /**
+     * @return width of the last frame
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @param tileX tile column
+     * @param tileY tile row
+     * @return whether the tile changed during the last {@link #update}
+     */
+    public boolean isDirty(final int tileX, final int tileY) {
+        if (tileX < 0 || tileX >= nTilesX || tileY < 0 || tileY >= nTilesY) {
+            throw new IllegalArgumentException("tile (" + tileX + ", " + tileY + ") outside of " + nTilesX + " x " + nTilesY + " grid");
+        }
+        return dirty[tileY * nTilesX + tileX];
+    }
+
+    /**
+     * forgets the reference frame, i.e. the next frame is considered to be fully dirty
+     */
+    public void reset() {
+        hasReference = false;
+    }
+
+    /**
+     * Compares the frame with the previous one and updates the dirty tiles and the reference frame.
+     *
+     * @param frame ARGB pixels in row-major order, i.e. pixel (x, y) is stored at {@code y * width + x}
+     * @param width frame width
+     * @param height frame height
+     * @return number of dirty tiles
+     */
+    public int update(final int[] frame, final int width, final int height) {
+        if (frame == null) {
+            throw new IllegalArgumentException("frame must not be null");
+        }
+        if (width <= 0 || height <= 0 || frame.length < width * height) {
+            throw new IllegalArgumentException("frame.length = " + frame.length + " too small for a frame of " + width + " x " + height);
+        }
+        if (!hasReference || width != this.width || height != this.height) {
+            resize(width, height);
+            System.arraycopy(frame, 0, reference, 0, width * height);
+            Arrays.fill(dirty, 0, getTileCount(), true);
+            nDirty = getTileCount();
+            hasReference = true;
+            return nDirty;
+        }
+
+        Arrays.fill(dirty, 0, getTileCount(), false);
+        nDirty = 0;
+        for (int y = 0; y < height; y++) {
+            final int rowOffset = y * width;
+            final int tileRowOffset = y / tileSize * nTilesX;
+            int x = 0;
+            while (x < width) {
+                final int mismatch = Arrays.mismatch(frame, rowOffset + x, rowOffset + width, reference, rowOffset + x, rowOffset + width);
+                if (mismatch < 0) {
+                    break;
+                }
+                final int tileX = (x + mismatch) / tileSize;
+                if (!dirty[tileRowOffset + tileX]) {
+                    dirty[tileRowOffset + tileX] = true;
+                    nDirty++;
+                }
+                x = (tileX + 1) * tileSize;
+            }
+        }
+
+        // update the reference for the changed tiles only
+        for (int y = 0; y < height; y++) {
+            final int rowOffset = y * width;
+            final int tileRowOffset = y / tileSize * nTilesX;
+            for (int tileX = 0; tileX < nTilesX; tileX++) {
+                if (dirty[tileRowOffset + tileX]) {
+                    final int x = tileX * tileSize;
+                    System.arraycopy(frame, rowOffset + x, reference, rowOffset + x, Math.min(tileSize, width - x));
+                }
+            }
+        }
+        return nDirty;
+    }
+
+    private void resize(final int newWidth, final int newHeight) {
+        width = newWidth;
+        height = newHeight;
+        nTilesX = (newWidth + tileSize - 1) / tileSize;
+        nTilesY = (newHeight + tileSize - 1) / tileSize;
+        if (dirty.length < getTileCount()) {
+            dirty = new boolean[getTileCount()];
+        }
+        if (reference.length < newWidth * newHeight) {
+            reference = new int[newWidth * newHeight];
+        }
+    }
+
+    /**
+     * Receives the pixel bounds of a dirty frame region.
+     */
+    @FunctionalInterface
+    public interface RegionConsumer {
+        /**
+         * @param x left pixel coordinate of the region
+         * @param y top pixel coordinate of the region
+         * @param width region width in pixels
+         * @param height region height in pixels
+         */
+        void accept(int x, int y, int width, int height);
+    }
+}
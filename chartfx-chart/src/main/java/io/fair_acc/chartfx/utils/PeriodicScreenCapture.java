@@ -3,6 +3,9 @@ package io.fair_acc.chartfx.utils;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -14,9 +17,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.TimeZone;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
 
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
@@ -25,16 +34,30 @@ import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.util.Duration;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fair_acc.dataset.remote.Data;
+import io.fair_acc.dataset.remote.DataContainer;
+import io.fair_acc.dataset.remote.MimeType;
+import io.fair_acc.dataset.utils.ArrayCache;
+
 /**
  * Simple class to make a periodic (or on-demand) screen-shot of given JavaFX scene to file. Class permits to add an ISO
  * date-time string
+ * <p>
+ * Consecutive captures are compared on a grid of tiles (see {@link FrameTileDiff}): frames without changes are skipped
+ * entirely, i.e. neither encoded nor written. The encoding is performed on a single background worker in capture order;
+ * if more than {@link #getMaxPendingFrames()} frames are waiting to be encoded, new captures are dropped
+ * (back-pressure) rather than queued. Optionally, a {@link #setFrameConsumer(Consumer) frame consumer} receives the
+ * changes as {@link DataContainer} payloads: a full PNG key-frame in category {@value #KEY_FRAME_CATEGORY} (the first
+ * frame, after a resize, if most tiles changed, or every {@link #getKeyFrameInterval()} frames) or otherwise only the
+ * PNG-encoded dirty regions in category {@value #DELTA_FRAME_CATEGORY}. Each {@link Data} entry is named
+ * {@code <fileName>_<x>_<y>.png} with the pixel offset of the region within the frame.
  *
  * @author rstein
  */
@@ -42,6 +65,12 @@ public class PeriodicScreenCapture implements Observable {
     private static final Logger LOGGER = LoggerFactory.getLogger(PeriodicScreenCapture.class);
     private static final String DEFAULT_TIME_FORMAT = "yyyyMMdd_HHmmss";
     private static final String FILE_LOGGING_SUFFIX = ".png";
+    private static final String FRAME_CACHE_NAME = "PeriodicScreenCapture-frame";
+    private static final double KEY_FRAME_DIRTY_FRACTION = 0.5; // encode full frame if more tiles have changed
+    /** {@link DataContainer} category of complete frames */
+    public static final String KEY_FRAME_CATEGORY = "/keyframe/";
+    /** {@link DataContainer} category of frames containing only the changed regions */
+    public static final String DELTA_FRAME_CATEGORY = "/delta/";
     private final Scene primaryScene;
     private final Path path;
     private final String fileName;
@@ -51,7 +80,18 @@ public class PeriodicScreenCapture implements Observable {
     private String isoDateTimeFormatString = DEFAULT_TIME_FORMAT;
     private final boolean addDateTime;
     protected final List<InvalidationListener> listeners = new LinkedList<>();
-    private final Timer timer = new Timer("sample-update-timer", true); // for non-JavaFX tasks
+    private ExecutorService encoder = createEncoder(); // for non-JavaFX tasks, N.B. single thread to preserve frame order
+    private final FrameTileDiff frameDiff = new FrameTileDiff(); // only accessed by the encoder thread
+    private final AtomicInteger pendingFrames = new AtomicInteger();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+    private final AtomicLong encodedFrames = new AtomicLong();
+    private int framesSinceKeyFrame; // only accessed by the encoder thread
+    private WritableImage snapshotImage;
+    private volatile int maxPendingFrames = 2;
+    private volatile int keyFrameInterval = 25;
+    private volatile boolean writeToFile = true;
+    private volatile Consumer<DataContainer> frameConsumer;
 
     public PeriodicScreenCapture(final Path path, final String fileName, final Scene scene, final double delay,
             final double period) {
@@ -99,16 +139,82 @@ public class PeriodicScreenCapture implements Observable {
         return isoDateTimeFormatString;
     }
 
+    /**
+     * @return number of frames that have been dropped because too many frames were waiting to be encoded
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * @return number of frames that have been encoded
+     */
+    public long getEncodedFrameCount() {
+        return encodedFrames.get();
+    }
+
+    /**
+     * @return the consumer receiving the key- and delta-frame payloads, may be null
+     */
+    public Consumer<DataContainer> getFrameConsumer() {
+        return frameConsumer;
+    }
+
+    /**
+     * @return maximum number of frames after which a complete key-frame is sent to the frame consumer
+     */
+    public int getKeyFrameInterval() {
+        return keyFrameInterval;
+    }
+
+    /**
+     * @return maximum number of captured frames waiting to be encoded before new captures are dropped
+     */
+    public int getMaxPendingFrames() {
+        return maxPendingFrames;
+    }
+
+    /**
+     * @return number of frames that have been skipped because nothing changed w.r.t. the previous frame
+     */
+    public long getSkippedFrameCount() {
+        return skippedFrames.get();
+    }
+
+    /**
+     * @return whether changed frames are written as png file
+     */
+    public boolean isWriteToFile() {
+        return writeToFile;
+    }
+
     public void performScreenCapture() {
+        if (pendingFrames.get() >= maxPendingFrames) {
+            droppedFrames.incrementAndGet();
+            LOGGER.debug("encoder busy, dropping screen capture");
+            return;
+        }
         try {
-            final WritableImage image = primaryScene.snapshot(null);
-            // open save in separate thread
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    writeImage(image);
-                }
-            }, 0);
+            final int sceneWidth = (int) Math.ceil(primaryScene.getWidth());
+            final int sceneHeight = (int) Math.ceil(primaryScene.getHeight());
+            if (sceneWidth <= 0 || sceneHeight <= 0) {
+                return;
+            }
+            if (snapshotImage == null || (int) snapshotImage.getWidth() != sceneWidth || (int) snapshotImage.getHeight() != sceneHeight) {
+                snapshotImage = null; // N.B. an existing image would only be re-used (and never shrink) if it is large enough
+            }
+            snapshotImage = primaryScene.snapshot(snapshotImage);
+            final int width = Math.min(sceneWidth, (int) snapshotImage.getWidth());
+            final int height = Math.min(sceneHeight, (int) snapshotImage.getHeight());
+            final int[] frame = ArrayCache.getCachedIntArray(FRAME_CACHE_NAME, width * height);
+            snapshotImage.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), frame, 0, width);
+            final long timeStamp = System.currentTimeMillis();
+            // diff and encode in separate thread
+            if (encoder.isShutdown()) {
+                encoder = createEncoder(); // on-demand capture after stop()
+            }
+            pendingFrames.incrementAndGet();
+            encoder.execute(() -> processFrame(frame, width, height, timeStamp));
 
             LOGGER.debug("this is called periodic on UI thread");
         } catch (final Exception e) {
@@ -122,6 +228,41 @@ public class PeriodicScreenCapture implements Observable {
         listeners.remove(listener);
     }
 
+    /**
+     * @param frameConsumer receives the key- and delta-frame payloads of changed frames (on the encoder thread), null to
+     *            disable
+     */
+    public void setFrameConsumer(final Consumer<DataContainer> frameConsumer) {
+        this.frameConsumer = frameConsumer;
+    }
+
+    /**
+     * @param keyFrameInterval maximum number of frames after which a complete key-frame is sent to the frame consumer
+     */
+    public void setKeyFrameInterval(final int keyFrameInterval) {
+        if (keyFrameInterval <= 0) {
+            throw new IllegalArgumentException("keyFrameInterval must be positive: " + keyFrameInterval);
+        }
+        this.keyFrameInterval = keyFrameInterval;
+    }
+
+    /**
+     * @param maxPendingFrames maximum number of captured frames waiting to be encoded before new captures are dropped
+     */
+    public void setMaxPendingFrames(final int maxPendingFrames) {
+        if (maxPendingFrames <= 0) {
+            throw new IllegalArgumentException("maxPendingFrames must be positive: " + maxPendingFrames);
+        }
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    /**
+     * @param writeToFile whether changed frames are written as png file
+     */
+    public void setWriteToFile(final boolean writeToFile) {
+        this.writeToFile = writeToFile;
+    }
+
     public void setIsoDateTimeFormatterString(final String newFormat) {
         if (newFormat == null || newFormat.isEmpty()) {
             throw new IllegalArgumentException("new format must not be null or empty");
@@ -139,18 +280,87 @@ public class PeriodicScreenCapture implements Observable {
         periodicTask.play();
     }
 
+    /**
+     * Stops the periodic captures and shuts down the encoder thread once the pending frames have been encoded.
+     */
     public void stop() {
         if (periodicTask != null) {
             periodicTask.stop();
         }
+        encoder.shutdown();
+    }
+
+    private static ExecutorService createEncoder() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "screen-capture-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private DataContainer createDeltaFrame(final int[] frame, final int width) {
+        final List<int[]> regions = new ArrayList<>();
+        frameDiff.forEachDirtyRegion((x, y, w, h) -> regions.add(new int[] { x, y, w, h }));
+        final Data[] data = new Data[regions.size()];
+        IntStream.range(0, regions.size()).parallel().forEach(i -> {
+            final int[] region = regions.get(i);
+            final int[] tile = new int[region[2] * region[3]];
+            for (int row = 0; row < region[3]; row++) {
+                System.arraycopy(frame, (region[1] + row) * width + region[0], tile, row * region[2], region[2]);
+            }
+            final ByteBuffer png = WriteFxImage.encodeParallel(tile, region[2], region[3], null, true, Deflater.BEST_SPEED, null);
+            data[i] = createData(region[0], region[1], png);
+        });
+        return new DataContainer(fileName, DELTA_FRAME_CATEGORY, (long) (1000 * period), data);
+    }
+
+    private Data createData(final int x, final int y, final ByteBuffer png) {
+        return new Data(fileName + "_" + x + "_" + y + FILE_LOGGING_SUFFIX, MimeType.PNG.toString(), png.array(), png.limit());
     }
 
-    private void writeImage(final Image image) {
-        final long now = System.currentTimeMillis();
+    private void processFrame(final int[] frame, final int width, final int height, final long timeStamp) {
+        try {
+            final int nDirty = frameDiff.update(frame, width, height);
+            if (nDirty == 0) {
+                skippedFrames.incrementAndGet();
+                return;
+            }
+            framesSinceKeyFrame++;
+            final Consumer<DataContainer> consumer = frameConsumer;
+            final boolean keyFrame = framesSinceKeyFrame >= keyFrameInterval || frameDiff.getDirtyFraction() >= KEY_FRAME_DIRTY_FRACTION;
+            ByteBuffer png = null;
+            if (writeToFile || (consumer != null && keyFrame)) {
+                png = WriteFxImage.encodeParallel(frame, width, height, null, true, Deflater.BEST_SPEED, null);
+            }
+            if (writeToFile) {
+                writeImage(png, timeStamp);
+            }
+            if (keyFrame) {
+                framesSinceKeyFrame = 0;
+            }
+            if (consumer != null) {
+                if (keyFrame) {
+                    consumer.accept(new DataContainer(fileName, KEY_FRAME_CATEGORY, (long) (1000 * period), createData(0, 0, png)));
+                } else {
+                    consumer.accept(createDeltaFrame(frame, width));
+                }
+            }
+            encodedFrames.incrementAndGet();
+            fireInvalidated();
+        } catch (final Exception e) {
+            // continue at all costs
+            LOGGER.error("error while encoding screen captured image", e);
+        } finally {
+            ArrayCache.release(FRAME_CACHE_NAME, frame);
+            pendingFrames.decrementAndGet();
+        }
+    }
+
+    private void writeImage(final ByteBuffer png, final long timeStamp) {
         try {
             final String format = getIsoDateTimeFormatterString();
             final String longFileName = addDateTime && format != null && !format.isEmpty()
-                                              ? path.toFile() + String.format("/%s_%s%s", fileName, getISODate(now, format), FILE_LOGGING_SUFFIX)
+                                              ? path.toFile() + String.format("/%s_%s%s", fileName, getISODate(timeStamp, format), FILE_LOGGING_SUFFIX)
                                               : path.toFile() + "/" + fileName;
             final String tempFileName = longFileName + "_temp.png";
             final File file = new File(tempFileName);
@@ -158,11 +368,12 @@ public class PeriodicScreenCapture implements Observable {
                 LOGGER.info("needed to create directory for file: " + longFileName);
             }
 
-            WriteFxImage.savePng(image, file);
+            try (OutputStream os = Files.newOutputStream(file.toPath())) {
+                os.write(png.array(), 0, png.limit());
+            }
             Files.move(Paths.get(tempFileName), Paths.get(longFileName), REPLACE_EXISTING);
-            fireInvalidated();
             LOGGER.debug("write screenshot to " + tempFileName + " -> " + longFileName);
-        } catch (final Exception e) {
+        } catch (final IOException e) {
             LOGGER.error("could not write to file: '" + fileName + "'", e);
         }
     }
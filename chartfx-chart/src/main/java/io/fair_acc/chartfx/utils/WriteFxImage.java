@@ -4,15 +4,21 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
 import java.util.zip.CRC32;
 import java.util.zip.Deflater;
 
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
 import javafx.scene.paint.Color;
 
 import org.slf4j.Logger;
@@ -32,9 +38,11 @@ import ar.com.hjg.pngj.chunks.PngChunkTRNS;
 /**
  * Writes a JavaFx Image into a ByteBuffer or file
  *
- * possible improvements: - use multiple IDAT chunks to use fixed buffer size
- * and limit memory footprint - implement filtering of lines before compression
- * for smaller file sizes - Optionally add tEXT chunks for metadata (EXIF)
+ * For large images (e.g. screenshots or periodic exports) {@link #encodeParallel(Image, ByteBuffer, boolean, int, FilterType)}
+ * filters and compresses horizontal stripes of the image concurrently (similar to 'pigz') and stitches them into a
+ * single valid zlib stream.
+ *
+ * possible improvements: - Optionally add tEXT chunks for metadata (EXIF)
  *
  * @author Alexander Krimm
  */
@@ -47,6 +55,11 @@ public final class WriteFxImage {
     private static final int HEADER_SIZE = 8 + 12 + 13 + 12 + 12; // size of all the headers and other Metadata
     private static final String INTERNAL_ARRAY_CACHE_NAME = "WriteFxImage-internalArray";
     private static final String INTERNAL_LINE_ARRAY_CACHE_NAME = "WriteFxImage-internalLineArray";
+    private static final String INTERNAL_FILTERED_ARRAY_CACHE_NAME = "WriteFxImage-internalFilteredArray";
+    private static final int PARALLEL_STRIPE_SIZE = 1 << 18; // minimum number of (filtered) bytes per compression stripe
+    private static final int DEFLATE_WINDOW_SIZE = 1 << 15; // maximum back-reference distance of the deflate algorithm
+    private static final int ADLER_BASE = 65521; // largest prime smaller than 2^16
+    private static final byte[] IDAT = { 'I', 'D', 'A', 'T' };
 
     /**
      * private constructor for static utility class
@@ -100,12 +113,7 @@ public final class WriteFxImage {
             throw new IllegalArgumentException("uncompressedImageData.length = " //
                                                + uncompressedImageData.length + " too small, should be at least" + requiredSize);
         }
-        int i = 0;
-        for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                uncompressedImageData[i++] = pr.getArgb(x, y);
-            }
-        }
+        pr.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), uncompressedImageData, 0, w);
     }
 
     /**
@@ -159,23 +167,26 @@ public final class WriteFxImage {
             png.setCompLevel(compressionLevel);
 
             ImageLineInt line = new ImageLineInt(png.imgInfo);
+            final int[] lineArgb = ArrayCache.getCachedIntArray(INTERNAL_LINE_ARRAY_CACHE_NAME, w);
+            final WritablePixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
             if (alpha) {
                 for (int y = 0; y < h; y++) {
+                    pr.getPixels(0, y, w, 1, format, lineArgb, 0, w);
                     for (int x = 0; x < w; x++) {
-                        final int pixel = pr.getArgb(x, y);
-                        ImageLineHelper.setPixelRGBA8(line, x, pixel);
+                        ImageLineHelper.setPixelRGBA8(line, x, lineArgb[x]);
                     }
                     png.writeRow(line, y);
                 }
             } else {
                 for (int y = 0; y < h; y++) {
+                    pr.getPixels(0, y, w, 1, format, lineArgb, 0, w);
                     for (int x = 0; x < w; x++) {
-                        final int pixel = pr.getArgb(x, y);
-                        ImageLineHelper.setPixelRGB8(line, x, pixel);
+                        ImageLineHelper.setPixelRGB8(line, x, lineArgb[x]);
                     }
                     png.writeRow(line, y);
                 }
             }
+            ArrayCache.release(INTERNAL_LINE_ARRAY_CACHE_NAME, lineArgb);
             png.end();
             return os.buffer().flip();
         } catch (IOException e) {
@@ -242,6 +253,141 @@ public final class WriteFxImage {
         return outputByteBuffer;
     }
 
+    /**
+     * Encodes a JavaFx image as an RGB(A) png image using all available cores. The pixels are read in bulk, the image
+     * is split into horizontal stripes that are line-filtered and deflated concurrently on the common fork-join pool
+     * (each stripe compressor being primed with the last 32 kB of the preceding stripe as dictionary) and stitched into
+     * a single standard zlib stream that is written as one IDAT chunk per stripe. The result decodes to the same image
+     * as {@link #encode(Image, ByteBuffer, boolean, int, FilterType)}, the compression ratio is only marginally lower.
+     * <p>
+     * If you pass in a ByteBuffer to use, please make sure that it has enough capacity, e.g. using
+     * {@link #getCompressedSizeBound(int, int, boolean) getCompressedSizeBound(width, height, alpha)}.
+     *
+     * @param image            The input image to be encoded
+     * @param byteBuffer       optional byte buffer to store the output in, pass
+     *                         null to return a new one.
+     * @param alpha            whether to include alpha information in the image
+     * @param compressionLevel {@link Deflater#BEST_COMPRESSION} (9) to
+     *                         {@link Deflater#BEST_SPEED} (0)
+     * @param filterType       one of the standard PNG line filters (null: {@link FilterType#FILTER_NONE}), for any
+     *                         of the adaptive types the filter is chosen per line by the minimum-sum-of-absolute-differences heuristic
+     * @return a byte buffer with the encoded image
+     * @see "https://tools.ietf.org/html/rfc2083"
+     */
+    public static ByteBuffer encodeParallel(final Image image, final ByteBuffer byteBuffer, final boolean alpha, final int compressionLevel, final FilterType filterType) {
+        if (image == null) {
+            throw new IllegalArgumentException(IMAGE_MUST_NOT_BE_NULL);
+        }
+        final PixelReader pr = image.getPixelReader();
+        if (pr == null) {
+            throw new IllegalStateException(IMAGE_PIXEL_READER_NOT_AVAILABLE);
+        }
+        final int w = (int) image.getWidth();
+        final int h = (int) image.getHeight();
+        final int[] pixels = ArrayCache.getCachedIntArray(INTERNAL_ARRAY_CACHE_NAME, w * h);
+        pr.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+        try {
+            return encodeParallel(pixels, w, h, byteBuffer, alpha, compressionLevel, filterType);
+        } finally {
+            ArrayCache.release(INTERNAL_ARRAY_CACHE_NAME, pixels);
+        }
+    }
+
+    /**
+     * Encodes the given (non-premultiplied) ARGB pixels as an RGB(A) png image using all available cores, see
+     * {@link #encodeParallel(Image, ByteBuffer, boolean, int, FilterType)}.
+     *
+     * @param pixels           ARGB pixels in row-major order, i.e. pixel (x, y) is stored at {@code y * width + x}
+     * @param w                image width
+     * @param h                image height
+     * @param byteBuffer       optional byte buffer to store the output in, pass
+     *                         null to return a new one.
+     * @param alpha            whether to include alpha information in the image
+     * @param compressionLevel {@link Deflater#BEST_COMPRESSION} (9) to
+     *                         {@link Deflater#BEST_SPEED} (0)
+     * @param filterType       one of the standard PNG line filters (null: {@link FilterType#FILTER_NONE}) or adaptive
+     * @return a byte buffer with the encoded image
+     */
+    public static ByteBuffer encodeParallel(final int[] pixels, final int w, final int h, final ByteBuffer byteBuffer, final boolean alpha, final int compressionLevel, final FilterType filterType) {
+        if (pixels == null) {
+            throw new IllegalArgumentException("pixels must not be null");
+        }
+        if (w <= 0 || h <= 0 || pixels.length < w * h) {
+            throw new IllegalArgumentException("pixels.length = " + pixels.length + " too small for an image of " + w + " x " + h);
+        }
+        final int bytesPerPixel = alpha ? 4 : 3;
+        final int rowBytes = w * bytesPerPixel + 1; // including line filtering flag
+        final int filter;
+        if (filterType == null) {
+            filter = FilterType.FILTER_NONE.val;
+        } else {
+            filter = FilterType.isValidStandard(filterType) ? filterType.val : -1;
+        }
+
+        final byte[] filtered = ArrayCache.getCachedByteArray(INTERNAL_FILTERED_ARRAY_CACHE_NAME, rowBytes * h);
+
+        final int rowsPerStripe = Math.max(1, PARALLEL_STRIPE_SIZE / rowBytes);
+        final int nStripes = Math.max(1, (h + rowsPerStripe - 1) / rowsPerStripe);
+        final long[] checksums = new long[nStripes];
+        final byte[][] compressed = new byte[nStripes][];
+        final int[] compressedLength = new int[nStripes];
+        // N.B. the first stripe reserves space for the zlib header and the last stripe for the Adler-32 trailer
+        final int zlibHeaderSize = 2;
+        final int zlibTrailerSize = 4;
+        IntStream.range(0, nStripes).parallel().forEach(stripe -> {
+            final int rowStart = stripe * rowsPerStripe;
+            final int rowEnd = Math.min(h, rowStart + rowsPerStripe);
+            filterRows(pixels, w, bytesPerPixel, filter, rowStart, rowEnd, filtered);
+            final Adler32 adler = new Adler32();
+            adler.update(filtered, rowStart * rowBytes, (rowEnd - rowStart) * rowBytes);
+            checksums[stripe] = adler.getValue();
+        });
+        IntStream.range(0, nStripes).parallel().forEach(stripe -> {
+            final int start = stripe * rowsPerStripe * rowBytes;
+            final int end = Math.min(h, (stripe + 1) * rowsPerStripe) * rowBytes;
+            final boolean last = stripe == nStripes - 1;
+            final int headerSize = stripe == 0 ? zlibHeaderSize : 0;
+            final byte[] out = new byte[headerSize + getDeflateBound(end - start) + (last ? zlibTrailerSize : 0)];
+            compressed[stripe] = deflateStripe(filtered, start, end, compressionLevel, last, out, headerSize, compressedLength, stripe);
+        });
+        ArrayCache.release(INTERNAL_FILTERED_ARRAY_CACHE_NAME, filtered);
+
+        // stitch zlib header, stripes and trailer (Adler-32 of the whole uncompressed data)
+        final byte[] first = compressed[0];
+        first[0] = 0x78; // deflate with 32k window
+        first[1] = getZlibLevelFlag(compressionLevel);
+        long checksum = checksums[0];
+        for (int stripe = 1; stripe < nStripes; stripe++) {
+            final int start = stripe * rowsPerStripe * rowBytes;
+            final int end = Math.min(h, (stripe + 1) * rowsPerStripe) * rowBytes;
+            checksum = combineAdler32(checksum, checksums[stripe], end - start);
+        }
+        byte[] lastStripe = compressed[nStripes - 1];
+        int lastLength = compressedLength[nStripes - 1];
+        if (lastStripe.length < lastLength + zlibTrailerSize) {
+            lastStripe = Arrays.copyOf(lastStripe, lastLength + zlibTrailerSize);
+            compressed[nStripes - 1] = lastStripe;
+        }
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            lastStripe[lastLength++] = (byte) (checksum >> shift & 0xff);
+        }
+        compressedLength[nStripes - 1] = lastLength;
+
+        final ByteBuffer outputByteBuffer = byteBuffer == null ? ByteBuffer.allocate(getCompressedSizeBound(w, h, alpha)) : byteBuffer;
+        final CRC32 crc = new CRC32();
+        writeImageHeader(w, h, alpha, outputByteBuffer, crc);
+        for (int stripe = 0; stripe < nStripes; stripe++) {
+            outputByteBuffer.putInt(compressedLength[stripe]);
+            crc.reset();
+            write(IDAT, outputByteBuffer, crc);
+            outputByteBuffer.put(compressed[stripe], 0, compressedLength[stripe]);
+            crc.update(compressed[stripe], 0, compressedLength[stripe]);
+            outputByteBuffer.putInt((int) crc.getValue());
+        }
+        writeImageFooter(outputByteBuffer, crc);
+        return outputByteBuffer.flip();
+    }
+
     public static ByteBuffer encodePalette(final Image image, final ByteBuffer byteBuffer, final boolean alpha, final int compressionLevel, final FilterType filterType, final PaletteQuantizer... userPalette) { // NOPMD w.r.t path complexity
         if (image == null) {
             throw new IllegalArgumentException(IMAGE_MUST_NOT_BE_NULL);
@@ -358,7 +504,8 @@ public final class WriteFxImage {
     }
 
     /**
-     * Saves the given image as a png file.
+     * Saves the given image as a png file. The image is encoded in parallel using
+     * {@link #encodeParallel(Image, ByteBuffer, boolean, int, FilterType)} with fastest (lossless) compression.
      *
      * @param image The image to save
      * @param file  The filename to save the image to.
@@ -366,11 +513,202 @@ public final class WriteFxImage {
      */
     public static void savePng(final Image image, final File file) throws IOException {
         try (OutputStream os = Files.newOutputStream(file.toPath())) {
-            final ByteBuffer buffer = WriteFxImage.encode(image);
+            final ByteBuffer buffer = WriteFxImage.encodeParallel(image, null, true, Deflater.BEST_SPEED, null);
             os.write(buffer.array(), 0, buffer.limit());
         }
     }
 
+    /**
+     * Combines the Adler-32 checksums of two consecutive data blocks (cf. 'adler32_combine' in zlib).
+     *
+     * @param adler1 checksum of the first block
+     * @param adler2 checksum of the second block
+     * @param length2 length of the second block
+     * @return checksum of the concatenated blocks
+     */
+    static long combineAdler32(final long adler1, final long adler2, final long length2) {
+        final long remainder = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = remainder * sum1 % ADLER_BASE;
+        sum1 += (adler2 & 0xffff) + ADLER_BASE - 1;
+        sum2 += (adler1 >> 16 & 0xffff) + (adler2 >> 16 & 0xffff) + ADLER_BASE - remainder;
+        sum1 %= ADLER_BASE;
+        sum2 %= ADLER_BASE;
+        return sum1 | sum2 << 16;
+    }
+
+    /**
+     * Raw-deflates {@code data[start, end[} into {@code out} starting at {@code offset}. All but the last stripe are
+     * terminated with a sync flush (byte-aligned empty stored block) so that the outputs can be concatenated.
+     *
+     * @return the (possibly enlarged) output array, the number of valid bytes is stored in {@code length[stripe]}
+     */
+    private static byte[] deflateStripe(final byte[] data, final int start, final int end, final int compressionLevel, final boolean last, final byte[] out, final int offset, final int[] length, final int stripe) {
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            if (start > 0) {
+                // prime with the preceding data so that back-references across stripe boundaries remain possible
+                final int dictionaryStart = Math.max(0, start - DEFLATE_WINDOW_SIZE);
+                deflater.setDictionary(data, dictionaryStart, start - dictionaryStart);
+            }
+            deflater.setInput(data, start, end - start);
+            if (last) {
+                deflater.finish();
+            }
+            byte[] output = out;
+            int position = offset;
+            while (true) {
+                if (position == output.length) {
+                    output = Arrays.copyOf(output, 2 * output.length);
+                }
+                final int available = output.length - position;
+                final int nBytes = last ? deflater.deflate(output, position, available) : deflater.deflate(output, position, available, Deflater.SYNC_FLUSH);
+                position += nBytes;
+                if (last ? deflater.finished() : nBytes < available) {
+                    break;
+                }
+            }
+            length[stripe] = position;
+            return output;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Converts the given rows to PNG RGB(A) byte order and applies the line filter.
+     *
+     * @param pixels ARGB pixels of the whole image
+     * @param w image width
+     * @param bytesPerPixel 3 (RGB) or 4 (RGBA)
+     * @param filter standard filter type or negative for adaptive per-line selection
+     * @param rowStart first row (inclusive)
+     * @param rowEnd last row (exclusive)
+     * @param filtered output for the whole image, row {@code y} starts at {@code y * (w * bytesPerPixel + 1)}
+     */
+    private static void filterRows(final int[] pixels, final int w, final int bytesPerPixel, final int filter, final int rowStart, final int rowEnd, final byte[] filtered) {
+        final int lineBytes = w * bytesPerPixel;
+        byte[] previous = new byte[lineBytes]; // N.B. zero for the first row of the image
+        byte[] current = new byte[lineBytes];
+        final byte[] candidate = filter < 0 ? new byte[lineBytes] : null;
+        if (rowStart > 0) {
+            unpackRow(pixels, (rowStart - 1) * w, w, bytesPerPixel, previous);
+        }
+        for (int y = rowStart; y < rowEnd; y++) {
+            unpackRow(pixels, y * w, w, bytesPerPixel, current);
+            final int offset = y * (lineBytes + 1);
+            final int type = filter < 0 ? selectFilter(current, previous, bytesPerPixel, candidate) : filter;
+            filtered[offset] = (byte) type;
+            filterRow(type, current, previous, bytesPerPixel, filtered, offset + 1);
+            final byte[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+    }
+
+    private static void filterRow(final int type, final byte[] current, final byte[] previous, final int bytesPerPixel, final byte[] out, final int offset) {
+        final int length = current.length;
+        switch (type) {
+        case 1: // Sub
+            System.arraycopy(current, 0, out, offset, Math.min(bytesPerPixel, length));
+            for (int i = bytesPerPixel; i < length; i++) {
+                out[offset + i] = (byte) (current[i] - current[i - bytesPerPixel]);
+            }
+            break;
+        case 2: // Up
+            for (int i = 0; i < length; i++) {
+                out[offset + i] = (byte) (current[i] - previous[i]);
+            }
+            break;
+        case 3: // Average
+            for (int i = 0; i < length; i++) {
+                final int left = i >= bytesPerPixel ? current[i - bytesPerPixel] & 0xff : 0;
+                out[offset + i] = (byte) (current[i] - (left + (previous[i] & 0xff) >> 1));
+            }
+            break;
+        case 4: // Paeth
+            for (int i = 0; i < length; i++) {
+                final int left = i >= bytesPerPixel ? current[i - bytesPerPixel] & 0xff : 0;
+                final int upperLeft = i >= bytesPerPixel ? previous[i - bytesPerPixel] & 0xff : 0;
+                out[offset + i] = (byte) (current[i] - paethPredictor(left, previous[i] & 0xff, upperLeft));
+            }
+            break;
+        case 0: // None
+        default:
+            System.arraycopy(current, 0, out, offset, length);
+            break;
+        }
+    }
+
+    private static byte getZlibLevelFlag(final int compressionLevel) {
+        // FLEVEL hint with FCHECK such that (CMF * 256 + FLG) % 31 == 0
+        if (compressionLevel == Deflater.DEFAULT_COMPRESSION || compressionLevel == 6) {
+            return (byte) 0x9C;
+        }
+        if (compressionLevel < 2) {
+            return 0x01;
+        }
+        return compressionLevel < 6 ? (byte) 0x5E : (byte) 0xDA;
+    }
+
+    /**
+     * Conservative upper bound of the raw deflate output size including a trailing sync flush marker.
+     */
+    private static int getDeflateBound(final int length) {
+        return length + (length + 7 >> 3) + (length + 63 >> 6) + 5 + 6;
+    }
+
+    private static int paethPredictor(final int left, final int up, final int upperLeft) {
+        final int estimate = left + up - upperLeft;
+        final int distanceLeft = Math.abs(estimate - left);
+        final int distanceUp = Math.abs(estimate - up);
+        final int distanceUpperLeft = Math.abs(estimate - upperLeft);
+        if (distanceLeft <= distanceUp && distanceLeft <= distanceUpperLeft) {
+            return left;
+        }
+        return distanceUp <= distanceUpperLeft ? up : upperLeft;
+    }
+
+    /**
+     * @return the standard filter type that minimises the sum of absolute (signed) filtered values of the line
+     */
+    private static int selectFilter(final byte[] current, final byte[] previous, final int bytesPerPixel, final byte[] candidate) {
+        int bestType = 0;
+        long bestSum = Long.MAX_VALUE;
+        for (int type = 0; type <= 4; type++) {
+            filterRow(type, current, previous, bytesPerPixel, candidate, 0);
+            long sum = 0;
+            for (final byte value : candidate) {
+                sum += Math.abs(value);
+            }
+            if (sum < bestSum) {
+                bestSum = sum;
+                bestType = type;
+            }
+        }
+        return bestType;
+    }
+
+    private static void unpackRow(final int[] pixels, final int pixelOffset, final int w, final int bytesPerPixel, final byte[] row) {
+        int i = 0;
+        if (bytesPerPixel == 4) {
+            for (int x = 0; x < w; x++) {
+                final int pixel = pixels[pixelOffset + x];
+                row[i++] = (byte) (pixel >> 16 & 0xff); // red
+                row[i++] = (byte) (pixel >> 8 & 0xff); // green
+                row[i++] = (byte) (pixel & 0xff); // blue
+                row[i++] = (byte) (pixel >> 24 & 0xff); // alpha
+            }
+        } else {
+            for (int x = 0; x < w; x++) {
+                final int pixel = pixels[pixelOffset + x];
+                row[i++] = (byte) (pixel >> 16 & 0xff); // red
+                row[i++] = (byte) (pixel >> 8 & 0xff); // green
+                row[i++] = (byte) (pixel & 0xff); // blue
+            }
+        }
+    }
+
     private static void preparePaletteHeader(PngWriter pngWriter, PaletteQuantizer cuant) {
         // create palette
         PngChunkPLTE palette = pngWriter.getMetadata().createPLTEChunk();
@@ -429,12 +767,15 @@ public final class WriteFxImage {
         final int bytesPerPixel = alpha ? 4 : 3;
         final int rawDataSize = w * h * bytesPerPixel + h; // image dimensions times bytesPerPixel + line filtering flag
         final byte[] uncompressedImageData = ArrayCache.getCachedByteArray(INTERNAL_ARRAY_CACHE_NAME, rawDataSize);
+        final int[] lineArgb = ArrayCache.getCachedIntArray(INTERNAL_LINE_ARRAY_CACHE_NAME, w);
+        final WritablePixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
         int i = 0;
         if (alpha) {
             for (int y = 0; y < h; y++) {
                 uncompressedImageData[i++] = 0; // LineFiltering: 0: None 1: Sub 2: Up 3: Average 4: Paeth
+                pr.getPixels(0, y, w, 1, format, lineArgb, 0, w);
                 for (int x = 0; x < w; x++) {
-                    final int pixel = pr.getArgb(x, y);
+                    final int pixel = lineArgb[x];
                     uncompressedImageData[i++] = (byte) (pixel >> 16 & 0xff); // red
                     uncompressedImageData[i++] = (byte) (pixel >> 8 & 0xff); // green
                     uncompressedImageData[i++] = (byte) (pixel & 0xff); // blue
@@ -444,14 +785,16 @@ public final class WriteFxImage {
         } else {
             for (int y = 0; y < h; y++) {
                 uncompressedImageData[i++] = 0; // LineFiltering: 0: None 1: Sub 2: Up 3: Average 4: Paeth
+                pr.getPixels(0, y, w, 1, format, lineArgb, 0, w);
                 for (int x = 0; x < w; x++) {
-                    final int pixel = pr.getArgb(x, y);
+                    final int pixel = lineArgb[x];
                     uncompressedImageData[i++] = (byte) (pixel >> 16 & 0xff); // red
                     uncompressedImageData[i++] = (byte) (pixel >> 8 & 0xff); // green
                     uncompressedImageData[i++] = (byte) (pixel & 0xff); // blue
                 }
             }
         }
+        ArrayCache.release(INTERNAL_LINE_ARRAY_CACHE_NAME, lineArgb);
         // write compressed image data to IDAT block
         compressor.setInput(uncompressedImageData);
         outputByteBuffer.mark();
@@ -0,0 +1,107 @@
+package io.fair_acc.chartfx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import javafx.scene.canvas.GraphicsContext;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.spi.AbstractRendererXY;
+import io.fair_acc.chartfx.ui.css.DataSetNode;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils.SelectiveJavaFxInterceptor;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests of the {@link XYChart} canvas layer caching
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(SelectiveJavaFxInterceptor.class)
+public class XYChartTests {
+    @TestFx
+    public void testLayerCaching() {
+        final XYChart chart = new XYChart(new DefaultNumericAxis("x", 0, 10, 1), new DefaultNumericAxis("y", 0, 10, 1));
+        chart.getCanvas().resize(40, 20);
+        final DoubleDataSet referenceData = new DoubleDataSet("reference");
+        final DoubleDataSet liveData = new DoubleDataSet("live");
+        final CountingRenderer reference = new CountingRenderer(true);
+        final CountingRenderer live = new CountingRenderer(true);
+        final CountingRenderer uncacheable = new CountingRenderer(false);
+        reference.getDatasets().add(referenceData);
+        live.getDatasets().add(liveData);
+        chart.getRenderers().setAll(reference, live, uncacheable);
+        assertFalse(chart.isLayerCaching());
+        chart.setLayerCaching(true);
+
+        redraw(chart, referenceData, liveData); // new projection: drawn directly
+        assertEquals(1, reference.nRendered);
+        liveData.getBitState().setDirty(ChartBits.DataSetDataAdded);
+        redraw(chart, referenceData, liveData); // reference layer captured once
+        assertEquals(2, reference.nRendered);
+        for (int frame = 0; frame < 5; frame++) {
+            liveData.getBitState().setDirty(ChartBits.DataSetDataAdded);
+            redraw(chart, referenceData, liveData);
+        }
+        assertEquals(2, reference.nRendered);
+        assertEquals(7, live.nRendered);
+        assertEquals(7, uncacheable.nRendered);
+
+        // updated reference data or chart-level invalidations drop the layer
+        referenceData.getBitState().setDirty(ChartBits.DataSetDataAdded);
+        redraw(chart, referenceData, liveData);
+        assertEquals(3, reference.nRendered);
+        redraw(chart, referenceData, liveData); // re-captured
+        assertEquals(4, reference.nRendered);
+        chart.fireInvalidated(ChartBits.ChartCanvas);
+        redraw(chart, referenceData, liveData);
+        redraw(chart, referenceData, liveData);
+        redraw(chart, referenceData, liveData);
+        assertEquals(6, reference.nRendered);
+
+        chart.setLayerCaching(false);
+        redraw(chart, referenceData, liveData);
+        redraw(chart, referenceData, liveData);
+        assertEquals(8, reference.nRendered);
+    }
+
+    private static void redraw(final XYChart chart, final DataSet... dataSets) {
+        chart.redrawCanvas();
+        for (final DataSet dataSet : dataSets) {
+            dataSet.getBitState().clear();
+        }
+    }
+
+    private static class CountingRenderer extends AbstractRendererXY<CountingRenderer> {
+        private final boolean cacheable;
+        private int nRendered;
+
+        private CountingRenderer(final boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public boolean isLayerCacheable() {
+            return cacheable;
+        }
+
+        @Override
+        public void render() {
+            nRendered++;
+        }
+
+        @Override
+        protected CountingRenderer getThis() {
+            return this;
+        }
+
+        @Override
+        protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
+            // counted in render()
+        }
+    }
+}
@@ -270,6 +270,10 @@ class AbstractAxisParameterTests {
         axis.setTickLabelSpacing(5);
         assertEquals(5, axis.getTickLabelSpacing());
 
+        assertFalse(axis.isTickLabelSpriteCaching());
+        axis.setTickLabelSpriteCaching(true);
+        assertTrue(axis.isTickLabelSpriteCaching());
+
         axis.getTickLabelStyle().setRotate(10);
         assertEquals(10, axis.getTickLabelRotation());
 
@@ -0,0 +1,73 @@
+package io.fair_acc.chartfx.axes.spi.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.util.StringConverter;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link FormatterLabelCache}
+ */
+public class FormatterLabelCacheTests {
+    @Test
+    public void testCache() {
+        final FormatterLabelCache cache = new FormatterLabelCache(4);
+        assertEquals(4, cache.getMaxSize());
+        final AtomicInteger nCalls = new AtomicInteger();
+        final StringConverter<Number> formatter = new StringConverter<>() {
+            @Override
+            public Number fromString(final String string) {
+                return Double.parseDouble(string);
+            }
+
+            @Override
+            public String toString(final Number value) {
+                nCalls.incrementAndGet();
+                return value.toString();
+            }
+        };
+
+        final String label = cache.get(formatter, 1.5);
+        assertEquals("1.5", label);
+        assertSame(label, cache.get(formatter, 1.5));
+        assertEquals(1, nCalls.get());
+        assertEquals(1, cache.size());
+
+        // +0.0 and -0.0 as well as NaN are distinguished like Double#equals
+        assertEquals("0.0", cache.get(formatter, 0.0));
+        assertEquals("-0.0", cache.get(formatter, -0.0));
+        assertEquals("NaN", cache.get(formatter, Double.NaN));
+        assertEquals("NaN", cache.get(formatter, Double.NaN));
+        assertEquals(4, nCalls.get());
+        assertEquals(4, cache.size());
+
+        // exceeding the maximum size resets the cache
+        assertEquals("2.0", cache.get(formatter, 2.0));
+        assertEquals(1, cache.size());
+        assertEquals("1.5", cache.get(formatter, 1.5));
+        assertEquals(6, nCalls.get());
+
+        // null labels are not cached
+        assertNull(cache.computeIfAbsent(3.0, value -> null));
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals("2.0", cache.get(formatter, 2.0));
+        assertEquals(7, nCalls.get());
+
+        // deprecated boxed API: shares the cached labels
+        assertSame(cache.get(formatter, 2.0), cache.get(formatter, Double.valueOf(2.0)));
+        assertEquals("2.0", cache.computeIfAbsent(Double.valueOf(2.0), Number::toString));
+        assertEquals("4", cache.get(formatter, Integer.valueOf(4)));
+        assertEquals(8, nCalls.get());
+
+        assertThrows(IllegalArgumentException.class, () -> new FormatterLabelCache(0));
+    }
+}
@@ -0,0 +1,129 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+
+/**
+ * JMH comparison of the {@link M4DataReducer} and {@link LargestTriangleThreeBucketsDataReducer} (sequential and with
+ * parallel column partitioning), the {@link RamanDouglasPeukerDataReducer} and
+ * {@link VisvalingamMaheswariWhyattDataReducer} with the {@link DefaultDataReducer} for a noisy signal drawn into 1920
+ * pixel columns. The reducers work in-place, thus every invocation first restores the screen coordinates (same
+ * overhead for all variants).
+ * <p>
+ * Run via {@link #main(String[])} from the test class-path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataReducerBenchmark {
+    private static final double WIDTH = 1920;
+    @Param({ "100000", "1000000" })
+    private int length;
+    private double[] x;
+    private double[] y;
+    private double[] yErrorPos;
+    private double[] yErrorNeg;
+    private double[] xWork;
+    private double[] yWork;
+    private double[] yErrorPosWork;
+    private double[] yErrorNegWork;
+    private String[] styles;
+    private boolean[] selected;
+    private final DefaultDataReducer defaultReducer = new DefaultDataReducer();
+    private final M4DataReducer m4Reducer = new M4DataReducer();
+    private final M4DataReducer m4ParallelReducer = new M4DataReducer();
+    private final LargestTriangleThreeBucketsDataReducer lttbReducer = new LargestTriangleThreeBucketsDataReducer();
+    private final LargestTriangleThreeBucketsDataReducer lttbParallelReducer = new LargestTriangleThreeBucketsDataReducer();
+    private final RamanDouglasPeukerDataReducer douglasPeuckerReducer = new RamanDouglasPeukerDataReducer();
+    private final VisvalingamMaheswariWhyattDataReducer visvalingamReducer = new VisvalingamMaheswariWhyattDataReducer();
+
+    @Setup
+    public void setup() {
+        x = new double[length];
+        y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = WIDTH * i / length;
+            y[i] = 500 + 300 * Math.sin(20.0 * i / length) + 50 * Math.sin(0.37 * i);
+        }
+        yErrorPos = y.clone();
+        yErrorNeg = y.clone();
+        xWork = new double[length];
+        yWork = new double[length];
+        yErrorPosWork = new double[length];
+        yErrorNegWork = new double[length];
+        styles = new String[length];
+        selected = new boolean[length];
+        m4Reducer.setParallelThreshold(0);
+        lttbReducer.setParallelThreshold(0);
+        m4ParallelReducer.setParallelThreshold(length / 8);
+        lttbParallelReducer.setParallelThreshold(length / 8);
+    }
+
+    @Benchmark
+    public int defaultReducer() {
+        return reduce(defaultReducer);
+    }
+
+    @Benchmark
+    public int douglasPeucker() {
+        return reduce(douglasPeuckerReducer);
+    }
+
+    @Benchmark
+    public int lttb() {
+        return reduce(lttbReducer);
+    }
+
+    @Benchmark
+    public int lttbParallel() {
+        return reduce(lttbParallelReducer);
+    }
+
+    @Benchmark
+    public int m4() {
+        return reduce(m4Reducer);
+    }
+
+    @Benchmark
+    public int m4Parallel() {
+        return reduce(m4ParallelReducer);
+    }
+
+    @Benchmark
+    public int visvalingam() {
+        return reduce(visvalingamReducer);
+    }
+
+    private int reduce(final RendererDataReducer reducer) {
+        System.arraycopy(x, 0, xWork, 0, length);
+        System.arraycopy(y, 0, yWork, 0, length);
+        System.arraycopy(yErrorPos, 0, yErrorPosWork, 0, length);
+        System.arraycopy(yErrorNeg, 0, yErrorNegWork, 0, length);
+        return reducer.reducePoints(xWork, yWork, null, null, yErrorPosWork, yErrorNegWork, styles, selected, 0, length);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder().include(DataReducerBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
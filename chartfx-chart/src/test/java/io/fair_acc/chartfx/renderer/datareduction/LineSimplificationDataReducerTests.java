@@ -0,0 +1,119 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+
+/**
+ * Tests of the {@link RamanDouglasPeukerDataReducer} and {@link VisvalingamMaheswariWhyattDataReducer}
+ */
+public class LineSimplificationDataReducerTests {
+    // straight line segments with a corner at x = 4 and a spike at x = 8, index 11 is NaN
+    private static final double[] X = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 };
+    private static final double[] Y = { 0, 1, 2, 3, 4, 4, 4, 4, 20, 4, 4, Double.NaN, 0, 0.1, 0 };
+
+    @Test
+    void testDouglasPeucker() {
+        final RamanDouglasPeukerDataReducer reducer = new RamanDouglasPeukerDataReducer();
+        assertEquals(1.0, reducer.getEpsilon());
+        assertThrows(IllegalArgumentException.class, () -> reducer.setEpsilon(-1));
+        checkReduction(reducer, new double[] { 0, 4, 7, 8, 10, 11, 12, 14 }); // point 9 is within 1 px of the flank
+
+        // smaller tolerance keeps the small bump
+        reducer.setEpsilon(0.05);
+        final double[] x = X.clone();
+        final int count = reducer.reducePoints(x, Y.clone(), null, null, null, null, null, new boolean[X.length], 0, X.length);
+        assertArrayEquals(new double[] { 0, 4, 7, 8, 9, 10, 11, 12, 13, 14 }, Arrays.copyOf(x, count));
+
+        // legacy array-of-points interface
+        final double[][] filtered = new RamanDouglasPeukerDataReducer().filter(new double[][] { { 0, 0 }, { 1, 0.5 }, { 2, 0 }, { 3, 5 } });
+        assertEquals(3, filtered.length);
+        assertArrayEquals(new double[] { 3, 5 }, filtered[2]);
+        final double[][] segment = new RamanDouglasPeukerDataReducer() {
+            double[][] legacyFilter(final double[][] points, final int startIndex, final int endIndex) {
+                return ramerDouglasPeuckerFunction(points, startIndex, endIndex);
+            }
+        }.legacyFilter(new double[][] { { -1, 7 }, { 0, 0 }, { 1, 0.5 }, { 2, 0 }, { 3, 5 } }, 1, 4);
+        assertEquals(3, segment.length);
+        assertArrayEquals(new double[] { 0, 0 }, segment[0]);
+        assertArrayEquals(new double[] { 3, 5 }, segment[2]);
+    }
+
+    @Test
+    void testVisvalingamWhyatt() {
+        final VisvalingamMaheswariWhyattDataReducer reducer = new VisvalingamMaheswariWhyattDataReducer();
+        assertEquals(1.0, reducer.getMinArea());
+        assertThrows(IllegalArgumentException.class, () -> reducer.setMinArea(-1));
+        checkReduction(reducer, new double[] { 0, 4, 7, 8, 9, 10, 11, 12, 14 });
+
+        // removing everything but the end points of the segments
+        reducer.setMinArea(Double.MAX_VALUE);
+        final double[] x = X.clone();
+        final int count = reducer.reducePoints(x, Y.clone(), null, null, null, null, null, new boolean[X.length], 0, X.length);
+        assertArrayEquals(new double[] { 0, 10, 11, 12, 14 }, Arrays.copyOf(x, count));
+    }
+
+    @Test
+    void testLargeInput() {
+        // deep splitting would overflow the stack of the former recursive implementation
+        final int nSamples = 1_000_000;
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = i * (double) i; // every point is a corner
+        }
+        final RamanDouglasPeukerDataReducer douglasPeucker = new RamanDouglasPeukerDataReducer();
+        douglasPeucker.setEpsilon(0.0);
+        assertDoesNotThrow(() -> assertEquals(nSamples, douglasPeucker.reducePoints(x.clone(), y.clone(), null, null, null, null, null, new boolean[nSamples], 0, nSamples)));
+
+        for (int i = 0; i < nSamples; i++) {
+            y[i] = 100.0 * Math.sin(1e-4 * i);
+        }
+        final VisvalingamMaheswariWhyattDataReducer visvalingam = new VisvalingamMaheswariWhyattDataReducer();
+        final int count = visvalingam.reducePoints(x, y, null, null, null, null, null, new boolean[nSamples], 0, nSamples);
+        assertTrue(count > 2 && count < nSamples / 100, "reduced to " + count);
+        for (int i = 1; i < count; i++) {
+            assertTrue(x[i] > x[i - 1]);
+        }
+    }
+
+    private static void checkReduction(final RendererDataReducer reducer, final double[] expectedX) {
+        final int offset = 2; // reduce sub-range
+        final int length = X.length + offset;
+        final double[] x = new double[length];
+        final double[] y = new double[length];
+        final double[] eyn = new double[length];
+        final double[] eyp = new double[length];
+        final String[] styles = new String[length];
+        final boolean[] selected = new boolean[length];
+        for (int i = 0; i < X.length; i++) {
+            x[offset + i] = X[i];
+            y[offset + i] = Y[i];
+            eyn[offset + i] = Y[i] - 1;
+            eyp[offset + i] = Y[i] + 1;
+            styles[offset + i] = "p" + (int) X[i];
+            selected[offset + i] = X[i] == 8;
+        }
+
+        final int count = reducer.reducePoints(x, y, null, null, eyp, eyn, styles, selected, offset, length);
+        assertArrayEquals(expectedX, Arrays.copyOf(x, count));
+        // errors, styles and selection follow the surviving points
+        for (int i = 0; i < count; i++) {
+            final int source = (int) x[i];
+            assertEquals(Y[source], y[i]);
+            assertEquals(Y[source] - 1, eyn[i]);
+            assertEquals(Y[source] + 1, eyp[i]);
+            assertEquals("p" + source, styles[i]);
+            assertEquals(source == 8, selected[i]);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the {@link M4DataReducer} and {@link LargestTriangleThreeBucketsDataReducer}
+ */
+public class PixelDataReducerTests {
+    @Test
+    void testProperties() {
+        final M4DataReducer m4 = new M4DataReducer();
+        assertEquals(1, m4.getPixelColumnWidth());
+        m4.setPixelColumnWidth(3);
+        assertEquals(3, m4.pixelColumnWidthProperty().get());
+        assertThrows(IllegalArgumentException.class, () -> m4.setPixelColumnWidth(0));
+        m4.setParallelThreshold(0);
+        assertEquals(0, m4.getParallelThreshold());
+        assertThrows(IllegalArgumentException.class, () -> m4.setParallelThreshold(-1));
+
+        final LargestTriangleThreeBucketsDataReducer lttb = new LargestTriangleThreeBucketsDataReducer();
+        assertEquals(2, lttb.getPixelColumnWidth());
+        final double[] values = new double[4];
+        assertThrows(IllegalArgumentException.class, () -> lttb.reducePoints(values, values, null, null, null, null, null, new boolean[4], 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> lttb.reducePoints(values, new double[3], null, null, null, null, null, new boolean[4], 0, 4));
+    }
+
+    @Test
+    void testM4() {
+        final M4DataReducer reducer = new M4DataReducer();
+        reducer.setPixelColumnWidth(10);
+        // columns: [0,10): 6 points, [10,20): 1 point, [20,30): NaN and 2 points
+        final double[] x = { 0, 1, 2, 3, 4, 5, 12, 21, 22, 23 };
+        final double[] y = { 5, 9, 1, 7, 2, 6, 3, 4, Double.NaN, 8 };
+        final double[] eyn = { 10, 11, 12, 13, 14, 15, 16, 17, 18, 19 };
+        final double[] eyp = eyn.clone();
+        final String[] styles = { "a", "b", "c", "d", "e", "f", "g", "h", "i", "j" };
+        final boolean[] selected = new boolean[x.length];
+        selected[2] = true;
+
+        final int count = reducer.reducePoints(x, y, null, null, eyp, eyn, styles, selected, 0, x.length);
+        assertEquals(8, count);
+        // first, max, min, last of the first column, the single point, the column closed by the NaN
+        assertArrayEquals(new double[] { 0, 1, 2, 5, 12, 21, 22, 23 }, Arrays.copyOf(x, count));
+        assertArrayEquals(new double[] { 5, 9, 1, 6, 3, 4, Double.NaN, 8 }, Arrays.copyOf(y, count));
+        assertArrayEquals(new double[] { 10, 11, 12, 15, 16, 17, 18, 19 }, Arrays.copyOf(eyn, count));
+        assertArrayEquals(new String[] { "a", "b", "c", "f", "g", "h", "i", "j" }, Arrays.copyOf(styles, count));
+        assertArrayEquals(new boolean[] { false, false, true, false, false, false, false, false }, Arrays.copyOf(selected, count));
+
+        // index sub-range
+        final double[] x2 = { 100, 0, 1, 2, 100 };
+        final double[] y2 = { 0, 3, 2, 1, 0 };
+        assertEquals(2, reducer.reducePoints(x2, y2, null, null, null, null, null, new boolean[5], 1, 4));
+        assertArrayEquals(new double[] { 0, 2 }, Arrays.copyOf(x2, 2));
+        assertArrayEquals(new double[] { 3, 1 }, Arrays.copyOf(y2, 2));
+    }
+
+    @Test
+    void testLargestTriangleThreeBuckets() {
+        final LargestTriangleThreeBucketsDataReducer reducer = new LargestTriangleThreeBucketsDataReducer();
+        reducer.setPixelColumnWidth(10);
+        // buckets: first point, [10,20), [20,30), last point
+        final double[] x = { 0, 10, 12, 14, 20, 22, 24, 30 };
+        final double[] y = { 0, 0, 10, 1, 0, 1, -10, 0 };
+        final int count = reducer.reducePoints(x, y, null, null, null, null, null, new boolean[x.length], 0, x.length);
+        assertEquals(4, count);
+        assertArrayEquals(new double[] { 0, 12, 24, 30 }, Arrays.copyOf(x, count));
+        assertArrayEquals(new double[] { 0, 10, -10, 0 }, Arrays.copyOf(y, count));
+
+        // NaN buckets are represented by the NaN point, the following bucket restarts with its first point
+        final double[] x2 = { 0, 10, 12, 20, 22, 30 };
+        final double[] y2 = { 0, 5, Double.NaN, 0, 7, 0 };
+        final int count2 = reducer.reducePoints(x2, y2, null, null, null, null, null, new boolean[x2.length], 0, x2.length);
+        assertEquals(4, count2);
+        assertArrayEquals(new double[] { 0, 12, 20, 30 }, Arrays.copyOf(x2, count2));
+
+        // nothing to reduce
+        final double[] x3 = { 0, 1 };
+        assertEquals(2, reducer.reducePoints(x3, x3.clone(), null, null, null, null, null, new boolean[2], 0, 2));
+    }
+
+    @Test
+    void testParallelPartitioning() {
+        final int nSamples = 200_000;
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = 1000.0 * i / nSamples; // 1000 pixel wide
+            y[i] = 100.0 * Math.sin(0.001 * i) + (i % 7);
+        }
+        y[nSamples / 3] = Double.NaN;
+
+        for (final AbstractPixelDataReducer reducer : new AbstractPixelDataReducer[] { new M4DataReducer(), new LargestTriangleThreeBucketsDataReducer() }) {
+            reducer.setParallelThreshold(0);
+            final double[] xSequential = x.clone();
+            final double[] ySequential = y.clone();
+            final int nSequential = reducer.reducePoints(xSequential, ySequential, null, null, null, null, null, new boolean[nSamples], 0, nSamples);
+
+            reducer.setParallelThreshold(1000);
+            final double[] xParallel = x.clone();
+            final double[] yParallel = y.clone();
+            final int nParallel = reducer.reducePoints(xParallel, yParallel, null, null, null, null, null, new boolean[nSamples], 0, nSamples);
+
+            assertTrue(nSequential < 4 * 1000 + 2, reducer.getClass().getSimpleName() + " reduced to " + nSequential);
+            if (reducer instanceof M4DataReducer) {
+                // partitions are aligned with the pixel columns -> identical result
+                assertEquals(nSequential, nParallel);
+                assertArrayEquals(Arrays.copyOf(xSequential, nSequential), Arrays.copyOf(xParallel, nParallel));
+                assertArrayEquals(Arrays.copyOf(ySequential, nSequential), Arrays.copyOf(yParallel, nParallel));
+            } else {
+                // each partition keeps its own first and last point
+                assertTrue(nParallel >= nSequential && nParallel <= nSequential + 2 * 64, "parallel LTTB count " + nParallel + " vs. " + nSequential);
+                for (int i = 1; i < nParallel; i++) {
+                    assertTrue(xParallel[i] > xParallel[i - 1], "monotonic x at " + i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.XYChart;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.spi.utils.ScreenPointIndex;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils.SelectiveJavaFxInterceptor;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests of the concurrent data preparation of the {@link ErrorDataSetRenderer}
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(SelectiveJavaFxInterceptor.class)
+public class ErrorDataSetRendererPreparationTests {
+    private static final int N_SAMPLES = 2000;
+
+    @TestFx
+    public void testPreparedRender() {
+        final TestAxis xAxis = new TestAxis(0, 100, 10);
+        final TestAxis yAxis = new TestAxis(-2, 2, 0.5);
+        final XYChart chart = new XYChart(xAxis, yAxis);
+        chart.getCanvas().resize(400, 200);
+        xAxis.layout(400);
+        yAxis.layout(200);
+
+        final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+        chart.getRenderers().setAll(renderer);
+        final List<DataSet> dataSets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final DoubleDataSet dataSet = new DoubleDataSet("test" + i, N_SAMPLES);
+            for (int n = 0; n < N_SAMPLES; n++) {
+                final double x = 120.0 * n / N_SAMPLES - 10.0; // partially outside of the axis range
+                dataSet.add(x, Math.sin(0.1 * (i + 1) * x));
+            }
+            dataSets.add(dataSet);
+        }
+        renderer.getDatasets().addAll(dataSets);
+        renderer.updateAxes();
+        assertNull(renderer.getScreenPointIndex(dataSets.get(0)), "index not available before the first redraw");
+
+        // reference: sequential computation within render()
+        renderer.setParallelImplementation(false);
+        renderer.prepareRender(); // no-op
+        renderer.render();
+        final int[] expectedSize = new int[dataSets.size()];
+        final int[] expectedNearest = new int[dataSets.size()];
+        for (int i = 0; i < dataSets.size(); i++) {
+            final ScreenPointIndex index = renderer.getScreenPointIndex(dataSets.get(i));
+            assertNotNull(index, "sequential index " + i);
+            expectedSize[i] = index.size();
+            expectedNearest[i] = index.findNearest(200, 100, 20);
+            assertTrue(expectedSize[i] > 0 && expectedSize[i] < N_SAMPLES, "only points within the axis range");
+        }
+
+        // concurrently prepared DataSets must yield the identical result
+        renderer.setParallelImplementation(true);
+        for (int frame = 0; frame < 3; frame++) {
+            renderer.prepareRender();
+            if (frame == 1) {
+                renderer.prepareRender(); // repeated preparation without render in-between
+            }
+            renderer.render();
+            for (int i = 0; i < dataSets.size(); i++) {
+                final ScreenPointIndex index = renderer.getScreenPointIndex(dataSets.get(i));
+                assertNotNull(index, "prepared index " + i);
+                assertEquals(expectedSize[i], index.size(), "index size of data set " + i);
+                assertEquals(expectedNearest[i], index.findNearest(200, 100, 20), "nearest point of data set " + i);
+            }
+        }
+
+        // removed DataSets are neither prepared nor indexed
+        renderer.getDatasets().remove(dataSets.get(2));
+        renderer.prepareRender();
+        renderer.render();
+        assertNotNull(renderer.getScreenPointIndex(dataSets.get(0)));
+        assertNull(renderer.getScreenPointIndex(dataSets.get(2)));
+    }
+
+    @TestFx
+    public void testReducerThreads() {
+        final TestAxis xAxis = new TestAxis(0, 100, 10);
+        final TestAxis yAxis = new TestAxis(-2, 2, 0.5);
+        final XYChart chart = new XYChart(xAxis, yAxis);
+        chart.getCanvas().resize(400, 200);
+        xAxis.layout(400);
+        yAxis.layout(200);
+        final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+        chart.getRenderers().setAll(renderer);
+        for (int i = 0; i < 3; i++) {
+            final DoubleDataSet dataSet = new DoubleDataSet("test" + i, N_SAMPLES);
+            for (int n = 0; n < N_SAMPLES; n++) {
+                dataSet.add(100.0 * n / N_SAMPLES, Math.sin(0.1 * (i + 1) * n));
+            }
+            renderer.getDatasets().add(dataSet);
+        }
+        renderer.updateAxes();
+        final Thread renderThread = Thread.currentThread();
+
+        // reducers are only invoked concurrently if they declare to be thread-safe
+        final ThreadRecordingReducer unsafeReducer = new ThreadRecordingReducer(false);
+        renderer.setRendererDataReducer(unsafeReducer);
+        renderer.prepareRender();
+        renderer.render();
+        assertEquals(Set.of(renderThread), unsafeReducer.threads);
+
+        final ThreadRecordingReducer safeReducer = new ThreadRecordingReducer(true);
+        renderer.setRendererDataReducer(safeReducer);
+        renderer.prepareRender();
+        renderer.render();
+        assertFalse(safeReducer.threads.isEmpty());
+        assertFalse(safeReducer.threads.contains(renderThread), "reduced by the preparation workers");
+
+        // a single DataSet is not pre-submitted but computed within render() using the intra-DataSet split
+        renderer.getDatasets().remove(1, 3);
+        safeReducer.threads.clear();
+        renderer.prepareRender();
+        renderer.render();
+        assertEquals(Set.of(renderThread), safeReducer.threads);
+    }
+
+    private static class ThreadRecordingReducer extends DefaultDataReducer {
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private final boolean threadSafe;
+
+        private ThreadRecordingReducer(final boolean threadSafe) {
+            this.threadSafe = threadSafe;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return threadSafe;
+        }
+
+        @Override
+        public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos, final double[] xPointErrorsNeg, final double[] yPointErrorsPos,
+                final double[] yPointErrorsNeg, final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+            threads.add(Thread.currentThread());
+            return super.reducePoints(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, indexMin, indexMax);
+        }
+    }
+
+    private static class TestAxis extends DefaultNumericAxis {
+        private TestAxis(final double min, final double max, final double tick) {
+            super("axis", min, max, tick);
+            getTickLabelStyle().setVisible(false); // no text layout needed
+        }
+
+        private void layout(final double length) {
+            getUserRange().set(getMin(), getMax()); // otherwise synchronised on the next pulse
+            updateAxisRange(length);
+        }
+    }
+}
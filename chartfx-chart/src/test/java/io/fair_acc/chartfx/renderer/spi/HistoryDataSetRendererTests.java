@@ -0,0 +1,105 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.XYChart;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
+import io.fair_acc.chartfx.renderer.spi.HistoryDataSetRenderer.HistoryDataSetNode;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils.SelectiveJavaFxInterceptor;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests of the {@link HistoryDataSetRenderer} history layer caching
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(SelectiveJavaFxInterceptor.class)
+public class HistoryDataSetRendererTests {
+    @Test
+    public void testHistoryLayerCache() {
+        final HistoryDataSetRenderer renderer = new HistoryDataSetRenderer(2);
+        final DoubleDataSet dataSet = new DoubleDataSet("test_data", new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 }, 3, false);
+        final HistoryDataSetNode node = renderer.createNode(dataSet);
+
+        final List<DataSet> computed = new ArrayList<>();
+        final HistoryDataSetRenderer.LayerComputation compute = (cache, ds) -> {
+            computed.add(ds);
+            return cache;
+        };
+        final double[] key = { 0.0, 1.0 };
+        final Object reducer = new Object();
+
+        node.shift();
+        node.shift();
+        assertEquals(2, node.getHistory().size());
+        final DataSet oldest = node.getHistory().get(0);
+        final DataSet newest = node.getHistory().get(1);
+        assertEquals("testHistory_{-1}", oldest.getName());
+
+        // first access computes, subsequent ones re-use the cached points
+        final CachedDataPoints points = node.getLayerPoints(oldest, key, reducer, compute);
+        node.getLayerPoints(newest, key, reducer, compute);
+        assertSame(points, node.getLayerPoints(oldest, key.clone(), reducer, compute));
+        assertEquals(List.of(oldest, newest), computed);
+
+        // changed projection or reducer
+        computed.clear();
+        node.getLayerPoints(oldest, new double[] { 0.0, 2.0 }, reducer, compute);
+        final Object otherReducer = new Object();
+        node.getLayerPoints(newest, key, otherReducer, compute);
+        assertEquals(List.of(oldest, newest), computed);
+
+        // shift recycles the oldest layer which needs to be re-computed
+        computed.clear();
+        node.shift();
+        assertSame(oldest, node.getHistory().get(1));
+        node.getLayerPoints(newest, key, otherReducer, compute);
+        node.getLayerPoints(oldest, new double[] { 0.0, 2.0 }, reducer, compute);
+        assertEquals(List.of(oldest), computed);
+
+        // nothing to be drawn
+        assertNull(node.getLayerPoints(oldest, key, reducer, (cache, ds) -> null));
+
+        node.clear();
+        assertEquals(0, node.getHistory().size());
+        assertEquals(0, node.layers.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new HistoryDataSetRenderer(-1));
+    }
+
+    @TestFx
+    public void testProjectionKey() {
+        final XYChart chart = new XYChart(new DefaultNumericAxis("x", 0, 10, 1), new DefaultNumericAxis("y", 0, 10, 1));
+        final HistoryDataSetRenderer renderer = new HistoryDataSetRenderer();
+        chart.getRenderers().setAll(renderer);
+        renderer.updateAxes();
+        final DefaultDataReducer reducer = new DefaultDataReducer();
+        renderer.setRendererDataReducer(reducer);
+        final double[] key = renderer.updateProjectionKey().clone();
+        assertArrayEquals(key, renderer.updateProjectionKey());
+
+        // changed parameters of the same reducer instance invalidate the cached layers
+        reducer.setMinPointPixelDistance(reducer.getMinPointPixelDistance() + 1);
+        assertFalse(Arrays.equals(key, renderer.updateProjectionKey()));
+        renderer.setRendererDataReducer(new M4DataReducer());
+        final double[] m4Key = renderer.updateProjectionKey().clone();
+        ((M4DataReducer) renderer.getRendererDataReducer()).setPixelColumnWidth(3);
+        assertFalse(Arrays.equals(m4Key, renderer.updateProjectionKey()));
+    }
+}
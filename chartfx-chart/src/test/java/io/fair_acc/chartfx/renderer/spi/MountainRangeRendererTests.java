@@ -0,0 +1,147 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.scene.canvas.GraphicsContext;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.XYChart;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.ui.css.DataSetNode;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils.SelectiveJavaFxInterceptor;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+
+/**
+ * Tests of the batched (and parallel) slice computation of the {@link MountainRangeRenderer} against the per-row
+ * computation of the {@link ErrorDataSetRenderer}
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(SelectiveJavaFxInterceptor.class)
+public class MountainRangeRendererTests {
+    private static final int N_X = 500;
+    private static final int N_Y = 2 * MountainRangeRenderer.BATCH_SIZE - 3; // last batch: 61 rows (prime)
+
+    @TestFx
+    public void testBatchedSlices() {
+        assertNotEquals(0, N_Y % MountainRangeRenderer.BATCH_SIZE, "partially filled last batch");
+        assertNotEquals(0, (N_Y - MountainRangeRenderer.BATCH_SIZE) % CachedDaemonThreadFactory.getNumbersOfThreads(), "uneven split of the last batch");
+
+        final TestAxis xAxis = new TestAxis(0, 80, 10); // only part of the grid is visible
+        final TestAxis yAxis = new TestAxis(-2, 4, 0.5);
+        final XYChart chart = new XYChart(xAxis, yAxis);
+        chart.getCanvas().resize(400, 200);
+        xAxis.layout(400);
+        yAxis.layout(200);
+
+        final double[] xGrid = new double[N_X];
+        final double[] yGrid = new double[N_Y];
+        final double[] zValues = new double[N_X * N_Y];
+        for (int i = 0; i < N_X; i++) {
+            xGrid[i] = 100.0 * i / N_X;
+        }
+        for (int j = 0; j < N_Y; j++) {
+            yGrid[j] = j;
+            for (int i = 0; i < N_X; i++) {
+                zValues[j * N_X + i] = Math.sin(0.05 * (j + 1) * xGrid[i]);
+            }
+        }
+        final DoubleGridDataSet dataSet = new DoubleGridDataSet("grid", false, new double[][] { xGrid, yGrid }, zValues);
+
+        final RecordingRenderer renderer = new RecordingRenderer();
+        chart.getRenderers().setAll(renderer);
+        renderer.getDatasets().add(dataSet);
+        renderer.updateAxes();
+
+        renderer.setParallelImplementation(false);
+        renderer.render();
+        final List<Slice> sequential = new ArrayList<>(renderer.slices);
+        assertEquals(N_Y, sequential.size());
+
+        renderer.setParallelImplementation(true);
+        for (int frame = 0; frame < 2; frame++) { // second frame: re-used slice caches
+            renderer.slices.clear();
+            renderer.render();
+            assertEquals(N_Y, renderer.slices.size());
+            for (int k = 0; k < N_Y; k++) {
+                sequential.get(k).assertEquals(renderer.slices.get(k), "parallel row #" + k);
+            }
+        }
+
+        // reference: full projection of each row, drawn from the back- to the front-most row
+        final Slice first = sequential.get(0);
+        assertTrue(first.indexMin > 0 || first.indexMax < N_X, "only the visible part of the grid is projected");
+        final double zMax = dataSet.getAxisDescription(DIM_Z).getMax();
+        for (int k = 0; k < N_Y; k++) {
+            final int yIndex = N_Y - 1 - k;
+            final double yShift = renderer.getMountainRangeOffset() * zMax * yIndex / dataSet.getShape(DIM_Y);
+            final DoubleDataSet row = new DoubleDataSet("row", N_X);
+            for (int i = 0; i < N_X; i++) {
+                row.add(xGrid[i], dataSet.get(DIM_Z, i, yIndex) + yShift);
+            }
+            final CachedDataPoints points = new CachedDataPoints().resizeMin(first.indexMin, first.indexMax, N_X, true);
+            points.computeScreenCoordinates(xAxis, yAxis, row, renderer.style, first.indexMin, first.indexMax, renderer.getErrorType(), false, renderer.isallowNaNs());
+            points.reduce(renderer.getRendererDataReducer(), renderer.isReducePoints(), renderer.getMinRequiredReductionSize());
+            new Slice(points).assertEquals(sequential.get(k), "reference row #" + yIndex);
+        }
+    }
+
+    private static class RecordingRenderer extends MountainRangeRenderer {
+        private final List<Slice> slices = new ArrayList<>();
+        private DataSetNode style;
+
+        @Override
+        protected void drawChartComponents(final GraphicsContext gc, final DataSetNode style, final CachedDataPoints points) {
+            this.style = style;
+            slices.add(new Slice(points));
+        }
+    }
+
+    private static class Slice {
+        private final int indexMin;
+        private final int indexMax;
+        private final double[] x;
+        private final double[] y;
+
+        private Slice(final CachedDataPoints points) {
+            indexMin = points.indexMin;
+            indexMax = points.indexMax;
+            x = Arrays.copyOf(points.xValues, points.actualDataCount);
+            y = Arrays.copyOf(points.yValues, points.actualDataCount);
+        }
+
+        private void assertEquals(final Slice other, final String msg) {
+            org.junit.jupiter.api.Assertions.assertEquals(indexMin, other.indexMin, msg + " indexMin");
+            org.junit.jupiter.api.Assertions.assertEquals(indexMax, other.indexMax, msg + " indexMax");
+            assertArrayEquals(x, other.x, msg + " x");
+            assertArrayEquals(y, other.y, msg + " y");
+        }
+    }
+
+    private static class TestAxis extends DefaultNumericAxis {
+        private TestAxis(final double min, final double max, final double tick) {
+            super("axis", min, max, tick);
+            getTickLabelStyle().setVisible(false); // no text layout needed
+        }
+
+        private void layout(final double length) {
+            getUserRange().set(getMin(), getMax()); // otherwise synchronised on the next pulse
+            updateAxisRange(length);
+        }
+    }
+}
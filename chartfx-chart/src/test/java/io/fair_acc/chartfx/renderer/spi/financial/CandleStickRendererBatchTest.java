@@ -0,0 +1,130 @@
+package io.fair_acc.chartfx.renderer.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.XYChart;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.spi.financial.service.OhlcvRendererEpData;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+import io.fair_acc.dataset.spi.financial.OhlcvColumns;
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+
+/**
+ * Tests of the batched (path and pixel-buffer) candle painting and the extension point data re-use of the
+ * {@link CandleStickRenderer}
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(JavaFXInterceptorUtils.SelectiveJavaFxInterceptor.class)
+public class CandleStickRendererBatchTest {
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 200;
+
+    @TestFx
+    public void batchedCandles() {
+        // 20 alternating rising/falling candles, 20 px apart, bodies 50..150, wicks 20..180
+        final CandleStickRenderer renderer = new CandleStickRenderer();
+        final XYChart chart = createChart(renderer, 20, i -> i % 2 == 0);
+        renderer.render();
+        final Image image = chart.getCanvas().snapshot(null, null);
+
+        assertColor(Color.GREEN, image, displayX(0, 20), 100); // rising body
+        assertColor(Color.RED, image, displayX(1, 20), 100); // falling body
+        assertColor(Color.GREEN, image, displayX(18, 20), 60);
+        assertColor(Color.WHITE, image, displayX(0, 20) + 9, 100); // gap between candles (snapshot background)
+    }
+
+    @TestFx
+    public void narrowCandlesPixelBuffer() {
+        // 4000 rising candles on 400 px -> pixel-buffer painting
+        final CandleStickRenderer renderer = new CandleStickRenderer();
+        final XYChart chart = createChart(renderer, 4000, i -> true);
+        renderer.render();
+        final Image image = chart.getCanvas().snapshot(null, null);
+
+        for (int x = 10; x < WIDTH; x += 50) {
+            assertColor(Color.GREEN, image, x, 100); // body
+            assertColor(Color.BLACK, image, x, HEIGHT - 170); // wick
+            assertColor(Color.WHITE, image, x, HEIGHT - 190); // above the high
+        }
+    }
+
+    @TestFx
+    public void extensionPointDataReuse() {
+        final CandleStickRenderer renderer = new CandleStickRenderer();
+        createChart(renderer, 20, i -> i % 2 == 0);
+        final List<OhlcvRendererEpData> frame = new ArrayList<>();
+        renderer.addPaintAfterEp(frame::add);
+
+        renderer.render();
+        final List<OhlcvRendererEpData> firstFrame = new ArrayList<>(frame);
+        assertEquals(20, firstFrame.size());
+        for (int i = 0; i < firstFrame.size(); i++) {
+            assertEquals(i, firstFrame.get(i).index);
+            assertNotNull(firstFrame.get(i).ohlcvItem);
+        }
+
+        frame.clear();
+        renderer.render();
+        assertEquals(firstFrame.size(), frame.size());
+        for (int i = 0; i < frame.size(); i++) {
+            assertSame(firstFrame.get(i), frame.get(i), "pooled data object " + i);
+        }
+    }
+
+    private static XYChart createChart(final CandleStickRenderer renderer, final int nBars, final IntPredicate isRising) {
+        final OhlcvColumns columns = new OhlcvColumns(nBars);
+        for (int i = 0; i < nBars; i++) {
+            final boolean rising = isRising.test(i);
+            columns.add(1000L * i, rising ? 50 : 150, 180, 20, rising ? 150 : 50, 10, 0);
+        }
+        final OhlcvDataSet dataSet = new OhlcvDataSet("ohlc");
+        dataSet.setData(columns);
+
+        final TestAxis xAxis = new TestAxis(-0.5, nBars - 0.5);
+        final TestAxis yAxis = new TestAxis(0, HEIGHT);
+        final XYChart chart = new XYChart(xAxis, yAxis);
+        chart.getCanvas().resize(WIDTH, HEIGHT);
+        xAxis.layout(WIDTH);
+        yAxis.layout(HEIGHT);
+        renderer.setComputeLocalRange(false);
+        renderer.getDatasets().add(dataSet);
+        chart.getRenderers().setAll(renderer);
+        renderer.updateAxes();
+        return chart;
+    }
+
+    private static int displayX(final int index, final int nBars) {
+        return (int) ((index + 0.5) * WIDTH / nBars);
+    }
+
+    private static void assertColor(final Color expected, final Image image, final int x, final int y) {
+        final Color actual = image.getPixelReader().getColor(x, y);
+        assertEquals(expected.getRed(), actual.getRed(), 0.05, "red at " + x + ", " + y + ": " + actual);
+        assertEquals(expected.getGreen(), actual.getGreen(), 0.05, "green at " + x + ", " + y + ": " + actual);
+        assertEquals(expected.getBlue(), actual.getBlue(), 0.05, "blue at " + x + ", " + y + ": " + actual);
+        assertEquals(1.0, actual.getOpacity(), 0.05, "opacity at " + x + ", " + y);
+    }
+
+    private static class TestAxis extends DefaultNumericAxis {
+        private TestAxis(final double min, final double max) {
+            super("axis", min, max, (max - min) / 10);
+            getTickLabelStyle().setVisible(false); // no text layout needed
+        }
+
+        private void layout(final double length) {
+            getUserRange().set(getMin(), getMax()); // otherwise synchronised on the next pulse
+            updateAxisRange(length);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.fair_acc.chartfx.renderer.spi.financial.service.footprint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class PriceLadderTest {
+    @Test
+    void addAndPoc() {
+        assertThrows(IllegalArgumentException.class, () -> new PriceLadder(0.0));
+        PriceLadder ladder = new PriceLadder(0.25);
+        assertEquals(0.25, ladder.getTickSize());
+        assertTrue(ladder.isEmpty());
+        assertEquals(0, ladder.size());
+        assertEquals(-1, ladder.getPocLevel());
+        assertEquals(-1, ladder.getLevel(2170.0));
+        assertThrows(IllegalArgumentException.class, () -> ladder.add(Double.NaN, 1, 1));
+
+        ladder.add(2170.25, 10, 5);
+        ladder.add(2170.75, 3, 4);
+        ladder.add(2170.25, 1, 1);
+        assertFalse(ladder.isEmpty());
+        assertEquals(3, ladder.size()); // includes the level 2170.50 without trades
+        assertTrue(ladder.hasVolume(0));
+        assertFalse(ladder.hasVolume(1));
+        assertTrue(ladder.hasVolume(2));
+        assertEquals(2170.25, ladder.getPrice(0));
+        assertTrue(Double.isNaN(ladder.getPrice(1)));
+        assertEquals(11.0, ladder.getBidVolume(0));
+        assertEquals(6.0, ladder.getAskVolume(0));
+        assertEquals(2, ladder.getLevel(2170.75));
+        assertEquals(-1, ladder.getLevel(2171.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ladder.getPrice(3));
+
+        assertEquals(0, ladder.getPocLevel());
+        assertEquals(2170.25, ladder.getPocPrice());
+        assertEquals(17.0, ladder.getPocVolume());
+        ladder.add(2170.75, 5, 6);
+        assertEquals(2170.75, ladder.getPocPrice());
+        // a volume correction of the POC level re-evaluates the POC
+        ladder.add(2170.75, -5, -6);
+        assertEquals(2170.25, ladder.getPocPrice());
+
+        ladder.clear();
+        assertTrue(ladder.isEmpty());
+        assertEquals(0.0, ladder.getPocPrice());
+        ladder.add(100.0, 1, 2);
+        assertEquals(1, ladder.size());
+        assertEquals(1.0, ladder.getBidVolume(0));
+    }
+
+    @Test
+    void growBothDirections() {
+        PriceLadder ladder = new PriceLadder(0.1);
+        for (int i = 0; i < 500; i++) {
+            // alternate above and below the first price
+            final int tick = i % 2 == 0 ? 1000 + i : 1000 - i;
+            ladder.add(tick * 0.1, i, 2 * i);
+        }
+        assertEquals(998, ladder.size()); // ticks 501 to 1498
+        assertEquals(1000 - 499, Math.round(ladder.getPrice(0) / 0.1));
+        assertEquals(499.0, ladder.getBidVolume(0));
+        assertEquals(998.0, ladder.getAskVolume(0));
+        assertEquals(ladder.getLevel(1000 * 0.1) + 498, ladder.size() - 1);
+        assertEquals(0, ladder.getPocLevel());
+        assertEquals(501, Math.round(ladder.getPocPrice() / 0.1));
+        int withVolume = 0;
+        for (int level = 0; level < ladder.size(); level++) {
+            withVolume += ladder.hasVolume(level) ? 1 : 0;
+        }
+        assertEquals(500, withVolume);
+    }
+
+    @Test
+    void formattedVolumes() {
+        PriceLadder ladder = new PriceLadder(1.0);
+        ladder.add(10, 12.4, 0.5);
+        assertEquals("12", ladder.getFormattedBidVolume(0));
+        assertEquals("1", ladder.getFormattedAskVolume(0));
+        assertSame(ladder.getFormattedBidVolume(0), ladder.getFormattedBidVolume(0)); // cached
+        ladder.add(10, 1.0, 0.0);
+        assertEquals("13", ladder.getFormattedBidVolume(0));
+
+        for (double volume : new double[] { 0.0, 0.49, 1.5, 2.5, 1234567.5, -3.5, Double.NaN, 1e20 }) {
+            assertEquals(String.format("%1.0f", volume), PriceLadder.formatVolume(volume), "volume = " + volume);
+        }
+    }
+}
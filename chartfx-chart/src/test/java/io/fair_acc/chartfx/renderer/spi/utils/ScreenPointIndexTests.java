@@ -0,0 +1,112 @@
+package io.fair_acc.chartfx.renderer.spi.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the {@link ScreenPointIndex} against brute-force searches
+ */
+public class ScreenPointIndexTests {
+    private static final int N_POINTS = 5000;
+    private static final double WIDTH = 640;
+    private static final double HEIGHT = 480;
+
+    @Test
+    public void testFindNearest() {
+        final double[] x = new double[N_POINTS + 10];
+        final double[] y = new double[N_POINTS + 10];
+        final Random random = new Random(42);
+        for (int i = 0; i < x.length; i++) {
+            // includes points outside the indexed area
+            x[i] = -50 + (WIDTH + 100) * random.nextDouble();
+            y[i] = -50 + (HEIGHT + 100) * random.nextDouble();
+        }
+        x[7] = Double.NaN;
+        final ScreenPointIndex index = new ScreenPointIndex();
+        assertFalse(index.isValid());
+        assertEquals(-1, index.findNearest(10, 10, 5));
+
+        index.build(x, y, 5, N_POINTS + 5, 0, WIDTH, 0, HEIGHT);
+        assertTrue(index.isValid());
+        int expectedSize = 0;
+        for (int i = 5; i < N_POINTS + 5; i++) {
+            expectedSize += x[i] >= 0 && x[i] < WIDTH && y[i] >= 0 && y[i] < HEIGHT ? 1 : 0;
+        }
+        assertEquals(expectedSize, index.size());
+
+        for (int query = 0; query < 500; query++) {
+            final double qx = -20 + (WIDTH + 40) * random.nextDouble();
+            final double qy = -20 + (HEIGHT + 40) * random.nextDouble();
+            for (final double maxDistance : new double[] { 3.0, 5.0, 40.0, Double.POSITIVE_INFINITY }) {
+                assertEquals(bruteForceNearest(x, y, 5, N_POINTS + 5, qx, qy, maxDistance), index.findNearest(qx, qy, maxDistance), "query " + qx + ", " + qy + " within " + maxDistance);
+            }
+        }
+        // far outside of the indexed area
+        assertEquals(bruteForceNearest(x, y, 5, N_POINTS + 5, -1e4, 1e5, Double.POSITIVE_INFINITY), index.findNearest(-1e4, 1e5, Double.POSITIVE_INFINITY));
+        assertEquals(-1, index.findNearest(-1e4, 1e5, 10));
+        assertEquals(-1, index.findNearest(Double.NaN, 1, 10));
+
+        index.invalidate();
+        assertFalse(index.isValid());
+        assertEquals(0, index.size());
+        assertEquals(-1, index.findNearest(100, 100, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void testRectangleAndRebuild() {
+        final double[] x = { 1, 2, 100, 101, 300, 5, 5 };
+        final double[] y = { 1, 2, 100, 102, 300, 5, 5 };
+        final ScreenPointIndex index = new ScreenPointIndex(10);
+        index.build(x, y, 0, x.length, 0, 400, 0, 400);
+        final List<Integer> found = new ArrayList<>();
+        assertEquals(4, index.forEachInRectangle(0, 5, 0, 5, found::add));
+        found.sort(Integer::compareTo);
+        assertEquals(List.of(0, 1, 5, 6), found);
+        assertEquals(2, index.forEachInRectangle(95, 105, 95, 105, i -> {}));
+        assertEquals(0, index.forEachInRectangle(150, 250, 0, 400, i -> {}));
+        // ties are resolved in favour of the lower index
+        assertEquals(5, index.findNearest(5, 5, 1));
+        assertEquals(5.0, index.getNearestX());
+        assertEquals(5.0, index.getNearestY());
+        assertEquals(3, index.findNearest(102, 103, 5));
+        assertEquals(101.0, index.getNearestX());
+        assertEquals(102.0, index.getNearestY());
+        assertEquals(-1, index.findNearest(200, 200, 5));
+        assertEquals(Double.NaN, index.getNearestX());
+        assertEquals(Double.NaN, index.getNearestY());
+
+        // re-use with fewer points and a smaller area
+        index.build(x, y, 2, 4, 50, 150, 50, 150);
+        assertEquals(2, index.size());
+        assertEquals(-1, index.findNearest(1, 1, 5));
+        assertEquals(3, index.findNearest(101, 101, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> new ScreenPointIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> index.build(x, y, 0, 10, 0, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.build(x, y, 0, 1, 1, 0, 0, 1));
+    }
+
+    private static int bruteForceNearest(final double[] x, final double[] y, final int from, final int to, final double qx, final double qy, final double maxDistance) {
+        int best = -1;
+        double bestDistance2 = maxDistance * maxDistance;
+        for (int i = from; i < to; i++) {
+            if (!(x[i] >= 0 && x[i] < WIDTH && y[i] >= 0 && y[i] < HEIGHT)) {
+                continue;
+            }
+            final double distance2 = (x[i] - qx) * (x[i] - qx) + (y[i] - qy) * (y[i] - qy);
+            if (distance2 < bestDistance2 || (best < 0 && distance2 <= bestDistance2)) {
+                bestDistance2 = distance2;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
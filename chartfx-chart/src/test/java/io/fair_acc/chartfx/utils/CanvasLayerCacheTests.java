@@ -0,0 +1,100 @@
+package io.fair_acc.chartfx.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils.SelectiveJavaFxInterceptor;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+
+/**
+ * Tests of {@link CanvasLayerCache}
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(SelectiveJavaFxInterceptor.class)
+public class CanvasLayerCacheTests {
+    @TestFx
+    public void testLayerLifecycle() {
+        final CanvasLayerCache cache = new CanvasLayerCache();
+        final Canvas canvas = new Canvas(20, 10);
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        final Object staticOwner = "static";
+        final Object liveOwner = "live";
+        final double[] key = { 20, 10, 0.0, 1.0 };
+
+        // first frame: new projection -> nothing is captured
+        cache.beginFrame(key, false);
+        assertFalse(cache.needsCapture(staticOwner, false));
+        assertFalse(cache.needsCapture(liveOwner, true));
+        assertFalse(cache.draw(staticOwner, gc));
+        cache.endFrame();
+        assertEquals(2, cache.size());
+
+        // stable projection: clean owners are captured, dirty ones drawn directly
+        cache.beginFrame(key.clone(), false);
+        assertTrue(cache.needsCapture(staticOwner, false));
+        assertFalse(cache.needsCapture(liveOwner, true));
+        gc.setFill(Color.RED);
+        gc.fillRect(0, 0, 10, 10);
+        cache.capture(staticOwner, canvas);
+        assertTrue(cache.isValid(staticOwner));
+        assertFalse(cache.isValid(liveOwner));
+        assertEquals(1, cache.getCaptureCount());
+
+        gc.clearRect(0, 0, 20, 10);
+        assertTrue(cache.draw(staticOwner, gc));
+        assertFalse(cache.draw(liveOwner, gc));
+        final WritableImage composite = canvas.snapshot(null, null);
+        assertEquals(0xFFFF0000, composite.getPixelReader().getArgb(5, 5));
+        assertEquals(0xFFFFFFFF, composite.getPixelReader().getArgb(15, 5)); // default snapshot fill
+        cache.endFrame();
+
+        // captured layers are re-used
+        cache.beginFrame(key, false);
+        assertFalse(cache.needsCapture(staticOwner, false));
+        assertTrue(cache.isValid(staticOwner));
+        cache.endFrame();
+
+        // dirty owners lose their layer and are re-captured in the next clean frame
+        cache.beginFrame(key, false);
+        assertFalse(cache.needsCapture(staticOwner, true));
+        assertFalse(cache.isValid(staticOwner));
+        cache.endFrame();
+        cache.beginFrame(key, false);
+        assertTrue(cache.needsCapture(staticOwner, false));
+        cache.capture(staticOwner, canvas);
+        cache.endFrame();
+        assertEquals(2, cache.getCaptureCount());
+
+        // changed projection or explicit invalidation
+        cache.beginFrame(new double[] { 20, 10, 0.0, 2.0 }, false);
+        assertFalse(cache.isValid(staticOwner));
+        assertFalse(cache.needsCapture(staticOwner, false));
+        cache.endFrame();
+        cache.beginFrame(new double[] { 20, 10, 0.0, 2.0 }, false);
+        assertTrue(cache.needsCapture(staticOwner, false));
+        cache.capture(staticOwner, canvas);
+        cache.endFrame();
+        cache.beginFrame(new double[] { 20, 10, 0.0, 2.0 }, true);
+        assertFalse(cache.isValid(staticOwner));
+        assertFalse(cache.needsCapture(staticOwner, false));
+
+        // owners that are no longer used are dropped
+        cache.endFrame();
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.needsCapture(null, false));
+        assertThrows(IllegalArgumentException.class, () -> cache.beginFrame(null, false));
+    }
+}
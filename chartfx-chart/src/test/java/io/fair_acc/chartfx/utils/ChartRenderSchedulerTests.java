@@ -0,0 +1,115 @@
+package io.fair_acc.chartfx.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import io.fair_acc.chartfx.XYChart;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+
+/**
+ * Tests of the {@link ChartRenderScheduler} frame budget allocation
+ */
+@ExtendWith(ApplicationExtension.class)
+public class ChartRenderSchedulerTests {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Start
+    public void start(@SuppressWarnings("unused") final Stage stage) {
+        // nothing to be done, only the JavaFX toolkit is needed
+    }
+
+    @Test
+    public void testBudgetAllocation() throws Exception {
+        FXUtils.runAndWait(() -> {
+            final XYChart chartA = new XYChart(new DefaultNumericAxis(), new DefaultNumericAxis());
+            final XYChart chartB = new XYChart(new DefaultNumericAxis(), new DefaultNumericAxis());
+            final XYChart chartC = new XYChart(new DefaultNumericAxis(), new DefaultNumericAxis());
+            final XYChart chartD = new XYChart(new DefaultNumericAxis(), new DefaultNumericAxis());
+            final List<XYChart> charts = List.of(chartA, chartB, chartC, chartD);
+            final Pane root = new Pane(chartA, chartB, chartC, chartD);
+            new Scene(root, 400, 400); // NOPMD -- only needed to determine on-screen visibility
+            for (int i = 0; i < charts.size(); i++) {
+                charts.get(i).resizeRelocate(0, 100.0 * i, 200, 100);
+            }
+            chartB.setVisible(false);
+
+            final ChartRenderScheduler scheduler = new ChartRenderScheduler();
+            final List<String> recorded = new ArrayList<>();
+            scheduler.setRecorder((tag, level) -> (unit, time) -> recorded.add(tag + "=" + unit.toMillis(time)));
+            scheduler.setFrameBudget(10 * MILLIS);
+            for (final XYChart chart : charts) {
+                chart.setRenderScheduler(scheduler);
+                assertSame(scheduler, chart.getRenderScheduler());
+                assertTrue(scheduler.isRegistered(chart));
+            }
+            scheduler.recordRedraw(chartA, 8 * MILLIS);
+            scheduler.recordRedraw(chartB, 1 * MILLIS);
+            scheduler.recordRedraw(chartC, 9 * MILLIS);
+            scheduler.recordRedraw(chartD, 9 * MILLIS + MILLIS / 2);
+            assertEquals(8 * MILLIS, scheduler.getEstimatedCost(chartA));
+            charts.forEach(XYChart::invalidate);
+
+            // first frame: the cheapest visible chart fits into the budget, the hidden one is decimated
+            scheduler.beginFrame();
+            assertTrue(scheduler.isRedrawGranted(chartA));
+            assertFalse(scheduler.isRedrawGranted(chartB));
+            assertFalse(scheduler.isRedrawGranted(chartC));
+            assertFalse(scheduler.isRedrawGranted(chartD));
+            assertEquals(3, scheduler.getDeferredRedrawCount());
+
+            // second frame: the previously deferred charts go first
+            scheduler.beginFrame();
+            assertTrue(scheduler.isRedrawGranted(chartC));
+            assertFalse(scheduler.isRedrawGranted(chartA));
+            assertFalse(scheduler.isRedrawGranted(chartB));
+            assertFalse(scheduler.isRedrawGranted(chartD));
+            // N.B. the 27.5 ms recorded before the first frame count as overrun of the first frame
+            assertEquals(1, scheduler.getFrameCount());
+            assertEquals(1, scheduler.getDroppedFrameCount());
+            assertEquals(List.of("scheduler-frameRender=27", "scheduler-frameOverrun=17"), recorded);
+
+            // starvation guard: visible charts are drawn at the latest after 'maxDeferredFrames' regardless of the budget
+            scheduler.setMaxDeferredFrames(1);
+            scheduler.beginFrame();
+            assertTrue(scheduler.isRedrawGranted(chartD));
+            assertTrue(scheduler.isRedrawGranted(chartA));
+            assertFalse(scheduler.isRedrawGranted(chartC));
+            assertFalse(scheduler.isRedrawGranted(chartB));
+
+            // the hidden chart is redrawn after 'hiddenRefreshInterval' frames if there is budget left
+            scheduler.setHiddenRefreshInterval(4);
+            scheduler.beginFrame();
+            assertTrue(scheduler.isRedrawGranted(chartC));
+            assertTrue(scheduler.isRedrawGranted(chartB));
+            assertFalse(scheduler.isRedrawGranted(chartA));
+
+            chartA.setRenderScheduler(null);
+            assertNull(chartA.getRenderScheduler());
+            assertFalse(scheduler.isRegistered(chartA));
+            assertTrue(scheduler.isRedrawGranted(chartA));
+            assertEquals(-1, scheduler.getEstimatedCost(chartA));
+
+            assertThrows(IllegalArgumentException.class, () -> scheduler.setFrameBudget(0));
+            assertThrows(IllegalArgumentException.class, () -> scheduler.setMaxDeferredFrames(0));
+            assertThrows(IllegalArgumentException.class, () -> scheduler.setHiddenRefreshInterval(0));
+            assertThrows(IllegalArgumentException.class, () -> scheduler.register(null));
+        });
+    }
+}
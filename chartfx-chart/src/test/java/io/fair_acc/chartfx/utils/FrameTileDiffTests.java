@@ -0,0 +1,73 @@
+package io.fair_acc.chartfx.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link FrameTileDiff}
+ */
+public class FrameTileDiffTests {
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 70;
+
+    @Test
+    public void testUpdate() {
+        final FrameTileDiff diff = new FrameTileDiff(16);
+        final int[] frame = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = 0xFF000000 | i;
+        }
+        // first frame is fully dirty
+        assertEquals(7 * 5, diff.update(frame, WIDTH, HEIGHT));
+        assertEquals(7, diff.getTilesX());
+        assertEquals(5, diff.getTilesY());
+        assertEquals(1.0, diff.getDirtyFraction());
+
+        // unchanged frame
+        assertEquals(0, diff.update(frame.clone(), WIDTH, HEIGHT));
+        assertEquals(0, diff.forEachDirtyRegion((x, y, w, h) -> {}));
+
+        // single pixel changes, incl. the partial tiles at the right and bottom border
+        frame[20 * WIDTH + 40] = 0; // tile (2, 1)
+        frame[20 * WIDTH + 50] = 0; // tile (3, 1)
+        frame[69 * WIDTH + 99] = 0; // tile (6, 4)
+        assertEquals(3, diff.update(frame, WIDTH, HEIGHT));
+        assertTrue(diff.isDirty(2, 1));
+        assertTrue(diff.isDirty(3, 1));
+        assertTrue(diff.isDirty(6, 4));
+        assertFalse(diff.isDirty(0, 0));
+        final List<int[]> regions = new ArrayList<>();
+        assertEquals(2, diff.forEachDirtyRegion((x, y, w, h) -> regions.add(new int[] { x, y, w, h })));
+        assertEquals(List.of(32, 16, 32, 16), toList(regions.get(0)));
+        assertEquals(List.of(96, 64, 4, 6), toList(regions.get(1)));
+
+        // reference has been updated
+        assertEquals(0, diff.update(frame, WIDTH, HEIGHT));
+
+        // resize and reset
+        assertEquals(4, diff.update(frame, 20, 20));
+        diff.reset();
+        assertEquals(4, diff.update(frame, 20, 20));
+
+        assertThrows(IllegalArgumentException.class, () -> new FrameTileDiff(0));
+        assertThrows(IllegalArgumentException.class, () -> diff.update(null, 20, 20));
+        assertThrows(IllegalArgumentException.class, () -> diff.update(frame, WIDTH, HEIGHT + 1));
+        assertThrows(IllegalArgumentException.class, () -> diff.isDirty(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> diff.forEachDirtyRegion(null));
+    }
+
+    private static List<Integer> toList(final int[] values) {
+        final List<Integer> list = new ArrayList<>();
+        for (final int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -3,6 +3,7 @@ package io.fair_acc.chartfx.utils;
 import static io.fair_acc.chartfx.utils.WriteFxImageBenchmark.Implementation.NEWREF;
 import static io.fair_acc.chartfx.utils.WriteFxImageBenchmark.Implementation.OLDREF;
 import static io.fair_acc.chartfx.utils.WriteFxImageBenchmark.Implementation.PALETTE;
+import static io.fair_acc.chartfx.utils.WriteFxImageBenchmark.Implementation.PARALLEL;
 
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
@@ -88,6 +89,9 @@ public class WriteFxImageBenchmark {
                 writeFxImage(testimage, alpha, keepBuffer, Deflater.NO_COMPRESSION, NEWREF);
                 writeFxImage(testimage, alpha, keepBuffer, Deflater.BEST_SPEED, NEWREF);
                 writeFxImage(testimage, alpha, keepBuffer, Deflater.BEST_COMPRESSION, NEWREF);
+                writeFxImage(testimage, alpha, keepBuffer, Deflater.NO_COMPRESSION, PARALLEL);
+                writeFxImage(testimage, alpha, keepBuffer, Deflater.BEST_SPEED, PARALLEL);
+                writeFxImage(testimage, alpha, keepBuffer, Deflater.BEST_COMPRESSION, PARALLEL);
             }
         }
         writeImageIoImage(testimage, false, false);
@@ -101,6 +105,9 @@ public class WriteFxImageBenchmark {
                 writeFxImage(testimage2, alpha, keepBuffer, Deflater.NO_COMPRESSION, NEWREF);
                 writeFxImage(testimage2, alpha, keepBuffer, Deflater.BEST_SPEED, NEWREF);
                 writeFxImage(testimage2, alpha, keepBuffer, Deflater.BEST_COMPRESSION, NEWREF);
+                writeFxImage(testimage2, alpha, keepBuffer, Deflater.NO_COMPRESSION, PARALLEL);
+                writeFxImage(testimage2, alpha, keepBuffer, Deflater.BEST_SPEED, PARALLEL);
+                writeFxImage(testimage2, alpha, keepBuffer, Deflater.BEST_COMPRESSION, PARALLEL);
             }
         }
         writeImageIoImage(testimage2, false, false);
@@ -123,6 +130,7 @@ public class WriteFxImageBenchmark {
             for (int compressionLevel = Deflater.NO_COMPRESSION; compressionLevel <= Deflater.BEST_COMPRESSION; compressionLevel++) {
                 writeFxImage(image, alpha, true, compressionLevel, OLDREF);
                 writeFxImage(image, alpha, true, compressionLevel, NEWREF);
+                writeFxImage(image, alpha, true, compressionLevel, PARALLEL);
                 // compute palette on-the-fly
                 writeFxImage(image, alpha, true, compressionLevel, PALETTE);
                 // use pre-computed palette
@@ -149,6 +157,12 @@ public class WriteFxImageBenchmark {
                 size += bb.limit();
             }
             break;
+        case PARALLEL:
+            for (int i = 0; i < N_ITER; i++) {
+                final ByteBuffer bb = WriteFxImage.encodeParallel(image, keepBuffer ? byteBuffer : null, alpha, compression, FilterType.FILTER_NONE);
+                size += bb.limit();
+            }
+            break;
         case NEWREF:
         default:
             for (int i = 0; i < N_ITER; i++) {
@@ -206,7 +220,8 @@ public class WriteFxImageBenchmark {
     public enum Implementation {
         OLDREF,
         NEWREF,
-        PALETTE;
+        PALETTE,
+        PARALLEL;
 
         public String getName() {
             switch (this) {
@@ -216,6 +231,8 @@ public class WriteFxImageBenchmark {
                 return "NewRef ";
             case PALETTE:
                 return "Palette";
+            case PARALLEL:
+                return "Paral. ";
             default:
                 return "unknown";
             }
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.stream.Stream;
+import java.util.zip.Adler32;
 import java.util.zip.Deflater;
 
 import javafx.scene.canvas.Canvas;
@@ -231,6 +232,66 @@ public class WriteFxImageTests {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("testWritingImageByteBufferProvider")
+    public void testWritingImageByteBufferParallel(final int testImageID, final boolean allocateNewBuffer, final boolean encodeRGBA, final int compressionLevel, final FilterType filterType) throws IOException {
+        final Image testImage = getTestImage(testImageID);
+        final int w = (int) testImage.getWidth();
+        final int h = (int) testImage.getHeight();
+        final ByteBuffer pngOutput = allocateNewBuffer ? ByteBuffer.allocate(WriteFxImage.getCompressedSizeBound(w, h, encodeRGBA)) : null;
+        final ByteBuffer pngOutReal = WriteFxImage.encodeParallel(testImage, pngOutput, encodeRGBA, compressionLevel, filterType);
+        if (allocateNewBuffer) {
+            assertSame(pngOutput, pngOutReal);
+        }
+
+        try (final InputStream is = new ByteArrayInputStream(pngOutReal.array(), pngOutReal.position(), pngOutReal.limit())) {
+            final Image recovered = new Image(is);
+            assertFalse(recovered.isError());
+            assertImageEqual(testImage, recovered, encodeRGBA);
+        }
+    }
+
+    @Test
+    public void testWritingImageByteBufferParallelFilters() throws IOException {
+        // N.B. the random image is split into several independently compressed stripes
+        for (final FilterType filterType : new FilterType[] { FilterType.FILTER_SUB, FilterType.FILTER_UP, FilterType.FILTER_AVERAGE, FilterType.FILTER_PAETH, FilterType.FILTER_ADAPTIVE_FAST }) {
+            for (final Image testImage : new Image[] { imageOvals, imageRandom }) {
+                final ByteBuffer pngOutput = WriteFxImage.encodeParallel(testImage, null, true, Deflater.DEFAULT_COMPRESSION, filterType);
+                try (final InputStream is = new ByteArrayInputStream(pngOutput.array(), pngOutput.position(), pngOutput.limit())) {
+                    assertImageEqual(testImage, new Image(is));
+                }
+            }
+        }
+        // parallel output should be of similar size as the sequential one
+        final int sequentialSize = WriteFxImage.encode(imageOvals, null, true, Deflater.BEST_SPEED, FilterType.FILTER_NONE).limit();
+        final int parallelSize = WriteFxImage.encodeParallel(imageOvals, null, true, Deflater.BEST_SPEED, FilterType.FILTER_NONE).limit();
+        assertEquals(sequentialSize, parallelSize, 0.1 * sequentialSize);
+        assertThrows(IllegalArgumentException.class, () -> WriteFxImage.encodeParallel(null, null, true, Deflater.BEST_SPEED, null));
+
+        // raw pixel input, e.g. sub-regions of captured frames
+        final int w = (int) imageOvals.getWidth();
+        final int h = (int) imageOvals.getHeight();
+        final int[] pixels = new int[w * h];
+        WriteFxImage.copyImageDataToPixelBuffer(imageOvals, pixels);
+        final ByteBuffer rawOutput = WriteFxImage.encodeParallel(pixels, w, h, null, true, Deflater.BEST_SPEED, null);
+        try (final InputStream is = new ByteArrayInputStream(rawOutput.array(), rawOutput.position(), rawOutput.limit())) {
+            assertImageEqual(imageOvals, new Image(is));
+        }
+        assertThrows(IllegalArgumentException.class, () -> WriteFxImage.encodeParallel(null, w, h, null, true, Deflater.BEST_SPEED, null));
+        assertThrows(IllegalArgumentException.class, () -> WriteFxImage.encodeParallel(pixels, w, h + 1, null, true, Deflater.BEST_SPEED, null));
+
+        // Adler-32 of concatenated data
+        final byte[] data = new byte[100_000];
+        new Random(42).nextBytes(data);
+        final Adler32 all = new Adler32();
+        all.update(data);
+        final Adler32 first = new Adler32();
+        first.update(data, 0, 12_345);
+        final Adler32 second = new Adler32();
+        second.update(data, 12_345, data.length - 12_345);
+        assertEquals(all.getValue(), WriteFxImage.combineAdler32(first.getValue(), second.getValue(), data.length - 12_345));
+    }
+
     @Test
     public void testWritingImageByteBuffer1x1() throws IOException {
         // convert to png
@@ -0,0 +1,505 @@
+package io.fair_acc.dataset.spi;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.trees.DoubleBPlusTree;
+
+/**
+ * DataSet implementation for (potentially) out-of-order samples that are kept sorted in 'x', limited in the number of
+ * samples (queue) and in 'x'-range (time).
+ * <p>
+ * Functionally similar to {@link LimitedIndexedTreeDataSet}, but the samples are stored in a {@link DoubleBPlusTree},
+ * i.e. in primitive array leaves rather than one object per sample. This provides O(log N) indexed access (and O(1)
+ * for sequential access as done by the renderers), O(log N) out-of-order insertion, nearly constant appends for
+ * monotonic 'x' and bulk expiry of the oldest samples. Unlike {@link LimitedIndexedTreeDataSet}, samples with identical
+ * 'x' are all retained (in insertion order).
+ * <p>
+ * N.B. errors are symmetric, data labels and styles are index-based (see {@link AbstractDataSet}) and are not shifted
+ * on insertions or expiry.
+ *
+ * @see DataSet
+ * @see DataSetError
+ */
+public class LimitedSortedTreeDataSet extends AbstractErrorDataSet<LimitedSortedTreeDataSet> implements DataSet {
+    private static final long serialVersionUID = 4981749412950371053L;
+    private static final int COL_X = 0;
+    private static final int COL_Y = 1;
+    private static final int COL_EX = 2;
+    private static final int COL_EY = 3;
+    protected transient DoubleBPlusTree data = new DoubleBPlusTree(4);
+    private final double[] row = new double[4];
+    protected int maxQueueSize;
+    protected double maxLength = Double.MAX_VALUE;
+    protected boolean subtractOffset;
+
+    /**
+     * @param name name of this DataSet. max queue size default to 1000
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LimitedSortedTreeDataSet(final String name) {
+        this(name, 1000);
+    }
+
+    /**
+     * @param name name of this DataSet.
+     * @param maxQueueSize maximum number of samples that is being stored
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LimitedSortedTreeDataSet(final String name, final int maxQueueSize) {
+        this(name, maxQueueSize, Double.MAX_VALUE);
+    }
+
+    /**
+     * @param name name of this DataSet.
+     * @param maxQueueSize maximum number of samples that is being stored
+     * @param maxLength maximum length between first and last sample
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LimitedSortedTreeDataSet(final String name, final int maxQueueSize, final double maxLength) {
+        super(name, 2, ErrorType.SYMMETRIC, ErrorType.SYMMETRIC);
+        this.maxQueueSize = maxQueueSize;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @param x coordinate
+     * @param y coordinate
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet add(final double x, final double y) {
+        return add(x, y, 0, 0);
+    }
+
+    /**
+     * add new point
+     *
+     * @param x horizontal point coordinate
+     * @param y vertical point coordinate
+     * @param ex horizontal point error
+     * @param ey vertical point error Note: point errors are expected to be positive
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet add(final double x, final double y, final double ex, final double ey) {
+        lock().writeLockGuard(() -> {
+            addPoint(x, y, ex, ey);
+            expire(data.getLastKey());
+        });
+        fireInvalidated(ChartBits.DataSetDataAdded);
+        return getThis();
+    }
+
+    /**
+     * Adds data points to this data set.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet add(final double[] xValues, final double[] yValues) {
+        return add(xValues, yValues, new double[yValues.length], new double[yValues.length]);
+    }
+
+    /**
+     * Adds data points to this data set.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param xErrors horizontal errors
+     * @param yErrors vertical errors
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet add(final double[] xValues, final double[] yValues, final double[] xErrors, final double[] yErrors) {
+        AssertUtils.notNull("X data", xValues);
+        AssertUtils.notNull("Y data", yValues);
+        AssertUtils.notNull("X error data", xErrors);
+        AssertUtils.notNull("Y error data", yErrors);
+        lock().writeLockGuard(() -> {
+            for (int i = 0; i < xValues.length; i++) {
+                addPoint(xValues[i], yValues[i], xErrors[i], yErrors[i]);
+            }
+            expire(data.getLastKey());
+        });
+        fireInvalidated(ChartBits.DataSetDataAdded);
+        return getThis();
+    }
+
+    /**
+     * remove all data points
+     *
+     * @return itself (fluent design)
+     */
+    public LimitedSortedTreeDataSet clearData() {
+        lock().writeLockGuard(() -> {
+            data.clear();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * checks X data range and removes old data points if they exceed the maximum data range
+     *
+     * @see #setMaxLength
+     */
+    public void expire() {
+        lock().writeLockGuard(() -> expire(data.getLastKey()));
+    }
+
+    /**
+     * checks X data range and removes old data points if they exceed the maximum data range or queue size
+     *
+     * @see #setMaxLength
+     * @param now actual time stamp to be taken as a 't0' reference
+     */
+    public void expire(final double now) {
+        lock().writeLockGuard(() -> {
+            if (data.isEmpty()) {
+                return;
+            }
+            // all points before 'now - maxLength' and the oldest exceeding the queue size are removed in one bulk operation
+            final int expiredByLength = maxLength < Double.MAX_VALUE ? data.lowerBound(now - maxLength) : 0;
+            final int toRemove = Math.max(expiredByLength, data.size() - maxQueueSize);
+            if (toRemove > 0) {
+                data.remove(0, Math.min(toRemove, data.size()));
+                // invalidate ranges
+                getAxisDescriptions().forEach(AxisDescription::clear);
+            }
+        });
+    }
+
+    @Override
+    public double get(final int dimIndex, final int i) {
+        switch (dimIndex) {
+        case DIM_X:
+            return subtractOffset ? data.get(COL_X, i) - data.getLastKey() : data.get(COL_X, i);
+        case DIM_Y:
+            return data.get(COL_Y, i);
+        default:
+            throw new IndexOutOfBoundsException("dimIndex out of bound 2");
+        }
+    }
+
+    /**
+     * @return data container, columns: x, y, ex, ey
+     */
+    public DoubleBPlusTree getData() {
+        return data;
+    }
+
+    @Override
+    public int getDataCount() {
+        return data.size();
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return data.get(dimIndex == DIM_X ? COL_EX : COL_EY, index);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return getErrorNegative(dimIndex, index);
+    }
+
+    @Override
+    public int getIndex(final int dimIndex, final double... x) {
+        if (dimIndex != DIM_X) {
+            return super.getIndex(dimIndex, x);
+        }
+        AssertUtils.checkArrayDimension("x", x, 1);
+        final int count = data.size();
+        if (count == 0 || !Double.isFinite(x[0])) {
+            return 0;
+        }
+        final double key = subtractOffset ? x[0] + data.getLastKey() : x[0];
+        final int index = data.lowerBound(key);
+        if (index == 0) {
+            return 0;
+        }
+        if (index == count) {
+            return count - 1;
+        }
+        // closest of the two neighbours
+        return key - data.get(COL_X, index - 1) <= data.get(COL_X, index) - key ? index - 1 : index;
+    }
+
+    /**
+     * @return maximum X range before points are getting dropped
+     */
+    public double getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return maximum number of data points before points are getting dropped
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex) {
+        if (dimIndex != DIM_X && dimIndex != DIM_Y) {
+            return super.getValues(dimIndex);
+        }
+        final int count = data.size();
+        final double[] values = data.copy(dimIndex == DIM_X ? COL_X : COL_Y, 0, count, new double[count], 0);
+        if (dimIndex == DIM_X && subtractOffset && count > 0) {
+            final double offset = data.getLastKey();
+            for (int i = 0; i < count; i++) {
+                values[i] -= offset;
+            }
+        }
+        return values;
+    }
+
+    /**
+     *
+     * @return {@code true}: normalise x-Axis to last value
+     */
+    public boolean isSubtractOffset() {
+        return subtractOffset;
+    }
+
+    /**
+     * remove sub-range of data points
+     *
+     * @param fromIndex starting index
+     * @param toIndex stopping index (exclusive)
+     * @return itself (fluent design)
+     */
+    public LimitedSortedTreeDataSet remove(final int fromIndex, final int toIndex) {
+        lock().writeLockGuard(() -> {
+            AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
+            AssertUtils.indexInBounds(toIndex, getDataCount() + 1, "toIndex");
+            AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+            data.remove(fromIndex, toIndex);
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * Removes from this data set points with specified indices.
+     *
+     * @param indices array of indices to be removed
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet remove(final int[] indices) {
+        AssertUtils.notNull("Indices array", indices);
+        if (indices.length == 0) {
+            return this;
+        }
+
+        lock().writeLockGuard(() -> {
+            final int[] sorted = indices.clone();
+            Arrays.sort(sorted);
+            AssertUtils.indexInBounds(sorted[0], getDataCount(), "indices");
+            AssertUtils.indexInBounds(sorted[sorted.length - 1], getDataCount(), "indices");
+            // remove contiguous index ranges starting from the end so that the remaining indices stay valid
+            int end = sorted.length - 1;
+            while (end >= 0) {
+                int start = end;
+                while (start > 0 && sorted[start - 1] >= sorted[start] - 1) {
+                    start--;
+                }
+                data.remove(sorted[start], sorted[end] + 1);
+                end = start - 1;
+            }
+
+            // invalidate ranges
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * removes all data points
+     *
+     * @return itself (fluent design)
+     */
+    public LimitedSortedTreeDataSet reset() {
+        lock().writeLockGuard(() -> {
+            data.clear();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        return this;
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet set(final double[] xValues, final double[] yValues) {
+        final int ndim = xValues.length;
+        return set(xValues, yValues, new double[ndim], new double[ndim], ndim);
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param xErrors symmetric X coordinate errors
+     * @param yErrors symmetric Y coordinate errors
+     * @param count number of points to be taken from specified arrays.
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet set(final double[] xValues, final double[] yValues, final double[] xErrors, final double[] yErrors, final int count) {
+        AssertUtils.notNull("X coordinates", xValues);
+        AssertUtils.notNull("Y coordinates", yValues);
+        if (xValues.length < count || yValues.length < count || xErrors.length < count || yErrors.length < count) {
+            throw new IllegalArgumentException("Arrays with coordinates must have length >= count!");
+        }
+
+        lock().writeLockGuard(() -> {
+            data.clear();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            for (int i = 0; i < count; i++) {
+                addPoint(xValues[i], yValues[i], xErrors[i], yErrors[i]);
+            }
+            expire(data.getLastKey());
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param count number of points to be taken from specified arrays.
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet set(final double[] xValues, final double[] yValues, final int count) {
+        return set(xValues, yValues, new double[count], new double[count], count);
+    }
+
+    /**
+     * Sets the point with index to the new coordinate, N.B. the point is re-sorted if 'x' changes
+     *
+     * @param index the point index of the data set
+     * @param x the horizontal coordinate of the data point
+     * @param y the vertical coordinate of the data point
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet set(final int index, final double x, final double y) {
+        return set(index, x, y, 0, 0);
+    }
+
+    /**
+     * Sets the point with index to the new coordinate, N.B. the point is re-sorted if 'x' changes
+     *
+     * @param index the point index of the data set
+     * @param x the horizontal coordinate of the data point
+     * @param y the vertical coordinate of the data point
+     * @param dx the horizontal error
+     * @param dy the vertical error N.B. assumes symmetric errors
+     * @return itself
+     */
+    public LimitedSortedTreeDataSet set(final int index, final double x, final double y, final double dx, final double dy) {
+        lock().writeLockGuard(() -> {
+            AssertUtils.indexInBounds(index, getDataCount(), "index");
+            if (data.get(COL_X, index) == x) {
+                data.set(COL_Y, index, y);
+                data.set(COL_EX, index, dx);
+                data.set(COL_EY, index, dy);
+            } else {
+                data.remove(index, index + 1);
+                data.add(fillRow(x, y, dx, dy));
+            }
+            // the old value may have defined the range
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            expire(data.getLastKey());
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    @Override
+    public DataSet set(final DataSet other, final boolean copy) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+
+        lock().writeLockGuard(() -> other.lock().readLockGuard(() -> {
+            data.clear();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            final DataSetError errorDataSet = other instanceof DataSetError ? (DataSetError) other : null;
+            for (int i = 0; i < other.getDataCount(); i++) {
+                final double ex = errorDataSet == null ? 0.0 : Math.abs(Math.max(errorDataSet.getErrorNegative(DIM_X, i), errorDataSet.getErrorPositive(DIM_X, i)));
+                final double ey = errorDataSet == null ? 0.0 : Math.abs(Math.max(errorDataSet.getErrorNegative(DIM_Y, i), errorDataSet.getErrorPositive(DIM_Y, i)));
+                addPoint(other.get(DIM_X, i), other.get(DIM_Y, i), ex, ey);
+            }
+            expire(data.getLastKey());
+            copyDataLabelsAndStyles(other, copy);
+            copyMetaData(other);
+            copyAxisDescription(other);
+        }));
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    /**
+     * @param maxLength maximum X range before points are getting dropped
+     * @return itself (fluent design)
+     */
+    public LimitedSortedTreeDataSet setMaxLength(final double maxLength) {
+        this.maxLength = maxLength;
+        return this;
+    }
+
+    /**
+     * @param maxQueueSize maximum number of data points before points are getting dropped
+     * @return itself (fluent design)
+     */
+    public LimitedSortedTreeDataSet setMaxQueueSize(final int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    /**
+     *
+     * @param subtractOffset {@code true}: normalise x-Axis to last value
+     */
+    public void setSubtractOffset(final boolean subtractOffset) {
+        this.subtractOffset = subtractOffset;
+    }
+
+    private void addPoint(final double x, final double y, final double ex, final double ey) {
+        data.add(fillRow(x, y, ex, ey));
+        getAxisDescription(DIM_X).add(x - ex);
+        getAxisDescription(DIM_X).add(x + ex);
+        getAxisDescription(DIM_Y).add(y - ey);
+        getAxisDescription(DIM_Y).add(y + ey);
+    }
+
+    private double[] fillRow(final double x, final double y, final double ex, final double ey) {
+        row[COL_X] = x;
+        row[COL_Y] = y;
+        row[COL_EX] = ex;
+        row[COL_EY] = ey;
+        return row;
+    }
+}
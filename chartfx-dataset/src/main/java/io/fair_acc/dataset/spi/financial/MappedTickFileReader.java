@@ -0,0 +1,316 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+
+/**
+ * Reader for binary tick files with fixed-length records (e.g. Sierra Chart SCID, see {@link TickRecordFormat}) for
+ * back-testing and replay over large histories.
+ * <p>
+ * The file is mapped read-only in large {@link MappedByteBuffer} windows (default: 64 MiB, always holding whole
+ * records) and the records are decoded in batches straight into primitive {@link TickColumns}, i.e. without
+ * intermediate objects or per-record channel reads. A sparse time index (one time stamp every {@code indexStride}
+ * records) is built on opening and extended by {@link #refresh()}, so that {@link #seek(long)} costs a binary search
+ * over the index plus a binary search over at most {@code indexStride} records in the mapped window. Record time
+ * stamps must be non-decreasing.
+ * <p>
+ * A reader is not thread-safe, parallel replay of several instruments uses one reader per file, see
+ * {@link #replay(List, long, long, int, BiConsumer)}.
+ */
+public class MappedTickFileReader implements AutoCloseable {
+    /** default mapped window size in bytes */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+    /** default number of records per sparse time index entry */
+    public static final int DEFAULT_INDEX_STRIDE = 1024;
+    private final Path file;
+    private final TickRecordFormat format;
+    private final FileChannel channel;
+    private final int recordLength;
+    private final int windowRecords;
+    private final int indexStride;
+    private long recordCount;
+    private long position;
+    private long[] index = new long[16]; // time stamp of every indexStride-th record
+    private int indexSize;
+    private MappedByteBuffer window;
+    private long windowFirst = -1; // first record of the mapped window, -1: none
+    private int windowCount; // number of records in the mapped window
+
+    /**
+     * Opens a tick file with the default window size and index stride.
+     *
+     * @param file tick file
+     * @param format record format of the file
+     * @throws IOException if the file cannot be opened or its header does not match the format
+     */
+    public MappedTickFileReader(final Path file, final TickRecordFormat format) throws IOException {
+        this(file, format, DEFAULT_WINDOW_SIZE, DEFAULT_INDEX_STRIDE);
+    }
+
+    /**
+     * Opens a tick file.
+     *
+     * @param file tick file
+     * @param format record format of the file
+     * @param windowSize maximum number of bytes mapped at once (rounded down to whole records)
+     * @param indexStride number of records per sparse time index entry
+     * @throws IOException if the file cannot be opened or its header does not match the format
+     */
+    public MappedTickFileReader(final Path file, final TickRecordFormat format, final int windowSize, final int indexStride) throws IOException {
+        this.file = AssertUtils.notNull("file", file);
+        this.format = AssertUtils.notNull("format", format);
+        AssertUtils.gtThanZero("indexStride", indexStride);
+        recordLength = format.getRecordLength();
+        AssertUtils.gtThanZero("recordLength", recordLength);
+        AssertUtils.gtOrEqual("windowSize", recordLength, windowSize);
+        windowRecords = windowSize / recordLength;
+        this.indexStride = indexStride;
+
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            final int headerLength = format.getHeaderLength();
+            if (headerLength > 0) {
+                final ByteBuffer header = ByteBuffer.allocate(headerLength).order(format.getByteOrder());
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) {
+                        throw new IOException("file shorter than the header: " + file);
+                    }
+                }
+                format.checkHeader(header);
+            }
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        windowFirst = -1;
+        channel.close();
+    }
+
+    /**
+     * @param timeStamp time stamp in epoch-nanoseconds
+     * @return index of the first record with a time stamp equal to or after the given time stamp,
+     *         {@link #getRecordCount()} if there is none
+     * @throws IOException if reading the file failed
+     */
+    public long findRecord(final long timeStamp) throws IOException {
+        if (indexSize == 0 || timeStamp <= index[0]) {
+            return 0;
+        }
+        // last index entry strictly before the time stamp -> the record lies within (entry, entry + indexStride]
+        int entry = Arrays.binarySearch(index, 0, indexSize, timeStamp);
+        entry = entry >= 0 ? entry : -entry - 1;
+        while (entry > 0 && index[entry - 1] >= timeStamp) {
+            entry--; // equal time stamps across index entries
+        }
+        long lo = (long) (entry - 1) * indexStride + 1;
+        long hi = Math.min((long) entry * indexStride, recordCount) - 1;
+        while (lo <= hi) {
+            final long mid = (lo + hi) >>> 1;
+            if (getTimeStamp(mid) < timeStamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return tick file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return record format of the file
+     */
+    public TickRecordFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return index of the next record returned by {@link #read(TickColumns, int)}
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return number of complete records in the file (as of the last {@link #refresh()})
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @param record record index
+     * @return time stamp of the record in epoch-nanoseconds
+     * @throws IOException if reading the file failed
+     */
+    public long getTimeStamp(final long record) throws IOException {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("record " + record + " out of bounds [0, " + recordCount + ")");
+        }
+        final MappedByteBuffer buffer = map(record);
+        return format.decodeTimeStamp(buffer, (int) (record - windowFirst) * recordLength);
+    }
+
+    /**
+     * Decodes the records starting at the current position and appends them to the given columns.
+     *
+     * @param target columns to append to (N.B. not cleared)
+     * @param maxRecords maximum number of records to read
+     * @return number of read records, {@code 0} if the end of the file has been reached
+     * @throws IOException if reading the file failed
+     */
+    public int read(final TickColumns target, final int maxRecords) throws IOException {
+        AssertUtils.notNull("target", target);
+        AssertUtils.gtEqThanZero("maxRecords", maxRecords);
+        final int count = (int) Math.min(maxRecords, recordCount - position);
+        target.ensureCapacity(target.size() + count);
+        int read = 0;
+        while (read < count) {
+            final MappedByteBuffer buffer = map(position);
+            final int first = (int) (position - windowFirst);
+            final int last = Math.min(windowCount, first + count - read);
+            for (int i = first, offset = first * recordLength; i < last; i++, offset += recordLength) {
+                format.decode(buffer, offset, target);
+            }
+            read += last - first;
+            position += last - first;
+        }
+        return read;
+    }
+
+    /**
+     * Updates the record count and extends the time index for records appended to the file since it has been opened
+     * (e.g. by a live recording).
+     *
+     * @return number of new records
+     * @throws IOException if reading the file failed
+     */
+    public long refresh() throws IOException {
+        final long oldCount = recordCount;
+        recordCount = Math.max(0, (channel.size() - format.getHeaderLength()) / recordLength);
+        if (windowFirst >= 0 && windowCount < windowRecords && windowFirst + windowCount < recordCount) {
+            windowFirst = -1; // partially mapped last window grew
+            window = null;
+        }
+        final long requiredEntries = (recordCount + indexStride - 1) / indexStride;
+        if (requiredEntries > index.length) {
+            index = Arrays.copyOf(index, (int) Math.max(requiredEntries, Math.min(2L * index.length, Integer.MAX_VALUE - 8)));
+        }
+        while (indexSize < requiredEntries) {
+            index[indexSize] = getTimeStamp((long) indexSize * indexStride);
+            indexSize++;
+        }
+        return recordCount - oldCount;
+    }
+
+    /**
+     * Moves the position to the first record with a time stamp equal to or after the given time stamp.
+     *
+     * @param timeStamp time stamp in epoch-nanoseconds
+     * @return new position, {@link #getRecordCount()} if there is no such record
+     * @throws IOException if reading the file failed
+     */
+    public long seek(final long timeStamp) throws IOException {
+        position = findRecord(timeStamp);
+        return position;
+    }
+
+    /**
+     * @param record index of the next record returned by {@link #read(TickColumns, int)}
+     */
+    public void setPosition(final long record) {
+        if (record < 0 || record > recordCount) {
+            throw new IndexOutOfBoundsException("record " + record + " out of bounds [0, " + recordCount + "]");
+        }
+        position = record;
+    }
+
+    private MappedByteBuffer map(final long record) throws IOException {
+        if (windowFirst < 0 || record < windowFirst || record >= windowFirst + windowCount) {
+            final long first = record / windowRecords * windowRecords;
+            final int count = (int) Math.min(windowRecords, recordCount - first);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, format.getHeaderLength() + first * recordLength, (long) count * recordLength);
+            window.order(format.getByteOrder());
+            windowFirst = first;
+            windowCount = count;
+        }
+        return window;
+    }
+
+    /**
+     * Replays the time range {@code [from, to)} of several tick files in parallel (one task per reader on the
+     * {@link CachedDaemonThreadFactory#getCommonPool() common pool}). Each reader is sought to {@code from} and its
+     * records are passed batch-wise to the consumer, in order per reader and from one thread at a time per reader.
+     * N.B. the consumer must not retain the batch (it is cleared and refilled for the next call), readers must not be
+     * shared between the given list entries, and the method must not be called from within the common pool.
+     *
+     * @param readers tick files to be replayed
+     * @param from start time stamp in epoch-nanoseconds (inclusive)
+     * @param to end time stamp in epoch-nanoseconds (exclusive)
+     * @param batchSize maximum number of records per batch
+     * @param consumer receiver of the reader and its next batch
+     */
+    public static void replay(final List<MappedTickFileReader> readers, final long from, final long to, final int batchSize, final BiConsumer<MappedTickFileReader, TickColumns> consumer) {
+        AssertUtils.notNull("readers", readers);
+        AssertUtils.gtThanZero("batchSize", batchSize);
+        AssertUtils.notNull("consumer", consumer);
+        final List<Callable<Boolean>> workers = new ArrayList<>(readers.size());
+        for (final MappedTickFileReader reader : readers) {
+            workers.add(() -> {
+                reader.replay(from, to, batchSize, consumer);
+                return Boolean.TRUE;
+            });
+        }
+
+        try {
+            final List<Future<Boolean>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
+            for (final Future<Boolean> future : jobs) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("tick file replay has been interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw new IllegalStateException("one parallel tick file replay finished execution with error", e.getCause());
+        }
+    }
+
+    private void replay(final long from, final long to, final int batchSize, final BiConsumer<MappedTickFileReader, TickColumns> consumer) throws IOException {
+        final long end = findRecord(to);
+        final TickColumns batch = new TickColumns(batchSize);
+        seek(from);
+        while (position < end) {
+            read(batch.clear(), (int) Math.min(batchSize, end - position));
+            consumer.accept(this, batch);
+        }
+    }
+}
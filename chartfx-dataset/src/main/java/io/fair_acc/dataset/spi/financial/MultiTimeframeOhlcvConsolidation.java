@@ -0,0 +1,199 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Incremental consolidation of one tick stream into OHLCV bars of several timeframes (e.g. 1s, 1m, 5m, 1h, 1d) in a
+ * single pass.
+ * <p>
+ * Each timeframe publishes into its own {@link OhlcvDataSet} backed by an {@link OhlcvColumns} store. The bar
+ * boundaries are computed with epoch-nanosecond arithmetic ({@code start = t - floorMod(t - offset, period)}), i.e.
+ * without {@code Calendar} or {@code Date} objects and without allocation per tick. Bars cover the half-open interval
+ * {@code [start, start + period)} and carry the start time stamp. The optional offset shifts the bar boundaries, e.g.
+ * to align daily bars with a session start or time zone other than UTC.
+ * <p>
+ * Notifications are batched: {@link #add(long, double, double)} only updates the bars (within the data set write
+ * locks), {@link #flush()} fires one {@link ChartBits#DataSetDataAdded} invalidation per modified data set. The array
+ * variant {@link #add(long[], double[], double[], int, int)} locks every data set once per batch and flushes at the
+ * end. Tick time stamps must be non-decreasing. N.B. instances are not thread-safe, feed each instance from one
+ * thread.
+ */
+public class MultiTimeframeOhlcvConsolidation {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private final List<Timeframe> timeframes = new ArrayList<>();
+    private final List<OhlcvDataSet> dataSets = new ArrayList<>();
+    private long lastTimeStamp = Long.MIN_VALUE;
+
+    /**
+     * Adds a timeframe with bar boundaries aligned to multiples of the period since the epoch (UTC).
+     *
+     * @param name name of the created data set
+     * @param period bar length
+     * @return data set receiving the bars of this timeframe
+     */
+    public OhlcvDataSet addTimeframe(final String name, final Duration period) {
+        return addTimeframe(name, period, Duration.ZERO);
+    }
+
+    /**
+     * Adds a timeframe. N.B. ticks received so far are not back-filled into the new timeframe.
+     *
+     * @param name name of the created data set
+     * @param period bar length
+     * @param offset shift of the bar boundaries with respect to multiples of the period since the epoch
+     * @return data set receiving the bars of this timeframe
+     */
+    public OhlcvDataSet addTimeframe(final String name, final Duration period, final Duration offset) {
+        AssertUtils.notNull("name", name);
+        AssertUtils.notNull("period", period);
+        AssertUtils.notNull("offset", offset);
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+        final Timeframe timeframe = new Timeframe(name, period.toNanos(), offset.toNanos());
+        timeframes.add(timeframe);
+        dataSets.add(timeframe.dataSet);
+        return timeframe.dataSet;
+    }
+
+    /**
+     * Consolidates one tick into all timeframes. The data sets are not notified, call {@link #flush()} to publish the
+     * changes.
+     *
+     * @param timeStamp tick time stamp in epoch-nanoseconds
+     * @param price traded price
+     * @param volume traded volume
+     */
+    public void add(final long timeStamp, final double price, final double volume) {
+        checkTick(timeStamp, price, lastTimeStamp);
+        for (final Timeframe timeframe : timeframes) {
+            timeframe.dataSet.lock().writeLock();
+            try {
+                timeframe.add(timeStamp, price, volume);
+            } finally {
+                timeframe.dataSet.lock().writeUnLock();
+            }
+        }
+        lastTimeStamp = timeStamp;
+    }
+
+    /**
+     * Consolidates a batch of ticks into all timeframes and notifies each modified data set once.
+     *
+     * @param timeStamps tick time stamps in epoch-nanoseconds
+     * @param prices traded prices
+     * @param volumes traded volumes
+     * @param from index of the first tick (inclusive)
+     * @param to index of the last tick (exclusive)
+     */
+    public void add(final long[] timeStamps, final double[] prices, final double[] volumes, final int from, final int to) {
+        AssertUtils.notNull("timeStamps", timeStamps);
+        AssertUtils.notNull("prices", prices);
+        AssertUtils.notNull("volumes", volumes);
+        AssertUtils.indexOrder(from, "from", to, "to");
+        if (to > timeStamps.length || to > prices.length || to > volumes.length) {
+            throw new IllegalArgumentException("to = " + to + " exceeds the tick array lengths");
+        }
+        // validate the whole batch first, no partially applied batches
+        long previous = lastTimeStamp;
+        for (int i = from; i < to; i++) {
+            checkTick(timeStamps[i], prices[i], previous);
+            previous = timeStamps[i];
+        }
+
+        int locked = 0;
+        try {
+            for (final Timeframe timeframe : timeframes) {
+                timeframe.dataSet.lock().writeLock();
+                locked++;
+            }
+            // single pass over the ticks, fanned out to all timeframes
+            for (int i = from; i < to; i++) {
+                for (final Timeframe timeframe : timeframes) {
+                    timeframe.add(timeStamps[i], prices[i], volumes[i]);
+                }
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                timeframes.get(i).dataSet.lock().writeUnLock();
+            }
+        }
+        lastTimeStamp = previous;
+        flush();
+    }
+
+    /**
+     * Notifies the data sets that received new ticks since the last flush.
+     */
+    public void flush() {
+        for (final Timeframe timeframe : timeframes) {
+            if (timeframe.modified) {
+                timeframe.modified = false;
+                timeframe.dataSet.fireInvalidated(ChartBits.DataSetDataAdded);
+            }
+        }
+    }
+
+    /**
+     * @return the data sets of all timeframes in order of their addition
+     */
+    public List<OhlcvDataSet> getDataSets() {
+        return Collections.unmodifiableList(dataSets);
+    }
+
+    /**
+     * @return time stamp of the last consolidated tick in epoch-nanoseconds, {@link Long#MIN_VALUE} if none
+     */
+    public long getLastTimeStamp() {
+        return lastTimeStamp;
+    }
+
+    private static void checkTick(final long timeStamp, final double price, final long previousTimeStamp) {
+        if (timeStamp < previousTimeStamp) {
+            throw new IllegalArgumentException("tick time stamps must be non-decreasing: " + timeStamp + " < " + previousTimeStamp);
+        }
+        if (!Double.isFinite(price)) {
+            throw new IllegalArgumentException("tick price must be finite: " + price);
+        }
+    }
+
+    /**
+     * aggregator of one timeframe, updates the last bar of its columns in-place
+     */
+    private static final class Timeframe {
+        private final long period;
+        private final long offset;
+        private final OhlcvColumns columns = new OhlcvColumns();
+        private final OhlcvDataSet dataSet;
+        private long barStart = Long.MIN_VALUE;
+        private boolean modified;
+
+        private Timeframe(final String name, final long period, final long offset) {
+            this.period = period;
+            this.offset = offset;
+            dataSet = new OhlcvDataSet(name);
+            dataSet.setData(columns);
+        }
+
+        private void add(final long timeStamp, final double price, final double volume) {
+            final long start = timeStamp - Math.floorMod(timeStamp - offset, period);
+            if (start != barStart) {
+                // ticks are ordered -> a new bar
+                barStart = start;
+                columns.add(Math.floorDiv(start, NANOS_PER_MILLI), price, price, price, price, volume, 0.0);
+            } else {
+                final int last = columns.size() - 1;
+                columns.set(last, columns.getTimeStamps()[last], columns.getOpen()[last], //
+                        Math.max(columns.getHigh()[last], price), Math.min(columns.getLow()[last], price), price, //
+                        columns.getVolume()[last] + volume, columns.getOpenInterest()[last]);
+            }
+            modified = true;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModel;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcv;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Columnar (struct-of-arrays) OHLCV storage: the bar time stamps are kept as {@code long[]} epoch-milliseconds and the
+ * open, high, low, close, volume and open-interest values in separate primitive {@code double[]} columns that grow on
+ * append. An additional {@code double[]} column holds the time stamps in seconds, i.e. the x-coordinates used by
+ * {@link OhlcvDataSet}, which exposes the columns directly via {@link OhlcvDataSet#getValues(int)} and reads them
+ * without per-bar object or {@link Date} access.
+ * <p>
+ * The {@link IOhlcvItem}s returned by {@link #getOhlcvItem(int)} are light-weight views onto the columns (item addons
+ * are stored sparsely by index). N.B. the column arrays may be larger than {@link #size()}, appends are not
+ * synchronised: modify the data within the write-lock of the {@link OhlcvDataSet} and fire the corresponding
+ * invalidation event afterwards.
+ */
+public class OhlcvColumns implements IOhlcv {
+    private static final int DEFAULT_CAPACITY = 16;
+    private long[] timeStamps;
+    private double[] times;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private double[] openInterest;
+    private int size;
+    private AttributeModel addon;
+    private final Map<Integer, AttributeModel> itemAddons = new HashMap<>();
+
+    /**
+     * Creates a new empty OHLCV store with default initial capacity.
+     */
+    public OhlcvColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty OHLCV store.
+     *
+     * @param initialCapacity initial number of bars that can be stored without re-allocation
+     */
+    public OhlcvColumns(final int initialCapacity) {
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        timeStamps = new long[initialCapacity];
+        times = new double[initialCapacity];
+        open = new double[initialCapacity];
+        high = new double[initialCapacity];
+        low = new double[initialCapacity];
+        close = new double[initialCapacity];
+        volume = new double[initialCapacity];
+        openInterest = new double[initialCapacity];
+    }
+
+    /**
+     * Appends a new bar.
+     *
+     * @param timeStamp bar time stamp in epoch-milliseconds
+     * @param open open value
+     * @param high high value
+     * @param low low value
+     * @param close close value
+     * @param volume volume
+     * @param openInterest open interest
+     * @return itself (fluent design)
+     */
+    public OhlcvColumns add(final long timeStamp, final double open, final double high, final double low, final double close, final double volume, final double openInterest) {
+        ensureCapacity(size + 1);
+        set(size++, timeStamp, open, high, low, close, volume, openInterest);
+        return this;
+    }
+
+    /**
+     * Appends all bars of another OHLCV domain object.
+     *
+     * @param ohlcv source of the bars to be appended
+     * @return itself (fluent design)
+     */
+    public OhlcvColumns addAll(final IOhlcv ohlcv) {
+        AssertUtils.notNull("ohlcv", ohlcv);
+        final int count = ohlcv.size();
+        ensureCapacity(size + count);
+        if (ohlcv instanceof OhlcvColumns) {
+            final OhlcvColumns other = (OhlcvColumns) ohlcv;
+            System.arraycopy(other.timeStamps, 0, timeStamps, size, count);
+            System.arraycopy(other.times, 0, times, size, count);
+            System.arraycopy(other.open, 0, open, size, count);
+            System.arraycopy(other.high, 0, high, size, count);
+            System.arraycopy(other.low, 0, low, size, count);
+            System.arraycopy(other.close, 0, close, size, count);
+            System.arraycopy(other.volume, 0, volume, size, count);
+            System.arraycopy(other.openInterest, 0, openInterest, size, count);
+            size += count;
+            return this;
+        }
+        for (int i = 0; i < count; i++) {
+            final IOhlcvItem item = ohlcv.getOhlcvItem(i);
+            set(size++, item.getTimeStamp().getTime(), item.getOpen(), item.getHigh(), item.getLow(), item.getClose(), item.getVolume(), item.getOpenInterest());
+        }
+        return this;
+    }
+
+    /**
+     * Removes all bars (N.B. the allocated capacity is retained).
+     *
+     * @return itself (fluent design)
+     */
+    public OhlcvColumns clear() {
+        size = 0;
+        itemAddons.clear();
+        return this;
+    }
+
+    /**
+     * @param capacity minimum number of bars that can be stored without re-allocation
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= timeStamps.length) {
+            return;
+        }
+        final int newCapacity = (int) Math.max(capacity, Math.min((long) timeStamps.length + (timeStamps.length >> 1), Integer.MAX_VALUE - 8));
+        timeStamps = Arrays.copyOf(timeStamps, newCapacity);
+        times = Arrays.copyOf(times, newCapacity);
+        open = Arrays.copyOf(open, newCapacity);
+        high = Arrays.copyOf(high, newCapacity);
+        low = Arrays.copyOf(low, newCapacity);
+        close = Arrays.copyOf(close, newCapacity);
+        volume = Arrays.copyOf(volume, newCapacity);
+        openInterest = Arrays.copyOf(openInterest, newCapacity);
+    }
+
+    @Override
+    public AttributeModel getAddon() {
+        return addon;
+    }
+
+    @Override
+    public AttributeModel getAddonOrCreate() {
+        if (addon == null) {
+            addon = new AttributeModel();
+        }
+        return addon;
+    }
+
+    /**
+     * @return close value column (N.B. may be larger than {@link #size()})
+     */
+    public double[] getClose() {
+        return close;
+    }
+
+    /**
+     * @return high value column (N.B. may be larger than {@link #size()})
+     */
+    public double[] getHigh() {
+        return high;
+    }
+
+    /**
+     * @return low value column (N.B. may be larger than {@link #size()})
+     */
+    public double[] getLow() {
+        return low;
+    }
+
+    @Override
+    public IOhlcvItem getOhlcvItem(final int index) {
+        AssertUtils.indexInBounds(index, size);
+        return new ColumnItem(index);
+    }
+
+    /**
+     * @return open value column (N.B. may be larger than {@link #size()})
+     */
+    public double[] getOpen() {
+        return open;
+    }
+
+    /**
+     * @return open interest column (N.B. may be larger than {@link #size()})
+     */
+    public double[] getOpenInterest() {
+        return openInterest;
+    }
+
+    /**
+     * @return time stamp column in epoch-milliseconds (N.B. may be larger than {@link #size()})
+     */
+    public long[] getTimeStamps() {
+        return timeStamps;
+    }
+
+    /**
+     * @return time stamp column in epoch-seconds, i.e. the {@link OhlcvDataSet} x-coordinates (N.B. may be larger than
+     *         {@link #size()})
+     */
+    public double[] getTimes() {
+        return times;
+    }
+
+    /**
+     * @return volume column (N.B. may be larger than {@link #size()})
+     */
+    public double[] getVolume() {
+        return volume;
+    }
+
+    @Override
+    public Iterator<IOhlcvItem> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public IOhlcvItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new ColumnItem(index++);
+            }
+        };
+    }
+
+    /**
+     * Overwrites an existing bar, e.g. the last one while it is still being formed.
+     *
+     * @param index index of the bar
+     * @param timeStamp bar time stamp in epoch-milliseconds
+     * @param open open value
+     * @param high high value
+     * @param low low value
+     * @param close close value
+     * @param volume volume
+     * @param openInterest open interest
+     * @return itself (fluent design)
+     */
+    public OhlcvColumns set(final int index, final long timeStamp, final double open, final double high, final double low, final double close, final double volume, final double openInterest) {
+        AssertUtils.indexInBounds(index, size);
+        this.timeStamps[index] = timeStamp;
+        this.times[index] = timeStamp / 1000.0;
+        this.open[index] = open;
+        this.high[index] = high;
+        this.low[index] = low;
+        this.close[index] = close;
+        this.volume[index] = volume;
+        this.openInterest[index] = openInterest;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reduces the capacity of the columns to the current number of bars.
+     */
+    public void trim() {
+        if (size == timeStamps.length) {
+            return;
+        }
+        timeStamps = Arrays.copyOf(timeStamps, size);
+        times = Arrays.copyOf(times, size);
+        open = Arrays.copyOf(open, size);
+        high = Arrays.copyOf(high, size);
+        low = Arrays.copyOf(low, size);
+        close = Arrays.copyOf(close, size);
+        volume = Arrays.copyOf(volume, size);
+        openInterest = Arrays.copyOf(openInterest, size);
+    }
+
+    /**
+     * light-weight view of one bar, reads through to the columns
+     */
+    private final class ColumnItem implements IOhlcvItem {
+        private final int index;
+
+        private ColumnItem(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ColumnItem)) {
+                return false;
+            }
+            final ColumnItem other = (ColumnItem) obj;
+            return index == other.index && getStore() == other.getStore();
+        }
+
+        @Override
+        public AttributeModel getAddon() {
+            return itemAddons.get(index);
+        }
+
+        @Override
+        public AttributeModel getAddonOrCreate() {
+            return itemAddons.computeIfAbsent(index, k -> new AttributeModel());
+        }
+
+        @Override
+        public double getClose() {
+            return close[index];
+        }
+
+        @Override
+        public double getHigh() {
+            return high[index];
+        }
+
+        @Override
+        public double getLow() {
+            return low[index];
+        }
+
+        @Override
+        public double getOpen() {
+            return open[index];
+        }
+
+        @Override
+        public double getOpenInterest() {
+            return openInterest[index];
+        }
+
+        @Override
+        public Date getTimeStamp() {
+            return new Date(timeStamps[index]);
+        }
+
+        @Override
+        public double getVolume() {
+            return volume[index];
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getStore(), index);
+        }
+
+        @Override
+        public String toString() {
+            return "OhlcvItem[" + getTimeStamp() + ", o=" + getOpen() + ", h=" + getHigh() + ", l=" + getLow() + ", c=" + getClose() + ", v=" + getVolume() + ", oi=" + getOpenInterest() + ']';
+        }
+
+        private OhlcvColumns getStore() {
+            return OhlcvColumns.this;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.util.Iterator;
 
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.spi.AbstractDataSet;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumns;
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeColumnsAware;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModel;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModelAware;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcv;
@@ -13,10 +15,18 @@ import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
 /**
  * Dataset Domain Object for encapsulation of IOhlcv API structure.
  *
+ * <p>
+ * If the domain object is an {@link OhlcvColumns} store, the values are read directly from its primitive columns and
+ * {@link #getValues(int)} exposes these without copying (N.B. the arrays may then be larger than
+ * {@link #getDataCount()}, analogous to e.g. {@link io.fair_acc.dataset.spi.DoubleDataSet}).
+ * <p>
+ * Per-bar addons computed elsewhere (e.g. indicators) may be published to the {@link #getAttributeColumns() attribute
+ * columns}, which are indexed like the data set and read by the renderer extension points without per-item look-ups.
+ *
  * @see IOhlcv API provides OHLCV domain object access.
  * @see IOhlcvItem API provides OHLCV item domain object access.
  */
-public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Iterable<IOhlcvItem>, IOhlcvItemAware, AttributeModelAware {
+public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Iterable<IOhlcvItem>, IOhlcvItemAware, AttributeModelAware, AttributeColumnsAware {
     public static final int DIM_Y_OPEN = 1;
     public static final int DIM_Y_HIGH = 2;
     public static final int DIM_Y_LOW = 3;
@@ -25,6 +35,8 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
     public static final int DIM_Y_OI = 6;
 
     private IOhlcv ohlcv;
+    private OhlcvColumns columns; // non-null if 'ohlcv' provides primitive columns
+    private final AttributeColumns attributeColumns = new AttributeColumns();
 
     private boolean isCategoryBased = false;
 
@@ -39,6 +51,7 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
      */
     public void setData(IOhlcv ohlcv) {
         this.ohlcv = ohlcv;
+        this.columns = ohlcv instanceof OhlcvColumns ? (OhlcvColumns) ohlcv : null;
     }
 
     /**
@@ -66,6 +79,9 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
 
     @Override
     public double get(int dimIndex, int index) {
+        if (columns != null) {
+            return dimIndex == DIM_X && isCategoryBased ? index : getColumn(dimIndex)[index];
+        }
         IOhlcvItem ohlcvItem = ohlcv.getOhlcvItem(index);
         switch (dimIndex) {
         case DIM_X:
@@ -87,6 +103,14 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
         }
     }
 
+    @Override
+    public double[] getValues(int dimIndex) {
+        if (columns == null || (dimIndex == DIM_X && isCategoryBased)) {
+            return super.getValues(dimIndex);
+        }
+        return getColumn(dimIndex);
+    }
+
     @Override
     public Iterator<IOhlcvItem> iterator() {
         return ohlcv.iterator();
@@ -99,7 +123,7 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
 
     @Override
     public DataSet set(DataSet other, boolean copy) {
-        this.ohlcv = ((OhlcvDataSet) other).ohlcv;
+        setData(((OhlcvDataSet) other).ohlcv);
         return this;
     }
 
@@ -124,6 +148,11 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
         return ohlcv.getAddonOrCreate();
     }
 
+    @Override
+    public AttributeColumns getAttributeColumns() {
+        return attributeColumns;
+    }
+
     @Override
     public IOhlcvItem getItem(int index) {
         return ohlcv.getOhlcvItem(index);
@@ -137,4 +166,25 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
         }
         return ohlcv.getOhlcvItem(size - 1);
     }
+
+    private double[] getColumn(int dimIndex) {
+        switch (dimIndex) {
+        case DIM_X:
+            return columns.getTimes();
+        case DIM_Y_OPEN:
+            return columns.getOpen();
+        case DIM_Y_HIGH:
+            return columns.getHigh();
+        case DIM_Y_LOW:
+            return columns.getLow();
+        case DIM_Y_CLOSE:
+            return columns.getClose();
+        case DIM_Y_VOLUME:
+            return columns.getVolume();
+        case DIM_Y_OI:
+            return columns.getOpenInterest();
+        default:
+            throw new IllegalArgumentException("Dimension not allowed! dimIndex=" + dimIndex);
+        }
+    }
 }
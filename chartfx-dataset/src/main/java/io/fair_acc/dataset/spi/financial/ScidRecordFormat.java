@@ -0,0 +1,84 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Sierra Chart intraday data file (SCID): 56 byte header ('SCID', header length, record length, version, ...) followed
+ * by 40 byte little-endian records
+ *
+ * <pre>
+ * offset  type     content
+ *      0  double   date-time in days since 1899-12-30 (or int64 microseconds since 1899-12-30)
+ *      8  float    open (0 or equal to close for single trades)
+ *     12  float    high
+ *     16  float    low
+ *     20  float    close
+ *     24  uint32   number of trades
+ *     28  uint32   total volume
+ *     32  uint32   bid volume
+ *     36  uint32   ask volume
+ * </pre>
+ *
+ * @see TickRecordFormat#SCID
+ * @see TickRecordFormat#SCID_MICROSECONDS
+ */
+final class ScidRecordFormat implements TickRecordFormat {
+    private static final int HEADER_LENGTH = 56;
+    private static final int RECORD_LENGTH = 40;
+    private static final int MAGIC = 'S' | 'C' << 8 | 'I' << 16 | 'D' << 24;
+    private static final long EPOCH_OFFSET_DAYS = 25_569L; // 1899-12-30 -> 1970-01-01
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    private static final long NANOS_PER_MICRO = 1000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private final boolean microsecondTime;
+
+    ScidRecordFormat(final boolean microsecondTime) {
+        this.microsecondTime = microsecondTime;
+    }
+
+    @Override
+    public void checkHeader(final ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("not a SCID file, missing 'SCID' header identifier");
+        }
+        if (header.getInt(4) != HEADER_LENGTH || header.getInt(8) != RECORD_LENGTH) {
+            throw new IOException("unsupported SCID header/record length: " + header.getInt(4) + "/" + header.getInt(8));
+        }
+    }
+
+    @Override
+    public void decode(final ByteBuffer buffer, final int offset, final TickColumns target) {
+        final double close = buffer.getFloat(offset + 20);
+        final double open = buffer.getFloat(offset + 8);
+        target.add(decodeTimeStamp(buffer, offset), open == 0.0 ? close : open, buffer.getFloat(offset + 12), buffer.getFloat(offset + 16), close, //
+                Integer.toUnsignedLong(buffer.getInt(offset + 28)), Integer.toUnsignedLong(buffer.getInt(offset + 32)), //
+                Integer.toUnsignedLong(buffer.getInt(offset + 36)), Integer.toUnsignedLong(buffer.getInt(offset + 24)));
+    }
+
+    @Override
+    public long decodeTimeStamp(final ByteBuffer buffer, final int offset) {
+        if (microsecondTime) {
+            return (buffer.getLong(offset) - EPOCH_OFFSET_DAYS * MICROS_PER_DAY) * NANOS_PER_MICRO;
+        }
+        // rounded to milliseconds: the double resolution of the day fraction is only ~1 us
+        return Math.round((buffer.getDouble(offset) - EPOCH_OFFSET_DAYS) * MILLIS_PER_DAY) * NANOS_PER_MILLI;
+    }
+
+    @Override
+    public ByteOrder getByteOrder() {
+        return ByteOrder.LITTLE_ENDIAN;
+    }
+
+    @Override
+    public int getHeaderLength() {
+        return HEADER_LENGTH;
+    }
+
+    @Override
+    public int getRecordLength() {
+        return RECORD_LENGTH;
+    }
+}
@@ -0,0 +1,188 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Columnar (struct-of-arrays) batch of tick records as decoded by the {@link MappedTickFileReader}: epoch-nanosecond
+ * time stamps in a {@code long[]} column, prices and volumes in primitive {@code double[]} columns. A batch is meant to
+ * be re-used, i.e. {@link #clear() cleared} and refilled, the columns only grow if a larger batch is requested.
+ * <p>
+ * The columns fit the array interface of {@link MultiTimeframeOhlcvConsolidation}, e.g.
+ * {@code consolidation.add(batch.getTimeStamps(), batch.getClose(), batch.getVolume(), 0, batch.size())}. N.B. the
+ * column arrays may be larger than {@link #size()}.
+ */
+public class TickColumns {
+    private static final int DEFAULT_CAPACITY = 16;
+    private long[] timeStamps;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private double[] bidVolume;
+    private double[] askVolume;
+    private double[] numberOfTrades;
+    private int size;
+
+    /**
+     * Creates a new empty tick batch with default initial capacity.
+     */
+    public TickColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty tick batch.
+     *
+     * @param initialCapacity initial number of ticks that can be stored without re-allocation
+     */
+    public TickColumns(final int initialCapacity) {
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        timeStamps = new long[initialCapacity];
+        open = new double[initialCapacity];
+        high = new double[initialCapacity];
+        low = new double[initialCapacity];
+        close = new double[initialCapacity];
+        volume = new double[initialCapacity];
+        bidVolume = new double[initialCapacity];
+        askVolume = new double[initialCapacity];
+        numberOfTrades = new double[initialCapacity];
+    }
+
+    /**
+     * Appends a new tick record.
+     *
+     * @param timeStamp time stamp in epoch-nanoseconds
+     * @param open open price (equal to close for single trades)
+     * @param high high price (or best ask for single trades, depending on the format)
+     * @param low low price (or best bid for single trades, depending on the format)
+     * @param close (last) traded price
+     * @param volume total traded volume
+     * @param bidVolume volume traded on the bid
+     * @param askVolume volume traded on the ask
+     * @param numberOfTrades number of trades of the record
+     * @return itself (fluent design)
+     */
+    public TickColumns add(final long timeStamp, final double open, final double high, final double low, final double close, final double volume, final double bidVolume, final double askVolume, final double numberOfTrades) {
+        ensureCapacity(size + 1);
+        final int index = size++;
+        this.timeStamps[index] = timeStamp;
+        this.open[index] = open;
+        this.high[index] = high;
+        this.low[index] = low;
+        this.close[index] = close;
+        this.volume[index] = volume;
+        this.bidVolume[index] = bidVolume;
+        this.askVolume[index] = askVolume;
+        this.numberOfTrades[index] = numberOfTrades;
+        return this;
+    }
+
+    /**
+     * Removes all ticks (N.B. the allocated capacity is retained).
+     *
+     * @return itself (fluent design)
+     */
+    public TickColumns clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * @param capacity minimum number of ticks that can be stored without re-allocation
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= timeStamps.length) {
+            return;
+        }
+        final int newCapacity = (int) Math.max(capacity, Math.min((long) timeStamps.length + (timeStamps.length >> 1), Integer.MAX_VALUE - 8));
+        timeStamps = Arrays.copyOf(timeStamps, newCapacity);
+        open = Arrays.copyOf(open, newCapacity);
+        high = Arrays.copyOf(high, newCapacity);
+        low = Arrays.copyOf(low, newCapacity);
+        close = Arrays.copyOf(close, newCapacity);
+        volume = Arrays.copyOf(volume, newCapacity);
+        bidVolume = Arrays.copyOf(bidVolume, newCapacity);
+        askVolume = Arrays.copyOf(askVolume, newCapacity);
+        numberOfTrades = Arrays.copyOf(numberOfTrades, newCapacity);
+    }
+
+    /**
+     * @return volume traded on the ask column
+     */
+    public double[] getAskVolume() {
+        return askVolume;
+    }
+
+    /**
+     * @return volume traded on the bid column
+     */
+    public double[] getBidVolume() {
+        return bidVolume;
+    }
+
+    /**
+     * @return close (traded price) column
+     */
+    public double[] getClose() {
+        return close;
+    }
+
+    /**
+     * @return high column
+     */
+    public double[] getHigh() {
+        return high;
+    }
+
+    /**
+     * @return low column
+     */
+    public double[] getLow() {
+        return low;
+    }
+
+    /**
+     * @return number of trades column
+     */
+    public double[] getNumberOfTrades() {
+        return numberOfTrades;
+    }
+
+    /**
+     * @return open column
+     */
+    public double[] getOpen() {
+        return open;
+    }
+
+    /**
+     * @return time stamp column in epoch-nanoseconds
+     */
+    public long[] getTimeStamps() {
+        return timeStamps;
+    }
+
+    /**
+     * @return total volume column
+     */
+    public double[] getVolume() {
+        return volume;
+    }
+
+    /**
+     * @return true if there are no ticks
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of ticks
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,68 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Description of a binary tick file with a fixed-length header followed by fixed-length records, as read by the
+ * {@link MappedTickFileReader}. Implementations decode records with absolute {@link ByteBuffer} getters, i.e. must
+ * neither modify the buffer position nor keep state (formats are shared between readers of different threads).
+ */
+public interface TickRecordFormat {
+    /**
+     * Sierra Chart intraday (SCID) format with the record time stamp stored as {@code double} days since 1899-12-30
+     * (UTC)
+     */
+    TickRecordFormat SCID = new ScidRecordFormat(false);
+
+    /**
+     * Sierra Chart intraday (SCID) format with the record time stamp stored as {@code int64} microseconds since
+     * 1899-12-30 (UTC), as written by newer Sierra Chart versions
+     */
+    TickRecordFormat SCID_MICROSECONDS = new ScidRecordFormat(true);
+
+    /**
+     * Checks the file header before any record is read.
+     *
+     * @param header buffer containing the {@link #getHeaderLength()} header bytes starting at index 0, with
+     *        {@link #getByteOrder()}
+     * @throws IOException if the header does not belong to this format
+     */
+    default void checkHeader(final ByteBuffer header) throws IOException {
+        // no header check by default
+    }
+
+    /**
+     * Decodes one record and appends it to the given columns.
+     *
+     * @param buffer buffer containing the record, with {@link #getByteOrder()}
+     * @param offset buffer index of the first byte of the record
+     * @param target columns to append to
+     */
+    void decode(ByteBuffer buffer, int offset, TickColumns target);
+
+    /**
+     * Decodes the time stamp of one record (used for the time index and seeking).
+     *
+     * @param buffer buffer containing the record, with {@link #getByteOrder()}
+     * @param offset buffer index of the first byte of the record
+     * @return record time stamp in epoch-nanoseconds
+     */
+    long decodeTimeStamp(ByteBuffer buffer, int offset);
+
+    /**
+     * @return byte order of the header and the records
+     */
+    ByteOrder getByteOrder();
+
+    /**
+     * @return number of bytes before the first record
+     */
+    int getHeaderLength();
+
+    /**
+     * @return number of bytes per record
+     */
+    int getRecordLength();
+}
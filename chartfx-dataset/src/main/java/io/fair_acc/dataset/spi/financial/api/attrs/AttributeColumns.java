@@ -0,0 +1,346 @@
+package io.fair_acc.dataset.spi.financial.api.attrs;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Columnar per-bar attributes: each registered {@link AttributeKey} maps to one dense column indexed by the bar index
+ * of the owning data set, i.e. a renderer extension point reads the attribute of a bar with an array access instead of
+ * per-item {@link AttributeModel} map look-ups. Numeric attributes use primitive {@link DoubleColumn}s ({@code NaN}:
+ * not set), all other types {@link ObjectColumn}s ({@code null}: not set).
+ * <p>
+ * Columns are safe for one or more writer threads (e.g. indicators computed on worker threads) and lock-free readers
+ * (e.g. the renderers on the FX thread): modifications are synchronised per column and published via a volatile size,
+ * a reader sees all values up to the {@link Column#size()} it read before accessing the values. N.B. writers are
+ * responsible for keeping the column indices aligned with the bars of the data set.
+ */
+public class AttributeColumns {
+    private final Map<AttributeKey<?>, Column> columns = new ConcurrentHashMap<>();
+
+    /**
+     * Removes all values of all columns (the columns remain registered).
+     */
+    public void clear() {
+        columns.values().forEach(column -> column.truncate(0));
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @return true if a column has been registered for the key
+     */
+    public boolean containsAttribute(final AttributeKey<?> key) {
+        return columns.containsKey(key);
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @param index bar index
+     * @param <T> type of the value
+     * @return attribute value of the bar (boxed for {@link DoubleColumn}s) or {@code null} if not set
+     */
+    public <T> T getAttribute(final AttributeKey<T> key, final int index) {
+        final Column column = columns.get(key);
+        if (column == null) {
+            return null;
+        }
+        return key.getType().cast(column.getValue(index));
+    }
+
+    /**
+     * @return keys of all registered columns
+     */
+    public Set<AttributeKey<?>> getAttributes() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @return column of the attribute or {@code null} if none has been registered (no allocation, e.g. for renderers)
+     * @throws IllegalArgumentException if the attribute is registered with an object column
+     */
+    public DoubleColumn findDoubleColumn(final AttributeKey<Double> key) {
+        return asDoubleColumn(key, columns.get(key));
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @param <T> type of the values
+     * @return column of the attribute or {@code null} if none has been registered (no allocation, e.g. for renderers)
+     * @throws IllegalArgumentException if the attribute is registered with a double column
+     */
+    public <T> ObjectColumn<T> findObjectColumn(final AttributeKey<T> key) {
+        return asObjectColumn(key, columns.get(key));
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @return column of the attribute, registered if not present
+     * @throws IllegalArgumentException if the attribute is registered with an object column
+     */
+    public DoubleColumn getDoubleColumn(final AttributeKey<Double> key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The attribute key hasn't be null");
+        }
+        return asDoubleColumn(key, columns.computeIfAbsent(key, k -> new DoubleColumn()));
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @param <T> type of the values
+     * @return column of the attribute, registered if not present
+     * @throws IllegalArgumentException if the attribute is registered with a double column
+     */
+    public <T> ObjectColumn<T> getObjectColumn(final AttributeKey<T> key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The attribute key hasn't be null");
+        }
+        return asObjectColumn(key, columns.computeIfAbsent(key, k -> new ObjectColumn<T>()));
+    }
+
+    /**
+     * @param key key which identifies the attribute
+     * @return true if a column has been removed
+     */
+    public boolean remove(final AttributeKey<?> key) {
+        return columns.remove(key) != null;
+    }
+
+    /**
+     * Truncates all columns, e.g. if bars have been removed from the data set.
+     *
+     * @param size new maximum column size
+     */
+    public void truncate(final int size) {
+        columns.values().forEach(column -> column.truncate(size));
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeColumns [attributes=" + columns.keySet() + "]";
+    }
+
+    private static DoubleColumn asDoubleColumn(final AttributeKey<?> key, final Column column) {
+        if (column != null && !(column instanceof DoubleColumn)) {
+            throw new IllegalArgumentException("The attribute " + key + " is not stored in a double column");
+        }
+        return (DoubleColumn) column;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectColumn<T> asObjectColumn(final AttributeKey<T> key, final Column column) {
+        if (column != null && !(column instanceof ObjectColumn)) {
+            throw new IllegalArgumentException("The attribute " + key + " is not stored in an object column");
+        }
+        return (ObjectColumn<T>) column;
+    }
+
+    /**
+     * common base of the attribute columns
+     */
+    public abstract static class Column {
+        protected static final int DEFAULT_CAPACITY = 16;
+        protected volatile int size; // published after the values
+
+        /**
+         * @return number of bars covered by the column (N.B. read before accessing the values)
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param size new maximum size
+         */
+        public synchronized void truncate(final int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("size must be positive: " + size);
+            }
+            if (size < this.size) {
+                clearValues(size, this.size);
+                this.size = size;
+            }
+        }
+
+        protected static int grow(final int length, final int capacity) {
+            return (int) Math.max(capacity, Math.min((long) length + (length >> 1), Integer.MAX_VALUE - 8));
+        }
+
+        protected abstract void clearValues(int from, int to);
+
+        protected abstract Object getValue(int index);
+    }
+
+    /**
+     * primitive per-bar column, {@code NaN} marks bars without value
+     */
+    public static class DoubleColumn extends Column {
+        private volatile double[] values = new double[DEFAULT_CAPACITY];
+
+        /**
+         * Appends the value of the next bar.
+         *
+         * @param value attribute value
+         */
+        public synchronized void add(final double value) {
+            final int index = size;
+            ensureCapacity(index + 1);
+            values[index] = value;
+            size = index + 1;
+        }
+
+        /**
+         * Appends the values of the next bars with a single publication.
+         *
+         * @param source source values
+         * @param from index of the first source value (inclusive)
+         * @param to index of the last source value (exclusive)
+         */
+        public synchronized void addAll(final double[] source, final int from, final int to) {
+            if (from < 0 || to > source.length || from > to) {
+                throw new IndexOutOfBoundsException("range [" + from + ", " + to + ") out of bounds for length " + source.length);
+            }
+            final int index = size;
+            ensureCapacity(index + to - from);
+            System.arraycopy(source, from, values, index, to - from);
+            size = index + to - from;
+        }
+
+        /**
+         * @param index bar index
+         * @return attribute value or {@code NaN} if not set
+         */
+        public double get(final int index) {
+            final int n = size; // N.B. read size first
+            return index < 0 || index >= n ? Double.NaN : values[index];
+        }
+
+        /**
+         * Plain array access for renderers: read {@link #size()} first, the returned array holds the published values
+         * of at least as many bars (the array may be longer).
+         *
+         * @return backing array
+         */
+        public double[] getValues() {
+            return values;
+        }
+
+        /**
+         * Sets (or updates) the value of a bar, bars between the previous size and the index are set to {@code NaN}.
+         *
+         * @param index bar index
+         * @param value attribute value
+         */
+        public synchronized void set(final int index, final double value) {
+            if (index < 0) {
+                throw new IndexOutOfBoundsException("index " + index + " must be positive");
+            }
+            final int oldSize = size;
+            if (index < oldSize) {
+                values[index] = value;
+                return;
+            }
+            ensureCapacity(index + 1);
+            Arrays.fill(values, oldSize, index, Double.NaN);
+            values[index] = value;
+            size = index + 1;
+        }
+
+        @Override
+        protected void clearValues(final int from, final int to) {
+            Arrays.fill(values, from, to, Double.NaN);
+        }
+
+        @Override
+        protected Object getValue(final int index) {
+            final double value = get(index);
+            return Double.isNaN(value) ? null : value;
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity)); // publish before the size
+            }
+        }
+    }
+
+    /**
+     * per-bar column of arbitrary objects, {@code null} marks bars without value
+     *
+     * @param <T> type of the values
+     */
+    public static class ObjectColumn<T> extends Column {
+        private volatile Object[] values = new Object[DEFAULT_CAPACITY];
+
+        /**
+         * Appends the value of the next bar.
+         *
+         * @param value attribute value
+         */
+        public synchronized void add(final T value) {
+            final int index = size;
+            ensureCapacity(index + 1);
+            values[index] = value;
+            size = index + 1;
+        }
+
+        /**
+         * @param index bar index
+         * @return attribute value or {@code null} if not set
+         */
+        @SuppressWarnings("unchecked")
+        public T get(final int index) {
+            final int n = size; // N.B. read size first
+            return index < 0 || index >= n ? null : (T) values[index];
+        }
+
+        /**
+         * Plain array access for renderers: read {@link #size()} first, the returned array holds the published values
+         * of at least as many bars (the array may be longer).
+         *
+         * @return backing array
+         */
+        public Object[] getValues() {
+            return values;
+        }
+
+        /**
+         * Sets (or updates) the value of a bar, bars between the previous size and the index are set to {@code null}.
+         *
+         * @param index bar index
+         * @param value attribute value
+         */
+        public synchronized void set(final int index, final T value) {
+            if (index < 0) {
+                throw new IndexOutOfBoundsException("index " + index + " must be positive");
+            }
+            final int oldSize = size;
+            if (index < oldSize) {
+                values[index] = value;
+                return;
+            }
+            ensureCapacity(index + 1);
+            Arrays.fill(values, oldSize, index, null);
+            values[index] = value;
+            size = index + 1;
+        }
+
+        @Override
+        protected void clearValues(final int from, final int to) {
+            Arrays.fill(values, from, to, null);
+        }
+
+        @Override
+        protected Object getValue(final int index) {
+            return get(index);
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity)); // publish before the size
+            }
+        }
+    }
+}
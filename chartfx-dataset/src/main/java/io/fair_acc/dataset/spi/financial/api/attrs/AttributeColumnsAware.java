@@ -0,0 +1,11 @@
+package io.fair_acc.dataset.spi.financial.api.attrs;
+
+/**
+ * Provides access to columnar per-bar Domain Objects Extensions (addons indexed by bar)
+ */
+public interface AttributeColumnsAware {
+    /**
+     * @return per-bar attribute columns, never null
+     */
+    AttributeColumns getAttributeColumns();
+}
@@ -0,0 +1,519 @@
+package io.fair_acc.dataset.utils.trees;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Sorted and indexed B+-tree of primitive {@code double} rows, e.g. {@code (x, y, ex, ey)} tuples, that is sorted by
+ * its first column (the key).
+ * <p>
+ * The rows are stored column-wise in primitive array leaves, the inner nodes keep the number of rows of each of their
+ * sub-trees. This provides (compared to object-per-entry trees such as {@link IndexedTreeSet}):
+ * <ul>
+ * <li>O(log N) random access by index, and O(1) for sequential access via a cached leaf cursor,</li>
+ * <li>O(log N) sorted insertion, while monotonically increasing keys are appended to the right-most leaf without
+ * splitting full leaves in halves (i.e. leaves remain fully occupied and the tree height, and thus the append costs,
+ * remain nearly constant: e.g. with the default capacities 3 levels for up to 256 x 64 x 64 = 1048576 rows and 4
+ * levels for up to 67 million rows),</li>
+ * <li>O(log N) bulk removal of index ranges (e.g. expiry of the oldest rows) by dropping entire sub-trees, and</li>
+ * <li>O(log N) lower/upper bound searches by key, and O(1) access to the first and last key (cached, i.e. without
+ * moving the leaf cursor, e.g. for offsets relative to the latest row).</li>
+ * </ul>
+ * Rows with equal keys are kept in their insertion order.
+ * <p>
+ * <strong>Note that this implementation is not synchronized.</strong> Concurrent reads are safe, modifications must be
+ * synchronized externally (e.g. by the {@link io.fair_acc.dataset.DataSet#lock() data set lock}).
+ */
+public class DoubleBPlusTree {
+    public static final int DEFAULT_LEAF_CAPACITY = 256;
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+    private final int nColumns;
+    private final int leafCapacity;
+    private final int nodeCapacity;
+    private Node root;
+    private volatile Cursor cursor; // last accessed leaf
+    private int insertIndex; // index of the last inserted row
+    private double firstKey = Double.NaN;
+    private double lastKey = Double.NaN;
+
+    /**
+     * @param nColumns number of columns per row, the first being the key
+     */
+    public DoubleBPlusTree(final int nColumns) {
+        this(nColumns, DEFAULT_LEAF_CAPACITY, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * @param nColumns number of columns per row, the first being the key
+     * @param leafCapacity maximum number of rows per leaf (&ge; 4)
+     * @param nodeCapacity maximum number of children per inner node (&ge; 4)
+     */
+    public DoubleBPlusTree(final int nColumns, final int leafCapacity, final int nodeCapacity) {
+        AssertUtils.gtThanZero("nColumns", nColumns);
+        if (leafCapacity < 4 || nodeCapacity < 4) {
+            throw new IllegalArgumentException("leafCapacity = " + leafCapacity + " and nodeCapacity = " + nodeCapacity + " must be >= 4");
+        }
+        this.nColumns = nColumns;
+        this.leafCapacity = leafCapacity;
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * Inserts a row after all rows with a smaller or equal key.
+     *
+     * @param row column values, the first being the key (length &ge; number of columns, N.B. the array is copied)
+     * @return index of the inserted row
+     */
+    public int add(final double[] row) {
+        if (row.length < nColumns) {
+            throw new IllegalArgumentException("row length " + row.length + " is smaller than the number of columns " + nColumns);
+        }
+        cursor = null;
+        if (root == null) {
+            root = new Leaf(nColumns, leafCapacity);
+        }
+        final Node split = insert(root, row, 0);
+        if (split != null) {
+            final Inner newRoot = new Inner(nodeCapacity);
+            newRoot.insertChild(0, root);
+            newRoot.insertChild(1, split);
+            root = newRoot;
+        }
+        if (insertIndex == 0) {
+            firstKey = row[0];
+        }
+        if (insertIndex == root.size - 1) {
+            lastKey = row[0];
+        }
+        return insertIndex;
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        cursor = null;
+        root = null;
+        firstKey = Double.NaN;
+        lastKey = Double.NaN;
+    }
+
+    /**
+     * Copies a column section into an array, leaf by leaf.
+     *
+     * @param column column index
+     * @param fromIndex first row (inclusive)
+     * @param toIndex last row (exclusive)
+     * @param target destination array
+     * @param targetOffset destination start index
+     * @return destination array
+     */
+    public double[] copy(final int column, final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        checkRange(fromIndex, toIndex);
+        int index = fromIndex;
+        while (index < toIndex) {
+            final Cursor leafCursor = seek(index);
+            final int length = Math.min(toIndex, leafCursor.start + leafCursor.leaf.size) - index;
+            System.arraycopy(leafCursor.leaf.columns[column], index - leafCursor.start, target, targetOffset + index - fromIndex, length);
+            index += length;
+        }
+        return target;
+    }
+
+    /**
+     * @param column column index
+     * @param index row index
+     * @return column value of the row
+     */
+    public double get(final int column, final int index) {
+        final Cursor leafCursor = cursor;
+        if (leafCursor != null && index >= leafCursor.start && index < leafCursor.start + leafCursor.leaf.size) {
+            return leafCursor.leaf.columns[column][index - leafCursor.start];
+        }
+        AssertUtils.indexInBounds(index, size());
+        final Cursor newCursor = seek(index);
+        return newCursor.leaf.columns[column][index - newCursor.start];
+    }
+
+    /**
+     * @return number of columns per row
+     */
+    public int getColumnCount() {
+        return nColumns;
+    }
+
+    /**
+     * @return first key (NaN if empty)
+     */
+    public double getFirstKey() {
+        return firstKey;
+    }
+
+    /**
+     * @return last key (NaN if empty)
+     */
+    public double getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * @return height of the tree (0: empty, 1: single leaf)
+     */
+    public int height() {
+        int height = 0;
+        for (Node node = root; node != null; node = node instanceof Inner ? ((Inner) node).children[0] : null) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * @return {@code true} if there are no rows
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param key search key
+     * @return index of the first row with a key &ge; the given key (i.e. {@link #size()} if none)
+     */
+    public int lowerBound(final double key) {
+        return bound(key, false);
+    }
+
+    /**
+     * Removes the rows in the given index range.
+     *
+     * @param fromIndex first row to be removed (inclusive)
+     * @param toIndex last row to be removed (exclusive)
+     */
+    public void remove(final int fromIndex, final int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        if (fromIndex == 0 && toIndex == size()) {
+            clear();
+            return;
+        }
+        cursor = null;
+        final boolean lastRemoved = toIndex == size();
+        removeRange(root, fromIndex, toIndex);
+        while (root instanceof Inner && ((Inner) root).childCount == 1) {
+            root = ((Inner) root).children[0];
+        }
+        if (fromIndex == 0) {
+            firstKey = edgeKey(false);
+        }
+        if (lastRemoved) {
+            lastKey = edgeKey(true);
+        }
+    }
+
+    /**
+     * Sets a non-key column value, N.B. keys cannot be modified in place (remove and re-add the row instead).
+     *
+     * @param column column index (&gt; 0)
+     * @param index row index
+     * @param value new value
+     */
+    public void set(final int column, final int index, final double value) {
+        if (column <= 0 || column >= nColumns) {
+            throw new IllegalArgumentException("column " + column + " is the key or out of range [1, " + nColumns + ")");
+        }
+        AssertUtils.indexInBounds(index, size());
+        final Cursor leafCursor = seek(index);
+        leafCursor.leaf.columns[column][index - leafCursor.start] = value;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * @param key search key
+     * @return index of the first row with a key &gt; the given key (i.e. {@link #size()} if none)
+     */
+    public int upperBound(final double key) {
+        return bound(key, true);
+    }
+
+    private int bound(final double key, final boolean upper) {
+        if (root == null) {
+            return 0;
+        }
+        Node node = root;
+        int offset = 0;
+        while (node instanceof Inner) {
+            final Inner inner = (Inner) node;
+            // last child whose first key is smaller (lower bound) or smaller or equal (upper bound)
+            final int child = Math.max(0, bound(inner.keys, inner.childCount, key, upper) - 1);
+            for (int i = 0; i < child; i++) {
+                offset += inner.counts[i];
+            }
+            node = inner.children[child];
+        }
+        return offset + bound(((Leaf) node).columns[0], node.size, key, upper);
+    }
+
+    private void checkRange(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("invalid range [" + fromIndex + ", " + toIndex + ") for size " + size());
+        }
+    }
+
+    private Node insert(final Node node, final double[] row, final int offset) {
+        if (node instanceof Leaf) {
+            return insert((Leaf) node, row, offset);
+        }
+        final Inner inner = (Inner) node;
+        final double key = row[0];
+        // fast path for monotonic keys: append to the right-most child
+        final int child = key >= inner.keys[inner.childCount - 1] ? inner.childCount - 1 : Math.max(0, bound(inner.keys, inner.childCount, key, true) - 1);
+        int childOffset = offset;
+        for (int i = 0; i < child; i++) {
+            childOffset += inner.counts[i];
+        }
+        final Node childNode = inner.children[child];
+        final Node split = insert(childNode, row, childOffset);
+        inner.size++;
+        inner.counts[child] = childNode.size;
+        inner.keys[child] = childNode.firstKey();
+        if (split == null) {
+            return null;
+        }
+        if (inner.childCount < nodeCapacity) {
+            inner.size -= split.size; // already included, re-added by insertChild
+            inner.insertChild(child + 1, split);
+            return null;
+        }
+
+        // split inner node: keep it full if the new child is appended at the end
+        final Inner sibling = new Inner(nodeCapacity);
+        final int keep = child + 1 == inner.childCount ? inner.childCount : inner.childCount / 2;
+        for (int i = keep; i < inner.childCount; i++) {
+            sibling.insertChild(i - keep, inner.children[i]);
+            inner.children[i] = null;
+        }
+        inner.childCount = keep;
+        inner.updateSize();
+        if (child + 1 >= keep) {
+            sibling.insertChild(child + 1 - keep, split);
+        } else {
+            inner.insertChild(child + 1, split);
+        }
+        return sibling;
+    }
+
+    private Node insert(final Leaf leaf, final double[] row, final int offset) {
+        final double key = row[0];
+        int pos = leaf.size == 0 || key >= leaf.columns[0][leaf.size - 1] ? leaf.size : bound(leaf.columns[0], leaf.size, key, true);
+        insertIndex = offset + pos;
+        Leaf target = leaf;
+        Leaf split = null;
+        if (leaf.size == leafCapacity) {
+            // split leaf: keep it full if the row is appended at the end (monotonic keys)
+            split = new Leaf(nColumns, leafCapacity);
+            final int keep = pos == leaf.size ? leaf.size : leaf.size / 2;
+            for (int column = 0; column < nColumns; column++) {
+                System.arraycopy(leaf.columns[column], keep, split.columns[column], 0, leaf.size - keep);
+            }
+            split.size = leaf.size - keep;
+            leaf.size = keep;
+            if (pos > keep || keep == leafCapacity) {
+                target = split;
+                pos -= keep;
+            }
+        }
+        for (int column = 0; column < nColumns; column++) {
+            final double[] values = target.columns[column];
+            System.arraycopy(values, pos, values, pos + 1, target.size - pos);
+            values[pos] = row[column];
+        }
+        target.size++;
+        return split;
+    }
+
+    private boolean isMergeable(final Node left, final Node right) {
+        if (left instanceof Leaf) {
+            final int limit = leafCapacity / 4;
+            return left.size + right.size <= leafCapacity && (left.size < limit || right.size < limit);
+        }
+        final int leftCount = ((Inner) left).childCount;
+        final int rightCount = ((Inner) right).childCount;
+        final int limit = nodeCapacity / 4;
+        return leftCount + rightCount <= nodeCapacity && (leftCount < limit || rightCount < limit);
+    }
+
+    private void merge(final Node left, final Node right) {
+        if (left instanceof Leaf) {
+            final Leaf leftLeaf = (Leaf) left;
+            final Leaf rightLeaf = (Leaf) right;
+            for (int column = 0; column < nColumns; column++) {
+                System.arraycopy(rightLeaf.columns[column], 0, leftLeaf.columns[column], leftLeaf.size, rightLeaf.size);
+            }
+            leftLeaf.size += rightLeaf.size;
+            return;
+        }
+        final Inner leftInner = (Inner) left;
+        final Inner rightInner = (Inner) right;
+        for (int i = 0; i < rightInner.childCount; i++) {
+            leftInner.insertChild(leftInner.childCount, rightInner.children[i]);
+        }
+    }
+
+    private void removeRange(final Node node, final int fromIndex, final int toIndex) {
+        if (node instanceof Leaf) {
+            final Leaf leaf = (Leaf) node;
+            for (int column = 0; column < nColumns; column++) {
+                System.arraycopy(leaf.columns[column], toIndex, leaf.columns[column], fromIndex, leaf.size - toIndex);
+            }
+            leaf.size -= toIndex - fromIndex;
+            return;
+        }
+        final Inner inner = (Inner) node;
+        int start = 0;
+        int retained = 0;
+        for (int i = 0; i < inner.childCount; i++) {
+            final Node child = inner.children[i];
+            final int count = inner.counts[i];
+            final int from = Math.max(fromIndex, start) - start;
+            final int to = Math.min(toIndex, start + count) - start;
+            start += count;
+            if (from < to) {
+                if (from == 0 && to == count) {
+                    continue; // drop entire sub-tree
+                }
+                removeRange(child, from, to);
+            }
+            if (retained > 0 && isMergeable(inner.children[retained - 1], child)) {
+                merge(inner.children[retained - 1], child);
+                inner.counts[retained - 1] = inner.children[retained - 1].size;
+                continue;
+            }
+            inner.children[retained] = child;
+            inner.counts[retained] = child.size;
+            inner.keys[retained] = child.firstKey();
+            retained++;
+        }
+        for (int i = retained; i < inner.childCount; i++) {
+            inner.children[i] = null;
+        }
+        inner.childCount = retained;
+        inner.size -= toIndex - fromIndex;
+    }
+
+    private double edgeKey(final boolean last) {
+        // N.B. descends without updating the cursor
+        Node node = root;
+        while (node instanceof Inner) {
+            final Inner inner = (Inner) node;
+            node = inner.children[last ? inner.childCount - 1 : 0];
+        }
+        final Leaf leaf = (Leaf) node;
+        return leaf.columns[0][last ? leaf.size - 1 : 0];
+    }
+
+    private Cursor seek(final int index) {
+        final Cursor leafCursor = cursor;
+        if (leafCursor != null && index >= leafCursor.start && index < leafCursor.start + leafCursor.leaf.size) {
+            return leafCursor;
+        }
+        Node node = root;
+        int start = 0;
+        while (node instanceof Inner) {
+            final Inner inner = (Inner) node;
+            int child = 0;
+            while (child < inner.childCount - 1 && index - start >= inner.counts[child]) {
+                start += inner.counts[child];
+                child++;
+            }
+            node = inner.children[child];
+        }
+        final Cursor newCursor = new Cursor((Leaf) node, start);
+        cursor = newCursor;
+        return newCursor;
+    }
+
+    private static int bound(final double[] keys, final int length, final double key, final boolean upper) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] < key || (upper && keys[mid] == key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Cursor {
+        private final Leaf leaf;
+        private final int start; // index of the first leaf row
+
+        private Cursor(final Leaf leaf, final int start) {
+            this.leaf = leaf;
+            this.start = start;
+        }
+    }
+
+    private static final class Inner extends Node {
+        private final Node[] children;
+        private final int[] counts; // number of rows per sub-tree
+        private final double[] keys; // first key per sub-tree
+        private int childCount;
+
+        private Inner(final int capacity) {
+            children = new Node[capacity];
+            counts = new int[capacity];
+            keys = new double[capacity];
+        }
+
+        @Override
+        double firstKey() {
+            return keys[0];
+        }
+
+        private void insertChild(final int index, final Node child) {
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            System.arraycopy(counts, index, counts, index + 1, childCount - index);
+            System.arraycopy(keys, index, keys, index + 1, childCount - index);
+            children[index] = child;
+            counts[index] = child.size;
+            keys[index] = child.firstKey();
+            childCount++;
+            size += child.size;
+        }
+
+        private void updateSize() {
+            size = 0;
+            for (int i = 0; i < childCount; i++) {
+                size += counts[i];
+            }
+        }
+    }
+
+    private static final class Leaf extends Node {
+        private final double[][] columns; // [column][row]
+
+        private Leaf(final int nColumns, final int capacity) {
+            columns = new double[nColumns][capacity];
+        }
+
+        @Override
+        double firstKey() {
+            return columns[0][0];
+        }
+    }
+
+    private abstract static class Node {
+        protected int size; // number of rows in this sub-tree
+
+        abstract double firstKey();
+    }
+}
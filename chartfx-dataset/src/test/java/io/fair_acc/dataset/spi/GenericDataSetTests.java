@@ -35,6 +35,7 @@ class GenericDataSetTests {
                 DefaultDataSet.class, DefaultErrorDataSet.class, DoubleDataSet.class, DoubleErrorDataSet.class,
                 FifoDoubleErrorDataSet.class, FloatDataSet.class, FragmentedDataSet.class,
                 LimitedIndexedTreeDataSet.class,
+                LimitedSortedTreeDataSet.class,
                 MultiDimDoubleDataSet.class,
                 // RollingDataSet.class,
                 WrappedDataSet.class);
@@ -0,0 +1,166 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.utils.trees.DoubleBPlusTree;
+
+/**
+ * Tests of the {@link LimitedSortedTreeDataSet} and its {@link DoubleBPlusTree} storage against a sorted reference list.
+ */
+public class LimitedSortedTreeDataSetTests {
+    @Test
+    public void treeAgainstReference() {
+        final Random random = new Random(42);
+        final DoubleBPlusTree tree = new DoubleBPlusTree(2, 4, 4); // small capacities -> many splits and merges
+        final List<double[]> reference = new ArrayList<>();
+        assertTrue(tree.isEmpty());
+        assertTrue(Double.isNaN(tree.getLastKey()));
+
+        for (int iteration = 0; iteration < 20; iteration++) {
+            // mix of monotonic appends and out-of-order inserts with duplicate keys
+            for (int i = 0; i < 200; i++) {
+                final double key = random.nextInt(4) == 0 ? Math.floor(random.nextDouble() * 50.0) : 50.0 + iteration * 200 + i;
+                final double[] row = { key, random.nextDouble() };
+                final int index = tree.add(row);
+                int expected = 0;
+                while (expected < reference.size() && reference.get(expected)[0] <= key) {
+                    expected++;
+                }
+                reference.add(expected, row.clone());
+                assertEquals(expected, index);
+            }
+            // partial and bulk range removals
+            final int from = random.nextInt(reference.size());
+            final int to = Math.min(reference.size(), from + random.nextInt(100));
+            tree.remove(from, to);
+            reference.subList(from, to).clear();
+            tree.remove(reference.size() - 3, reference.size()); // tail removal
+            reference.subList(reference.size() - 3, reference.size()).clear();
+            tree.remove(0, reference.size() / 4);
+            reference.subList(0, reference.size() / 4).clear();
+            assertTree(reference, tree);
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0, reference.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.remove(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.set(0, 0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.add(new double[1]));
+        tree.set(1, 3, -1.0);
+        assertEquals(-1.0, tree.get(1, 3));
+        tree.remove(0, tree.size());
+        assertTrue(tree.isEmpty());
+        assertTrue(Double.isNaN(tree.getFirstKey()));
+        assertTrue(Double.isNaN(tree.getLastKey()));
+        assertEquals(0, tree.height());
+    }
+
+    @Test
+    public void monotonicAppend() {
+        final DoubleBPlusTree tree = new DoubleBPlusTree(1);
+        final double[] row = new double[1];
+        for (int i = 0; i < 1_000_000; i++) {
+            row[0] = i;
+            assertEquals(i, tree.add(row));
+        }
+        // appended leaves are not split in halves -> fully occupied leaves and a shallow tree
+        assertEquals(3, tree.height());
+        for (int i = 0; i < tree.size(); i += 997) {
+            assertEquals(i, tree.get(0, i));
+        }
+        assertEquals(500_000, tree.lowerBound(500_000.0));
+        assertEquals(500_001, tree.upperBound(500_000.0));
+        tree.remove(0, 999_000); // bulk expiry
+        assertEquals(1000, tree.size());
+        assertEquals(999_000.0, tree.getFirstKey());
+        assertEquals(999_999.0, tree.getLastKey());
+    }
+
+    @Test
+    public void dataSet() {
+        final LimitedSortedTreeDataSet dataSet = new LimitedSortedTreeDataSet("test", 100, 50.0);
+        dataSet.add(new double[] { 10, 30, 20 }, new double[] { 1, 3, 2 });
+        dataSet.add(25, 2.5, 0.5, 0.1);
+        assertArrayEquals(new double[] { 10, 20, 25, 30 }, dataSet.getValues(DIM_X));
+        assertArrayEquals(new double[] { 1, 2, 2.5, 3 }, dataSet.getValues(DIM_Y));
+        assertEquals(0.5, dataSet.getErrorNegative(DIM_X, 2));
+        assertEquals(0.1, dataSet.getErrorPositive(DIM_Y, 2));
+        assertEquals(10.0, dataSet.getAxisDescription(DIM_X).getMin());
+        assertEquals(30.0, dataSet.getAxisDescription(DIM_X).getMax());
+        assertEquals(2, dataSet.getIndex(DIM_X, 26.0));
+        assertEquals(3, dataSet.getIndex(DIM_X, 28.0));
+        assertEquals(3, dataSet.getIndex(DIM_X, 100.0));
+
+        // expiry by length: 'now - x > 50'
+        dataSet.add(65, 6.5);
+        assertArrayEquals(new double[] { 20, 25, 30, 65 }, dataSet.getValues(DIM_X));
+        assertTrue(!dataSet.getAxisDescription(DIM_X).isDefined());
+
+        // expiry by queue size
+        dataSet.setMaxQueueSize(2);
+        dataSet.expire();
+        assertArrayEquals(new double[] { 30, 65 }, dataSet.getValues(DIM_X));
+
+        // re-sorting on x changes
+        dataSet.setMaxQueueSize(100);
+        dataSet.set(1, 40, 4);
+        assertArrayEquals(new double[] { 30, 40 }, dataSet.getValues(DIM_X));
+        dataSet.set(0, 50, 5);
+        assertArrayEquals(new double[] { 40, 50 }, dataSet.getValues(DIM_X));
+        assertArrayEquals(new double[] { 4, 5 }, dataSet.getValues(DIM_Y));
+
+        dataSet.setSubtractOffset(true);
+        assertEquals(-10.0, dataSet.get(DIM_X, 0));
+        assertArrayEquals(new double[] { -10, 0 }, dataSet.getValues(DIM_X));
+        assertEquals(0, dataSet.getIndex(DIM_X, -9.0));
+        dataSet.setSubtractOffset(false);
+
+        dataSet.add(new double[] { 41, 42, 43 }, new double[] { 0, 0, 0 });
+        dataSet.remove(new int[] { 4, 1, 2 });
+        assertArrayEquals(new double[] { 40, 43 }, dataSet.getValues(DIM_X));
+        dataSet.remove(0, 1);
+        assertArrayEquals(new double[] { 43 }, dataSet.getValues(DIM_X));
+        assertThrows(IndexOutOfBoundsException.class, () -> dataSet.remove(0, 2));
+        dataSet.clearData();
+        assertEquals(0, dataSet.getDataCount());
+    }
+
+    private static void assertTree(final List<double[]> reference, final DoubleBPlusTree tree) {
+        assertEquals(reference.size(), tree.size());
+        // cached edge keys
+        assertEquals(reference.get(0)[0], tree.getFirstKey(), "first key");
+        assertEquals(reference.get(reference.size() - 1)[0], tree.getLastKey(), "last key");
+        final double[] keys = tree.copy(0, 0, tree.size(), new double[tree.size()], 0);
+        for (int i = 0; i < reference.size(); i++) {
+            assertEquals(reference.get(i)[0], keys[i], "key at " + i);
+            assertEquals(reference.get(i)[1], tree.get(1, i), "value at " + i);
+        }
+        // random access in reverse order (no leaf cursor hits)
+        for (int i = reference.size() - 1; i >= 0; i--) {
+            assertEquals(reference.get(i)[0], tree.get(0, i), "key at " + i);
+        }
+        for (final double key : new double[] { -1.0, 0.0, 25.0, 49.0, 1000.0, 1e9 }) {
+            int lower = 0;
+            while (lower < reference.size() && reference.get(lower)[0] < key) {
+                lower++;
+            }
+            int upper = lower;
+            while (upper < reference.size() && reference.get(upper)[0] <= key) {
+                upper++;
+            }
+            assertEquals(lower, tree.lowerBound(key), "lower bound of " + key);
+            assertEquals(upper, tree.upperBound(key), "upper bound of " + key);
+        }
+    }
+}
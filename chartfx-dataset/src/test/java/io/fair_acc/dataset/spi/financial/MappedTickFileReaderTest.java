@@ -0,0 +1,173 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedTickFileReaderTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long T0 = Instant.parse("2016-07-29T13:30:00Z").getEpochSecond() * SECOND;
+    private static final int WINDOW_SIZE = 40 * 333 + 7; // -> 333 records per mapped window
+    private static final int INDEX_STRIDE = 64;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void readAndSeek() throws IOException {
+        final int nRecords = 10_000;
+        final Path file = tempDir.resolve("test.scid");
+        writeScid(file, 0, nRecords, true);
+
+        assertThrows(IOException.class, () -> new MappedTickFileReader(writeInvalid(tempDir.resolve("invalid.scid")), TickRecordFormat.SCID));
+        try (MappedTickFileReader reader = new MappedTickFileReader(file, TickRecordFormat.SCID, WINDOW_SIZE, INDEX_STRIDE)) {
+            assertEquals(nRecords, reader.getRecordCount());
+            assertEquals(0, reader.getPosition());
+
+            // batches across window boundaries
+            final TickColumns batch = new TickColumns();
+            int total = 0;
+            int read;
+            while ((read = reader.read(batch.clear(), 1000)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    assertRecord(total + i, batch, i);
+                }
+                total += read;
+            }
+            assertEquals(nRecords, total);
+            assertEquals(nRecords, reader.getPosition());
+
+            // exact, in-between, duplicate, before-first and after-last time stamps
+            assertEquals(0, reader.seek(T0 - SECOND));
+            assertEquals(0, reader.seek(T0));
+            assertEquals(4321, reader.seek(timeStamp(4321)));
+            assertEquals(4322, reader.seek(timeStamp(4321) + 1));
+            assertEquals(4300, reader.seek(timeStamp(4301)));
+            assertEquals(2 * INDEX_STRIDE, reader.findRecord(timeStamp(2 * INDEX_STRIDE)));
+            assertEquals(2 * INDEX_STRIDE + 1, reader.findRecord(timeStamp(2 * INDEX_STRIDE) + 1));
+            assertEquals(nRecords - 1, reader.seek(timeStamp(nRecords - 1)));
+            assertEquals(nRecords, reader.seek(timeStamp(nRecords - 1) + 1));
+            for (int record = 0; record < nRecords; record += 97) {
+                // first of two records with the same time stamp
+                assertEquals(record % 100 == 1 ? record - 1 : record, reader.findRecord(timeStamp(record)), "record " + record);
+                assertEquals(timeStamp(record), reader.getTimeStamp(record));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getTimeStamp(nRecords));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.setPosition(nRecords + 1));
+
+            reader.setPosition(5000);
+            assertEquals(3, reader.read(batch.clear(), 3));
+            assertRecord(5000, batch, 0);
+            assertRecord(5002, batch, 2);
+
+            // live append
+            writeScid(file, nRecords, 500, false);
+            assertEquals(500, reader.refresh());
+            assertEquals(nRecords + 500, reader.getRecordCount());
+            assertEquals(nRecords + 123, reader.seek(timeStamp(nRecords + 123)));
+            assertEquals(377, reader.read(batch.clear(), 1000));
+            assertRecord(nRecords + 123, batch, 0);
+            assertRecord(nRecords + 499, batch, 376);
+        }
+    }
+
+    @Test
+    public void parallelReplay() throws IOException {
+        final int nFiles = 4;
+        final int nRecords = 3000;
+        final List<MappedTickFileReader> readers = new ArrayList<>();
+        final Map<MappedTickFileReader, MultiTimeframeOhlcvConsolidation> consolidations = new ConcurrentHashMap<>();
+        try {
+            for (int i = 0; i < nFiles; i++) {
+                final Path file = tempDir.resolve("instrument" + i + ".scid");
+                writeScid(file, 0, nRecords, true);
+                final MappedTickFileReader reader = new MappedTickFileReader(file, TickRecordFormat.SCID, WINDOW_SIZE, INDEX_STRIDE);
+                readers.add(reader);
+                final MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation();
+                consolidation.addTimeframe("1m", Duration.ofMinutes(1));
+                consolidations.put(reader, consolidation);
+            }
+
+            // records are 1 s apart -> replay minutes 1 to 30
+            MappedTickFileReader.replay(readers, T0 + 60 * SECOND, T0 + 1860 * SECOND, 256, (reader, batch) -> {
+                assertTrue(batch.size() > 0 && batch.size() <= 256);
+                consolidations.get(reader).add(batch.getTimeStamps(), batch.getClose(), batch.getVolume(), 0, batch.size());
+            });
+
+            for (final MappedTickFileReader reader : readers) {
+                final OhlcvDataSet minutes = consolidations.get(reader).getDataSets().get(0);
+                assertEquals(30, minutes.getDataCount());
+                assertEquals((T0 + 60 * SECOND) / 1_000_000L, minutes.getItem(0).getTimeStamp().getTime());
+                assertEquals(price(60), minutes.getItem(0).getOpen(), 1e-3);
+                assertEquals(price(119), minutes.getItem(0).getClose(), 1e-3);
+                assertEquals(60.0 * 3, minutes.getItem(29).getVolume());
+                assertEquals(1860, reader.getPosition());
+            }
+        } finally {
+            for (final MappedTickFileReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void assertRecord(final int record, final TickColumns batch, final int index) {
+        assertEquals(timeStamp(record), batch.getTimeStamps()[index], "record " + record);
+        assertEquals(price(record), batch.getClose()[index], 1e-3, "record " + record);
+        assertEquals(price(record), batch.getOpen()[index], 1e-3, "open = close for single trades");
+        assertEquals(price(record) + 0.25, batch.getHigh()[index], 1e-3);
+        assertEquals(price(record) - 0.25, batch.getLow()[index], 1e-3);
+        assertEquals(1.0, batch.getNumberOfTrades()[index]);
+        assertEquals(3.0, batch.getVolume()[index]);
+        assertEquals(record % 2 == 0 ? 3.0 : 0.0, batch.getBidVolume()[index]);
+        assertEquals(record % 2 == 0 ? 0.0 : 3.0, batch.getAskVolume()[index]);
+    }
+
+    private static float price(final int record) {
+        return 2000.0f + 0.25f * (record % 400);
+    }
+
+    private static long timeStamp(final int record) {
+        // two records per 2 s with the same time stamp at multiples of 100
+        return T0 + (record % 100 == 1 ? record - 1 : record) * SECOND;
+    }
+
+    private static void writeScid(final Path file, final int first, final int count, final boolean withHeader) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((withHeader ? 56 : 0) + 40 * count).order(ByteOrder.LITTLE_ENDIAN);
+        if (withHeader) {
+            buffer.put((byte) 'S').put((byte) 'C').put((byte) 'I').put((byte) 'D').putInt(56).putInt(40).putShort((short) 1);
+            buffer.position(56);
+        }
+        for (int record = first; record < first + count; record++) {
+            final double days = 25_569.0 + (timeStamp(record) / 1000L) / 86_400_000_000.0;
+            final float price = price(record);
+            buffer.putDouble(days).putFloat(0.0f).putFloat(price + 0.25f).putFloat(price - 0.25f).putFloat(price);
+            buffer.putInt(1).putInt(3).putInt(record % 2 == 0 ? 3 : 0).putInt(record % 2 == 0 ? 0 : 3);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static Path writeInvalid(final Path file) throws IOException {
+        Files.write(file, new byte[100]);
+        return file;
+    }
+}
@@ -0,0 +1,102 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
+
+public class MultiTimeframeOhlcvConsolidationTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long T0 = Instant.parse("2016-07-29T13:58:00Z").getEpochSecond() * SECOND;
+
+    @Test
+    public void singleTicks() {
+        MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation();
+        assertThrows(IllegalArgumentException.class, () -> consolidation.addTimeframe("zero", Duration.ZERO));
+        OhlcvDataSet seconds = consolidation.addTimeframe("1s", Duration.ofSeconds(1));
+        OhlcvDataSet minutes = consolidation.addTimeframe("1m", Duration.ofMinutes(1));
+        assertEquals(2, consolidation.getDataSets().size());
+        assertEquals(Long.MIN_VALUE, consolidation.getLastTimeStamp());
+
+        consolidation.add(T0 + 100_000_000L, 2170.25, 1);
+        consolidation.add(T0 + 900_000_000L, 2171.00, 2);
+        consolidation.add(T0 + SECOND, 2169.50, 3); // new second, same minute
+        consolidation.add(T0 + 59 * SECOND, 2170.00, 4);
+        consolidation.add(T0 + 61 * SECOND, 2172.00, 5);
+        assertEquals(T0 + 61 * SECOND, consolidation.getLastTimeStamp());
+        assertThrows(IllegalArgumentException.class, () -> consolidation.add(T0, 2170.0, 1)); // out of order
+        assertThrows(IllegalArgumentException.class, () -> consolidation.add(T0 + 62 * SECOND, Double.NaN, 1));
+
+        assertEquals(4, seconds.getDataCount());
+        assertEquals(2, minutes.getDataCount());
+
+        IOhlcvItem bar = seconds.getItem(0);
+        assertEquals(T0 / 1_000_000L, bar.getTimeStamp().getTime());
+        assertEquals(2170.25, bar.getOpen());
+        assertEquals(2171.00, bar.getHigh());
+        assertEquals(2170.25, bar.getLow());
+        assertEquals(2171.00, bar.getClose());
+        assertEquals(3.0, bar.getVolume());
+
+        bar = minutes.getItem(0);
+        assertEquals(T0 / 1_000_000L, bar.getTimeStamp().getTime());
+        assertEquals(2170.25, bar.getOpen());
+        assertEquals(2171.00, bar.getHigh());
+        assertEquals(2169.50, bar.getLow());
+        assertEquals(2170.00, bar.getClose());
+        assertEquals(10.0, bar.getVolume());
+        assertEquals(T0 / (double) SECOND + 60.0, minutes.get(DataSet.DIM_X, 1));
+        assertEquals(2172.0, minutes.get(OhlcvDataSet.DIM_Y_CLOSE, 1));
+    }
+
+    @Test
+    public void batchNotificationAndOffset() {
+        MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation();
+        OhlcvDataSet fiveMinutes = consolidation.addTimeframe("5m", Duration.ofMinutes(5));
+        // daily bars starting at 22:00 UTC (e.g. futures session start)
+        OhlcvDataSet daily = consolidation.addTimeframe("1d", Duration.ofDays(1), Duration.ofHours(22));
+
+        AtomicInteger notifications = new AtomicInteger();
+        fiveMinutes.getBitState().clear();
+        fiveMinutes.getBitState().addInvalidateListener(ChartBits.DataSetDataAdded, (src, bits) -> notifications.incrementAndGet());
+
+        final int nTicks = 24 * 60;
+        final long start = Instant.parse("2016-07-28T00:00:00Z").getEpochSecond() * SECOND;
+        long[] timeStamps = new long[nTicks];
+        double[] prices = new double[nTicks];
+        double[] volumes = new double[nTicks];
+        for (int i = 0; i < nTicks; i++) {
+            timeStamps[i] = start + i * 60 * SECOND; // one tick per minute for one day
+            prices[i] = 2000.0 + i;
+            volumes[i] = 1.0;
+        }
+        consolidation.add(timeStamps, prices, volumes, 0, nTicks);
+        assertEquals(1, notifications.get());
+        assertTrue(fiveMinutes.getBitState().isDirty(ChartBits.DataSetDataAdded));
+
+        assertEquals(nTicks / 5, fiveMinutes.getDataCount());
+        assertEquals(5.0, fiveMinutes.getItem(3).getVolume());
+        assertEquals(2015.0, fiveMinutes.getItem(3).getOpen());
+        assertEquals(2019.0, fiveMinutes.getItem(3).getClose());
+
+        // session boundary at 22:00 splits the calendar day
+        assertEquals(2, daily.getDataCount());
+        assertEquals(Instant.parse("2016-07-27T22:00:00Z").toEpochMilli(), daily.getItem(0).getTimeStamp().getTime());
+        assertEquals(22 * 60.0, daily.getItem(0).getVolume());
+        assertEquals(2 * 60.0, daily.getItem(1).getVolume());
+        assertEquals(2000.0 + nTicks - 1, daily.getItem(1).getHigh());
+
+        // invalid batches are rejected as a whole
+        assertThrows(IllegalArgumentException.class, () -> consolidation.add(new long[] { start + 2 * 86_400 * SECOND, start }, new double[2], new double[2], 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> consolidation.add(timeStamps, prices, new double[1], 0, 2));
+        assertEquals(2, daily.getDataCount());
+        assertEquals(1, notifications.get());
+    }
+}
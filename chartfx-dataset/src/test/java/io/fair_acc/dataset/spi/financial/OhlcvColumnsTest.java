@@ -0,0 +1,109 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcv;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
+import io.fair_acc.dataset.spi.financial.utils.FinancialTestUtils;
+
+public class OhlcvColumnsTest {
+    @Test
+    public void addAndGrow() {
+        OhlcvColumns columns = new OhlcvColumns(0);
+        assertEquals(0, columns.size());
+        assertFalse(columns.iterator().hasNext());
+        for (int i = 0; i < 100; i++) {
+            columns.add(1_000L * i, i, i + 2, i - 2, i + 1, 10 * i, 5);
+        }
+        assertEquals(100, columns.size());
+        assertTrue(columns.getOpen().length >= 100);
+
+        IOhlcvItem item = columns.getOhlcvItem(42);
+        assertEquals(42_000L, item.getTimeStamp().getTime());
+        assertEquals(42.0, item.getOpen());
+        assertEquals(44.0, item.getHigh());
+        assertEquals(40.0, item.getLow());
+        assertEquals(43.0, item.getClose());
+        assertEquals(420.0, item.getVolume());
+        assertEquals(5.0, item.getOpenInterest());
+        assertEquals(42.0, columns.getTimes()[42]);
+        assertEquals(item, columns.getOhlcvItem(42));
+        assertNotEquals(item, columns.getOhlcvItem(41));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.getOhlcvItem(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.set(100, 0, 0, 0, 0, 0, 0, 0));
+
+        // item addons are kept by the store
+        assertNull(item.getAddon());
+        item.getAddonOrCreate();
+        assertNotNull(columns.getOhlcvItem(42).getAddon());
+        assertNull(columns.getOhlcvItem(41).getAddon());
+
+        // update of the last (forming) bar
+        columns.set(99, 99_000L, 1, 2, 3, 4, 5, 6);
+        assertEquals(4.0, columns.getOhlcvItem(99).getClose());
+
+        columns.trim();
+        assertEquals(100, columns.getClose().length);
+        columns.clear();
+        assertEquals(0, columns.size());
+        assertNull(columns.getAddon());
+        assertNotNull(columns.getAddonOrCreate());
+    }
+
+    @Test
+    public void addAll() {
+        IOhlcv ohlcv = FinancialTestUtils.createTestOhlcv();
+        OhlcvColumns columns = new OhlcvColumns().addAll(ohlcv);
+        assertEquals(ohlcv.size(), columns.size());
+        List<IOhlcvItem> items = new ArrayList<>();
+        columns.forEach(items::add);
+        assertEquals(ohlcv.size(), items.size());
+        for (int i = 0; i < ohlcv.size(); i++) {
+            IOhlcvItem expected = ohlcv.getOhlcvItem(i);
+            assertEquals(expected.getTimeStamp(), items.get(i).getTimeStamp());
+            assertEquals(expected.getOpen(), items.get(i).getOpen());
+            assertEquals(expected.getClose(), items.get(i).getClose());
+        }
+
+        OhlcvColumns copy = new OhlcvColumns().addAll(columns).addAll(columns);
+        assertEquals(2 * ohlcv.size(), copy.size());
+        assertEquals(columns.getHigh()[1], copy.getHigh()[ohlcv.size() + 1]);
+    }
+
+    @Test
+    public void dataSetFastPath() {
+        IOhlcv ohlcv = FinancialTestUtils.createTestOhlcv();
+        OhlcvDataSet reference = new OhlcvDataSet("reference");
+        reference.setData(ohlcv);
+        OhlcvDataSet dataSet = new OhlcvDataSet("columns");
+        OhlcvColumns columns = new OhlcvColumns().addAll(ohlcv);
+        dataSet.setData(columns);
+
+        assertEquals(reference.getDataCount(), dataSet.getDataCount());
+        for (int dim = DataSet.DIM_X; dim <= OhlcvDataSet.DIM_Y_OI; dim++) {
+            for (int i = 0; i < dataSet.getDataCount(); i++) {
+                assertEquals(reference.get(dim, i), dataSet.get(dim, i));
+            }
+        }
+        // columns are exposed without copy
+        assertSame(columns.getTimes(), dataSet.getValues(DataSet.DIM_X));
+        assertSame(columns.getClose(), dataSet.getValues(OhlcvDataSet.DIM_Y_CLOSE));
+        assertThrows(IllegalArgumentException.class, () -> dataSet.get(7, 0));
+        assertThrows(IllegalArgumentException.class, () -> dataSet.getValues(7));
+
+        dataSet.setCategoryBased(true);
+        assertEquals(1.0, dataSet.get(DataSet.DIM_X, 1));
+        assertArrayEquals(new double[] { 0, 1, 2, 3, 4 }, dataSet.getValues(DataSet.DIM_X));
+
+        // copy keeps the fast path
+        OhlcvDataSet other = new OhlcvDataSet("other");
+        other.set(dataSet, false);
+        assertSame(columns.getOpen(), other.getValues(OhlcvDataSet.DIM_Y_OPEN));
+    }
+}
@@ -0,0 +1,113 @@
+package io.fair_acc.dataset.spi.financial.api.attrs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+
+public class AttributeColumnsTest {
+    public static final AttributeKey<Double> SMA = AttributeKey.create(Double.class, "SMA");
+    public static final AttributeKey<Boolean> MARK_BAR = AttributeKey.create(Boolean.class, "MARK_BAR");
+
+    @Test
+    public void doubleAndObjectColumns() {
+        final AttributeColumns attrs = new OhlcvDataSet("test").getAttributeColumns();
+        assertNull(attrs.findDoubleColumn(SMA));
+        assertNull(attrs.getAttribute(SMA, 0));
+        assertThrows(IllegalArgumentException.class, () -> attrs.getDoubleColumn(null));
+
+        final AttributeColumns.DoubleColumn sma = attrs.getDoubleColumn(SMA);
+        assertSame(sma, attrs.getDoubleColumn(SMA));
+        assertSame(sma, attrs.findDoubleColumn(SMA));
+        assertTrue(attrs.containsAttribute(SMA));
+        assertThrows(IllegalArgumentException.class, () -> attrs.getObjectColumn(SMA));
+
+        sma.set(2, 10.0); // warm-up bars without value
+        sma.add(11.0);
+        sma.addAll(new double[] { 0.0, 12.0, 13.0 }, 1, 3);
+        assertEquals(6, sma.size());
+        assertTrue(Double.isNaN(sma.get(0)));
+        assertTrue(Double.isNaN(sma.get(6)));
+        assertTrue(Double.isNaN(sma.get(-1)));
+        assertEquals(10.0, sma.get(2));
+        assertEquals(13.0, sma.getValues()[5]);
+        sma.set(5, 14.0); // update of the last bar
+        assertEquals(14.0, attrs.getAttribute(SMA, 5));
+        assertNull(attrs.getAttribute(SMA, 1));
+
+        final AttributeColumns.ObjectColumn<Boolean> marks = attrs.getObjectColumn(MARK_BAR);
+        marks.set(3, Boolean.TRUE);
+        assertEquals(4, marks.size());
+        assertNull(marks.get(0));
+        assertEquals(Boolean.TRUE, attrs.getAttribute(MARK_BAR, 3));
+        assertThrows(IllegalArgumentException.class, () -> attrs.findDoubleColumn(AttributeKey.create(Double.class, "MARK_BAR")));
+        assertEquals(2, attrs.getAttributes().size());
+
+        attrs.truncate(3);
+        assertEquals(3, sma.size());
+        assertEquals(3, marks.size());
+        sma.add(1.0);
+        assertEquals(1.0, sma.get(3));
+        attrs.clear();
+        assertEquals(0, sma.size());
+        assertTrue(attrs.remove(MARK_BAR));
+        assertFalse(attrs.containsAttribute(MARK_BAR));
+        assertThrows(IndexOutOfBoundsException.class, () -> sma.set(-1, 0.0));
+    }
+
+    @Test
+    public void concurrentAppend() throws InterruptedException {
+        final AttributeColumns.DoubleColumn column = new AttributeColumns().getDoubleColumn(SMA);
+        final int nBars = 200_000;
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> error = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            while (!done.get() && error.get() == null) {
+                final int size = column.size();
+                final double[] values = column.getValues();
+                for (int i = Math.max(0, size - 100); i < size; i++) {
+                    if (values[i] != i) {
+                        error.set("bar " + i + " = " + values[i] + " for published size " + size);
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        final Thread[] writers = new Thread[2];
+        for (int w = 0; w < writers.length; w++) {
+            final boolean evenWriter = w == 0;
+            writers[w] = new Thread(() -> {
+                for (int i = 0; i < nBars; i++) {
+                    // both writers append the next bar under the column lock
+                    synchronized (column) {
+                        if (column.size() % 2 == 0 == evenWriter && column.size() < nBars) {
+                            column.add(column.size());
+                        }
+                    }
+                }
+            });
+        }
+        for (final Thread writer : writers) {
+            writer.start();
+        }
+        for (final Thread writer : writers) {
+            writer.join();
+        }
+        while (column.size() < nBars) {
+            column.add(column.size());
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(error.get());
+        assertEquals(nBars, column.size());
+        for (int i = 0; i < nBars; i++) {
+            assertEquals(i, column.get(i));
+        }
+    }
+}
@@ -5,6 +5,11 @@ import io.fair_acc.dataset.utils.AssertUtils;
 /**
  * Utility class containing static functions for working with arrays of
  * different types.
+ * <p>
+ * The element-wise arithmetic, square, square-root and logarithmic functions of arrays with at least
+ * {@value #VECTOR_MIN_LENGTH} elements are computed using the SIMD kernels of the {@code jdk.incubator.vector} API
+ * if the module is available at runtime (i.e. the JVM is started with {@code --add-modules jdk.incubator.vector}) and
+ * not disabled via {@code -Dchartfx.math.vector=false}, otherwise the scalar implementation is used.
  *
  * @author rstein
  * @author Florian Enner
@@ -16,11 +21,38 @@ public class ArrayMathGen {
     protected static final String IN = "in";
     protected static final String MULTIPLICATOR = "multiplicator";
     protected static final String VALUE = "value";
+    /** minimum number of elements for which the SIMD kernels are being used */
+    protected static final int VECTOR_MIN_LENGTH = 64;
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS_CLASS = "io.fair_acc.math.VectorArrayMath";
+    private static final ArrayMathKernels VECTOR_KERNELS = createVectorKernels();
 
     ArrayMathGen() { // NOPMD - package private
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * @return {@code true} if the element-wise functions use the SIMD kernels of the {@code jdk.incubator.vector} API
+     */
+    public static boolean isVectorized() {
+        return VECTOR_KERNELS != null;
+    }
+
+    private static ArrayMathKernels createVectorKernels() {
+        if (!Boolean.parseBoolean(System.getProperty("chartfx.math.vector", "true")) || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (ArrayMathKernels) Class.forName(VECTOR_KERNELS_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) { // NOPMD - fall back to the scalar implementation
+            return null;
+        }
+    }
+
+    private static boolean useVectorKernels(final int length) {
+        return VECTOR_KERNELS != null && length >= VECTOR_MIN_LENGTH;
+    }
+
     //// codegen: double -> float, int, long, short
     public static double[] add(final double[] in, final double value) {
         return add(in, 0, value, in.length);
@@ -37,6 +69,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(VALUE, length + offsetValue, value.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.add(in, offsetIn, value, offsetValue, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (double) (in[i + offsetIn] + value[i + offsetValue]);
@@ -50,6 +86,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.add(in, offset, value, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (double) (in[i + offset] + value);
@@ -71,6 +111,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offsetIn, in.length);
         AssertUtils.notNull(VALUE, value);
         AssertUtils.gtOrEqual(VALUE, length + offsetValue, value.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.add(in, offsetIn, value, offsetValue, in, offsetIn, length);
+            return in;
+        }
 
         for (int i = 0; i < length; i++) {
             in[i + offsetIn] += value[i + offsetValue];
@@ -80,6 +124,10 @@ public class ArrayMathGen {
 
     public static double[] addInPlace(final double[] in, final int offset, final double value, final int length) {
         AssertUtils.notNull(IN, in);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.add(in, offset, value, in, offset, length);
+            return in;
+        }
 
         for (int i = offset; i < length + offset; i++) {
             in[i] += value;
@@ -98,6 +146,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.log10(in, offset, 20, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (20 * MathBase.log10(in[i + offset])); //// codegen: returncast all
@@ -113,6 +165,10 @@ public class ArrayMathGen {
     public static double[] decibelInPlace(final double[] in, final int offset, final int length) {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length, in.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.log10(in, offset, 20, in, offset, length);
+            return in;
+        }
 
         for (int i = offset; i < length + offset; i++) {
             in[i] = (20 * MathBase.log10(in[i])); //// codegen: returncast all
@@ -158,6 +214,10 @@ public class ArrayMathGen {
             return notANumberInPlace(ret);
         }
         final double invDivisor = 1.0 / divisor; //// codegen: subst:float:1.0:1.0f
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.multiply(in, offset, invDivisor, ret, 0, length);
+            return ret;
+        }
         for (int i = 0; i < length; i++) {
             ret[i] = in[i + offset] * invDivisor;
         }
@@ -196,6 +256,10 @@ public class ArrayMathGen {
             return ArrayMath.notANumberInPlace(in);
         }
         final double invDivisor = 1.0 / divisor; //// codegen: subst:float:1.0:1.0f //// subst:int,long,short:final:// final
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.multiply(in, offset, invDivisor, in, offset, length);
+            return in;
+        }
         for (int i = offset; i < length + offset; i++) {
             in[i] *= invDivisor; //// subst:int,long,short:*= invDivisor:/= divisor
         }
@@ -331,6 +395,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(MULTIPLICATOR, length + offsetMul, multiplicator.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.multiply(in, offsetIn, multiplicator, offsetMul, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (in[i + offsetIn] * multiplicator[i + offsetMul]); //// codegen: returncast short
@@ -344,6 +412,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.multiply(in, offset, multiplicator, ret, 0, length);
+            return ret;
+        }
         for (int i = 0; i < length; i++) {
             ret[i] = (in[i + offset] * multiplicator); //// codegen: returncast short
         }
@@ -364,6 +436,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offsetIn, in.length);
         AssertUtils.notNull(MULTIPLICATOR, multiplicator);
         AssertUtils.gtOrEqual(MULTIPLICATOR, length + offsetMul, multiplicator.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.multiply(in, offsetIn, multiplicator, offsetMul, in, offsetIn, length);
+            return in;
+        }
 
         for (int i = 0; i < length; i++) {
             in[i + offsetIn] *= multiplicator[i + offsetMul];
@@ -374,6 +450,10 @@ public class ArrayMathGen {
     public static double[] multiplyInPlace(final double[] in, final int offset, final double multiplicator, final int length) {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.multiply(in, offset, multiplicator, in, offset, length);
+            return in;
+        }
 
         for (int i = offset; i < length + offset; i++) {
             in[i] *= multiplicator;
@@ -413,6 +493,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.sqr(in, offset, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (in[i + offset] * in[i + offset]); //// codegen: returncast short
@@ -428,6 +512,10 @@ public class ArrayMathGen {
     public static double[] sqrInPlace(final double[] in, final int offset, final int length) {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.sqr(in, offset, in, offset, length);
+            return in;
+        }
 
         for (int i = offset; i < length + offset; i++) {
             in[i] = (in[i] * in[i]); //// codegen: returncast short
@@ -446,6 +534,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.sqrt(in, offset, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = MathBase.sqrt(in[i + offset]); //// codegen: returncast all
@@ -461,6 +553,11 @@ public class ArrayMathGen {
     public static double[] sqrtInPlace(final double[] in, final int offset, final int length) {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.sqrt(in, offset, in, offset, length);
+            return in;
+        }
+
         for (int i = offset; i < length + offset; i++) {
             in[i] = MathBase.sqrt(in[i]); //// codegen: returncast all
         }
@@ -484,8 +581,12 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(VALUE, length + offsetValue, value.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.subtract(in, offsetIn, value, offsetValue, ret, 0, length);
+            return ret;
+        }
 
-        for (int i = 0; i < in.length; i++) {
+        for (int i = 0; i < length; i++) {
             ret[i] = (in[i + offsetIn] - value[i + offsetValue]); //// codegen: returncast short
         }
 
@@ -496,6 +597,10 @@ public class ArrayMathGen {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.subtract(in, offset, value, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (in[i + offset] - value); //// codegen: returncast short
@@ -517,6 +622,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offsetIn, in.length);
         AssertUtils.notNull(VALUE, value);
         AssertUtils.gtOrEqual(VALUE, length + offsetVal, value.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.subtract(in, offsetIn, value, offsetVal, in, offsetIn, length);
+            return in;
+        }
 
         for (int i = 0; i < length; i++) {
             in[i + offsetIn] -= value[i + offsetVal];
@@ -527,6 +636,10 @@ public class ArrayMathGen {
     public static double[] subtractInPlace(final double[] in, final int offset, final double value, final int length) {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.subtract(in, offset, value, in, offset, length);
+            return in;
+        }
 
         for (int i = offset; i < length + offset; i++) {
             in[i] -= value;
@@ -545,6 +658,10 @@ public class ArrayMathGen {
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
 
         final double[] ret = new double[length];
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.log10(in, offset, 10, ret, 0, length);
+            return ret;
+        }
 
         for (int i = 0; i < length; i++) {
             ret[i] = (10 * MathBase.log10(in[i + offset])); //// codegen: returncast float
@@ -560,6 +677,10 @@ public class ArrayMathGen {
     public static double[] tenLog10InPlace(final double[] in, final int offset, final int length) {
         AssertUtils.notNull(IN, in);
         AssertUtils.gtOrEqual(IN, length + offset, in.length);
+        if (useVectorKernels(length)) {
+            VECTOR_KERNELS.log10(in, offset, 10, in, offset, length);
+            return in;
+        }
 
         for (int i = offset; i < length + offset; i++) {
             in[i] = (10 * MathBase.log10(in[i])); //// codegen: returncast float
@@ -0,0 +1,35 @@
+package io.fair_acc.math;
+
+/**
+ * Element-wise array kernels used by {@link ArrayMath} for long arrays. All functions operate on the
+ * {@code length} elements starting at the given offsets, whereby the output may be identical to one of the inputs
+ * (in-place operation). The arguments are checked by the caller.
+ */
+interface ArrayMathKernelsGen {
+    //// codegen: double -> float, int, long, short
+    void add(final double[] a, final int offsetA, final double[] b, final int offsetB, final double[] out, final int offsetOut, final int length);
+
+    void add(final double[] a, final int offsetA, final double value, final double[] out, final int offsetOut, final int length);
+
+    void multiply(final double[] a, final int offsetA, final double[] b, final int offsetB, final double[] out, final int offsetOut, final int length);
+
+    void multiply(final double[] a, final int offsetA, final double value, final double[] out, final int offsetOut, final int length);
+
+    void sqr(final double[] a, final int offsetA, final double[] out, final int offsetOut, final int length);
+
+    void subtract(final double[] a, final int offsetA, final double[] b, final int offsetB, final double[] out, final int offsetOut, final int length);
+
+    void subtract(final double[] a, final int offsetA, final double value, final double[] out, final int offsetOut, final int length);
+
+    //// end codegen
+
+    //// codegen: double -> float
+    /**
+     * computes {@code out[i] = scale * log10(a[i])}
+     */
+    void log10(final double[] a, final int offsetA, final double scale, final double[] out, final int offsetOut, final int length);
+
+    void sqrt(final double[] a, final int offsetA, final double[] out, final int offsetOut, final int length);
+
+    //// end codegen
+}
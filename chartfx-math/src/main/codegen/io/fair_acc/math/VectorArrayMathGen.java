@@ -0,0 +1,143 @@
+package io.fair_acc.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the {@link ArrayMathKernels} based on the incubating {@code jdk.incubator.vector} API using
+ * the preferred (widest) vector species of the platform. The remaining elements that do not fill a complete vector
+ * are processed by a scalar loop.
+ * <p>
+ * N.B. this class is instantiated via reflection by {@link ArrayMath} only if the {@code jdk.incubator.vector} module
+ * is present at runtime and must not be referenced directly.
+ */
+final class VectorArrayMathGen implements ArrayMathKernels {
+    //// codegen: double -> float, int, long, short
+    @Override
+    public void add(final double[] a, final int offsetA, final double[] b, final int offsetB, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).add(DoubleVector.fromArray(species, b, offsetB + i)).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] + b[offsetB + i]); //// codegen: returncast short
+        }
+    }
+
+    @Override
+    public void add(final double[] a, final int offsetA, final double value, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).add(value).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] + value); //// codegen: returncast short
+        }
+    }
+
+    @Override
+    public void multiply(final double[] a, final int offsetA, final double[] b, final int offsetB, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).mul(DoubleVector.fromArray(species, b, offsetB + i)).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] * b[offsetB + i]); //// codegen: returncast short
+        }
+    }
+
+    @Override
+    public void multiply(final double[] a, final int offsetA, final double value, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).mul(value).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] * value); //// codegen: returncast short
+        }
+    }
+
+    @Override
+    public void subtract(final double[] a, final int offsetA, final double[] b, final int offsetB, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).sub(DoubleVector.fromArray(species, b, offsetB + i)).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] - b[offsetB + i]); //// codegen: returncast short
+        }
+    }
+
+    @Override
+    public void subtract(final double[] a, final int offsetA, final double value, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).sub(value).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] - value); //// codegen: returncast short
+        }
+    }
+
+    @Override
+    public void sqr(final double[] a, final int offsetA, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED; //// codegen: subst:int:<Int>:<Integer>
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            final DoubleVector vector = DoubleVector.fromArray(species, a, offsetA + i);
+            vector.mul(vector).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (a[offsetA + i] * a[offsetA + i]); //// codegen: returncast short
+        }
+    }
+
+    //// end codegen
+
+    //// codegen: double -> float
+    @Override
+    public void log10(final double[] a, final int offsetA, final double scale, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED;
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).lanewise(VectorOperators.LOG10).mul(scale).intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = (scale * MathBase.log10(a[offsetA + i])); //// codegen: returncast float
+        }
+    }
+
+    @Override
+    public void sqrt(final double[] a, final int offsetA, final double[] out, final int offsetOut, final int length) {
+        final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED;
+        final int upperBound = species.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += species.length()) {
+            DoubleVector.fromArray(species, a, offsetA + i).sqrt().intoArray(out, offsetOut + i);
+        }
+        for (; i < length; i++) {
+            out[offsetOut + i] = MathBase.sqrt(a[offsetA + i]); //// codegen: returncast float
+        }
+    }
+
+    //// end codegen
+}
@@ -24,11 +24,16 @@ package io.fair_acc.math.filter.iir;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.complex.ComplexUtils;
 
+import io.fair_acc.dataset.utils.AssertUtils;
+
 /**
  * The mother of all filters. It contains the coefficients of all filter stages as a sequence of 2nd order filters and
  * the states of the 2nd order filters which also imply if it's direct form I or II
  */
 public class Cascade {
+    // number of samples that are pushed through all sections before moving on (keeps the block hot in L1)
+    protected static final int BLOCK_SIZE = 1024;
+
     // coefficients
     private Biquad[] mBiquads;
 
@@ -38,6 +43,9 @@ public class Cascade {
     // number of biquads in the system
     private int mNumBiquads;
 
+    // state topology (DirectFormAbstract.DIRECT_FORM_I or DirectFormAbstract.DIRECT_FORM_II)
+    private int mDirectFormType = DirectFormAbstract.DIRECT_FORM_II;
+
     public Cascade() {
         mNumBiquads = 0;
     }
@@ -60,10 +68,43 @@ public class Cascade {
         return out;
     }
 
+    /**
+     * Filters a block of samples. Compared to calling {@link #filter(double)} for each sample, the samples are pushed
+     * section by section through the cascade (section-major) in chunks of {@value #BLOCK_SIZE} samples, keeping the
+     * per-section state and coefficients in registers. The filter state is retained between calls so that a continuous
+     * stream may be processed in arbitrarily sized blocks.
+     *
+     * @param in input samples
+     * @param out output samples (may be the same array as {@code in} for in-place processing)
+     * @param offset index of the first sample to be processed in both {@code in} and {@code out}
+     * @param length number of samples to be processed
+     */
+    public void filter(final double[] in, final double[] out, final int offset, final int length) {
+        checkBlockArguments(in, out, offset, length);
+        if (mNumBiquads == 0) {
+            if (in != out) {
+                System.arraycopy(in, offset, out, offset, length);
+            }
+            return;
+        }
+        final int end = offset + length;
+        for (int start = offset; start < end; start += BLOCK_SIZE) {
+            final int n = Math.min(BLOCK_SIZE, end - start);
+            mStates[0].process(in, out, start, n, mBiquads[0]);
+            for (int i = 1; i < mNumBiquads; i++) {
+                mStates[i].process(out, out, start, n, mBiquads[i]);
+            }
+        }
+    }
+
     public Biquad getBiquad(final int index) {
         return mBiquads[index];
     }
 
+    public int getDirectFormType() {
+        return mDirectFormType;
+    }
+
     public int getNumBiquads() {
         return mNumBiquads;
     }
@@ -103,21 +144,8 @@ public class Cascade {
         final int numPoles = proto.getNumPoles();
         mNumBiquads = (numPoles + 1) / 2;
         mBiquads = new Biquad[mNumBiquads];
-        switch (filterTypes) {
-        case DirectFormAbstract.DIRECT_FORM_I:
-            mStates = new DirectFormI[mNumBiquads];
-            for (int i = 0; i < mNumBiquads; i++) {
-                mStates[i] = new DirectFormI(); // NOPMD
-            }
-            break;
-        case DirectFormAbstract.DIRECT_FORM_II:
-        default:
-            mStates = new DirectFormII[mNumBiquads];
-            for (int i = 0; i < mNumBiquads; i++) {
-                mStates[i] = new DirectFormII(); // NOPMD
-            }
-            break;
-        }
+        mDirectFormType = filterTypes == DirectFormAbstract.DIRECT_FORM_I ? DirectFormAbstract.DIRECT_FORM_I : DirectFormAbstract.DIRECT_FORM_II;
+        mStates = createStates();
         for (int i = 0; i < mNumBiquads; ++i) {
             final PoleZeroPair p = proto.getPair(i);
             mBiquads[i] = new Biquad(); // NOPMD
@@ -125,4 +153,24 @@ public class Cascade {
         }
         applyScale(proto.getNormalGain() / response(proto.getNormalW() / (2 * Math.PI)).abs());
     }
+
+    /**
+     * @return a new set of (reset) filter states, one per section, matching the topology of this cascade
+     */
+    protected DirectFormAbstract[] createStates() {
+        final DirectFormAbstract[] states = new DirectFormAbstract[mNumBiquads];
+        for (int i = 0; i < mNumBiquads; i++) {
+            states[i] = mDirectFormType == DirectFormAbstract.DIRECT_FORM_I ? new DirectFormI() : new DirectFormII(); // NOPMD
+        }
+        return states;
+    }
+
+    protected static void checkBlockArguments(final double[] in, final double[] out, final int offset, final int length) {
+        AssertUtils.notNull("in", in);
+        AssertUtils.notNull("out", out);
+        AssertUtils.gtEqThanZero("offset", offset);
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.gtOrEqual("in", offset + length, in.length);
+        AssertUtils.gtOrEqual("out", offset + length, out.length);
+    }
 }
@@ -35,5 +35,23 @@ public abstract class DirectFormAbstract {
 
     public abstract double process1(double in, Biquad s);
 
+    /**
+     * Processes a block of samples through a single second-order section. The default implementation delegates to
+     * {@link #process1(double, Biquad)}; derived forms override this with a tight loop that keeps the filter state in
+     * local variables.
+     *
+     * @param in input samples
+     * @param out output samples (may be the same array as {@code in} for in-place processing)
+     * @param offset index of the first sample to be processed in both {@code in} and {@code out}
+     * @param length number of samples to be processed
+     * @param s coefficients of the second-order section
+     */
+    public void process(final double[] in, final double[] out, final int offset, final int length, final Biquad s) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            out[i] = process1(in[i], s);
+        }
+    }
+
     public abstract void reset();
 }
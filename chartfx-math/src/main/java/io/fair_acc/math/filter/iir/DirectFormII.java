@@ -43,6 +43,32 @@ public class DirectFormII extends DirectFormAbstract {
         return in;
     }
 
+    @Override
+    public void process(final double[] in, final double[] out, final int offset, final int length, final Biquad s) {
+        if (s == null) {
+            if (in != out) {
+                System.arraycopy(in, offset, out, offset, length);
+            }
+            return;
+        }
+        final double a1 = s.mA1;
+        final double a2 = s.mA2;
+        final double b0 = s.mB0;
+        final double b1 = s.mB1;
+        final double b2 = s.mB2;
+        double v1 = mV1;
+        double v2 = mV2;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final double w = in[i] - a1 * v1 - a2 * v2;
+            out[i] = b0 * w + b1 * v1 + b2 * v2;
+            v2 = v1;
+            v1 = w;
+        }
+        mV1 = v1;
+        mV2 = v2;
+    }
+
     @Override
     public final void reset() {
         mV1 = 0;
@@ -0,0 +1,146 @@
+package io.fair_acc.math.filter.iir;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.ThreadEventProcessor;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * DataSet that incrementally IIR-filters a (growing or rolling) source DataSet. Contrary to re-computing e.g.
+ * {@link io.fair_acc.math.DataSetMath#iirLowPassFilterFunction} over the whole history on each update, only the samples
+ * that have been appended since the last update are pushed through the {@link Cascade} whose state is retained between
+ * updates. Thus, the cost per update scales with the number of new samples rather than the DataSet length.
+ * <p>
+ * New samples are identified by their x-coordinate being larger than the last processed one, i.e. the source is
+ * assumed to have monotonically increasing x-values (e.g. time-series, FIFO/circular buffers). Should the source's
+ * last x-value go backwards, the source is considered to have been reset and the filter restarts from scratch. The
+ * number of output samples is limited to the number of samples in the source.
+ * <p>
+ * N.B. being a causal filter, the output exhibits the group-delay of the IIR filter design.
+ */
+public class IirFilterDataSet extends DoubleDataSet {
+    private static final long serialVersionUID = 2154726379017264120L;
+    private final transient DataSet source;
+    private final transient Cascade filter;
+    private final transient BitState inputDataSetBitState = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+    private transient double[] buffer = new double[0];
+    private double lastX = Double.NaN;
+
+    /**
+     * @param name name of the filtered DataSet
+     * @param filter fully configured filter (e.g. {@link Butterworth}, {@link ChebyshevI}, ...), its state is owned by this DataSet
+     * @param source DataSet to be filtered
+     */
+    public IirFilterDataSet(final String name, final Cascade filter, final DataSet source) {
+        super(name);
+        this.source = AssertUtils.notNull("source", source);
+        this.filter = AssertUtils.notNull("filter", filter);
+        filter.reset();
+
+        registerListener();
+        ThreadEventProcessor.getUserInstance().addAction(inputDataSetBitState, this::update);
+    }
+
+    public final void deregisterListener() {
+        source.getBitState().removeInvalidateListener(inputDataSetBitState);
+    }
+
+    public Cascade getFilter() {
+        return filter;
+    }
+
+    public DataSet getSource() {
+        return source;
+    }
+
+    public final void registerListener() {
+        source.getBitState().addInvalidateListener(inputDataSetBitState);
+    }
+
+    /**
+     * discards the filtered history and filter state, the next update re-filters the whole source DataSet
+     */
+    public void reset() {
+        lock().writeLockGuard(() -> {
+            filter.reset();
+            lastX = Double.NaN;
+            xValues.clear();
+            yValues.clear();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        triggerUpdate();
+    }
+
+    public final void triggerUpdate() {
+        inputDataSetBitState.setDirty(BitState.ALL_BITS);
+    }
+
+    /**
+     * filters all source samples that have not been processed yet
+     */
+    protected void update() {
+        final boolean modified = source.lock().readLockGuard(() -> lock().writeLockGuard(this::processNewSamples));
+        if (modified) {
+            fireInvalidated(ChartBits.DataSetDataAdded);
+        }
+    }
+
+    private boolean processNewSamples() {
+        final int nSource = source.getDataCount();
+        if (nSource == 0) {
+            return false;
+        }
+
+        int first = nSource;
+        if (!Double.isNaN(lastX)) {
+            if (source.get(DIM_X, nSource - 1) < lastX) {
+                // source has been reset -> restart filter
+                filter.reset();
+                xValues.clear();
+                yValues.clear();
+                first = 0;
+            } else {
+                // new samples are usually few and at the end -> search backwards
+                while (first > 0 && source.get(DIM_X, first - 1) > lastX) {
+                    first--;
+                }
+            }
+        } else {
+            first = 0;
+        }
+
+        final int nNew = nSource - first;
+        if (nNew == 0) {
+            return false;
+        }
+        if (buffer.length < nNew) {
+            buffer = new double[nNew];
+        }
+
+        // filter new y-samples in one block
+        for (int i = 0; i < nNew; i++) {
+            buffer[i] = source.get(DIM_Y, first + i);
+        }
+        filter.filter(buffer, buffer, 0, nNew);
+        yValues.addElements(yValues.size(), buffer, 0, nNew);
+
+        for (int i = 0; i < nNew; i++) {
+            buffer[i] = source.get(DIM_X, first + i);
+        }
+        xValues.addElements(xValues.size(), buffer, 0, nNew);
+        lastX = buffer[nNew - 1];
+
+        // limit history to the length of the source
+        final int excess = xValues.size() - nSource;
+        if (excess > 0) {
+            xValues.removeElements(0, excess);
+            yValues.removeElements(0, excess);
+        }
+        getAxisDescriptions().forEach(AxisDescription::clear);
+        return true;
+    }
+}
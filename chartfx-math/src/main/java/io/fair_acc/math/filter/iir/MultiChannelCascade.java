@@ -0,0 +1,108 @@
+package io.fair_acc.math.filter.iir;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Filters N channels with the same IIR {@link Cascade} design. The channels are passed in struct-of-arrays layout (one
+ * {@code double[]} per channel) and are processed together section by section, each channel retaining its own filter
+ * state between calls. The coefficients are shared with the prototype cascade (N.B. a new instance needs to be created
+ * if the number of sections of the prototype changes), e.g.
+ *
+ * <pre>
+ * final Butterworth lowPass = new Butterworth();
+ * lowPass.lowPass(4, sampleRate, cutOffFrequency);
+ * final MultiChannelCascade filter = new MultiChannelCascade(lowPass, nChannels);
+ * filter.filter(channelsIn, channelsOut, 0, nSamples);
+ * </pre>
+ */
+public class MultiChannelCascade {
+    private final Cascade prototype;
+    private final DirectFormAbstract[][] states; // [channel][section]
+
+    /**
+     * @param prototype filter design whose coefficients are being used for all channels
+     * @param nChannels number of independent channels
+     */
+    public MultiChannelCascade(final Cascade prototype, final int nChannels) {
+        AssertUtils.notNull("prototype", prototype);
+        AssertUtils.gtThanZero("nChannels", nChannels);
+        this.prototype = prototype;
+        this.states = new DirectFormAbstract[nChannels][];
+        for (int channel = 0; channel < nChannels; channel++) {
+            states[channel] = prototype.createStates();
+        }
+    }
+
+    /**
+     * Filters a block of samples for all channels. The block is processed in chunks of {@value Cascade#BLOCK_SIZE}
+     * samples, for each chunk section-by-section (outer loop) and channel-by-channel (inner loop) so that the section
+     * coefficients are loaded once per chunk for all channels.
+     *
+     * @param in input samples, {@code in[channel][sample]}
+     * @param out output samples, {@code out[channel][sample]} (may be the same as {@code in} for in-place processing)
+     * @param offset index of the first sample to be processed
+     * @param length number of samples to be processed
+     */
+    public void filter(final double[][] in, final double[][] out, final int offset, final int length) {
+        AssertUtils.notNull("in", in);
+        AssertUtils.notNull("out", out);
+        final int nChannels = getNumChannels();
+        AssertUtils.gtOrEqual("in.length", nChannels, in.length);
+        AssertUtils.gtOrEqual("out.length", nChannels, out.length);
+        for (int channel = 0; channel < nChannels; channel++) {
+            Cascade.checkBlockArguments(in[channel], out[channel], offset, length);
+        }
+
+        final int nSections = prototype.getNumBiquads();
+        if (nSections == 0) {
+            for (int channel = 0; channel < nChannels; channel++) {
+                if (in[channel] != out[channel]) {
+                    System.arraycopy(in[channel], offset, out[channel], offset, length);
+                }
+            }
+            return;
+        }
+
+        final int end = offset + length;
+        for (int start = offset; start < end; start += Cascade.BLOCK_SIZE) {
+            final int n = Math.min(Cascade.BLOCK_SIZE, end - start);
+            for (int section = 0; section < nSections; section++) {
+                final Biquad biquad = prototype.getBiquad(section);
+                for (int channel = 0; channel < nChannels; channel++) {
+                    final double[] src = section == 0 ? in[channel] : out[channel];
+                    states[channel][section].process(src, out[channel], start, n, biquad);
+                }
+            }
+        }
+    }
+
+    public int getNumChannels() {
+        return states.length;
+    }
+
+    public Cascade getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * resets the filter state of all channels
+     */
+    public void reset() {
+        for (final DirectFormAbstract[] channelStates : states) {
+            for (final DirectFormAbstract state : channelStates) {
+                state.reset();
+            }
+        }
+    }
+
+    /**
+     * resets the filter state of a single channel
+     *
+     * @param channel index of the channel
+     */
+    public void reset(final int channel) {
+        for (final DirectFormAbstract state : states[channel]) {
+            state.reset();
+        }
+    }
+}
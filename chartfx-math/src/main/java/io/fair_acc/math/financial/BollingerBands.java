@@ -0,0 +1,87 @@
+package io.fair_acc.math.financial;
+
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Bollinger bands: simple moving average (middle band) &plusmn; {@code k} population standard deviations of the same
+ * window (upper and lower band), {@code NaN} for the first {@code period - 1} bars.
+ * <p>
+ * The running window sums are accumulated relative to the first input value to avoid cancellation for small variances
+ * of large prices.
+ */
+public class BollingerBands extends Indicator {
+    /** output index of the middle band */
+    public static final int MIDDLE = 0;
+    /** output index of the upper band */
+    public static final int UPPER = 1;
+    /** output index of the lower band */
+    public static final int LOWER = 2;
+    private final int period;
+    private final double k;
+    private double sum; // sums of the window ending at the last final bar
+    private double sumSquares;
+
+    /**
+     * @param period number of bars, using close prices
+     * @param k band width in standard deviations (typically 2.0)
+     */
+    public BollingerBands(final int period, final double k) {
+        this(OhlcvDataSet.DIM_Y_CLOSE, period, k);
+    }
+
+    /**
+     * @param inputDimension data set dimension of the input
+     * @param period number of bars
+     * @param k band width in standard deviations (typically 2.0)
+     */
+    public BollingerBands(final int inputDimension, final int period, final double k) {
+        super("BB(" + period + "," + k + ")", new int[] { inputDimension }, "BB-middle(" + period + ")", "BB-upper(" + period + "," + k + ")", "BB-lower(" + period + "," + k + ")");
+        AssertUtils.gtThanZero("period", period);
+        AssertUtils.gtEqThanZero("k", k);
+        this.period = period;
+        this.k = k;
+    }
+
+    /**
+     * @return number of bars
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    protected void compute(final double[][] inputs, final int index, final double[][] outputs, final boolean commit) {
+        final double[] input = inputs[0];
+        final double reference = input[0];
+        final double value = input[index] - reference;
+        double windowSum = sum + value;
+        double windowSumSquares = sumSquares + value * value;
+        if (index >= period) {
+            final double removed = input[index - period] - reference;
+            windowSum -= removed;
+            windowSumSquares -= removed * removed;
+        }
+        if (index >= period - 1) {
+            final double mean = windowSum / period;
+            final double sigma = Math.sqrt(Math.max(0.0, windowSumSquares / period - mean * mean));
+            outputs[MIDDLE][index] = reference + mean;
+            outputs[UPPER][index] = reference + mean + k * sigma;
+            outputs[LOWER][index] = reference + mean - k * sigma;
+        } else {
+            outputs[MIDDLE][index] = Double.NaN;
+            outputs[UPPER][index] = Double.NaN;
+            outputs[LOWER][index] = Double.NaN;
+        }
+        if (commit) {
+            sum = windowSum;
+            sumSquares = windowSumSquares;
+        }
+    }
+
+    @Override
+    protected void resetState() {
+        sum = 0.0;
+        sumSquares = 0.0;
+    }
+}
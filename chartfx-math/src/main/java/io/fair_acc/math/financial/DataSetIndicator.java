@@ -0,0 +1,191 @@
+package io.fair_acc.math.financial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.ThreadEventProcessor;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Binds an {@link Indicator} to a source data set (typically an
+ * {@link io.fair_acc.dataset.spi.financial.OhlcvDataSet OhlcvDataSet}) and publishes its output lines as derived
+ * {@link IndicatorDataSet}s, analogous to {@link io.fair_acc.math.MathDataSet MathDataSet}.
+ * <p>
+ * Source invalidations (appended bars, tick updates of the last bar) trigger an {@link #update()} on the
+ * {@link ThreadEventProcessor#getUserInstance() user event processor}. Only the non-final tail is re-computed and
+ * written, the output axis ranges are extended by the new values (and only re-computed if a previous range limit has
+ * been overwritten), and the outputs fire {@link ChartBits#DataSetDataAdded} if bars have been appended. The indicator
+ * is re-computed from the first bar if the final bars are no longer present, i.e. if the x values of the first or last
+ * final bar or the {@link Indicator#isConsistent(double[][], int) inputs} of the latter have changed (e.g. by
+ * {@link io.fair_acc.dataset.spi.financial.OhlcvDataSet#setData OhlcvDataSet#setData} or a rolling buffer dropping old
+ * bars).
+ * <p>
+ * N.B. the input columns are read via {@link DataSet#getValues(int)}, which is free of copies for
+ * {@link io.fair_acc.dataset.spi.financial.OhlcvColumns OhlcvColumns} backed OHLCV data sets or e.g.
+ * {@link io.fair_acc.dataset.spi.DoubleDataSet DoubleDataSet}s, other sources are copied once per update.
+ */
+public class DataSetIndicator {
+    private final Indicator indicator;
+    private final DataSet source;
+    private final int[] inputDimensions;
+    private final double[][] inputs;
+    private final double[][] outputValues;
+    private final boolean[] rangeCleared;
+    private final List<IndicatorDataSet> dataSets = new ArrayList<>();
+    private double firstX = Double.NaN; // x value of the first bar included in the indicator state
+    private double lastFinalX = Double.NaN; // x value of the last final bar
+    private final BitState inputDataSetBitState = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+
+    /**
+     * @param indicator indicator to be computed
+     * @param source source data set providing the indicator's input dimensions
+     */
+    public DataSetIndicator(final Indicator indicator, final DataSet source) {
+        this.indicator = AssertUtils.notNull("indicator", indicator);
+        this.source = AssertUtils.notNull("source", source);
+        inputDimensions = indicator.getInputDimensions();
+        for (final int dimension : inputDimensions) {
+            if (dimension < 0 || dimension >= source.getDimension()) {
+                throw new IllegalArgumentException("source '" + source.getName() + "' does not provide input dimension " + dimension);
+            }
+        }
+        inputs = new double[inputDimensions.length][];
+        outputValues = new double[indicator.getOutputCount()][];
+        rangeCleared = new boolean[indicator.getOutputCount()];
+        for (int output = 0; output < indicator.getOutputCount(); output++) {
+            dataSets.add(new IndicatorDataSet(indicator.getOutputName(output) + "(" + source.getName() + ")"));
+        }
+
+        registerListener();
+        ThreadEventProcessor.getUserInstance().addAction(inputDataSetBitState, this::update);
+    }
+
+    public final void deregisterListener() {
+        source.getBitState().removeInvalidateListener(inputDataSetBitState);
+    }
+
+    /**
+     * @return first output line
+     */
+    public IndicatorDataSet getDataSet() {
+        return dataSets.get(0);
+    }
+
+    /**
+     * @param output output index
+     * @return output line
+     */
+    public IndicatorDataSet getDataSet(final int output) {
+        return dataSets.get(output);
+    }
+
+    /**
+     * @return all output lines
+     */
+    public List<IndicatorDataSet> getDataSets() {
+        return Collections.unmodifiableList(dataSets);
+    }
+
+    /**
+     * @return computed indicator
+     */
+    public Indicator getIndicator() {
+        return indicator;
+    }
+
+    /**
+     * @return source data set
+     */
+    public DataSet getSource() {
+        return source;
+    }
+
+    public final void registerListener() {
+        source.getBitState().addInvalidateListener(inputDataSetBitState);
+    }
+
+    public final void triggerUpdate() {
+        inputDataSetBitState.setDirty(BitState.ALL_BITS);
+    }
+
+    /**
+     * Re-computes the non-final bars of the indicator and updates the output data sets.
+     */
+    public synchronized void update() {
+        final int oldCount = getDataSet().getDataCount();
+        final int newCount = source.lock().readLockGuard(() -> {
+            final int count = source.getDataCount();
+            for (int i = 0; i < inputDimensions.length; i++) {
+                inputs[i] = source.getValues(inputDimensions[i]);
+            }
+            dataSets.forEach(dataSet -> dataSet.lock().writeLock());
+            try {
+                if (!isConsistent(count)) {
+                    indicator.reset(); // replaced or shifted history
+                }
+                final int from = indicator.getFinalCount();
+                for (int output = 0; output < outputValues.length; output++) {
+                    final IndicatorDataSet dataSet = dataSets.get(output);
+                    dataSet.ensureCapacity(count);
+                    outputValues[output] = dataSet.getValues(DataSet.DIM_Y);
+                    rangeCleared[output] = count < oldCount || from == 0 || isRangeLimit(dataSet, from, oldCount);
+                    if (rangeCleared[output]) {
+                        dataSet.getAxisDescriptions().forEach(AxisDescription::clear);
+                    }
+                }
+                indicator.update(inputs, count, outputValues);
+                if (indicator.getFinalCount() > 0) {
+                    firstX = source.get(DataSet.DIM_X, 0);
+                    lastFinalX = source.get(DataSet.DIM_X, indicator.getFinalCount() - 1);
+                }
+                for (int output = 0; output < outputValues.length; output++) {
+                    final IndicatorDataSet dataSet = dataSets.get(output);
+                    final double[] xValues = dataSet.getValues(DataSet.DIM_X);
+                    for (int index = from; index < count; index++) {
+                        xValues[index] = source.get(DataSet.DIM_X, index);
+                    }
+                    final AxisDescription xRange = dataSet.getAxisDescription(DataSet.DIM_X);
+                    final AxisDescription yRange = dataSet.getAxisDescription(DataSet.DIM_Y);
+                    if (!rangeCleared[output] && xRange.isDefined() && yRange.isDefined()) {
+                        // extend the ranges by the tail, undefined ranges are re-computed on demand
+                        for (int index = from; index < count; index++) {
+                            xRange.add(xValues[index]);
+                            yRange.add(outputValues[output][index]);
+                        }
+                    }
+                    dataSet.setDataCount(count);
+                }
+            } finally {
+                dataSets.forEach(dataSet -> dataSet.lock().writeUnLock());
+            }
+            return count;
+        });
+        for (final IndicatorDataSet dataSet : dataSets) {
+            dataSet.fireInvalidated(newCount > oldCount ? ChartBits.DataSetDataAdded : ChartBits.DataSetData);
+        }
+    }
+
+    private boolean isConsistent(final int count) {
+        final int finalCount = indicator.getFinalCount();
+        return finalCount == 0 || indicator.isConsistent(inputs, count) //
+                && Double.compare(source.get(DataSet.DIM_X, 0), firstX) == 0
+                && Double.compare(source.get(DataSet.DIM_X, finalCount - 1), lastFinalX) == 0;
+    }
+
+    private static boolean isRangeLimit(final IndicatorDataSet dataSet, final int from, final int to) {
+        // an overwritten value that defined the range -> the range may shrink
+        final AxisDescription range = dataSet.getAxisDescription(DataSet.DIM_Y);
+        final double[] yValues = dataSet.getValues(DataSet.DIM_Y);
+        for (int index = from; index < to; index++) {
+            if (yValues[index] == range.getMin() || yValues[index] == range.getMax()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
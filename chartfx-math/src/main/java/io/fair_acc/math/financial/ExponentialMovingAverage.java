@@ -0,0 +1,63 @@
+package io.fair_acc.math.financial;
+
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Exponential moving average (EMA) with smoothing factor {@code 2 / (period + 1)}, seeded with the simple average of
+ * the first {@code period} bars ({@code NaN} before).
+ */
+public class ExponentialMovingAverage extends Indicator {
+    private final int period;
+    private final double alpha;
+    private double value; // warm-up sum or EMA of the last final bar
+
+    /**
+     * @param period number of bars, averaging the close prices
+     */
+    public ExponentialMovingAverage(final int period) {
+        this(OhlcvDataSet.DIM_Y_CLOSE, period);
+    }
+
+    /**
+     * @param inputDimension data set dimension to be averaged
+     * @param period number of bars
+     */
+    public ExponentialMovingAverage(final int inputDimension, final int period) {
+        super("EMA(" + period + ")", new int[] { inputDimension }, "EMA(" + period + ")");
+        AssertUtils.gtThanZero("period", period);
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    /**
+     * @return number of bars
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    protected void compute(final double[][] inputs, final int index, final double[][] outputs, final boolean commit) {
+        final double input = inputs[0][index];
+        final double newValue;
+        if (index < period - 1) {
+            newValue = value + input;
+            outputs[0][index] = Double.NaN;
+        } else if (index == period - 1) {
+            newValue = (value + input) / period;
+            outputs[0][index] = newValue;
+        } else {
+            newValue = value + alpha * (input - value);
+            outputs[0][index] = newValue;
+        }
+        if (commit) {
+            value = newValue;
+        }
+    }
+
+    @Override
+    protected void resetState() {
+        value = 0.0;
+    }
+}
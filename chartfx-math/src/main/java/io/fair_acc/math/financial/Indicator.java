@@ -0,0 +1,163 @@
+package io.fair_acc.math.financial;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Base of the incremental technical indicators: primitive kernels over columnar input arrays (e.g. the
+ * {@link io.fair_acc.dataset.spi.financial.OhlcvDataSet#getValues(int) OhlcvDataSet columns}) with O(1) state per bar.
+ * <p>
+ * The indicator keeps its running state (sums, averages, ...) up to the last <em>final</em> bar. All bars but the last
+ * are assumed to be final, the last bar may still be forming (e.g. updated by every tick), its output is re-computed
+ * from the final state on each {@link #update(double[][], int, double[][])}. Hence a full computation costs O(N) and
+ * an update after a tick or an appended bar O(1). If the number of input bars decreases or the inputs of the last final
+ * bar differ from those it has been computed with (i.e. the history has been replaced or shifted), the indicator restarts
+ * from the first bar.
+ * <p>
+ * N.B. inputs must be finite, indicator instances are not thread-safe (see {@link DataSetIndicator} for the data set
+ * binding).
+ */
+public abstract class Indicator {
+    private final String name;
+    private final int[] inputDimensions;
+    private final String[] outputNames;
+    private int finalCount; // number of bars included in the running state
+    private final double[] lastFinalInputs; // inputs of the bar at 'finalCount - 1'
+
+    /**
+     * @param name indicator name, e.g. 'SMA(24)'
+     * @param inputDimensions data set dimensions of the input arrays, in the order expected by the kernel
+     * @param outputNames names of the output lines
+     */
+    protected Indicator(final String name, final int[] inputDimensions, final String... outputNames) {
+        this.name = AssertUtils.notNull("name", name);
+        this.inputDimensions = AssertUtils.notNull("inputDimensions", inputDimensions).clone();
+        lastFinalInputs = new double[inputDimensions.length];
+        AssertUtils.nonEmptyArray("outputNames", outputNames);
+        this.outputNames = outputNames.clone();
+    }
+
+    /**
+     * Computes all bars.
+     *
+     * @param inputs input arrays, one per {@link #getInputDimensions() input dimension}
+     * @param count number of bars
+     * @param outputs output arrays (length &ge; count), one per {@link #getOutputCount() output}
+     */
+    public void compute(final double[][] inputs, final int count, final double[][] outputs) {
+        reset();
+        update(inputs, count, outputs);
+    }
+
+    /**
+     * @return number of bars whose output is final, i.e. will not be re-computed by the next update
+     */
+    public int getFinalCount() {
+        return finalCount;
+    }
+
+    /**
+     * @return data set dimensions of the input arrays, in the order expected by the kernel
+     */
+    public int[] getInputDimensions() {
+        return inputDimensions.clone();
+    }
+
+    /**
+     * @return indicator name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of output lines
+     */
+    public int getOutputCount() {
+        return outputNames.length;
+    }
+
+    /**
+     * @param output output index
+     * @return name of the output line
+     */
+    public String getOutputName(final int output) {
+        return outputNames[output];
+    }
+
+    /**
+     * @param inputs input arrays, one per {@link #getInputDimensions() input dimension}
+     * @param count number of bars
+     * @return true: the final bars are still present, i.e. the number of bars did not decrease and the inputs of the
+     *         last final bar are unchanged
+     */
+    public boolean isConsistent(final double[][] inputs, final int count) {
+        if (finalCount == 0) {
+            return true;
+        }
+        if (count < finalCount) {
+            return false;
+        }
+        for (int i = 0; i < lastFinalInputs.length; i++) {
+            if (Double.compare(inputs[i][finalCount - 1], lastFinalInputs[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clears the running state, the next update starts from the first bar.
+     */
+    public void reset() {
+        finalCount = 0;
+        resetState();
+    }
+
+    /**
+     * Computes the bars from {@link #getFinalCount()} to {@code count - 1}: all but the last bar become final.
+     *
+     * @param inputs input arrays, one per {@link #getInputDimensions() input dimension}
+     * @param count number of bars
+     * @param outputs output arrays (length &ge; count), one per {@link #getOutputCount() output}
+     * @return index of the first updated output bar
+     */
+    public int update(final double[][] inputs, final int count, final double[][] outputs) {
+        if (inputs.length != inputDimensions.length || outputs.length != outputNames.length) {
+            throw new IllegalArgumentException("expected " + inputDimensions.length + " input and " + outputNames.length + " output arrays");
+        }
+        if (!isConsistent(inputs, count)) {
+            reset(); // bars have been removed or replaced
+        }
+        final int from = finalCount;
+        for (int index = from; index < count; index++) {
+            compute(inputs, index, outputs, index < count - 1);
+        }
+        finalCount = Math.max(finalCount, count - 1);
+        if (finalCount > 0) {
+            for (int i = 0; i < lastFinalInputs.length; i++) {
+                lastFinalInputs[i] = inputs[i][finalCount - 1];
+            }
+        }
+        return from;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Computes the outputs of one bar from the running state (containing the bars up to {@code index - 1}).
+     *
+     * @param inputs input arrays
+     * @param index bar index
+     * @param outputs output arrays to be written at {@code index}
+     * @param commit true: the bar is final, include it into the running state
+     */
+    protected abstract void compute(double[][] inputs, int index, double[][] outputs, boolean commit);
+
+    /**
+     * Clears the running state.
+     */
+    protected abstract void resetState();
+}
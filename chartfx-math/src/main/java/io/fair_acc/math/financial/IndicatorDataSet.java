@@ -0,0 +1,55 @@
+package io.fair_acc.math.financial;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.AbstractDataSet;
+
+/**
+ * Read-only output line of a {@link DataSetIndicator}: x-values of the source data set and the indicator values,
+ * stored in primitive arrays that are only updated from the first non-final bar onwards.
+ */
+public class IndicatorDataSet extends AbstractDataSet<IndicatorDataSet> {
+    private double[] xValues = new double[0];
+    private double[] yValues = new double[0];
+    private int dataCount;
+
+    IndicatorDataSet(final String name) {
+        super(name, 2);
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? xValues[index] : yValues[index];
+    }
+
+    @Override
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    /**
+     * N.B. the arrays may be larger than {@link #getDataCount()}
+     */
+    @Override
+    public double[] getValues(final int dimIndex) {
+        return dimIndex == DIM_X ? xValues : yValues;
+    }
+
+    @Override
+    public DataSet set(final DataSet other, final boolean copy) {
+        throw new UnsupportedOperationException("indicator data sets are derived from their source");
+    }
+
+    void ensureCapacity(final int capacity) {
+        if (capacity > xValues.length) {
+            final int newCapacity = (int) Math.max(capacity, Math.min((long) xValues.length + (xValues.length >> 1), Integer.MAX_VALUE - 8));
+            xValues = Arrays.copyOf(xValues, newCapacity);
+            yValues = Arrays.copyOf(yValues, newCapacity);
+        }
+    }
+
+    void setDataCount(final int dataCount) {
+        this.dataCount = dataCount;
+    }
+}
@@ -0,0 +1,76 @@
+package io.fair_acc.math.financial;
+
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Relative strength index (RSI, 0..100) with Wilder's smoothing of the average gains and losses, seeded with their
+ * simple averages over the first {@code period} changes ({@code NaN} before). A window without any change yields 50.
+ */
+public class RelativeStrengthIndex extends Indicator {
+    private final int period;
+    private double gain; // warm-up sums or smoothed averages of the last final bar
+    private double loss;
+
+    /**
+     * @param period number of bars, using close prices
+     */
+    public RelativeStrengthIndex(final int period) {
+        this(OhlcvDataSet.DIM_Y_CLOSE, period);
+    }
+
+    /**
+     * @param inputDimension data set dimension of the input
+     * @param period number of bars
+     */
+    public RelativeStrengthIndex(final int inputDimension, final int period) {
+        super("RSI(" + period + ")", new int[] { inputDimension }, "RSI(" + period + ")");
+        AssertUtils.gtThanZero("period", period);
+        this.period = period;
+    }
+
+    /**
+     * @return number of bars
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    protected void compute(final double[][] inputs, final int index, final double[][] outputs, final boolean commit) {
+        if (index == 0) {
+            outputs[0][index] = Double.NaN;
+            return;
+        }
+        final double change = inputs[0][index] - inputs[0][index - 1];
+        final double currentGain = Math.max(change, 0.0);
+        final double currentLoss = Math.max(-change, 0.0);
+        final double newGain;
+        final double newLoss;
+        if (index < period) {
+            newGain = gain + currentGain;
+            newLoss = loss + currentLoss;
+            outputs[0][index] = Double.NaN;
+        } else {
+            if (index == period) {
+                newGain = (gain + currentGain) / period;
+                newLoss = (loss + currentLoss) / period;
+            } else {
+                newGain = (gain * (period - 1) + currentGain) / period;
+                newLoss = (loss * (period - 1) + currentLoss) / period;
+            }
+            final double total = newGain + newLoss;
+            outputs[0][index] = total > 0.0 ? 100.0 * newGain / total : 50.0;
+        }
+        if (commit) {
+            gain = newGain;
+            loss = newLoss;
+        }
+    }
+
+    @Override
+    protected void resetState() {
+        gain = 0.0;
+        loss = 0.0;
+    }
+}
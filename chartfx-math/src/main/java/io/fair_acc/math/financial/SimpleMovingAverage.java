@@ -0,0 +1,54 @@
+package io.fair_acc.math.financial;
+
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Simple moving average (SMA) over a running window sum, {@code NaN} for the first {@code period - 1} bars.
+ */
+public class SimpleMovingAverage extends Indicator {
+    private final int period;
+    private double sum; // sum of the window ending at the last final bar
+
+    /**
+     * @param period number of bars, averaging the close prices
+     */
+    public SimpleMovingAverage(final int period) {
+        this(OhlcvDataSet.DIM_Y_CLOSE, period);
+    }
+
+    /**
+     * @param inputDimension data set dimension to be averaged
+     * @param period number of bars
+     */
+    public SimpleMovingAverage(final int inputDimension, final int period) {
+        super("SMA(" + period + ")", new int[] { inputDimension }, "SMA(" + period + ")");
+        AssertUtils.gtThanZero("period", period);
+        this.period = period;
+    }
+
+    /**
+     * @return number of bars
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    protected void compute(final double[][] inputs, final int index, final double[][] outputs, final boolean commit) {
+        final double[] input = inputs[0];
+        double windowSum = sum + input[index];
+        if (index >= period) {
+            windowSum -= input[index - period];
+        }
+        outputs[0][index] = index >= period - 1 ? windowSum / period : Double.NaN;
+        if (commit) {
+            sum = windowSum;
+        }
+    }
+
+    @Override
+    protected void resetState() {
+        sum = 0.0;
+    }
+}
@@ -0,0 +1,62 @@
+package io.fair_acc.math.financial;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Volume weighted average price (VWAP) of the typical price {@code (high + low + close) / 3}, either accumulated from
+ * the first bar or reset at the start of each session. Bars without (accumulated) volume yield the typical price.
+ */
+public class VolumeWeightedAveragePrice extends Indicator {
+    private final double sessionLength;
+    private double priceVolume; // accumulated values up to the last final bar
+    private double volume;
+    private double session;
+
+    /**
+     * VWAP accumulated from the first bar.
+     */
+    public VolumeWeightedAveragePrice() {
+        super("VWAP", new int[] { OhlcvDataSet.DIM_Y_HIGH, OhlcvDataSet.DIM_Y_LOW, OhlcvDataSet.DIM_Y_CLOSE, OhlcvDataSet.DIM_Y_VOLUME }, "VWAP");
+        sessionLength = 0.0;
+    }
+
+    /**
+     * VWAP reset at multiples of the session length, N.B. requires time x-values (not category based).
+     *
+     * @param sessionLength session length in units of the x-axis (i.e. seconds for {@link OhlcvDataSet}), e.g. 86400
+     *        for UTC days
+     */
+    public VolumeWeightedAveragePrice(final double sessionLength) {
+        super("VWAP(" + sessionLength + ")", new int[] { OhlcvDataSet.DIM_Y_HIGH, OhlcvDataSet.DIM_Y_LOW, OhlcvDataSet.DIM_Y_CLOSE, OhlcvDataSet.DIM_Y_VOLUME, DataSet.DIM_X }, "VWAP");
+        AssertUtils.gtThanZero("sessionLength", sessionLength);
+        this.sessionLength = sessionLength;
+    }
+
+    @Override
+    protected void compute(final double[][] inputs, final int index, final double[][] outputs, final boolean commit) {
+        final double typicalPrice = (inputs[0][index] + inputs[1][index] + inputs[2][index]) / 3.0;
+        final double barVolume = inputs[3][index];
+        final double barSession = sessionLength > 0.0 ? Math.floor(inputs[4][index] / sessionLength) : 0.0;
+        double newPriceVolume = typicalPrice * barVolume;
+        double newVolume = barVolume;
+        if (index > 0 && barSession == session) {
+            newPriceVolume += priceVolume;
+            newVolume += volume;
+        }
+        outputs[0][index] = newVolume > 0.0 ? newPriceVolume / newVolume : typicalPrice;
+        if (commit) {
+            priceVolume = newPriceVolume;
+            volume = newVolume;
+            session = barSession;
+        }
+    }
+
+    @Override
+    protected void resetState() {
+        priceVolume = 0.0;
+        volume = 0.0;
+        session = 0.0;
+    }
+}
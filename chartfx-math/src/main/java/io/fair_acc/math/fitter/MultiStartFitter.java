@@ -0,0 +1,271 @@
+package io.fair_acc.math.fitter;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.functions.Function1D;
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Multi-start Nelder-Mead simplex fit: runs independent {@link NonLinearRegressionFitter#simplex(Function1D, double[])}
+ * minimisations from several initial parameter estimates in parallel on the {@link ConcurrencyUtils} thread-pool and
+ * returns the best (lowest sum of squares) solution together with the convergence statistics of every start. This
+ * mitigates the dependence of the simplex on the initial estimate for functions with multiple local minima.
+ * <p>
+ * Since the fitter and function carry the state of a fit (parameter values, simplex, residual buffers), every start
+ * obtains its own instances from the supplied factories, e.g.
+ *
+ * <pre>
+ * final MultiStartFitter fitter = new MultiStartFitter(() -&gt; {
+ *     final NonLinearRegressionFitter nlr = new NonLinearRegressionFitter(xData, yData, weights);
+ *     nlr.setJacobian(jacobian); // optional analytic derivatives
+ *     return nlr;
+ * }, () -&gt; new MyFunction("model"));
+ * final MultiStartFitter.Result result = fitter.fit(MultiStartFitter.uniformStarts(lower, upper, 16, 42));
+ * final double[] best = result.getBestEstimates();
+ * </pre>
+ */
+public class MultiStartFitter {
+    private final Supplier<? extends NonLinearRegressionFitter> fitterFactory;
+    private final Supplier<? extends Function1D> functionFactory;
+
+    /**
+     * @param fitterFactory creates a new (configured) fitter for each start, typically sharing the same data arrays
+     * @param functionFactory creates a new instance of the model function for each start
+     */
+    public MultiStartFitter(final Supplier<? extends NonLinearRegressionFitter> fitterFactory, final Supplier<? extends Function1D> functionFactory) {
+        AssertUtils.notNull("fitterFactory", fitterFactory);
+        AssertUtils.notNull("functionFactory", functionFactory);
+        this.fitterFactory = fitterFactory;
+        this.functionFactory = functionFactory;
+    }
+
+    /**
+     * Performs a simplex fit for each of the initial estimates. The starts are distributed over at most
+     * {@link ConcurrencyUtils#getNumberOfThreads()} workers, one of which is the calling thread.
+     *
+     * @param starts initial parameter estimates, {@code starts[start][parameter]} (not modified)
+     * @return best fit and per-start statistics
+     */
+    public Result fit(final double[]... starts) {
+        AssertUtils.notNull("starts", starts);
+        AssertUtils.gtThanZero("starts.length", starts.length);
+        final int nStarts = starts.length;
+        final StartStatistics[] statistics = new StartStatistics[nStarts];
+        final NonLinearRegressionFitter[] fitters = new NonLinearRegressionFitter[nStarts];
+        ConcurrencyUtils.forEachIndex(nStarts, index -> {
+            final long startTime = System.nanoTime();
+            try {
+                fitters[index] = fitterFactory.get();
+            } catch (final RuntimeException e) { // NOPMD - failure is reported per start
+                statistics[index] = failed(index, starts[index], startTime, e);
+                return;
+            }
+            statistics[index] = fitSingle(index, fitters[index], starts[index]);
+        });
+
+        int bestIndex = -1;
+        for (int index = 0; index < nStarts; index++) {
+            final StartStatistics stats = statistics[index];
+            if (stats.getFailure() == null && Double.isFinite(stats.getMinimum())
+                    && (bestIndex < 0 || stats.getMinimum() < statistics[bestIndex].getMinimum())) {
+                bestIndex = index;
+            }
+        }
+        return new Result(bestIndex, bestIndex < 0 ? null : fitters[bestIndex], statistics);
+    }
+
+    protected StartStatistics fitSingle(final int index, final NonLinearRegressionFitter fitter, final double[] start) {
+        final long startTime = System.nanoTime();
+        try {
+            fitter.simplex(functionFactory.get(), start.clone());
+            return new StartStatistics(index, start, fitter.getBestEstimates(), fitter.fMin, fitter.getSumOfSquares(), fitter.getNiter(), fitter.getNrestarts(), fitter.getNlrStatus(), System.nanoTime() - startTime, null);
+        } catch (final RuntimeException e) { // NOPMD - failure is reported per start
+            return failed(index, start, startTime, e);
+        }
+    }
+
+    private static StartStatistics failed(final int index, final double[] start, final long startTime, final RuntimeException e) {
+        return new StartStatistics(index, start, null, Double.NaN, Double.NaN, 0, 0, false, System.nanoTime() - startTime, e);
+    }
+
+    /**
+     * @param lower lower bounds of the parameters
+     * @param upper upper bounds of the parameters
+     * @param nStarts number of initial estimates
+     * @param seed random generator seed
+     * @return initial estimates uniformly distributed within [lower, upper]
+     */
+    public static double[][] uniformStarts(final double[] lower, final double[] upper, final int nStarts, final long seed) {
+        AssertUtils.notNull("lower", lower);
+        AssertUtils.notNull("upper", upper);
+        AssertUtils.equalDoubleArrays(lower, upper);
+        AssertUtils.gtThanZero("nStarts", nStarts);
+        final Random random = new Random(seed);
+        final double[][] starts = new double[nStarts][lower.length];
+        for (int start = 0; start < nStarts; start++) {
+            for (int i = 0; i < lower.length; i++) {
+                starts[start][i] = lower[i] + random.nextDouble() * (upper[i] - lower[i]);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * outcome of a multi-start fit
+     */
+    public static class Result {
+        private final int bestIndex;
+        private final NonLinearRegressionFitter bestFitter;
+        private final StartStatistics[] statistics;
+
+        protected Result(final int bestIndex, final NonLinearRegressionFitter bestFitter, final StartStatistics[] statistics) {
+            this.bestIndex = bestIndex;
+            this.bestFitter = bestFitter;
+            this.statistics = statistics;
+        }
+
+        /**
+         * @return parameter estimates of the best start, {@code null} if all starts failed
+         */
+        public double[] getBestEstimates() {
+            return bestIndex < 0 ? null : statistics[bestIndex].getEstimates();
+        }
+
+        /**
+         * @return fitter of the best start providing the full set of post-fit statistics (errors, covariance,
+         *         residuals, ...), {@code null} if all starts failed
+         */
+        public NonLinearRegressionFitter getBestFitter() {
+            return bestFitter;
+        }
+
+        /**
+         * @return index of the best start, -1 if all starts failed
+         */
+        public int getBestIndex() {
+            return bestIndex;
+        }
+
+        /**
+         * @return number of starts that met the convergence criterion
+         */
+        public int getNumberConverged() {
+            int count = 0;
+            for (final StartStatistics stats : statistics) {
+                if (stats.isConverged()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @return convergence statistics of all starts, in order of the initial estimates
+         */
+        public StartStatistics[] getStatistics() {
+            return statistics.clone();
+        }
+    }
+
+    /**
+     * convergence statistics of a single start
+     */
+    public static class StartStatistics {
+        private final int index;
+        private final double[] start;
+        private final double[] estimates;
+        private final double minimum;
+        private final double sumOfSquares;
+        private final int nIterations;
+        private final int nRestarts;
+        private final boolean converged;
+        private final long durationNanos;
+        private final RuntimeException failure;
+
+        protected StartStatistics(final int index, final double[] start, final double[] estimates, final double minimum, final double sumOfSquares, // NOPMD
+                final int nIterations, final int nRestarts, final boolean converged, final long durationNanos, final RuntimeException failure) {
+            this.index = index;
+            this.start = start.clone();
+            this.estimates = estimates;
+            this.minimum = minimum;
+            this.sumOfSquares = sumOfSquares;
+            this.nIterations = nIterations;
+            this.nRestarts = nRestarts;
+            this.converged = converged;
+            this.durationNanos = durationNanos;
+            this.failure = failure;
+        }
+
+        /**
+         * @return wall-clock duration of the fit in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return best parameter estimates of this start, {@code null} if the fit failed
+         */
+        public double[] getEstimates() {
+            return estimates == null ? null : estimates.clone();
+        }
+
+        /**
+         * @return exception thrown by the fit, {@code null} if none
+         */
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return index of the start
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return minimum of the (weighted) objective function found by the simplex
+         */
+        public double getMinimum() {
+            return minimum;
+        }
+
+        /**
+         * @return number of simplex iterations
+         */
+        public int getNumberOfIterations() {
+            return nIterations;
+        }
+
+        /**
+         * @return number of simplex restarts
+         */
+        public int getNumberOfRestarts() {
+            return nRestarts;
+        }
+
+        /**
+         * @return initial parameter estimate
+         */
+        public double[] getStart() {
+            return start.clone();
+        }
+
+        /**
+         * @return unweighted sum of squares of the residuals at the best estimates
+         */
+        public double getSumOfSquares() {
+            return sumOfSquares;
+        }
+
+        /**
+         * @return true if the simplex met the convergence criterion within the maximum number of iterations
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+    }
+}
@@ -154,6 +154,11 @@ public class NonLinearRegressionFitter {
     protected boolean nFactorOption = false; // = true variance, covariance and standard deviation denominator = n
     // = false variance, covariance and standard deviation denominator = n-1
 
+    protected ParameterJacobian jacobian = null; // optional analytic parameter derivatives of a Function1D
+
+    private double[] sumSquaresParam = new double[0]; // pre-allocated work buffers of sumSquares(...)
+    private double[] sumSquaresX = new double[0];
+
     /**
      * Constructor with data with x as 1D array and no weights provided
      *
@@ -1210,6 +1215,14 @@ public class NonLinearRegressionFitter {
         return invertFlag;
     }
 
+    /**
+     * @return analytic parameter derivatives used for the post-fit statistics, {@code null} if numerical
+     *         differentiation is used
+     */
+    public ParameterJacobian getJacobian() {
+        return jacobian;
+    }
+
     /**
      * Get the non-linear regression convergence test option
      *
@@ -2003,18 +2016,16 @@ public class NonLinearRegressionFitter {
      * @return pseudo linear statistics
      */
     protected int pseudoLinearStats(final Object regFun) {
-        double f1, f2, f3, f4; // intermediate values in numerical differentiation
         int flag = 0; // returned as 0 if method fully successful;
         // negative if partially successful or unsuccessful: check posVarFlag and invertFlag
         // -1 posVarFlag or invertFlag is false;
         // -2 posVarFlag and invertFlag are false
         final int np = nTerms;
 
-        final double[] f = new double[np];
         double[] pmin;
         final double[] coeffSd = new double[np];
         final double[] xd = new double[nXarrays];
-        double[][] stat = new double[np][np];
+        double[][] stat;
         pseudoSd = new double[np];
 
         grad = new double[np][2];
@@ -2024,95 +2035,13 @@ public class NonLinearRegressionFitter {
         // get best estimates
         pmin = best.clone();
 
-        // gradient both sides of the minimum
         double hold0;
         double hold1;
-        for (int i = 0; i < np; ++i) {
-            System.arraycopy(pmin, 0, f, 0, np);
-            hold0 = pmin[i];
-            if (hold0 == 0.0D) {
-                hold0 = step[i];
-                zeroCheck = true;
-            }
-            f[i] = hold0 * (1.0D - delta);
-            lastSSnoConstraint = sumOfSquares;
-            f1 = sumSquares(regFun, f);
-            f[i] = hold0 * (1.0 + delta);
-            lastSSnoConstraint = sumOfSquares;
-            f2 = sumSquares(regFun, f);
-            grad[i][0] = (fMin - f1) / Math.abs(delta * hold0);
-            grad[i][1] = (f2 - fMin) / Math.abs(delta * hold0);
-        }
-
-        // second patial derivatives at the minimum
-        lastSSnoConstraint = sumOfSquares;
-        for (int i = 0; i < np; ++i) {
-            for (int j = 0; j < np; ++j) {
-                System.arraycopy(pmin, 0, f, 0, np);
-                hold0 = f[i];
-                if (hold0 == 0.0D) {
-                    hold0 = step[i];
-                    zeroCheck = true;
-                }
-                f[i] = hold0 * (1.0 + delta / 2.0D);
-                hold0 = f[j];
-                if (hold0 == 0.0D) {
-                    hold0 = step[j];
-                    zeroCheck = true;
-                }
-                f[j] = hold0 * (1.0 + delta / 2.0D);
-                lastSSnoConstraint = sumOfSquares;
-                f1 = sumSquares(regFun, f);
-                f[i] = pmin[i];
-                f[j] = pmin[j];
-                hold0 = f[i];
-                if (hold0 == 0.0D) {
-                    hold0 = step[i];
-                    zeroCheck = true;
-                }
-                f[i] = hold0 * (1.0 - delta / 2.0D);
-                hold0 = f[j];
-                if (hold0 == 0.0D) {
-                    hold0 = step[j];
-                    zeroCheck = true;
-                }
-                f[j] = hold0 * (1.0 + delta / 2.0D);
-                lastSSnoConstraint = sumOfSquares;
-                f2 = sumSquares(regFun, f);
-                f[i] = pmin[i];
-                f[j] = pmin[j];
-                hold0 = f[i];
-                if (hold0 == 0.0D) {
-                    hold0 = step[i];
-                    zeroCheck = true;
-                }
-                f[i] = hold0 * (1.0 + delta / 2.0D);
-                hold0 = f[j];
-                if (hold0 == 0.0D) {
-                    hold0 = step[j];
-                    zeroCheck = true;
-                }
-                f[j] = hold0 * (1.0 - delta / 2.0D);
-                lastSSnoConstraint = sumOfSquares;
-                f3 = sumSquares(regFun, f);
-                f[i] = pmin[i];
-                f[j] = pmin[j];
-                hold0 = f[i];
-                if (hold0 == 0.0D) {
-                    hold0 = step[i];
-                    zeroCheck = true;
-                }
-                f[i] = hold0 * (1.0 - delta / 2.0D);
-                hold0 = f[j];
-                if (hold0 == 0.0D) {
-                    hold0 = step[j];
-                    zeroCheck = true;
-                }
-                f[j] = hold0 * (1.0 - delta / 2.0D);
-                lastSSnoConstraint = sumOfSquares;
-                f4 = sumSquares(regFun, f);
-                stat[i][j] = (f1 - f2 - f3 + f4) / (delta * delta);
-            }
+        // gradients both sides of the minimum and second partial derivatives at the minimum
+        if (jacobian != null && !multipleY && regFun instanceof Function1D) {
+            stat = gaussNewtonStats(pmin);
+        } else {
+            stat = numericalStats(regFun, pmin);
         }
 
         // TODO: check fitter on/off implementation
@@ -2342,6 +2271,17 @@ public class NonLinearRegressionFitter {
         this.delta = delta;
     }
 
+    /**
+     * Set the analytic derivatives of the fitted {@link Function1D} with respect to its parameters. If set, the
+     * gradients, Hessian and covariance matrix following a simplex fit are computed by Gauss-Newton approximation in a
+     * single pass over the data rather than by numerical differencing (ignored for multi-dimensional functions).
+     *
+     * @param jacobian analytic parameter derivatives ({@code null}: use numerical differentiation)
+     */
+    public void setJacobian(final ParameterJacobian jacobian) {
+        this.jacobian = jacobian;
+    }
+
     /**
      * Reset the non-linear regression convergence test option
      *
@@ -2827,6 +2767,159 @@ public class NonLinearRegressionFitter {
         nelderMead(g, start, stepp, fToll, nMax);
     }
 
+    /**
+     * Estimates the one-sided gradients (stored in {@link #grad}) and the scaled Hessian of the sum of squares at the
+     * minimum by Gauss-Newton approximation from the analytic {@link ParameterJacobian}, i.e. H_ij = 2 * sum_k
+     * (df/dp_i * df/dp_j)_k / w_k^2, using a single pass over the data instead of the 2 * np + 4 * np^2 evaluations
+     * of the sum of squares required by {@link #numericalStats(Object, double[])}.
+     *
+     * @param pmin best parameter estimates
+     * @return Hessian scaled by the parameter values (step sizes for zero-valued parameters)
+     */
+    protected double[][] gaussNewtonStats(final double[] pmin) {
+        final int np = nTerms;
+        final double[][] stat = new double[np][np];
+        final double[] derivatives = new double[np];
+        for (int k = 0; k < nData; k++) {
+            jacobian.getDerivatives(xData[0][k], pmin, derivatives);
+            final double w2 = 2.0D / (weight[k] * weight[k]);
+            for (int i = 0; i < np; ++i) {
+                final double di = derivatives[i] * w2;
+                for (int j = 0; j <= i; ++j) {
+                    stat[i][j] += di * derivatives[j];
+                }
+            }
+        }
+
+        final double[] hold = new double[np];
+        for (int i = 0; i < np; ++i) {
+            hold[i] = pmin[i];
+            if (hold[i] == 0.0D) {
+                hold[i] = step[i];
+                zeroCheck = true;
+            }
+        }
+        for (int i = 0; i < np; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                stat[i][j] *= hold[i] * hold[j];
+                stat[j][i] = stat[i][j];
+            }
+            // the gradient vanishes at the minimum, its change across the minimum is given by the curvature
+            final double dGrad = 0.5D * stat[i][i] * Math.abs(delta / hold[i]);
+            grad[i][0] = -dGrad;
+            grad[i][1] = dGrad;
+        }
+        return stat;
+    }
+
+    /**
+     * Estimates the one-sided gradients (stored in {@link #grad}) and the scaled Hessian of the sum of squares at the
+     * minimum by numerical differentiation
+     *
+     * @param regFun test function
+     * @param pmin best parameter estimates
+     * @return Hessian scaled by the parameter values (step sizes for zero-valued parameters)
+     */
+    protected double[][] numericalStats(final Object regFun, final double[] pmin) {
+        double f1, f2, f3, f4; // intermediate values in numerical differentiation
+        final int np = nTerms;
+        final double[] f = new double[np];
+        final double[][] stat = new double[np][np];
+
+        // gradient both sides of the minimum
+        double hold0;
+        for (int i = 0; i < np; ++i) {
+
+            System.arraycopy(pmin, 0, f, 0, np);
+            hold0 = pmin[i];
+            if (hold0 == 0.0D) {
+                hold0 = step[i];
+                zeroCheck = true;
+            }
+            f[i] = hold0 * (1.0D - delta);
+            lastSSnoConstraint = sumOfSquares;
+            f1 = sumSquares(regFun, f);
+            f[i] = hold0 * (1.0 + delta);
+            lastSSnoConstraint = sumOfSquares;
+            f2 = sumSquares(regFun, f);
+            grad[i][0] = (fMin - f1) / Math.abs(delta * hold0);
+            grad[i][1] = (f2 - fMin) / Math.abs(delta * hold0);
+        }
+
+        // second patial derivatives at the minimum
+        lastSSnoConstraint = sumOfSquares;
+        for (int i = 0; i < np; ++i) {
+            for (int j = 0; j < np; ++j) {
+                System.arraycopy(pmin, 0, f, 0, np);
+                hold0 = f[i];
+                if (hold0 == 0.0D) {
+                    hold0 = step[i];
+                    zeroCheck = true;
+                }
+                f[i] = hold0 * (1.0 + delta / 2.0D);
+                hold0 = f[j];
+                if (hold0 == 0.0D) {
+                    hold0 = step[j];
+                    zeroCheck = true;
+                }
+                f[j] = hold0 * (1.0 + delta / 2.0D);
+                lastSSnoConstraint = sumOfSquares;
+                f1 = sumSquares(regFun, f);
+                f[i] = pmin[i];
+                f[j] = pmin[j];
+                hold0 = f[i];
+                if (hold0 == 0.0D) {
+                    hold0 = step[i];
+                    zeroCheck = true;
+                }
+                f[i] = hold0 * (1.0 - delta / 2.0D);
+                hold0 = f[j];
+                if (hold0 == 0.0D) {
+                    hold0 = step[j];
+                    zeroCheck = true;
+                }
+                f[j] = hold0 * (1.0 + delta / 2.0D);
+                lastSSnoConstraint = sumOfSquares;
+                f2 = sumSquares(regFun, f);
+                f[i] = pmin[i];
+                f[j] = pmin[j];
+                hold0 = f[i];
+                if (hold0 == 0.0D) {
+                    hold0 = step[i];
+                    zeroCheck = true;
+                }
+                f[i] = hold0 * (1.0 + delta / 2.0D);
+                hold0 = f[j];
+                if (hold0 == 0.0D) {
+                    hold0 = step[j];
+                    zeroCheck = true;
+                }
+                f[j] = hold0 * (1.0 - delta / 2.0D);
+                lastSSnoConstraint = sumOfSquares;
+                f3 = sumSquares(regFun, f);
+                f[i] = pmin[i];
+                f[j] = pmin[j];
+                hold0 = f[i];
+                if (hold0 == 0.0D) {
+                    hold0 = step[i];
+                    zeroCheck = true;
+                }
+                f[i] = hold0 * (1.0 - delta / 2.0D);
+                hold0 = f[j];
+                if (hold0 == 0.0D) {
+                    hold0 = step[j];
+                    zeroCheck = true;
+                }
+                f[j] = hold0 * (1.0 - delta / 2.0D);
+                lastSSnoConstraint = sumOfSquares;
+                f4 = sumSquares(regFun, f);
+                stat[i][j] = (f1 - f2 - f3 + f4) / (delta * delta);
+            }
+        }
+
+        return stat;
+    }
+
     /**
      * Calculate the sum of squares of the residuals for non-linear regression
      *
@@ -2836,8 +2929,14 @@ public class NonLinearRegressionFitter {
      */
     protected double sumSquares(final Object regFun, final double[] testParameter) {
         double ss = -3.0D;
-        final double[] param = new double[nTerms];
-        final double[] xd = new double[nXarrays];
+        if (sumSquaresParam.length < nTerms) {
+            sumSquaresParam = new double[nTerms];
+        }
+        if (sumSquaresX.length < nXarrays) {
+            sumSquaresX = new double[nXarrays];
+        }
+        final double[] param = sumSquaresParam;
+        final double[] xd = sumSquaresX;
         // rescale
         for (int i = 0; i < nTerms; i++) {
             param[i] = testParameter[i] / fscale[i];
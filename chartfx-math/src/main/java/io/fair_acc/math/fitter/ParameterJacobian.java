@@ -0,0 +1,16 @@
+package io.fair_acc.math.fitter;
+
+/**
+ * analytic derivatives of a one-dimensional model function f(x; p) with respect to its parameters p, used by
+ * {@link NonLinearRegressionFitter#setJacobian(ParameterJacobian)} in place of numerical differentiation
+ */
+@FunctionalInterface
+public interface ParameterJacobian {
+    /**
+     * @param x coordinate at which the derivatives are to be evaluated
+     * @param parameters parameter values p
+     * @param derivatives output: df/dp_i at x for each parameter i (N.B. same length as parameters, re-used between
+     *        calls)
+     */
+    void getDerivatives(double x, double[] parameters, double[] derivatives);
+}
@@ -12,6 +12,7 @@ package io.fair_acc.math.matrix;
 
 public class CholeskyDecomposition implements java.io.Serializable {
     private static final long serialVersionUID = -1680464214168784585L;
+    private static final int BLOCK_SIZE = 64;
     /*
      * ------------------------ Class variables ------------------------
      */
@@ -52,26 +53,75 @@ public class CholeskyDecomposition implements java.io.Serializable {
         n = Arg.getRowDimension();
         L = new double[n][n];
         isspd = (Arg.getColumnDimension() == n);
-        // Main loop.
+        if (!isspd) {
+            // N.B. partial decomposition is not defined for non-square matrices
+            return;
+        }
+
+        // symmetry check and copy of the lower triangle (factorised in place)
         for (int j = 0; j < n; j++) {
-            double[] Lrowj = L[j];
-            double d = 0.0;
             for (int k = 0; k < j; k++) {
-                double[] Lrowk = L[k];
-                double s = 0.0;
-                for (int i = 0; i < k; i++) {
-                    s += Lrowk[i] * Lrowj[i];
-                }
-                Lrowj[k] = s = (A[j][k] - s) / L[k][k];
-                d = d + s * s;
                 isspd = isspd & (A[k][j] == A[j][k]);
             }
-            d = A[j][j] - d;
-            isspd = isspd & (d > 0.0);
-            L[j][j] = Math.sqrt(Math.max(d, 0.0));
-            for (int k = j + 1; k < n; k++) {
-                L[j][k] = 0.0;
+            System.arraycopy(A[j], 0, L[j], 0, j + 1);
+        }
+
+        // Main loop: blocked, "right-looking" algorithm operating on row-wise dot products.
+        for (int kb = 0; kb < n; kb += BLOCK_SIZE) {
+            final int k0 = kb;
+            final int k1 = Math.min(k0 + BLOCK_SIZE, n);
+
+            // factor diagonal block (trailing updates of previous blocks have already been applied)
+            for (int j = k0; j < k1; j++) {
+                double[] Lrowj = L[j];
+                double d = 0.0;
+                for (int k = k0; k < j; k++) {
+                    double[] Lrowk = L[k];
+                    double s = 0.0;
+                    for (int i = k0; i < k; i++) {
+                        s += Lrowk[i] * Lrowj[i];
+                    }
+                    Lrowj[k] = s = (Lrowj[k] - s) / Lrowk[k];
+                    d = d + s * s;
+                }
+                d = Lrowj[j] - d;
+                isspd = isspd & (d > 0.0);
+                Lrowj[j] = Math.sqrt(Math.max(d, 0.0));
             }
+
+            if (k1 >= n) {
+                break;
+            }
+
+            // solve panel below diagonal block: L[k1:n, k0:k1] = A[k1:n, k0:k1] * L[k0:k1, k0:k1]^-T
+            MatrixKernels.parallelFor(k1, n, (long) (k1 - k0) * (k1 - k0), (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    final double[] Lrowi = L[i];
+                    for (int k = k0; k < k1; k++) {
+                        final double[] Lrowk = L[k];
+                        double s = 0.0;
+                        for (int q = k0; q < k; q++) {
+                            s += Lrowk[q] * Lrowi[q];
+                        }
+                        Lrowi[k] = (Lrowi[k] - s) / Lrowk[k];
+                    }
+                }
+            });
+
+            // update trailing lower triangle: A[k1:n, k1:n] -= L[k1:n, k0:k1] * L[k1:n, k0:k1]^T
+            MatrixKernels.parallelFor(k1, n, (long) (n - k1) * (k1 - k0) / 2, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    final double[] Lrowi = L[i];
+                    for (int j = k1; j <= i; j++) {
+                        final double[] Lrowj = L[j];
+                        double s = 0.0;
+                        for (int q = k0; q < k1; q++) {
+                            s += Lrowi[q] * Lrowj[q];
+                        }
+                        Lrowi[j] -= s;
+                    }
+                }
+            });
         }
     }
 
@@ -155,25 +205,41 @@ public class CholeskyDecomposition implements java.io.Serializable {
         double[][] X = B.getArrayCopy();
         int nx = B.getColumnDimension();
 
-        // Solve L*Y = B;
-        for (int k = 0; k < n; k++) {
-            for (int j = 0; j < nx; j++) {
+        // the right hand side columns are independent -> distribute them over threads
+        final double[][] l = L;
+        final int dim = n;
+        MatrixKernels.parallelFor(0, nx, (long) dim * dim, (jFrom, jTo) -> {
+            // Solve L*Y = B;
+            for (int k = 0; k < dim; k++) {
+                final double[] Xrowk = X[k];
+                final double[] Lrowk = l[k];
                 for (int i = 0; i < k; i++) {
-                    X[k][j] -= X[i][j] * L[k][i];
+                    final double[] Xrowi = X[i];
+                    final double f = Lrowk[i];
+                    for (int j = jFrom; j < jTo; j++) {
+                        Xrowk[j] -= Xrowi[j] * f;
+                    }
+                }
+                for (int j = jFrom; j < jTo; j++) {
+                    Xrowk[j] /= Lrowk[k];
                 }
-                X[k][j] /= L[k][k];
             }
-        }
 
-        // Solve L'*X = Y;
-        for (int k = n - 1; k >= 0; k--) {
-            for (int j = 0; j < nx; j++) {
-                for (int i = k + 1; i < n; i++) {
-                    X[k][j] -= X[i][j] * L[i][k];
+            // Solve L'*X = Y;
+            for (int k = dim - 1; k >= 0; k--) {
+                final double[] Xrowk = X[k];
+                for (int i = k + 1; i < dim; i++) {
+                    final double[] Xrowi = X[i];
+                    final double f = l[i][k];
+                    for (int j = jFrom; j < jTo; j++) {
+                        Xrowk[j] -= Xrowi[j] * f;
+                    }
+                }
+                for (int j = jFrom; j < jTo; j++) {
+                    Xrowk[j] /= l[k][k];
                 }
-                X[k][j] /= L[k][k];
             }
-        }
+        });
 
         return new MatrixD(X, n, nx);
     }
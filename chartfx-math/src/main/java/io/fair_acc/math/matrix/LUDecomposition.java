@@ -18,6 +18,7 @@ public class LUDecomposition implements java.io.Serializable {
      */
 
     private static final long serialVersionUID = -170566359275556527L;
+    private static final int BLOCK_SIZE = 64;
 
     /**
      * Array for internal storage of decomposition.
@@ -53,7 +54,9 @@ public class LUDecomposition implements java.io.Serializable {
      */
 
     public LUDecomposition(MatrixD A) {
-        // Use a "left-looking", dot-product, Crout/Doolittle algorithm.
+        // Use a blocked, "right-looking" Gaussian elimination (LAPACK dgetrf-style): factor a panel of BLOCK_SIZE
+        // columns, compute the corresponding block row of U and update the trailing sub-matrix with a single
+        // cache-blocked (and for large matrices multi-threaded) matrix product.
 
         LU = A.getArrayCopy();
         m = A.getRowDimension();
@@ -63,61 +66,70 @@ public class LUDecomposition implements java.io.Serializable {
             piv[i] = i;
         }
         pivsign = 1;
-        double[] LUrowi;
-        double[] LUcolj = new double[m];
 
-        // Outer loop.
+        final int kMax = Math.min(m, n);
+        for (int k0 = 0; k0 < kMax; k0 += BLOCK_SIZE) {
+            final int k1 = Math.min(k0 + BLOCK_SIZE, kMax);
 
-        for (int j = 0; j < n; j++) {
-            // Make a copy of the j-th column to localize references.
-
-            for (int i = 0; i < m; i++) {
-                LUcolj[i] = LU[i][j];
-            }
-
-            // Apply previous transformations.
-
-            for (int i = 0; i < m; i++) {
-                LUrowi = LU[i];
-
-                // Most of the time is spent in the following dot product.
+            // factor panel LU[k0:m, k0:k1]
+            for (int j = k0; j < k1; j++) {
+                // Find pivot and exchange if necessary (N.B. exchanges whole rows).
+                int p = j;
+                for (int i = j + 1; i < m; i++) {
+                    if (Math.abs(LU[i][j]) > Math.abs(LU[p][j])) {
+                        p = i;
+                    }
+                }
+                if (p != j) {
+                    final double[] t = LU[p];
+                    LU[p] = LU[j];
+                    LU[j] = t;
+                    final int k = piv[p];
+                    piv[p] = piv[j];
+                    piv[j] = k;
+                    pivsign = -pivsign;
+                }
 
-                int kmax = Math.min(i, j);
-                double s = 0.0;
-                for (int k = 0; k < kmax; k++) {
-                    s += LUrowi[k] * LUcolj[k];
+                // Compute multipliers.
+                final double[] LUrowj = LU[j];
+                if (LUrowj[j] != 0.0) {
+                    for (int i = j + 1; i < m; i++) {
+                        LU[i][j] /= LUrowj[j];
+                    }
                 }
 
-                LUrowi[j] = LUcolj[i] -= s;
+                // Update remaining panel columns.
+                final int col = j;
+                final int jFirst = j + 1;
+                MatrixKernels.parallelFor(jFirst, m, k1 - jFirst, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        final double[] LUrowi = LU[i];
+                        final double f = LUrowi[col];
+                        for (int k = jFirst; k < k1; k++) {
+                            LUrowi[k] -= f * LUrowj[k];
+                        }
+                    }
+                });
             }
 
-            // Find pivot and exchange if necessary.
-
-            int p = j;
-            for (int i = j + 1; i < m; i++) {
-                if (Math.abs(LUcolj[i]) > Math.abs(LUcolj[p])) {
-                    p = i;
-                }
-            }
-            if (p != j) {
-                for (int k = 0; k < n; k++) {
-                    double t = LU[p][k];
-                    LU[p][k] = LU[j][k];
-                    LU[j][k] = t;
-                }
-                int k = piv[p];
-                piv[p] = piv[j];
-                piv[j] = k;
-                pivsign = -pivsign;
+            if (k1 >= n) {
+                continue;
             }
 
-            // Compute multipliers.
-
-            if (j < m & LU[j][j] != 0.0) {
-                for (int i = j + 1; i < m; i++) {
-                    LU[i][j] /= LU[j][j];
+            // compute block row of U: U[k0:k1, k1:n] = L[k0:k1, k0:k1]^-1 * A[k0:k1, k1:n]
+            for (int k = k0; k < k1; k++) {
+                final double[] LUrowk = LU[k];
+                for (int i = k + 1; i < k1; i++) {
+                    final double[] LUrowi = LU[i];
+                    final double f = LUrowi[k];
+                    for (int j = k1; j < n; j++) {
+                        LUrowi[j] -= f * LUrowk[j];
+                    }
                 }
             }
+
+            // update trailing sub-matrix: A[k1:m, k1:n] -= L[k1:m, k0:k1] * U[k0:k1, k1:n]
+            MatrixKernels.gemm(-1.0, LU, k1, k0, LU, k0, k1, LU, k1, k1, m - k1, k1 - k0, n - k1);
         }
     }
 
@@ -276,25 +288,36 @@ public class LUDecomposition implements java.io.Serializable {
         MatrixD Xmat = B.getMatrix(piv, 0, nx - 1);
         double[][] X = Xmat.getArray();
 
-        // Solve L*Y = B(piv,:)
-        for (int k = 0; k < n; k++) {
-            for (int i = k + 1; i < n; i++) {
-                for (int j = 0; j < nx; j++) {
-                    X[i][j] -= X[k][j] * LU[i][k];
+        // the right hand side columns are independent -> distribute them over threads
+        final double[][] lu = LU;
+        final int dim = n;
+        MatrixKernels.parallelFor(0, nx, (long) dim * dim, (jFrom, jTo) -> {
+            // Solve L*Y = B(piv,:)
+            for (int k = 0; k < dim; k++) {
+                final double[] Xrowk = X[k];
+                for (int i = k + 1; i < dim; i++) {
+                    final double[] Xrowi = X[i];
+                    final double f = lu[i][k];
+                    for (int j = jFrom; j < jTo; j++) {
+                        Xrowi[j] -= Xrowk[j] * f;
+                    }
                 }
             }
-        }
-        // Solve U*X = Y;
-        for (int k = n - 1; k >= 0; k--) {
-            for (int j = 0; j < nx; j++) {
-                X[k][j] /= LU[k][k];
-            }
-            for (int i = 0; i < k; i++) {
-                for (int j = 0; j < nx; j++) {
-                    X[i][j] -= X[k][j] * LU[i][k];
+            // Solve U*X = Y;
+            for (int k = dim - 1; k >= 0; k--) {
+                final double[] Xrowk = X[k];
+                for (int j = jFrom; j < jTo; j++) {
+                    Xrowk[j] /= lu[k][k];
+                }
+                for (int i = 0; i < k; i++) {
+                    final double[] Xrowi = X[i];
+                    final double f = lu[i][k];
+                    for (int j = jFrom; j < jTo; j++) {
+                        Xrowi[j] -= Xrowk[j] * f;
+                    }
                 }
             }
-        }
+        });
         return Xmat;
     }
 }
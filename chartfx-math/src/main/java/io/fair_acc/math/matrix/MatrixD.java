@@ -417,7 +417,7 @@ public class MatrixD extends AbstractMatrix {
         final double[][] B = X.getArray();
         try {
             for (int i = i0; i <= i1; i++) {
-                System.arraycopy(element[i], j0, B[i - i0], j0, j1 - j0);
+                System.arraycopy(element[i], j0, B[i - i0], 0, j1 - j0 + 1);
             }
         } catch (final ArrayIndexOutOfBoundsException e) {
             throw new ArrayIndexOutOfBoundsException("Submatrix indices");
@@ -504,7 +504,7 @@ public class MatrixD extends AbstractMatrix {
     public double[] getRowPackedCopy() {
         final double[] vals = new double[m * n];
         for (int i = 0; i < m; i++) {
-            System.arraycopy(element[i], 0, vals, i * m, n);
+            System.arraycopy(element[i], 0, vals, i * n, n);
         }
         return vals;
     }
@@ -880,6 +880,8 @@ public class MatrixD extends AbstractMatrix {
 
     /**
      * Linear algebraic matrix multiplication, A * B
+     * <p>
+     * N.B. uses the cache-blocked and -- for large matrices -- multi-threaded {@link MatrixKernels}.
      *
      * @param B another matrix
      * @return Matrix product, A * B
@@ -891,39 +893,30 @@ public class MatrixD extends AbstractMatrix {
         }
         final MatrixD X = new MatrixD(m, B.n);
         final double[][] C = X.getArray();
-        final double[] vector = new double[n];
 
         if (B.n != 1) {
             // general matrix-matrix multiplication
-            for (int j = 0; j < B.n; j++) {
-                for (int k = 0; k < n; k++) {
-                    vector[k] = B.element[k][j];
-                }
-                for (int i = 0; i < m; i++) {
-                    final double[] Arowi = element[i];
-                    double s = 0;
-                    for (int k = 0; k < n; k++) {
-                        s += Arowi[k] * vector[k];
-                    }
-                    C[i][j] = s;
-                }
-            }
+            MatrixKernels.gemm(1.0, element, 0, 0, B.element, 0, 0, C, 0, 0, m, n, B.n);
         } else {
             // special case of a matrix-vector multiplication
             // that allows some speed optimisation
 
             // copy first index of each row into vector
+            final double[] vector = new double[n];
             for (int i = 0; i < n; i++) {
                 vector[i] = B.element[i][0];
             }
 
-            for (int i = 0; i < m; i++) {
-                double val = 0;
-                for (int j = 0; j < n; j++) {
-                    val += element[i][j] * vector[j];
+            MatrixKernels.parallelFor(0, m, n, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    final double[] Arowi = element[i];
+                    double val = 0;
+                    for (int j = 0; j < n; j++) {
+                        val += Arowi[j] * vector[j];
+                    }
+                    C[i][0] = val;
                 }
-                C[i][0] = val;
-            }
+            });
         }
         return X;
     }
@@ -0,0 +1,251 @@
+package io.fair_acc.math.matrix;
+
+import java.util.concurrent.Future;
+
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Cache-blocked and multi-threaded dense matrix kernels used by {@link MatrixD} and its decompositions.
+ * <p>
+ * The kernels operate either on the row-array ({@code double[][]}) storage of {@link MatrixD} or on contiguous
+ * row-major ({@code double[]}) storage with explicit offsets and leading dimensions (i.e. row strides), the latter
+ * allowing to work on sub-matrices of larger flat working buffers without copying. All kernels use unit-stride inner
+ * loops, process the right-hand-side in blocks of {@value #BLOCK_K} x {@value #BLOCK_J} elements so that they remain
+ * L2-cache resident while being streamed against all rows of the left-hand-side, and distribute independent rows over
+ * the {@link ConcurrencyUtils} thread-pool once the amount of work exceeds {@value #MIN_PARALLEL_WORK} multiply-adds.
+ */
+public final class MatrixKernels {
+    /** inner-dimension block size */
+    static final int BLOCK_K = 128;
+    /** column block size */
+    static final int BLOCK_J = 512;
+    /** minimum number of multiply-add operations before work is distributed to multiple threads */
+    static final long MIN_PARALLEL_WORK = 1L << 18;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private MatrixKernels() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * General matrix multiply-add on row-array storage: C[cRow + i][cCol + j] += alpha * sum_k A[aRow + i][aCol + k] *
+     * B[bRow + k][bCol + j] for i in [0, m), j in [0, p), k in [0, n).
+     * <p>
+     * N.B. A and C may refer to the same array as long as the referenced column ranges do not overlap; the rows of B
+     * must not be modified by the operation.
+     *
+     * @param alpha scaling factor of the product
+     * @param a left-hand-side matrix
+     * @param aRow first row of the A sub-matrix
+     * @param aCol first column of the A sub-matrix
+     * @param b right-hand-side matrix
+     * @param bRow first row of the B sub-matrix
+     * @param bCol first column of the B sub-matrix
+     * @param c result matrix
+     * @param cRow first row of the C sub-matrix
+     * @param cCol first column of the C sub-matrix
+     * @param m number of rows of A and C
+     * @param n number of columns of A and rows of B
+     * @param p number of columns of B and C
+     */
+    public static void gemm(final double alpha, final double[][] a, final int aRow, final int aCol, // NOPMD
+            final double[][] b, final int bRow, final int bCol, final double[][] c, final int cRow, final int cCol,
+            final int m, final int n, final int p) {
+        if (m <= 0 || n <= 0 || p <= 0) {
+            return;
+        }
+        parallelFor(0, m, (long) n * p, (from, to) -> {
+            for (int jj = 0; jj < p; jj += BLOCK_J) {
+                final int jEnd = Math.min(jj + BLOCK_J, p) + bCol;
+                final int shift = cCol - bCol;
+                for (int kk = 0; kk < n; kk += BLOCK_K) {
+                    final int kEnd = Math.min(kk + BLOCK_K, n);
+                    for (int i = from; i < to; i++) {
+                        final double[] aRowI = a[aRow + i];
+                        final double[] cRowI = c[cRow + i];
+                        for (int k = kk; k < kEnd; k++) {
+                            final double f = alpha * aRowI[aCol + k];
+                            final double[] bRowK = b[bRow + k];
+                            for (int j = jj + bCol; j < jEnd; j++) {
+                                cRowI[j + shift] += f * bRowK[j];
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * General matrix multiply-add on contiguous row-major storage: C[i, j] += alpha * sum_k A[i, k] * B[k, j] for i in
+     * [0, m), j in [0, p), k in [0, n), with X[i, j] = x[xOffset + i * ldx + j].
+     *
+     * @param alpha scaling factor of the product
+     * @param a left-hand-side storage
+     * @param aOffset index of A[0, 0]
+     * @param lda row stride of A
+     * @param b right-hand-side storage
+     * @param bOffset index of B[0, 0]
+     * @param ldb row stride of B
+     * @param c result storage (must not overlap with B)
+     * @param cOffset index of C[0, 0]
+     * @param ldc row stride of C
+     * @param m number of rows of A and C
+     * @param n number of columns of A and rows of B
+     * @param p number of columns of B and C
+     */
+    public static void gemm(final double alpha, final double[] a, final int aOffset, final int lda, // NOPMD
+            final double[] b, final int bOffset, final int ldb, final double[] c, final int cOffset, final int ldc,
+            final int m, final int n, final int p) {
+        if (m <= 0 || n <= 0 || p <= 0) {
+            return;
+        }
+        parallelFor(0, m, (long) n * p, (from, to) -> {
+            for (int jj = 0; jj < p; jj += BLOCK_J) {
+                final int jLength = Math.min(jj + BLOCK_J, p) - jj;
+                for (int kk = 0; kk < n; kk += BLOCK_K) {
+                    final int kEnd = Math.min(kk + BLOCK_K, n);
+                    for (int i = from; i < to; i++) {
+                        final int aRowI = aOffset + i * lda;
+                        final int cRowI = cOffset + i * ldc + jj;
+                        for (int k = kk; k < kEnd; k++) {
+                            final double f = alpha * a[aRowI + k];
+                            final int bRowK = bOffset + k * ldb + jj;
+                            for (int j = 0; j < jLength; j++) {
+                                c[cRowI + j] += f * b[bRowK + j];
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Matrix product with the transpose of the second operand on contiguous row-major storage: C[i, j] = sum_k A[i, k] *
+     * B[j, k] for i in [0, m), j in [0, p), k in [0, n). Each element is the dot-product of two contiguous rows. If A and
+     * B refer to the same sub-matrix (i.e. C = A * A^T), only the lower triangle is computed and mirrored.
+     *
+     * @param a left-hand-side storage (m x n)
+     * @param aOffset index of A[0, 0]
+     * @param b right-hand-side storage (p x n)
+     * @param bOffset index of B[0, 0]
+     * @param c result storage (m x p, must not overlap with A or B)
+     * @param cOffset index of C[0, 0]
+     * @param m number of rows of A and C
+     * @param n number of columns of A and B
+     * @param p number of rows of B and columns of C
+     */
+    public static void multiplyTransposed(final double[] a, final int aOffset, final double[] b, final int bOffset,
+            final double[] c, final int cOffset, final int m, final int n, final int p) {
+        if (m <= 0 || p <= 0) {
+            return;
+        }
+        final boolean symmetric = a == b && aOffset == bOffset && m == p;
+        final int tile = 32;
+        final int nTiles = (m + tile - 1) / tile;
+        parallelFor(0, nTiles, (long) tile * n * p, (fromTile, toTile) -> {
+            for (int t = fromTile; t < toTile; t++) {
+                final int iStart = t * tile;
+                final int iEnd = Math.min(iStart + tile, m);
+                for (int i = iStart; i < iEnd; i++) {
+                    final int jMax = symmetric ? i + 1 : p;
+                    for (int j = 0; j < jMax; j++) {
+                        c[cOffset + i * p + j] = 0.0;
+                    }
+                }
+                for (int jj = 0; jj < (symmetric ? iEnd : p); jj += tile) {
+                    final int jTileEnd = Math.min(jj + tile, p);
+                    for (int kk = 0; kk < n; kk += BLOCK_K) {
+                        final int kLength = Math.min(kk + BLOCK_K, n) - kk;
+                        for (int i = iStart; i < iEnd; i++) {
+                            final int aRowI = aOffset + i * n + kk;
+                            final int jEnd = symmetric ? Math.min(jTileEnd, i + 1) : jTileEnd;
+                            for (int j = jj; j < jEnd; j++) {
+                                final int bRowJ = bOffset + j * n + kk;
+                                double sum = 0.0;
+                                for (int k = 0; k < kLength; k++) {
+                                    sum += a[aRowI + k] * b[bRowJ + k];
+                                }
+                                c[cOffset + i * p + j] += sum;
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        if (symmetric) {
+            for (int i = 0; i < m; i++) {
+                for (int j = i + 1; j < p; j++) {
+                    c[cOffset + i * p + j] = c[cOffset + j * p + i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Matrix-vector product on contiguous row-major storage: y[i] = sum_k A[i, k] * x[k] for i in [0, m), k in [0, n).
+     *
+     * @param a matrix storage (m x n)
+     * @param aOffset index of A[0, 0]
+     * @param x input vector storage
+     * @param xOffset index of x[0]
+     * @param y output vector storage (must not overlap with A or x)
+     * @param yOffset index of y[0]
+     * @param m number of rows of A
+     * @param n number of columns of A
+     */
+    public static void multiplyVector(final double[] a, final int aOffset, final double[] x, final int xOffset,
+            final double[] y, final int yOffset, final int m, final int n) {
+        parallelFor(0, m, n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                final int aRowI = aOffset + i * n;
+                double sum = 0.0;
+                for (int k = 0; k < n; k++) {
+                    sum += a[aRowI + k] * x[xOffset + k];
+                }
+                y[yOffset + i] = sum;
+            }
+        });
+    }
+
+    /**
+     * Executes the task for the index range [from, to), split into contiguous chunks that are distributed over the
+     * {@link ConcurrencyUtils} thread-pool if the total amount of work warrants it. The last chunk is executed by the
+     * calling thread.
+     *
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param workPerIndex estimated number of operations per index
+     * @param task range task
+     */
+    static void parallelFor(final int from, final int to, final long workPerIndex, final RangeTask task) {
+        final int length = to - from;
+        final int nThreads = ConcurrencyUtils.getNumberOfThreads();
+        if (nThreads <= 1 || length <= 1 || length * workPerIndex < MIN_PARALLEL_WORK) {
+            task.apply(from, to);
+            return;
+        }
+        final int nChunks = Math.min(length, nThreads * CHUNKS_PER_THREAD);
+        final Future<?>[] futures = new Future<?>[nChunks - 1];
+        for (int chunk = 0; chunk < nChunks - 1; chunk++) {
+            final int chunkFrom = from + (int) ((long) chunk * length / nChunks);
+            final int chunkTo = from + (int) ((long) (chunk + 1) * length / nChunks);
+            futures[chunk] = ConcurrencyUtils.submit(() -> task.apply(chunkFrom, chunkTo));
+        }
+        task.apply(from + (int) ((long) (nChunks - 1) * length / nChunks), to);
+        ConcurrencyUtils.waitForCompletion(futures);
+    }
+
+    /**
+     * task operating on an index range
+     */
+    @FunctionalInterface
+    interface RangeTask {
+        /**
+         * @param from first index (inclusive)
+         * @param to last index (exclusive)
+         */
+        void apply(int from, int to);
+    }
+}
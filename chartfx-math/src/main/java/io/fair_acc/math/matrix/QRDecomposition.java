@@ -75,16 +75,7 @@ public class QRDecomposition implements java.io.Serializable {
                 QR[k][k] += 1.0;
 
                 // Apply transformation to remaining columns.
-                for (int j = k + 1; j < n; j++) {
-                    double s = 0.0;
-                    for (int i = k; i < m; i++) {
-                        s += QR[i][k] * QR[i][j];
-                    }
-                    s = -s / QR[k][k];
-                    for (int i = k; i < m; i++) {
-                        QR[i][j] += s * QR[i][k];
-                    }
-                }
+                applyHouseholder(QR, k, k + 1, n, QR, m);
             }
             Rdiag[k] = -nrm;
         }
@@ -205,16 +196,7 @@ public class QRDecomposition implements java.io.Serializable {
 
         // Compute Y = transpose(Q)*B
         for (int k = 0; k < n; k++) {
-            for (int j = 0; j < nx; j++) {
-                double s = 0.0;
-                for (int i = k; i < m; i++) {
-                    s += QR[i][k] * X[i][j];
-                }
-                s = -s / QR[k][k];
-                for (int i = k; i < m; i++) {
-                    X[i][j] += s * QR[i][k];
-                }
-            }
+            applyHouseholder(QR, k, 0, nx, X, m);
         }
         // Solve R*X = Y;
         for (int k = n - 1; k >= 0; k--) {
@@ -229,4 +211,34 @@ public class QRDecomposition implements java.io.Serializable {
         }
         return (new MatrixD(X, n, nx).getMatrix(0, n - 1, 0, nx - 1));
     }
+
+    /**
+     * Applies the k-th Householder reflection (stored in column k of qr, rows k..m-1) to the columns [jFrom, jTo) of
+     * x. The column dot-products and the rank-1 update are computed row-wise, i.e. with unit-stride access, and are
+     * distributed over threads by column ranges for large matrices.
+     */
+    private static void applyHouseholder(final double[][] qr, final int k, final int jFrom, final int jTo,
+            final double[][] x, final int m) {
+        final double qrkk = qr[k][k];
+        MatrixKernels.parallelFor(jFrom, jTo, m - k, (from, to) -> {
+            final double[] s = new double[to - from];
+            for (int i = k; i < m; i++) {
+                final double qrik = qr[i][k];
+                final double[] xRowI = x[i];
+                for (int j = from; j < to; j++) {
+                    s[j - from] += qrik * xRowI[j];
+                }
+            }
+            for (int j = 0; j < s.length; j++) {
+                s[j] = -s[j] / qrkk;
+            }
+            for (int i = k; i < m; i++) {
+                final double qrik = qr[i][k];
+                final double[] xRowI = x[i];
+                for (int j = from; j < to; j++) {
+                    xRowI[j] += s[j - from] * qrik;
+                }
+            }
+        });
+    }
 }
@@ -0,0 +1,94 @@
+package io.fair_acc.math.spectra;
+
+import java.util.Arrays;
+
+/**
+ * Primitive (allocation-free when re-used) result of a {@link TSpectrum} peak search. The peaks are sorted by
+ * descending amplitude of the source spectrum. N.B. the backing arrays may be longer than {@link #size()}.
+ */
+public class PeakSearchResult {
+    protected int size;
+    protected int[] indices = new int[0];
+    protected double[] x = new double[0];
+    protected double[] y = new double[0];
+
+    /**
+     * resets the number of peaks to zero
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @param capacity the minimum number of peaks that can be stored without re-allocation
+     */
+    public void ensureCapacity(final int capacity) {
+        if (indices.length >= capacity) {
+            return;
+        }
+        indices = Arrays.copyOf(indices, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+    }
+
+    /**
+     * @param peak peak index [0, size()[
+     * @return index of the peak within the source spectrum
+     */
+    public int getIndex(final int peak) {
+        return indices[peak];
+    }
+
+    /**
+     * @return backing array of the peak indices within the source spectrum, valid up to {@link #size()}
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * @param peak peak index [0, size()[
+     * @return x-coordinate of the peak
+     */
+    public double getX(final int peak) {
+        return x[peak];
+    }
+
+    /**
+     * @return backing array of the peak x-coordinates, valid up to {@link #size()}
+     */
+    public double[] getXValues() {
+        return x;
+    }
+
+    /**
+     * @param peak peak index [0, size()[
+     * @return source spectrum value at the peak
+     */
+    public double getY(final int peak) {
+        return y[peak];
+    }
+
+    /**
+     * @return backing array of the source spectrum values at the peaks, valid up to {@link #size()}
+     */
+    public double[] getYValues() {
+        return y;
+    }
+
+    /**
+     * @return number of identified peaks
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(20 + 30 * size).append("PeakSearchResult[");
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "" : ", ").append('(').append(x[i]).append(", ").append(y[i]).append(')');
+        }
+        return builder.append(']').toString();
+    }
+}
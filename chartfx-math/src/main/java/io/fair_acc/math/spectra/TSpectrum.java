@@ -2,9 +2,7 @@ package io.fair_acc.math.spectra;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +13,7 @@ import io.fair_acc.dataset.utils.AssertUtils;
 import io.fair_acc.math.ArrayMath;
 import io.fair_acc.math.ArrayUtils;
 import io.fair_acc.math.Math;
+import io.fair_acc.math.matrix.MatrixKernels;
 
 /**************************************************************************
  * Original Author: Miroslav Morhac 27/05/99 clean up/java port: Ralph Steinhagen 18/04/18 THIS CLASS CONTAINS ADVANCED
@@ -73,18 +72,23 @@ public class TSpectrum { // NOPMD - nomen est omen
     public static double[] background(final double[] source, final double[] destination, int length,
             int numberIterations, Direction direction, FilterOrder filterOrder, SmoothWindow smoothing,
             boolean compton) {
-        if (source == null || length <= 0 || source.length < length) {
-            throw new InvalidParameterException("input spectrum null or invalid vector size");
-        }
-        AssertUtils.gtOrEqual("numberIterations", 1, numberIterations);
-        if (length < 2 * numberIterations + 1) {
-            throw new InvalidParameterException("clipping window is too large (length < 2 * numberIterations + 1) -> "
-                                                + length + "< " + (2 * numberIterations + 1));
-        }
-        AssertUtils.notNull("filterOrder", filterOrder);
-        AssertUtils.notNull("smoothing", smoothing);
-
+        checkBackgroundArguments(source, length, numberIterations, filterOrder, smoothing);
         final double[] workingSpace = ArrayCache.getCachedDoubleArray(CACHED_ARRAY_BACKGROUND, 2 * length);
+        final double[] returnVector = background(workingSpace, source, destination, length, numberIterations, direction, filterOrder, smoothing, compton);
+        ArrayCache.release(CACHED_ARRAY_BACKGROUND, workingSpace);
+
+        return returnVector;
+    }
+
+    /**
+     * background estimation on a caller-provided working space, see
+     * {@link #background(double[], double[], int, int, Direction, FilterOrder, SmoothWindow, boolean)}
+     *
+     * @param workingSpace working space of at least {@code 2 * length} elements
+     * @return filtered array
+     */
+    static double[] background(final double[] workingSpace, final double[] source, final double[] destination, final int length, // NOPMD
+            final int numberIterations, final Direction direction, final FilterOrder filterOrder, final SmoothWindow smoothing, final boolean compton) {
         System.arraycopy(source, 0, workingSpace, 0, length);
         System.arraycopy(source, 0, workingSpace, length, length);
 
@@ -171,11 +175,23 @@ public class TSpectrum { // NOPMD - nomen est omen
         final double[] returnVector = destination == null || destination.length < length ? new double[length]
                                                                                          : destination;
         System.arraycopy(workingSpace, 0, returnVector, 0, length);
-        ArrayCache.release(CACHED_ARRAY_BACKGROUND, workingSpace);
-
         return returnVector;
     }
 
+    static void checkBackgroundArguments(final double[] source, final int length, final int numberIterations,
+            final FilterOrder filterOrder, final SmoothWindow smoothing) {
+        if (source == null || length <= 0 || source.length < length) {
+            throw new InvalidParameterException("input spectrum null or invalid vector size");
+        }
+        AssertUtils.gtOrEqual("numberIterations", 1, numberIterations);
+        if (length < 2 * numberIterations + 1) {
+            throw new InvalidParameterException("clipping window is too large (length < 2 * numberIterations + 1) -> "
+                                                + length + "< " + (2 * numberIterations + 1));
+        }
+        AssertUtils.notNull("filterOrder", filterOrder);
+        AssertUtils.notNull("smoothing", smoothing);
+    }
+
     /**
      * ONE-DIMENSIONAL DECONVOLUTION FUNCTION This function calculates deconvolution from source spectrum according to
      * response spectrum using Gold algorithm The result is placed in the vector pointed by destination pointer.
@@ -195,12 +211,24 @@ public class TSpectrum { // NOPMD - nomen est omen
      */
     public static double[] deconvolution(double[] source, double[] response, double[] destination, int length,
             int numberIterations, int numberRepetitions, double boost) {
-        AssertUtils.gtThanZero("length", length);
-        AssertUtils.gtThanZero("numberRepetitions", numberRepetitions);
+        checkDeconvolutionArguments(length, numberRepetitions);
 
         // working_space-pointer to the working vector (its size must be 4*length of source spectrum)
         final double[] workingSpace = ArrayCache.getCachedDoubleArray(CACHED_ARRAY_DECONVOLUTION, 4 * length);
+        final double[] returnVector = deconvolution(workingSpace, source, response, destination, length, numberIterations, numberRepetitions, boost);
+        ArrayCache.release(CACHED_ARRAY_DECONVOLUTION, workingSpace);
+        return returnVector;
+    }
 
+    /**
+     * deconvolution on a caller-provided working space, see
+     * {@link #deconvolution(double[], double[], double[], int, int, int, double)}
+     *
+     * @param workingSpace working space of at least {@code 4 * length} elements
+     * @return deconvolved spectrum
+     */
+    static double[] deconvolution(final double[] workingSpace, double[] source, double[] response, double[] destination, int length, // NOPMD
+            int numberIterations, int numberRepetitions, double boost) {
         // read response vector
         double maximum = 0;
         double area = 0;
@@ -315,7 +343,6 @@ public class TSpectrum { // NOPMD - nomen est omen
                                                                                          : destination;
         System.arraycopy(workingSpace, 0, returnVector, 0, length);
         ArrayMath.multiplyInPlace(returnVector, area);
-        ArrayCache.release(CACHED_ARRAY_DECONVOLUTION, workingSpace);
         return returnVector;
     }
 
@@ -336,12 +363,24 @@ public class TSpectrum { // NOPMD - nomen est omen
      */
     public static double[] deconvolutionRL(double[] source, double[] response, double[] destination, int length,
             int numberIterations, int numberRepetitions, double boost) {
-        AssertUtils.gtThanZero("length", length);
-        AssertUtils.gtThanZero("numberRepetitions", numberRepetitions);
+        checkDeconvolutionArguments(length, numberRepetitions);
 
         // working_space-pointer to the working vector (its size must be 4*length of source spectrum)
         final double[] workingSpace = ArrayCache.getCachedDoubleArray(CACHED_ARRAY_DECONVOLUTION_RL, 4 * length);
+        final double[] returnVector = deconvolutionRL(workingSpace, source, response, destination, length, numberIterations, numberRepetitions, boost);
+        ArrayCache.release(CACHED_ARRAY_DECONVOLUTION_RL, workingSpace);
+        return returnVector;
+    }
 
+    /**
+     * deconvolution on a caller-provided working space, see
+     * {@link #deconvolutionRL(double[], double[], double[], int, int, int, double)}
+     *
+     * @param workingSpace working space of at least {@code 4 * length} elements
+     * @return deconvolved spectrum
+     */
+    static double[] deconvolutionRL(final double[] workingSpace, double[] source, double[] response, double[] destination, int length, // NOPMD
+            int numberIterations, int numberRepetitions, double boost) {
         // read response vector
         int posit = 0;
         int lhGold = -1;
@@ -371,6 +410,7 @@ public class TSpectrum { // NOPMD - nomen est omen
                 workingSpace[i] = 1;
             } else {
                 workingSpace[i] = 0;
+                workingSpace[3 * length + i] = 0; // not updated by the iterations below
             }
         }
 
@@ -433,11 +473,14 @@ public class TSpectrum { // NOPMD - nomen est omen
         final double[] returnVector = destination == null || destination.length < length ? new double[length]
                                                                                          : destination;
         System.arraycopy(workingSpace, 0, returnVector, 0, length);
-
-        ArrayCache.release(CACHED_ARRAY_DECONVOLUTION_RL, workingSpace);
         return returnVector;
     }
 
+    static void checkDeconvolutionArguments(final int length, final int numberRepetitions) {
+        AssertUtils.gtThanZero("length", length);
+        AssertUtils.gtThanZero("numberRepetitions", numberRepetitions);
+    }
+
     protected static void filterBackgroundOrder2(final double[] workingSpace, int length, int numberIterations,
             Direction direction, SmoothWindow smoothing) {
         double av;
@@ -1116,41 +1159,37 @@ public class TSpectrum { // NOPMD - nomen est omen
     public static List<DoublePoint> search(final double[] sourceX, final double[] sourceY, final double[] destVector,
             final int length, final int nMaxPeaks, final double sigma, final double threshold,
             final boolean backgroundRemove, final int deconIterations, final boolean markov, final int averWindow) {
-        if (sourceX == null || sourceY == null) {
-            throw new IllegalArgumentException("neither sourceX '" + (sourceX == null ? "null" : "OK")
-                                               + "' nor sourceY '" + (sourceY == null ? "null" : "OK") + "' must be null");
-        } else if (sourceX.length < length) {
-            throw new IllegalArgumentException(
-                    "sourceX.length too short is '" + sourceX.length + "' vs. should '" + length + "'");
-        } else if (sourceY.length < length) {
-            throw new IllegalArgumentException(
-                    "sourceY.length too short is '" + sourceY.length + "' vs. should '" + length + "'");
-        }
-
-        if ((destVector == null || destVector.length < length) && LOGGER.isDebugEnabled()) {
-            LOGGER.atDebug().addArgument(destVector == null ? Double.NaN : destVector.length).addArgument(length).log("destination vector has insufficient length {} vs. {} needed, omitting copying background spectrum");
-        }
-
-        if (sigma < 1) {
-            throw new IllegalArgumentException("Invalid sigma '" + sigma + "', must be greater than or equal to 1");
-        }
+        checkSearchArguments(sourceX, sourceY, length, sigma, threshold, backgroundRemove, markov, averWindow);
+        final double[] workingSpace = ArrayCache.getCachedDoubleArray(CACHED_ARRAY_SEARCH, searchWorkingSpaceSize(length, sigma));
+        final PeakSearchResult result = search(workingSpace, sourceX, sourceY, destVector, length, nMaxPeaks, sigma, threshold, backgroundRemove, deconIterations, markov, averWindow, new PeakSearchResult());
+        ArrayCache.release(CACHED_ARRAY_SEARCH, workingSpace);
 
-        if (threshold <= 0 || threshold >= 100) {
-            throw new IllegalArgumentException("invalid threshold '" + threshold + "', must be within ]0,100[");
+        final List<DoublePoint> peaks = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            peaks.add(new DoublePoint(result.getX(i), result.getY(i)));
         }
+        return peaks;
+    }
 
-        if ((int) (5.0 * sigma + 0.5) >= PEAK_WINDOW / 2) {
-            throw new IllegalArgumentException("too large sigma");
-        }
+    /**
+     * peak search on a caller-provided working space, see
+     * {@link #search(double[], double[], double[], int, int, double, double, boolean, int, boolean, int)}
+     *
+     * @param workingSpace working space of at least {@link #searchWorkingSpaceSize(int, double)} elements
+     * @param result peak search result to be filled (previous content is overwritten)
+     * @return the result
+     */
+    static PeakSearchResult search(final double[] workingSpace, final double[] sourceX, final double[] sourceY, final double[] destVector, // NOPMD
+            final int length, final int nMaxPeaks, final double sigma, final double threshold,
+            final boolean backgroundRemove, final int deconIterations, final boolean markov, final int averWindow, final PeakSearchResult result) {
+        result.ensureCapacity(nMaxPeaks);
+        result.size = 0;
 
-        if (markov && averWindow <= 0) {
-            throw new IllegalArgumentException("averanging window must be positive");
+        if ((destVector == null || destVector.length < length) && LOGGER.isDebugEnabled()) {
+            LOGGER.atDebug().addArgument(destVector == null ? Double.NaN : destVector.length).addArgument(length).log("destination vector has insufficient length {} vs. {} needed, omitting copying background spectrum");
         }
 
         final int numberIterations = (int) (7 * sigma + 0.5);
-        if (backgroundRemove && length < 2 * numberIterations + 1) {
-            throw new IllegalArgumentException("too large clipping window");
-        }
         final int sizeExt = length + 2 * numberIterations;
         final int shift = numberIterations;
 
@@ -1183,9 +1222,7 @@ public class TSpectrum { // NOPMD - nomen est omen
             l1low = 0;
         }
 
-        int nWidthSigma = (int) (7 * sigma + 0.5) * 2;
-        final double[] workingSpace = ArrayCache.getCachedDoubleArray(CACHED_ARRAY_SEARCH, 7 * (length + nWidthSigma));
-        ArrayUtils.fillArray(workingSpace, 0.0);
+        ArrayUtils.fillArray(workingSpace, 0, searchWorkingSpaceSize(length, sigma), 0.0);
 
         for (int i = 0; i < sizeExt; i++) {
             if (i < shift) {
@@ -1301,8 +1338,7 @@ public class TSpectrum { // NOPMD - nomen est omen
                 plocha += workingSpace[2 * sizeExt + i];
             }
             if (signalMax == 0) {
-                ArrayCache.release(CACHED_ARRAY_SEARCH, workingSpace);
-                return Collections.emptyList();
+                return result;
             }
 
             double nom = 1;
@@ -1525,9 +1561,9 @@ public class TSpectrum { // NOPMD - nomen est omen
         }
         lda /= 100;
 
-        // searching for peaks in de-convolved spectrum
-        List<Integer> peakList = new ArrayList<>();
-        int peakIndex = 0;
+        // searching for peaks in de-convolved spectrum, sorted by descending amplitude of the source spectrum
+        final int[] peaks = result.indices;
+        int nPeaks = 0;
         for (int i = 1; i < sizeExt - 1; i++) {
             final boolean condition2 = workingSpace[i] > workingSpace[i - 1] && workingSpace[i] > workingSpace[i + 1]
                                     && i >= shift && i < length + shift && workingSpace[i] > lda * maximumDecon
@@ -1547,41 +1583,19 @@ public class TSpectrum { // NOPMD - nomen est omen
                 if (a >= length) {
                     a = length - 1.0;
                 }
-                if (peakIndex == 0) {
-                    peakList.add((int) a);
-                    peakIndex = 1;
-                } else {
-                    int priz = 0;
-                    int searchIndex;
-                    for (searchIndex = 0; searchIndex < peakIndex && priz == 0; searchIndex++) {
-                        if (workingSpace[6 * sizeExt + shift + (int) a] > workingSpace[6 * sizeExt + shift
-                                                                                       + peakList.get(searchIndex)]) {
-                            priz = 1;
-                        }
-                    }
-                    if (priz == 0) {
-                        if (searchIndex < nMaxPeaks) {
-                            if (peakList.size() > searchIndex) {
-                                peakList.set(searchIndex, (int) a);
-                            } else {
-                                peakList.add((int) a);
-                            }
-                        }
-                    } else {
-                        for (int k = peakIndex; k >= searchIndex; k--) {
-                            if (k < nMaxPeaks) {
-                                final Integer prevPoint = peakList.get(k - 1);
-                                if (peakList.size() > k) {
-                                    peakList.set(k, prevPoint);
-                                } else {
-                                    peakList.add(prevPoint);
-                                }
-                            }
-                        }
-                        peakList.set(searchIndex - 1, (int) a); // NOPMD
+                final int peak = (int) a;
+                final double amplitude = workingSpace[6 * sizeExt + shift + peak];
+                int insertIndex = 0;
+                while (insertIndex < nPeaks && amplitude <= workingSpace[6 * sizeExt + shift + peaks[insertIndex]]) {
+                    insertIndex++;
+                }
+                if (insertIndex < nMaxPeaks) {
+                    for (int k = Math.min(nPeaks, nMaxPeaks - 1); k > insertIndex; k--) {
+                        peaks[k] = peaks[k - 1];
                     }
-                    if (peakIndex < nMaxPeaks) {
-                        peakIndex += 1;
+                    peaks[insertIndex] = peak;
+                    if (nPeaks < nMaxPeaks) {
+                        nPeaks++;
                     }
                 }
             }
@@ -1591,12 +1605,60 @@ public class TSpectrum { // NOPMD - nomen est omen
             System.arraycopy(workingSpace, shift, destVector, 0, length);
         }
 
-        ArrayCache.release(CACHED_ARRAY_SEARCH, workingSpace);
-        if (peakIndex == nMaxPeaks && LOGGER.isWarnEnabled()) {
+        for (int i = 0; i < nPeaks; i++) {
+            result.x[i] = sourceX[peaks[i]];
+            result.y[i] = sourceY[peaks[i]];
+        }
+        result.size = nPeaks;
+        if (nPeaks == nMaxPeaks && LOGGER.isWarnEnabled()) {
             LOGGER.atWarn().addArgument(nMaxPeaks).log("maximum specified number of peaks limit reached {}");
         }
+        return result;
+    }
 
-        return peakList.stream().map(p -> new DoublePoint(sourceX[p], sourceY[p])).collect(Collectors.toList());
+    static void checkSearchArguments(final double[] sourceX, final double[] sourceY, final int length, final double sigma, // NOPMD
+            final double threshold, final boolean backgroundRemove, final boolean markov, final int averWindow) {
+        if (sourceX == null || sourceY == null) {
+            throw new IllegalArgumentException("neither sourceX '" + (sourceX == null ? "null" : "OK")
+                                               + "' nor sourceY '" + (sourceY == null ? "null" : "OK") + "' must be null");
+        } else if (sourceX.length < length) {
+            throw new IllegalArgumentException(
+                    "sourceX.length too short is '" + sourceX.length + "' vs. should '" + length + "'");
+        } else if (sourceY.length < length) {
+            throw new IllegalArgumentException(
+                    "sourceY.length too short is '" + sourceY.length + "' vs. should '" + length + "'");
+        }
+
+        if (sigma < 1) {
+            throw new IllegalArgumentException("Invalid sigma '" + sigma + "', must be greater than or equal to 1");
+        }
+
+        if (threshold <= 0 || threshold >= 100) {
+            throw new IllegalArgumentException("invalid threshold '" + threshold + "', must be within ]0,100[");
+        }
+
+        if ((int) (5.0 * sigma + 0.5) >= PEAK_WINDOW / 2) {
+            throw new IllegalArgumentException("too large sigma");
+        }
+
+        if (markov && averWindow <= 0) {
+            throw new IllegalArgumentException("averanging window must be positive");
+        }
+
+        final int numberIterations = (int) (7 * sigma + 0.5);
+        if (backgroundRemove && length < 2 * numberIterations + 1) {
+            throw new IllegalArgumentException("too large clipping window");
+        }
+    }
+
+    /**
+     * @param length length of source spectrum
+     * @param sigma sigma of searched peaks
+     * @return minimum working space size required for the peak search
+     */
+    static int searchWorkingSpaceSize(final int length, final double sigma) {
+        final int nWidthSigma = (int) (7 * sigma + 0.5) * 2;
+        return 7 * (length + nWidthSigma);
     }
 
     /**
@@ -1753,16 +1815,8 @@ public class TSpectrum { // NOPMD - nomen est omen
         }
 
         /* create matrix at*a + at*y */
+        MatrixKernels.multiplyTransposed(workingSpace, 0, workingSpace, 0, workingSpace, lengthx * lengthy, lengthy, lengthx, lengthy);
         for (int i = 0; i < lengthy; i++) {
-            for (int j = 0; j < lengthy; j++) {
-                double lda = 0;
-                for (int k = 0; k < lengthx; k++) {
-                    final double ldb = workingSpace[lengthx * i + k];
-                    final double ldc = workingSpace[lengthx * j + k];
-                    lda = lda + ldb * ldc;
-                }
-                workingSpace[lengthx * lengthy + lengthy * i + j] = lda;
-            }
             double lda = 0;
             for (int k = 0; k < lengthx; k++) {
                 final double ldb = workingSpace[lengthx * i + k];
@@ -1779,16 +1833,8 @@ public class TSpectrum { // NOPMD - nomen est omen
         }
 
         /* create matrix at*a*at*a + vector at*a*at*y */
+        MatrixKernels.multiplyTransposed(workingSpace, lengthx * lengthy, workingSpace, lengthx * lengthy, workingSpace, lengthx * lengthy + lengthy * lengthy, lengthy, lengthy, lengthy);
         for (int i = 0; i < lengthy; i++) {
-            for (int j = 0; j < lengthy; j++) {
-                double lda = 0;
-                for (int k = 0; k < lengthy; k++) {
-                    final double ldb = workingSpace[lengthx * lengthy + lengthy * i + k];
-                    final double ldc = workingSpace[lengthx * lengthy + lengthy * j + k];
-                    lda = lda + ldb * ldc;
-                }
-                workingSpace[lengthx * lengthy + lengthy * lengthy + lengthy * i + j] = lda;
-            }
             double lda = 0;
             for (int k = 0; k < lengthy; k++) {
                 final double ldb = workingSpace[lengthx * lengthy + lengthy * i + k];
@@ -1816,13 +1862,10 @@ public class TSpectrum { // NOPMD - nomen est omen
                 }
             }
             for (int lindex = 0; lindex < numberIterations; lindex++) {
+                MatrixKernels.multiplyVector(workingSpace, lengthx * lengthy + lengthy * lengthy, workingSpace, lengthx * lengthy + 2 * lengthy * lengthy,
+                        workingSpace, lengthx * lengthy + 2 * lengthy * lengthy + 3 * lengthx, lengthy, lengthy);
                 for (int i = 0; i < lengthy; i++) {
-                    double lda = 0;
-                    for (int j = 0; j < lengthy; j++) {
-                        final double ldb = workingSpace[lengthx * lengthy + lengthy * lengthy + lengthy * i + j];
-                        final double ldc = workingSpace[lengthx * lengthy + 2 * lengthy * lengthy + j];
-                        lda = lda + ldb * ldc;
-                    }
+                    double lda = workingSpace[lengthx * lengthy + 2 * lengthy * lengthy + 3 * lengthx + i];
                     final double ldb = workingSpace[lengthx * lengthy + 2 * lengthy * lengthy + 2 * lengthx + i];
                     if (lda != 0) {
                         lda = ldb / lda;
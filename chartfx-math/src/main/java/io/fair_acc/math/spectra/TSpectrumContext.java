@@ -0,0 +1,248 @@
+package io.fair_acc.math.spectra;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.spectra.TSpectrum.Direction;
+import io.fair_acc.math.spectra.TSpectrum.FilterOrder;
+import io.fair_acc.math.spectra.TSpectrum.SmoothWindow;
+import io.fair_acc.math.utils.ConcurrencyUtils;
+
+/**
+ * Re-usable context for the {@link TSpectrum} background estimation, deconvolution and peak search functions that owns
+ * its working space and peak search result. Once the buffers have grown to the spectrum size, repeated calls (e.g. for
+ * every new spectrum of a continuously updated source) do not allocate. A context must not be used concurrently by
+ * multiple threads.
+ * <p>
+ * The static batch functions process many spectra (e.g. the rows of a {@link GridDataSet}) in parallel on the
+ * {@link ConcurrencyUtils} thread-pool, each worker thread using its own (thread-local and thus re-used) context.
+ */
+public class TSpectrumContext {
+    private static final ThreadLocal<TSpectrumContext> WORKER_CONTEXT = ThreadLocal.withInitial(TSpectrumContext::new);
+    private final PeakSearchResult peaks = new PeakSearchResult();
+    private double[] workingSpace = new double[0];
+    private double[] row = new double[0];
+
+    /**
+     * background estimation, see
+     * {@link TSpectrum#background(double[], double[], int, int, Direction, FilterOrder, SmoothWindow, boolean)}
+     *
+     * @param source vector of source spectrum
+     * @param destination where to copy the filtered background
+     * @param length length of the spectrum vector
+     * @param numberIterations maximal width of clipping window
+     * @param direction direction of change of clipping window
+     * @param filterOrder order of clipping filter
+     * @param smoothing smoothing window
+     * @param compton whether the estimation of Compton edge will be included
+     * @return filtered array, N.B. if destination is null or has insufficient length a new array is being allocated
+     */
+    public double[] background(final double[] source, final double[] destination, final int length, final int numberIterations, // NOPMD
+            final Direction direction, final FilterOrder filterOrder, final SmoothWindow smoothing, final boolean compton) {
+        TSpectrum.checkBackgroundArguments(source, length, numberIterations, filterOrder, smoothing);
+        return TSpectrum.background(getWorkingSpace(2 * length), source, destination, length, numberIterations, direction, filterOrder, smoothing, compton);
+    }
+
+    /**
+     * Gold deconvolution, see {@link TSpectrum#deconvolution(double[], double[], double[], int, int, int, double)}
+     *
+     * @param source vector of source spectrum
+     * @param response vector of response spectrum
+     * @param destination vector to store result
+     * @param length length of source and response spectra
+     * @param numberIterations number of iterations
+     * @param numberRepetitions for repeated boosted deconvolution
+     * @param boost boosting coefficient
+     * @return deconvolved spectrum, N.B. if destination is null or has insufficient length a new array is being
+     *         allocated
+     */
+    public double[] deconvolution(final double[] source, final double[] response, final double[] destination, final int length, // NOPMD
+            final int numberIterations, final int numberRepetitions, final double boost) {
+        TSpectrum.checkDeconvolutionArguments(length, numberRepetitions);
+        return TSpectrum.deconvolution(getWorkingSpace(4 * length), source, response, destination, length, numberIterations, numberRepetitions, boost);
+    }
+
+    /**
+     * Richardson-Lucy deconvolution, see
+     * {@link TSpectrum#deconvolutionRL(double[], double[], double[], int, int, int, double)}
+     *
+     * @param source vector of source spectrum
+     * @param response vector of response spectrum
+     * @param destination vector to store result
+     * @param length length of source and response spectra
+     * @param numberIterations number of iterations
+     * @param numberRepetitions for repeated boosted deconvolution
+     * @param boost boosting coefficient
+     * @return deconvolved spectrum, N.B. if destination is null or has insufficient length a new array is being
+     *         allocated
+     */
+    public double[] deconvolutionRL(final double[] source, final double[] response, final double[] destination, final int length, // NOPMD
+            final int numberIterations, final int numberRepetitions, final double boost) {
+        TSpectrum.checkDeconvolutionArguments(length, numberRepetitions);
+        return TSpectrum.deconvolutionRL(getWorkingSpace(4 * length), source, response, destination, length, numberIterations, numberRepetitions, boost);
+    }
+
+    /**
+     * @return the peak search result owned by this context (overwritten by the next {@link #search} call)
+     */
+    public PeakSearchResult getPeaks() {
+        return peaks;
+    }
+
+    /**
+     * peak search, see
+     * {@link TSpectrum#search(double[], double[], double[], int, int, double, double, boolean, int, boolean, int)}
+     *
+     * @param sourceX vector of source spectrum
+     * @param sourceY vector of source spectrum
+     * @param destVector vector of resulting deconvolved spectrum (may be null)
+     * @param length length of source spectrum
+     * @param nMaxPeaks maximum number of peaks to search for (upper bound)
+     * @param sigma sigma of searched peaks
+     * @param threshold threshold value in % for selected peaks
+     * @param backgroundRemove set if the removal of background before deconvolution is desired
+     * @param deconIterations number of iterations in deconvolution operation
+     * @param markov whether the source spectrum is first replaced by its Markov-chain smoothed spectrum
+     * @param averWindow averaging window of searched peaks (applies only for Markov method)
+     * @return identified peaks, N.B. the result is owned by this context and overwritten by the next call
+     */
+    public PeakSearchResult search(final double[] sourceX, final double[] sourceY, final double[] destVector, final int length, // NOPMD
+            final int nMaxPeaks, final double sigma, final double threshold, final boolean backgroundRemove,
+            final int deconIterations, final boolean markov, final int averWindow) {
+        return search(sourceX, sourceY, destVector, length, nMaxPeaks, sigma, threshold, backgroundRemove, deconIterations, markov, averWindow, peaks);
+    }
+
+    /**
+     * peak search into a user-supplied result, see
+     * {@link #search(double[], double[], double[], int, int, double, double, boolean, int, boolean, int)}
+     *
+     * @param result the result to be filled
+     * @return the filled result
+     */
+    public PeakSearchResult search(final double[] sourceX, final double[] sourceY, final double[] destVector, final int length, // NOPMD
+            final int nMaxPeaks, final double sigma, final double threshold, final boolean backgroundRemove,
+            final int deconIterations, final boolean markov, final int averWindow, final PeakSearchResult result) {
+        AssertUtils.notNull("result", result);
+        TSpectrum.checkSearchArguments(sourceX, sourceY, length, sigma, threshold, backgroundRemove, markov, averWindow);
+        return TSpectrum.search(getWorkingSpace(TSpectrum.searchWorkingSpaceSize(length, sigma)), sourceX, sourceY, destVector, length, nMaxPeaks, sigma, threshold, backgroundRemove, deconIterations, markov, averWindow, result);
+    }
+
+    private double[] getRow(final int size) {
+        if (row.length < size) {
+            row = new double[size];
+        }
+        return row;
+    }
+
+    private double[] getWorkingSpace(final int size) {
+        if (workingSpace.length < size) {
+            workingSpace = new double[size];
+        }
+        return workingSpace;
+    }
+
+    /**
+     * background estimation of multiple spectra in parallel
+     *
+     * @param sources source spectra, {@code sources[spectrum][sample]}
+     * @param destinations where to store the backgrounds, may be null or contain null/too short entries that are
+     *            allocated
+     * @param length length of the spectra
+     * @param numberIterations maximal width of clipping window
+     * @param direction direction of change of clipping window
+     * @param filterOrder order of clipping filter
+     * @param smoothing smoothing window
+     * @param compton whether the estimation of Compton edge will be included
+     * @return backgrounds of all spectra
+     */
+    public static double[][] background(final double[][] sources, final double[][] destinations, final int length, final int numberIterations, // NOPMD
+            final Direction direction, final FilterOrder filterOrder, final SmoothWindow smoothing, final boolean compton) {
+        AssertUtils.notNull("sources", sources);
+        final double[][] result = destinations == null ? new double[sources.length][] : destinations;
+        AssertUtils.gtOrEqual("destinations.length", sources.length, result.length);
+        for (final double[] source : sources) { // N.B. validated up-front, before any of the spectra is processed
+            TSpectrum.checkBackgroundArguments(source, length, numberIterations, filterOrder, smoothing);
+        }
+        ConcurrencyUtils.forEachIndex(sources.length, index -> result[index] = WORKER_CONTEXT.get().background(sources[index], result[index], length, numberIterations, direction, filterOrder, smoothing, compton));
+        return result;
+    }
+
+    /**
+     * peak search on the rows of a two-dimensional grid, i.e. on the z-values along the x-axis for every y-index, in
+     * parallel
+     *
+     * @param dataSet grid data set with two grid dimensions
+     * @param results where to store the results, may be null or contain null entries that are allocated
+     * @param nMaxPeaks maximum number of peaks to search for (upper bound)
+     * @param sigma sigma of searched peaks
+     * @param threshold threshold value in % for selected peaks
+     * @param backgroundRemove set if the removal of background before deconvolution is desired
+     * @param deconIterations number of iterations in deconvolution operation
+     * @param markov whether the source spectrum is first replaced by its Markov-chain smoothed spectrum
+     * @param averWindow averaging window of searched peaks (applies only for Markov method)
+     * @return peaks for every row
+     */
+    public static PeakSearchResult[] search(final GridDataSet dataSet, final PeakSearchResult[] results, final int nMaxPeaks, // NOPMD
+            final double sigma, final double threshold, final boolean backgroundRemove, final int deconIterations,
+            final boolean markov, final int averWindow) {
+        AssertUtils.notNull("dataSet", dataSet);
+        if (dataSet.getNGrid() != 2) {
+            throw new IllegalArgumentException("dataSet must have two grid dimensions, has " + dataSet.getNGrid());
+        }
+        return dataSet.lock().readLockGuard(() -> {
+            final double[] sourceX = dataSet.getGridValues(DataSet.DIM_X);
+            final int length = sourceX.length;
+            final int nRows = dataSet.getShape(DataSet.DIM_Y);
+            TSpectrum.checkSearchArguments(sourceX, sourceX, length, sigma, threshold, backgroundRemove, markov, averWindow);
+            final PeakSearchResult[] peaks = checkResults(results, nRows);
+            ConcurrencyUtils.forEachIndex(nRows, iy -> {
+                final TSpectrumContext context = WORKER_CONTEXT.get();
+                final double[] sourceY = context.getRow(length);
+                for (int ix = 0; ix < length; ix++) {
+                    sourceY[ix] = dataSet.get(DataSet.DIM_Z, ix, iy);
+                }
+                context.search(sourceX, sourceY, null, length, nMaxPeaks, sigma, threshold, backgroundRemove, deconIterations, markov, averWindow, peaks[iy]);
+            });
+            return peaks;
+        });
+    }
+
+    /**
+     * peak search of multiple spectra sharing the same x-coordinates in parallel
+     *
+     * @param sourceX x-coordinates of the spectra
+     * @param sourceY source spectra, {@code sourceY[spectrum][sample]}
+     * @param results where to store the results, may be null or contain null entries that are allocated
+     * @param length length of the spectra
+     * @param nMaxPeaks maximum number of peaks to search for (upper bound)
+     * @param sigma sigma of searched peaks
+     * @param threshold threshold value in % for selected peaks
+     * @param backgroundRemove set if the removal of background before deconvolution is desired
+     * @param deconIterations number of iterations in deconvolution operation
+     * @param markov whether the source spectrum is first replaced by its Markov-chain smoothed spectrum
+     * @param averWindow averaging window of searched peaks (applies only for Markov method)
+     * @return peaks for every spectrum
+     */
+    public static PeakSearchResult[] search(final double[] sourceX, final double[][] sourceY, final PeakSearchResult[] results, final int length, // NOPMD
+            final int nMaxPeaks, final double sigma, final double threshold, final boolean backgroundRemove,
+            final int deconIterations, final boolean markov, final int averWindow) {
+        AssertUtils.notNull("sourceY", sourceY);
+        for (final double[] spectrum : sourceY) { // N.B. validated up-front, before any of the spectra is processed
+            TSpectrum.checkSearchArguments(sourceX, spectrum, length, sigma, threshold, backgroundRemove, markov, averWindow);
+        }
+        final PeakSearchResult[] peaks = checkResults(results, sourceY.length);
+        ConcurrencyUtils.forEachIndex(sourceY.length, index -> WORKER_CONTEXT.get().search(sourceX, sourceY[index], null, length, nMaxPeaks, sigma, threshold, backgroundRemove, deconIterations, markov, averWindow, peaks[index]));
+        return peaks;
+    }
+
+    private static PeakSearchResult[] checkResults(final PeakSearchResult[] results, final int length) {
+        final PeakSearchResult[] peaks = results == null ? new PeakSearchResult[length] : results;
+        AssertUtils.gtOrEqual("results.length", length, peaks.length);
+        for (int i = 0; i < length; i++) {
+            if (peaks[i] == null) {
+                peaks[i] = new PeakSearchResult();
+            }
+        }
+        return peaks;
+    }
+}
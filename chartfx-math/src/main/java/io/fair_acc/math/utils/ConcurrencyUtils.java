@@ -41,6 +41,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 /**
  * Concurrency utilities.
@@ -59,6 +62,55 @@ public class ConcurrencyUtils {
     private static boolean forceThreads = false;
     private static int forceNThreads = 1;
 
+    /**
+     * Executes the task for each index in [0, n) on at most {@link #getNumberOfThreads()} workers, one of which is the
+     * calling thread. The indices are handed out one by one (work-stealing), i.e. suited for tasks of unequal duration.
+     *
+     * @param n number of indices
+     * @param task task to be executed for each index, invoked concurrently for different indices
+     * @throws RuntimeException the first exception thrown by the task (re-thrown on the calling thread, the remaining
+     *             indices are skipped)
+     */
+    public static void forEachIndex(final int n, final IntConsumer task) {
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Runnable worker = () -> {
+            try {
+                for (int index = next.getAndIncrement(); index < n; index = next.getAndIncrement()) {
+                    task.accept(index);
+                }
+            } catch (final Throwable t) { // NOPMD - propagated to the calling thread
+                failure.compareAndSet(null, t);
+                next.set(n);
+            }
+        };
+        final Future<?>[] futures = new Future<?>[Math.max(0, Math.min(n, getNumberOfThreads()) - 1)];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = submit(worker);
+        }
+        worker.run();
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the workers", e);
+        } catch (final ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        }
+        final Throwable t = failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t != null) {
+            throw new IllegalStateException("worker finished execution with error", t);
+        }
+    }
+
     public static int extendDimension(int x) {
         if (x < 1) {
             throw new IllegalArgumentException("x must be greater or equal 1");
@@ -0,0 +1,158 @@
+package io.fair_acc.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of the scalar loops with the SIMD ({@code jdk.incubator.vector}) kernels used by {@link ArrayMath}
+ * for large double and float arrays. The scalar variants correspond to the loops used by {@link ArrayMath} for short
+ * arrays or if the vector module is not available and, like the {@link ArrayMath} functions, allocate their result.
+ * <p>
+ * Run via {@link #main(String[])} from the test class-path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+public class ArrayMathBenchmark {
+    @Param({ "1000000" })
+    private int length;
+    private double[] a;
+    private double[] b;
+    private float[] aFloat;
+    private float[] bFloat;
+
+    @Setup
+    public void setup() {
+        a = new double[length];
+        b = new double[length];
+        aFloat = new float[length];
+        bFloat = new float[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = 1.0 + i % 1000;
+            b[i] = 0.5 + i % 7;
+            aFloat[i] = (float) a[i];
+            bFloat[i] = (float) b[i];
+        }
+    }
+
+    @Benchmark
+    public double[] addScalar() {
+        final double[] out = new double[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] + b[i];
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] addVector() {
+        return ArrayMath.add(a, 0, b, 0, length);
+    }
+
+    @Benchmark
+    public float[] addFloatScalar() {
+        final float[] outFloat = new float[length];
+        for (int i = 0; i < length; i++) {
+            outFloat[i] = aFloat[i] + bFloat[i];
+        }
+        return outFloat;
+    }
+
+    @Benchmark
+    public float[] addFloatVector() {
+        return ArrayMath.add(aFloat, 0, bFloat, 0, length);
+    }
+
+    @Benchmark
+    public double[] decibelScalar() {
+        final double[] out = new double[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = 20 * MathBase.log10(a[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] decibelVector() {
+        return ArrayMath.decibel(a, 0, length);
+    }
+
+    @Benchmark
+    public float[] decibelFloatScalar() {
+        final float[] outFloat = new float[length];
+        for (int i = 0; i < length; i++) {
+            outFloat[i] = (float) (20 * MathBase.log10(aFloat[i]));
+        }
+        return outFloat;
+    }
+
+    @Benchmark
+    public float[] decibelFloatVector() {
+        return ArrayMath.decibel(aFloat, 0, length);
+    }
+
+    @Benchmark
+    public double[] multiplyScalar() {
+        final double[] out = new double[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = a[i] * b[i];
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] multiplyVector() {
+        return ArrayMath.multiply(a, 0, b, 0, length);
+    }
+
+    @Benchmark
+    public float[] sqrtFloatScalar() {
+        final float[] outFloat = new float[length];
+        for (int i = 0; i < length; i++) {
+            outFloat[i] = (float) MathBase.sqrt(aFloat[i]);
+        }
+        return outFloat;
+    }
+
+    @Benchmark
+    public float[] sqrtFloatVector() {
+        return ArrayMath.sqrt(aFloat, 0, length);
+    }
+
+    @Benchmark
+    public double[] sqrtScalar() {
+        final double[] out = new double[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = MathBase.sqrt(a[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] sqrtVector() {
+        return ArrayMath.sqrt(a, 0, length);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder().include(ArrayMathBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -1,6 +1,7 @@
 package io.fair_acc.math;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -147,4 +148,62 @@ public class ArrayMathTests {
         assertArrayEquals(new double[] { -10, -10, -10 }, ArrayMath.tenLog10InPlace(new double[] { 0.1, 0.1, 0.1 }));
         assertArrayEquals(new double[] { 0.1, -10, -10, -10 }, ArrayMath.tenLog10InPlace(new double[] { 0.1, 0.1, 0.1, 0.1 }, 1, 3));
     }
+
+    @Test
+    public void vectorKernelTests() {
+        assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), ArrayMath.isVectorized());
+
+        // long arrays with a non-multiple of the vector length and offsets -> SIMD kernel plus scalar tail
+        final int length = 1003;
+        final double[] a = new double[length + 2];
+        final double[] b = new double[length + 2];
+        final double[] sum = new double[length];
+        final double[] diff = new double[length];
+        final double[] prod = new double[length];
+        final double[] sqr = new double[length];
+        final double[] sqrt = new double[length];
+        final double[] db = new double[length];
+        final float[] aFloat = new float[length + 2];
+        final float[] dbFloat = new float[length];
+        final int[] aInt = new int[length + 2];
+        final int[] prodInt = new int[length];
+        final short[] aShort = new short[length + 2];
+        final short[] sqrShort = new short[length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = 0.5 + i;
+            b[i] = 2.0 - 0.25 * i;
+            aFloat[i] = (float) a[i];
+            aInt[i] = 3 * i - 100;
+            aShort[i] = (short) (i - 500);
+        }
+        for (int i = 0; i < length; i++) {
+            sum[i] = a[i + 1] + b[i + 2];
+            diff[i] = a[i + 1] - b[i + 2];
+            prod[i] = a[i + 1] * 3.0;
+            sqr[i] = a[i + 1] * a[i + 1];
+            sqrt[i] = Math.sqrt(a[i + 1]);
+            db[i] = 20 * Math.log10(a[i + 1]);
+            dbFloat[i] = (float) (20 * Math.log10(aFloat[i + 1]));
+            prodInt[i] = aInt[i + 1] * aInt[i + 2];
+            sqrShort[i] = (short) (aShort[i + 1] * aShort[i + 1]);
+        }
+
+        assertArrayEquals(sum, ArrayMath.add(a, 1, b, 2, length));
+        assertArrayEquals(diff, ArrayMath.subtract(a, 1, b, 2, length));
+        assertArrayEquals(prod, ArrayMath.multiply(a, 1, 3.0, length));
+        assertArrayEquals(sqr, ArrayMath.sqr(a, 1, length));
+        assertArrayEquals(sqrt, ArrayMath.sqrt(a, 1, length));
+        assertArrayEquals(db, ArrayMath.decibel(a, 1, length), 1e-12);
+        assertArrayEquals(dbFloat, ArrayMath.decibel(aFloat, 1, length), 1e-5f);
+        assertArrayEquals(prodInt, ArrayMath.multiply(aInt, 1, aInt, 2, length));
+        assertArrayEquals(sqrShort, ArrayMath.sqr(aShort, 1, length));
+
+        final double[] inPlace = a.clone();
+        ArrayMath.addInPlace(inPlace, 1, b, 2, length);
+        assertEquals(a[0], inPlace[0]);
+        assertEquals(a[length + 1], inPlace[length + 1]);
+        for (int i = 0; i < length; i++) {
+            assertEquals(sum[i], inPlace[i + 1]);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package io.fair_acc.math.filter.iir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests the block, multi-channel and streaming DataSet interfaces of the IIR {@link Cascade}
+ */
+public class CascadeBlockTests {
+    private static final double EPSILON = 1e-12;
+    private static final int N_SAMPLES = 5000;
+
+    @ParameterizedTest
+    @ValueSource(ints = { DirectFormAbstract.DIRECT_FORM_I, DirectFormAbstract.DIRECT_FORM_II })
+    public void testBlockFilterMatchesSampleFilter(final int directFormType) {
+        final double[] input = generateTestSignal(N_SAMPLES, 0.1);
+        final Butterworth reference = newLowPass(directFormType);
+        final double[] expected = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            expected[i] = reference.filter(input[i]);
+        }
+
+        // one block
+        final Butterworth block = newLowPass(directFormType);
+        final double[] output = new double[N_SAMPLES];
+        block.filter(input, output, 0, N_SAMPLES);
+        assertArrayEquals(expected, output, EPSILON);
+
+        // streamed in odd-sized chunks and in-place
+        final Butterworth chunked = newLowPass(directFormType);
+        final double[] inPlace = input.clone();
+        for (int offset = 0; offset < N_SAMPLES; offset += 333) {
+            chunked.filter(inPlace, inPlace, offset, Math.min(333, N_SAMPLES - offset));
+        }
+        assertArrayEquals(expected, inPlace, EPSILON);
+
+        assertThrows(IllegalArgumentException.class, () -> block.filter(input, output, 10, N_SAMPLES));
+        assertThrows(IllegalArgumentException.class, () -> block.filter(null, output, 0, N_SAMPLES));
+    }
+
+    @Test
+    public void testMultiChannelFilter() {
+        final int nChannels = 3;
+        final double[][] input = new double[nChannels][];
+        final double[][] expected = new double[nChannels][N_SAMPLES];
+        for (int channel = 0; channel < nChannels; channel++) {
+            input[channel] = generateTestSignal(N_SAMPLES, 0.05 * (channel + 1));
+            newLowPass(DirectFormAbstract.DIRECT_FORM_II).filter(input[channel], expected[channel], 0, N_SAMPLES);
+        }
+
+        final MultiChannelCascade filter = new MultiChannelCascade(newLowPass(DirectFormAbstract.DIRECT_FORM_II), nChannels);
+        assertEquals(nChannels, filter.getNumChannels());
+        final double[][] output = new double[nChannels][N_SAMPLES];
+        filter.filter(input, output, 0, N_SAMPLES / 2);
+        filter.filter(input, output, N_SAMPLES / 2, N_SAMPLES - N_SAMPLES / 2);
+        for (int channel = 0; channel < nChannels; channel++) {
+            assertArrayEquals(expected[channel], output[channel], EPSILON);
+        }
+
+        filter.reset();
+        filter.filter(input, output, 0, N_SAMPLES);
+        for (int channel = 0; channel < nChannels; channel++) {
+            assertArrayEquals(expected[channel], output[channel], EPSILON);
+        }
+        assertThrows(IllegalArgumentException.class, () -> filter.filter(new double[1][N_SAMPLES], output, 0, N_SAMPLES));
+    }
+
+    @Test
+    public void testIirFilterDataSet() {
+        final double[] signal = generateTestSignal(N_SAMPLES, 0.1);
+        final double[] expected = new double[N_SAMPLES];
+        newLowPass(DirectFormAbstract.DIRECT_FORM_II).filter(signal, expected, 0, N_SAMPLES);
+
+        final DoubleDataSet source = new DoubleDataSet("source");
+        final IirFilterDataSet filtered = new IirFilterDataSet("filtered", newLowPass(DirectFormAbstract.DIRECT_FORM_II), source);
+        for (int i = 0; i < N_SAMPLES; i += 1000) {
+            for (int j = i; j < i + 1000; j++) {
+                source.add(j, signal[j]);
+            }
+            final int expectedCount = i + 1000;
+            Awaitility.await().until(() -> filtered.getDataCount() == expectedCount);
+        }
+
+        for (int i = 0; i < N_SAMPLES; i++) {
+            assertEquals(source.get(DataSet.DIM_X, i), filtered.get(DataSet.DIM_X, i), "index " + i);
+            assertEquals(expected[i], filtered.get(DataSet.DIM_Y, i), EPSILON, "index " + i);
+        }
+
+        // source is reset -> filter restarts
+        source.clearData();
+        source.add(0, signal[0]);
+        Awaitility.await().until(() -> filtered.getDataCount() == 1);
+        assertEquals(expected[0], filtered.get(DataSet.DIM_Y, 0), EPSILON);
+        filtered.deregisterListener();
+    }
+
+    private static Butterworth newLowPass(final int directFormType) {
+        final Butterworth filter = new Butterworth();
+        filter.lowPass(6, 1.0, 0.05, directFormType);
+        return filter;
+    }
+
+    private static double[] generateTestSignal(final int nSamples, final double frequency) {
+        final double[] signal = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            signal[i] = Math.sin(2 * Math.PI * frequency * i) + 0.5 * Math.sin(2 * Math.PI * 0.4 * i) + (i == nSamples / 3 ? 1.0 : 0.0);
+        }
+        return signal;
+    }
+}
@@ -0,0 +1,292 @@
+package io.fair_acc.math.financial;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.financial.OhlcvColumns;
+import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+
+/**
+ * Tests of the incremental technical indicators against brute-force references and full re-computations.
+ */
+public class IndicatorTests {
+    private static final double EPS = 1e-9;
+    private static final long BAR_LENGTH = 3_600_000L; // 1h in ms
+    private static final long FIRST_BAR = 18_500L * 86_400_000L; // UTC midnight
+
+    @Test
+    public void bruteForceReferences() {
+        final OhlcvColumns bars = generateBars(200, 42);
+        final double[] close = Arrays.copyOf(bars.getClose(), bars.size());
+        final int n = bars.size();
+        final int period = 14;
+
+        final double[][] sma = compute(new SimpleMovingAverage(period), bars);
+        final double[][] ema = compute(new ExponentialMovingAverage(period), bars);
+        final double[][] bb = compute(new BollingerBands(period, 2.0), bars);
+        final double[][] rsi = compute(new RelativeStrengthIndex(period), bars);
+        final double[][] vwap = compute(new VolumeWeightedAveragePrice(), bars);
+
+        double emaRef = Double.NaN;
+        double gain = 0.0;
+        double loss = 0.0;
+        double priceVolume = 0.0;
+        double volume = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (i < period - 1) {
+                assertTrue(Double.isNaN(sma[0][i]), "SMA warm-up at " + i);
+                assertTrue(Double.isNaN(ema[0][i]), "EMA warm-up at " + i);
+                assertTrue(Double.isNaN(bb[BollingerBands.UPPER][i]), "BB warm-up at " + i);
+            } else {
+                double sum = 0.0;
+                for (int j = i - period + 1; j <= i; j++) {
+                    sum += close[j];
+                }
+                final double mean = sum / period;
+                double variance = 0.0;
+                for (int j = i - period + 1; j <= i; j++) {
+                    variance += (close[j] - mean) * (close[j] - mean);
+                }
+                final double sigma = Math.sqrt(variance / period);
+                emaRef = i == period - 1 ? mean : emaRef + 2.0 / (period + 1) * (close[i] - emaRef);
+                assertEquals(mean, sma[0][i], EPS, "SMA at " + i);
+                assertEquals(emaRef, ema[0][i], EPS, "EMA at " + i);
+                assertEquals(mean, bb[BollingerBands.MIDDLE][i], EPS, "BB middle at " + i);
+                assertEquals(mean + 2.0 * sigma, bb[BollingerBands.UPPER][i], EPS, "BB upper at " + i);
+                assertEquals(mean - 2.0 * sigma, bb[BollingerBands.LOWER][i], EPS, "BB lower at " + i);
+            }
+
+            if (i > 0) {
+                final double change = close[i] - close[i - 1];
+                if (i <= period) {
+                    gain += Math.max(change, 0.0);
+                    loss += Math.max(-change, 0.0);
+                    if (i == period) {
+                        gain /= period;
+                        loss /= period;
+                    }
+                } else {
+                    gain = (gain * (period - 1) + Math.max(change, 0.0)) / period;
+                    loss = (loss * (period - 1) + Math.max(-change, 0.0)) / period;
+                }
+            }
+            if (i < period) {
+                assertTrue(Double.isNaN(rsi[0][i]), "RSI warm-up at " + i);
+            } else {
+                assertEquals(100.0 * gain / (gain + loss), rsi[0][i], EPS, "RSI at " + i);
+            }
+
+            priceVolume += (bars.getHigh()[i] + bars.getLow()[i] + close[i]) / 3.0 * bars.getVolume()[i];
+            volume += bars.getVolume()[i];
+            assertEquals(priceVolume / volume, vwap[0][i], EPS, "VWAP at " + i);
+        }
+    }
+
+    @Test
+    public void incrementalUpdates() {
+        final OhlcvColumns reference = generateBars(120, 7);
+        final Indicator[] indicators = { new SimpleMovingAverage(10), new ExponentialMovingAverage(10), new BollingerBands(20, 2.0),
+            new RelativeStrengthIndex(14), new VolumeWeightedAveragePrice(), new VolumeWeightedAveragePrice(86_400.0) };
+        final Random random = new Random(3);
+
+        for (final Indicator indicator : indicators) {
+            final OhlcvColumns bars = new OhlcvColumns();
+            final OhlcvDataSet dataSet = new OhlcvDataSet("bars");
+            dataSet.setData(bars);
+            final double[][] outputs = new double[indicator.getOutputCount()][reference.size()];
+            for (int i = 0; i < reference.size(); i++) {
+                // new forming bar followed by a few tick updates of its close
+                final double open = reference.getOpen()[i];
+                bars.add(reference.getTimeStamps()[i], open, open, open, open, 1.0, 0.0);
+                // the previous bar becomes final
+                assertEquals(Math.max(i - 1, 0), indicator.update(inputs(indicator, dataSet), bars.size(), outputs), indicator.getName());
+                for (int tick = 0; tick < 3; tick++) {
+                    final double close = open + random.nextGaussian();
+                    final int last = bars.size() - 1;
+                    bars.set(last, bars.getTimeStamps()[last], open, Math.max(bars.getHigh()[last], close), Math.min(bars.getLow()[last], close), close, bars.getVolume()[last] + 1.0, 0.0);
+                    assertEquals(i, indicator.update(inputs(indicator, dataSet), bars.size(), outputs), indicator.getName());
+                    assertEquals(i, indicator.getFinalCount(), indicator.getName());
+                }
+                final int last = bars.size() - 1;
+                bars.set(last, reference.getTimeStamps()[i], open, reference.getHigh()[i], reference.getLow()[i], reference.getClose()[i], reference.getVolume()[i], 0.0);
+                indicator.update(inputs(indicator, dataSet), bars.size(), outputs);
+            }
+
+            final double[][] expected = new double[indicator.getOutputCount()][reference.size()];
+            indicator.compute(inputs(indicator, dataSet), bars.size(), expected);
+            for (int output = 0; output < expected.length; output++) {
+                assertArrayEquals(expected[output], outputs[output], indicator.getName());
+            }
+
+            // removed bars restart the computation
+            final OhlcvColumns shorter = new OhlcvColumns();
+            for (int i = 0; i < 50; i++) {
+                shorter.add(reference.getTimeStamps()[i], reference.getOpen()[i], reference.getHigh()[i], reference.getLow()[i], reference.getClose()[i], reference.getVolume()[i], 0.0);
+            }
+            dataSet.setData(shorter);
+            assertEquals(0, indicator.update(inputs(indicator, dataSet), shorter.size(), outputs), indicator.getName());
+            assertEquals(49, indicator.getFinalCount(), indicator.getName());
+        }
+    }
+
+    @Test
+    public void replacedHistory() {
+        // same time stamps, different values and an equal or larger number of bars
+        final Indicator sma = new SimpleMovingAverage(10);
+        final OhlcvDataSet dataSet = new OhlcvDataSet("bars");
+        final double[][] outputs = new double[1][100];
+        for (final OhlcvColumns bars : new OhlcvColumns[] { generateBars(80, 1), generateBars(80, 2), generateBars(100, 3) }) {
+            dataSet.setData(bars);
+            assertEquals(0, sma.update(inputs(sma, dataSet), bars.size(), outputs));
+            assertArrayEquals(compute(new SimpleMovingAverage(10), bars)[0], Arrays.copyOf(outputs[0], bars.size()), "replaced bars");
+        }
+
+        // rolling buffer: old bars are dropped while new ones are appended, and the same bars with shifted time stamps
+        final OhlcvColumns reference = generateBars(100, 5);
+        final OhlcvDataSet source = new OhlcvDataSet("bars");
+        final DataSetIndicator indicator = new DataSetIndicator(new ExponentialMovingAverage(10), source);
+        for (int shift = 0; shift <= 60; shift += 20) {
+            final int first = Math.min(shift, 40);
+            final long timeShift = (shift - first) * BAR_LENGTH;
+            final OhlcvColumns window = new OhlcvColumns();
+            for (int i = first; i < first + 60; i++) {
+                window.add(reference.getTimeStamps()[i] + timeShift, reference.getOpen()[i], reference.getHigh()[i], reference.getLow()[i], reference.getClose()[i], reference.getVolume()[i], 0.0);
+            }
+            source.setData(window);
+            update(indicator);
+            final double[] expected = compute(new ExponentialMovingAverage(10), window)[0];
+            final DataSet dataSetOut = indicator.getDataSet();
+            assertEquals(window.size(), dataSetOut.getDataCount());
+            for (int i = 0; i < window.size(); i++) {
+                assertEquals(source.get(DataSet.DIM_X, i), dataSetOut.get(DataSet.DIM_X, i));
+                assertEquals(expected[i], dataSetOut.get(DataSet.DIM_Y, i), EPS, "shift " + shift + " at " + i);
+            }
+        }
+        indicator.deregisterListener();
+    }
+
+    @Test
+    public void sessionReset() {
+        final OhlcvColumns bars = generateBars(72, 11); // three UTC days of hourly bars
+        final double[][] vwap = compute(new VolumeWeightedAveragePrice(86_400.0), bars);
+        for (int day = 0; day < 3; day++) {
+            final int first = day * 24;
+            double priceVolume = 0.0;
+            double volume = 0.0;
+            for (int i = first; i < first + 24; i++) {
+                priceVolume += (bars.getHigh()[i] + bars.getLow()[i] + bars.getClose()[i]) / 3.0 * bars.getVolume()[i];
+                volume += bars.getVolume()[i];
+                assertEquals(priceVolume / volume, vwap[0][i], EPS, "session VWAP at " + i);
+            }
+        }
+    }
+
+    @Test
+    public void dataSetIndicator() {
+        final OhlcvColumns reference = generateBars(100, 5);
+        final OhlcvColumns bars = new OhlcvColumns();
+        for (int i = 0; i < 60; i++) {
+            bars.add(reference.getTimeStamps()[i], reference.getOpen()[i], reference.getHigh()[i], reference.getLow()[i], reference.getClose()[i], reference.getVolume()[i], 0.0);
+        }
+        final OhlcvDataSet source = new OhlcvDataSet("bars");
+        source.setData(bars);
+
+        final DataSetIndicator bollinger = new DataSetIndicator(new BollingerBands(20, 2.0), source);
+        assertEquals(3, bollinger.getDataSets().size());
+        update(bollinger);
+        for (int i = 60; i < reference.size(); i++) {
+            bars.add(reference.getTimeStamps()[i], reference.getOpen()[i], reference.getHigh()[i], reference.getLow()[i], reference.getClose()[i], reference.getVolume()[i], 0.0);
+            update(bollinger);
+        }
+        update(bollinger); // idempotent
+
+        final double[][] expected = compute(new BollingerBands(20, 2.0), bars);
+        for (int output = 0; output < 3; output++) {
+            final DataSet dataSet = bollinger.getDataSet(output);
+            assertEquals(reference.size(), dataSet.getDataCount());
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = 0; i < reference.size(); i++) {
+                assertEquals(source.get(DataSet.DIM_X, i), dataSet.get(DataSet.DIM_X, i));
+                assertEquals(expected[output][i], dataSet.get(DataSet.DIM_Y, i), EPS);
+                if (Double.isFinite(expected[output][i])) {
+                    min = Math.min(min, expected[output][i]);
+                    max = Math.max(max, expected[output][i]);
+                }
+            }
+            assertEquals(min, dataSet.getAxisDescription(DataSet.DIM_Y).getMin(), EPS);
+            assertEquals(max, dataSet.getAxisDescription(DataSet.DIM_Y).getMax(), EPS);
+            assertEquals(source.get(DataSet.DIM_X, 0), dataSet.getAxisDescription(DataSet.DIM_X).getMin());
+            assertEquals(source.get(DataSet.DIM_X, reference.size() - 1), dataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        }
+
+        // spike in the forming bar extends the range, its revision shrinks it again
+        final int last = bars.size() - 1;
+        final double maxBefore = bollinger.getDataSet(BollingerBands.UPPER).getAxisDescription(DataSet.DIM_Y).getMax();
+        bars.set(last, bars.getTimeStamps()[last], bars.getOpen()[last], 1000.0, bars.getLow()[last], 1000.0, bars.getVolume()[last], 0.0);
+        update(bollinger);
+        final double maxSpike = bollinger.getDataSet(BollingerBands.UPPER).getAxisDescription(DataSet.DIM_Y).getMax();
+        assertTrue(maxSpike > maxBefore);
+        bars.set(last, reference.getTimeStamps()[last], reference.getOpen()[last], reference.getHigh()[last], reference.getLow()[last], reference.getClose()[last], reference.getVolume()[last], 0.0);
+        update(bollinger);
+        assertEquals(maxBefore, bollinger.getDataSet(BollingerBands.UPPER).getAxisDescription(DataSet.DIM_Y).getMax(), EPS);
+
+        bollinger.deregisterListener();
+        assertThrows(UnsupportedOperationException.class, () -> bollinger.getDataSet().set(source));
+        assertThrows(IllegalArgumentException.class, () -> new DataSetIndicator(new SimpleMovingAverage(8, 10), source));
+    }
+
+    private static void assertArrayEquals(final double[] expected, final double[] actual, final String message) {
+        assertEquals(expected.length, actual.length, message);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], EPS, message + " at " + i);
+        }
+    }
+
+    private static void update(final DataSetIndicator indicator) {
+        indicator.update();
+        // as done by the chart: undefined ranges are re-computed from all values
+        for (final DataSet dataSet : indicator.getDataSets()) {
+            dataSet.getAxisDescriptions().stream().filter(range -> !range.isDefined()).forEach(range -> dataSet.recomputeLimits(range.getDimIndex()));
+        }
+    }
+
+    private static double[][] compute(final Indicator indicator, final OhlcvColumns bars) {
+        final OhlcvDataSet dataSet = new OhlcvDataSet("bars");
+        dataSet.setData(bars);
+        final double[][] outputs = new double[indicator.getOutputCount()][bars.size()];
+        indicator.compute(inputs(indicator, dataSet), bars.size(), outputs);
+        return outputs;
+    }
+
+    private static OhlcvColumns generateBars(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final OhlcvColumns bars = new OhlcvColumns(count);
+        double price = 4000.0;
+        for (int i = 0; i < count; i++) {
+            final double open = price;
+            final double close = open + 5.0 * random.nextGaussian();
+            final double high = Math.max(open, close) + 2.0 * random.nextDouble();
+            final double low = Math.min(open, close) - 2.0 * random.nextDouble();
+            bars.add(FIRST_BAR + i * BAR_LENGTH, open, high, low, close, 1.0 + 100.0 * random.nextDouble(), 0.0);
+            price = close;
+        }
+        return bars;
+    }
+
+    private static double[][] inputs(final Indicator indicator, final DataSet dataSet) {
+        final int[] dimensions = indicator.getInputDimensions();
+        final double[][] inputs = new double[dimensions.length][];
+        for (int i = 0; i < dimensions.length; i++) {
+            inputs[i] = dataSet.getValues(dimensions[i]);
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,150 @@
+package io.fair_acc.math.fitter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.math.functions.AbstractFunction1D;
+import io.fair_acc.math.functions.Function1D;
+
+/**
+ * Tests of the multi-start simplex fit and of the analytic-Jacobian post-fit statistics
+ */
+public class MultiStartFitterTests {
+    private static final int N_SAMPLES = 200;
+
+    @Test
+    public void testAnalyticJacobianStatistics() {
+        final double[] x = new double[N_SAMPLES];
+        final double[] y = new double[N_SAMPLES];
+        final double[] e = new double[N_SAMPLES];
+        final Random random = new Random(1);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            x[i] = 0.05 * i;
+            e[i] = 0.01;
+            y[i] = 2.0 * Math.exp(-0.7 * x[i]) + e[i] * random.nextGaussian();
+        }
+
+        final NonLinearRegressionFitter numeric = new NonLinearRegressionFitter(x, y, e);
+        numeric.simplex(exponential(), new double[] { 1.0, 1.0 });
+        final NonLinearRegressionFitter analytic = new NonLinearRegressionFitter(x, y, e);
+        final ParameterJacobian jacobian = (xi, p, derivatives) -> {
+            derivatives[0] = Math.exp(-p[1] * xi);
+            derivatives[1] = -p[0] * xi * Math.exp(-p[1] * xi);
+        };
+        analytic.setJacobian(jacobian);
+        assertSame(jacobian, analytic.getJacobian());
+        analytic.simplex(exponential(), new double[] { 1.0, 1.0 });
+
+        final double[] best = analytic.getBestEstimates();
+        assertEquals(2.0, best[0], 0.01);
+        assertEquals(0.7, best[1], 0.01);
+        final double[][] covNumeric = numeric.getCovMatrix();
+        final double[][] covAnalytic = analytic.getCovMatrix();
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                assertEquals(covNumeric[i][j], covAnalytic[i][j], 0.05 * Math.abs(covNumeric[i][j]), "cov[" + i + "][" + j + "]");
+            }
+            assertEquals(numeric.getPseudoSd()[i], analytic.getPseudoSd()[i], 0.05 * numeric.getPseudoSd()[i]);
+            assertTrue(analytic.getGrad()[i][1] > analytic.getGrad()[i][0]);
+        }
+    }
+
+    @Test
+    public void testMultiStart() {
+        // sinusoid: the frequency has many local minima, only starts close enough to the true value converge to it
+        final double[] x = new double[N_SAMPLES];
+        final double[] y = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            x[i] = 0.05 * i;
+            y[i] = 1.5 * Math.sin(2.3 * x[i]);
+        }
+
+        final MultiStartFitter fitter = new MultiStartFitter(() -> new NonLinearRegressionFitter(x, y), MultiStartFitterTests::sinusoid);
+        final double[][] starts = MultiStartFitter.uniformStarts(new double[] { 0.5, 0.5 }, new double[] { 3.0, 4.0 }, 24, 42);
+        final MultiStartFitter.Result result = fitter.fit(starts);
+
+        final MultiStartFitter.StartStatistics[] statistics = result.getStatistics();
+        assertEquals(starts.length, statistics.length);
+        final int bestIndex = result.getBestIndex();
+        assertTrue(bestIndex >= 0);
+        assertNotNull(result.getBestFitter());
+        assertEquals(1.5, Math.abs(result.getBestEstimates()[0]), 1e-3);
+        assertEquals(2.3, result.getBestEstimates()[1], 1e-3);
+        assertEquals(result.getBestFitter().getSumOfSquares(), statistics[bestIndex].getSumOfSquares());
+        assertTrue(result.getNumberConverged() > 0);
+        for (int i = 0; i < statistics.length; i++) {
+            final MultiStartFitter.StartStatistics stats = statistics[i];
+            assertEquals(i, stats.getIndex());
+            assertNull(stats.getFailure());
+            assertEquals(starts[i][0], stats.getStart()[0]);
+            assertTrue(stats.getNumberOfIterations() > 0);
+            assertTrue(stats.getDurationNanos() >= 0);
+            assertTrue(stats.getMinimum() >= statistics[bestIndex].getMinimum());
+        }
+    }
+
+    @Test
+    public void testFailures() {
+        final double[] x = { 1, 2, 3 };
+        final MultiStartFitter fitter = new MultiStartFitter(() -> new NonLinearRegressionFitter(x, x), MultiStartFitterTests::exponential);
+        // more constrained parameters than fitted parameters -> every start fails
+        final MultiStartFitter failing = new MultiStartFitter(() -> {
+            final NonLinearRegressionFitter nlr = new NonLinearRegressionFitter(x, x);
+            nlr.addConstraint(4, -1, 0.0);
+            return nlr;
+        }, MultiStartFitterTests::exponential);
+        final MultiStartFitter.Result result = failing.fit(new double[] { 1, 1 }, new double[] { 2, 2 });
+        assertEquals(-1, result.getBestIndex());
+        assertNull(result.getBestFitter());
+        assertNull(result.getBestEstimates());
+        assertNotNull(result.getStatistics()[0].getFailure());
+
+        // failing fitter factory: reported as failure of the respective start
+        final AtomicInteger nCreated = new AtomicInteger();
+        final RuntimeException factoryFailure = new IllegalStateException("factory");
+        final MultiStartFitter unreliable = new MultiStartFitter(() -> {
+            if (nCreated.getAndIncrement() % 2 == 0) {
+                throw factoryFailure;
+            }
+            return new NonLinearRegressionFitter(x, x);
+        }, MultiStartFitterTests::exponential);
+        final MultiStartFitter.Result partial = unreliable.fit(new double[] { 1, 1 }, new double[] { 1, 0.1 }, new double[] { 2, 2 }, new double[] { 1, 0.5 });
+        int nFactoryFailures = 0;
+        for (final MultiStartFitter.StartStatistics stats : partial.getStatistics()) {
+            nFactoryFailures += stats.getFailure() == factoryFailure ? 1 : 0;
+        }
+        assertEquals(2, nFactoryFailures);
+        assertTrue(partial.getBestIndex() >= 0);
+        assertNull(partial.getStatistics()[partial.getBestIndex()].getFailure());
+
+        assertThrows(IllegalArgumentException.class, () -> fitter.fit());
+        assertThrows(IllegalArgumentException.class, () -> new MultiStartFitter(null, MultiStartFitterTests::exponential));
+    }
+
+    private static Function1D exponential() {
+        return new AbstractFunction1D("exp", new double[2]) {
+            @Override
+            public double getValue(final double x) {
+                return fparameter[0] * Math.exp(-fparameter[1] * x);
+            }
+        };
+    }
+
+    private static Function1D sinusoid() {
+        return new AbstractFunction1D("sin", new double[2]) {
+            @Override
+            public double getValue(final double x) {
+                return fparameter[0] * Math.sin(fparameter[1] * x);
+            }
+        };
+    }
+}
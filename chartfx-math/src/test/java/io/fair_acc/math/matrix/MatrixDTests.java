@@ -0,0 +1,164 @@
+package io.fair_acc.math.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests of the blocked/multi-threaded MatrixD product and decompositions against naive reference implementations
+ */
+public class MatrixDTests {
+    private static final double EPSILON = 1e-9;
+
+    @ParameterizedTest
+    @CsvSource({ "1, 1, 1", "3, 4, 5", "7, 1, 3", "130, 140, 1", "257, 129, 600" })
+    public void testTimes(final int m, final int n, final int p) {
+        final MatrixD a = randomMatrix(m, n, 42);
+        final MatrixD b = randomMatrix(n, p, 43);
+        final MatrixD c = a.times(b);
+        assertEquals(m, c.getRowDimension());
+        assertEquals(p, c.getColumnDimension());
+        final double[][] ref = naiveProduct(a.getArray(), b.getArray());
+        for (int i = 0; i < m; i++) {
+            assertArrayEquals(ref[i], c.getArray()[i], EPSILON, "row " + i);
+        }
+    }
+
+    @Test
+    public void testFlatKernels() {
+        final int m = 70;
+        final int n = 300;
+        final int p = 45;
+        final MatrixD a = randomMatrix(m, n, 1);
+        final MatrixD b = randomMatrix(p, n, 2);
+        final double[][] ref = naiveProduct(a.getArray(), b.transpose().getArray());
+        final double[][] refSym = naiveProduct(a.getArray(), a.transpose().getArray());
+
+        final double[] flat = new double[m * n + p * n + m * p + m * m];
+        System.arraycopy(a.getRowPackedCopy(), 0, flat, 0, m * n);
+        System.arraycopy(b.getRowPackedCopy(), 0, flat, m * n, p * n);
+        MatrixKernels.multiplyTransposed(flat, 0, flat, m * n, flat, m * n + p * n, m, n, p);
+        MatrixKernels.multiplyTransposed(flat, 0, flat, 0, flat, m * n + p * n + m * p, m, n, m);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < p; j++) {
+                assertEquals(ref[i][j], flat[m * n + p * n + i * p + j], EPSILON);
+            }
+            for (int j = 0; j < m; j++) {
+                assertEquals(refSym[i][j], flat[m * n + p * n + m * p + i * m + j], EPSILON);
+            }
+        }
+
+        final double[] y = new double[p];
+        final double[] x = new double[n];
+        x[3] = 1.0;
+        MatrixKernels.multiplyVector(b.getRowPackedCopy(), 0, x, 0, y, 0, p, n);
+        for (int i = 0; i < p; i++) {
+            assertEquals(b.get(i, 3), y[i], EPSILON);
+        }
+
+        final double[] c = new double[m * p];
+        MatrixKernels.gemm(1.0, a.getRowPackedCopy(), 0, n, b.transpose().getRowPackedCopy(), 0, p, c, 0, p, m, n, p);
+        assertArrayEquals(new MatrixD(ref).getRowPackedCopy(), c, EPSILON);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "1", "5", "64", "65", "200" })
+    public void testLuDecomposition(final int n) {
+        final MatrixD a = randomMatrix(n, n, 7);
+        final LUDecomposition lu = a.lu();
+        assertTrue(lu.isNonsingular());
+
+        // A(piv,:) = L*U
+        final MatrixD pa = a.getMatrix(lu.getPivot(), 0, n - 1);
+        assertMatrixEquals(pa, lu.getL().times(lu.getU()));
+
+        final MatrixD b = randomMatrix(n, 3, 8);
+        assertMatrixEquals(b, a.times(a.solve(b)));
+        assertMatrixEquals(MatrixFactory.identity(n, n), a.times(a.inverse()));
+
+        final double[][] vals = { { 1., 2., 3 }, { 4., 5., 6. }, { 7., 8., 10. } };
+        assertEquals(-3.0, new MatrixD(vals).det(), EPSILON);
+        assertFalse(new MatrixD(3, 3).lu().isNonsingular());
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "1", "5", "64", "150" })
+    public void testCholeskyDecomposition(final int n) {
+        final MatrixD r = randomMatrix(n, n, 9);
+        final MatrixD a = r.times(r.transpose()).plus(MatrixFactory.identity(n, n).times(n));
+        final CholeskyDecomposition chol = a.chol();
+        assertTrue(chol.isSPD());
+        final MatrixD l = chol.getL();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                assertEquals(0.0, l.get(i, j));
+            }
+        }
+        assertMatrixEquals(a, l.times(l.transpose()));
+
+        final MatrixD b = randomMatrix(n, 4, 10);
+        assertMatrixEquals(b, a.times(chol.solve(b)));
+
+        if (n > 1) {
+            final MatrixD notSymmetric = a.copy();
+            notSymmetric.set(0, n - 1, notSymmetric.get(0, n - 1) + 1.0);
+            assertFalse(notSymmetric.chol().isSPD());
+            assertFalse(a.uminus().chol().isSPD());
+        }
+        assertFalse(new MatrixD(3, 2).chol().isSPD());
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "1, 1", "5, 3", "120, 80" })
+    public void testQrDecomposition(final int m, final int n) {
+        final MatrixD a = randomMatrix(m, n, 11);
+        final QRDecomposition qr = a.qr();
+        assertTrue(qr.isFullRank());
+        assertMatrixEquals(a, qr.getQ().times(qr.getR()));
+
+        // least-squares solution satisfies the normal equations A'A x = A'b
+        final MatrixD b = randomMatrix(m, 2, 12);
+        final MatrixD x = qr.solve(b);
+        assertMatrixEquals(a.transpose().times(b), a.transpose().times(a).times(x));
+    }
+
+    private static void assertMatrixEquals(final MatrixD expected, final MatrixD actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); i++) {
+            assertArrayEquals(expected.getArray()[i], actual.getArray()[i], 1e-6, "row " + i);
+        }
+    }
+
+    private static double[][] naiveProduct(final double[][] a, final double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                double s = 0.0;
+                for (int k = 0; k < b.length; k++) {
+                    s += a[i][k] * b[k][j];
+                }
+                c[i][j] = s;
+            }
+        }
+        return c;
+    }
+
+    private static MatrixD randomMatrix(final int m, final int n, final long seed) {
+        final Random random = new Random(seed);
+        final MatrixD matrix = new MatrixD(m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix.set(i, j, random.nextDouble() - 0.5);
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,136 @@
+package io.fair_acc.math.spectra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
+import io.fair_acc.dataset.spi.utils.DoublePoint;
+import io.fair_acc.math.spectra.TSpectrum.Direction;
+import io.fair_acc.math.spectra.TSpectrum.FilterOrder;
+import io.fair_acc.math.spectra.TSpectrum.SmoothWindow;
+
+/**
+ * Tests of the re-usable {@link TSpectrumContext} and batch functions against the static {@link TSpectrum} functions
+ */
+public class TSpectrumContextTests {
+    private static final int N_SAMPLES = 256;
+    private static final double SIGMA = 2.0;
+    private static final double THRESHOLD = 5.0;
+
+    @Test
+    public void testSearchContext() {
+        final double[] x = xValues();
+        final TSpectrumContext context = new TSpectrumContext();
+        for (int spectrum = 0; spectrum < 4; spectrum++) {
+            final double[] y = spectrum(spectrum);
+            final double[] destStatic = new double[N_SAMPLES];
+            final double[] destContext = new double[N_SAMPLES];
+            final List<DoublePoint> expected = TSpectrum.search(x, y, destStatic, N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3);
+            final PeakSearchResult peaks = context.search(x, y, destContext, N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3);
+            assertSame(context.getPeaks(), peaks);
+            assertPeaksEqual(expected, peaks);
+            assertArrayEquals(destStatic, destContext);
+            assertEquals(3, peaks.size(), "spectrum " + spectrum);
+            // highest peak first
+            assertEquals(x[60 + spectrum], peaks.getX(0));
+            assertEquals(60 + spectrum, peaks.getIndex(0));
+        }
+
+        // limited number of peaks
+        final PeakSearchResult limited = context.search(x, spectrum(0), null, N_SAMPLES, 2, SIGMA, THRESHOLD, false, 3, false, 3, new PeakSearchResult());
+        assertEquals(2, limited.size());
+        assertEquals(x[60], limited.getX(0));
+        assertEquals(x[190], limited.getX(1));
+
+        assertThrows(IllegalArgumentException.class, () -> context.search(x, spectrum(0), null, N_SAMPLES, 10, 0.5, THRESHOLD, false, 3, false, 3));
+        assertThrows(IllegalArgumentException.class, () -> context.search(x, spectrum(0), null, N_SAMPLES, 10, SIGMA, THRESHOLD, false, 3, false, 3, null));
+    }
+
+    @Test
+    public void testBackgroundAndDeconvolutionContext() {
+        final TSpectrumContext context = new TSpectrumContext();
+        final double[] source = spectrum(1);
+        final double[] expected = TSpectrum.background(source, null, N_SAMPLES, 10, Direction.INCREASING, FilterOrder.ORDER_4, SmoothWindow.SMOOTHING_WIDTH5, false);
+        final double[] destination = new double[N_SAMPLES];
+        assertSame(destination, context.background(source, destination, N_SAMPLES, 10, Direction.INCREASING, FilterOrder.ORDER_4, SmoothWindow.SMOOTHING_WIDTH5, false));
+        assertArrayEquals(expected, destination);
+        assertThrows(IllegalArgumentException.class, () -> context.background(source, destination, N_SAMPLES, 0, Direction.INCREASING, FilterOrder.ORDER_4, SmoothWindow.SMOOTHING_WIDTH5, false));
+
+        final double[] response = new double[N_SAMPLES];
+        for (int i = 0; i < 15; i++) {
+            response[i] = Math.exp(-0.5 * (i - 7) * (i - 7) / (SIGMA * SIGMA));
+        }
+        assertArrayEquals(TSpectrum.deconvolution(source.clone(), response, null, N_SAMPLES, 10, 1, 1.0), context.deconvolution(source.clone(), response, null, N_SAMPLES, 10, 1, 1.0));
+        assertArrayEquals(TSpectrum.deconvolutionRL(source.clone(), response, null, N_SAMPLES, 10, 1, 1.0), context.deconvolutionRL(source.clone(), response, null, N_SAMPLES, 10, 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> context.deconvolution(source, response, null, N_SAMPLES, 10, 0, 1.0));
+    }
+
+    @Test
+    public void testBatch() {
+        final int nSpectra = 9;
+        final double[] x = xValues();
+        final double[][] spectra = new double[nSpectra][];
+        final double[] z = new double[nSpectra * N_SAMPLES];
+        for (int i = 0; i < nSpectra; i++) {
+            spectra[i] = spectrum(i);
+            System.arraycopy(spectra[i], 0, z, i * N_SAMPLES, N_SAMPLES);
+        }
+
+        final PeakSearchResult[] results = TSpectrumContext.search(x, spectra, null, N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3);
+        final double[][] grid = { x, new double[nSpectra] };
+        final PeakSearchResult[] gridResults = TSpectrumContext.search(new DoubleGridDataSet("grid", false, grid, z), new PeakSearchResult[nSpectra], 10, SIGMA, THRESHOLD, true, 3, false, 3);
+        final double[][] backgrounds = TSpectrumContext.background(spectra, null, N_SAMPLES, 10, Direction.INCREASING, FilterOrder.ORDER_2, SmoothWindow.NO_SMOOTHING, false);
+        assertEquals(nSpectra, results.length);
+        assertEquals(nSpectra, gridResults.length);
+        for (int i = 0; i < nSpectra; i++) {
+            final List<DoublePoint> expected = TSpectrum.search(x, spectra[i], null, N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3);
+            assertPeaksEqual(expected, results[i]);
+            assertPeaksEqual(expected, gridResults[i]);
+            assertArrayEquals(TSpectrum.background(spectra[i], null, N_SAMPLES, 10, Direction.INCREASING, FilterOrder.ORDER_2, SmoothWindow.NO_SMOOTHING, false), backgrounds[i]);
+        }
+
+        // re-use of results
+        final PeakSearchResult first = results[0];
+        assertSame(first, TSpectrumContext.search(x, spectra, results, N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3)[0]);
+        assertThrows(IllegalArgumentException.class, () -> TSpectrumContext.search(x, spectra, new PeakSearchResult[1], N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3));
+        assertThrows(IllegalArgumentException.class, () -> TSpectrumContext.search(x, new double[][] { new double[3] }, null, N_SAMPLES, 10, SIGMA, THRESHOLD, true, 3, false, 3));
+        assertThrows(IllegalArgumentException.class, () -> TSpectrumContext.search(new DoubleGridDataSet("1D", false, new double[][] { x }, spectra[0]), null, 10, SIGMA, THRESHOLD, true, 3, false, 3));
+    }
+
+    private static void assertPeaksEqual(final List<DoublePoint> expected, final PeakSearchResult actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getX(), actual.getX(i));
+            assertEquals(expected.get(i).getY(), actual.getY(i));
+        }
+        assertTrue(actual.getIndices().length >= actual.size());
+    }
+
+    private static double[] spectrum(final int shift) {
+        // three Gaussian peaks of decreasing amplitude on a linear background
+        final double[] y = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            y[i] = 10.0 + 0.02 * i + 1000.0 * gauss(i, 60 + shift) + 500.0 * gauss(i, 190 - shift) + 200.0 * gauss(i, 120);
+        }
+        return y;
+    }
+
+    private static double gauss(final double x, final double mean) {
+        return Math.exp(-0.5 * (x - mean) * (x - mean) / (SIGMA * SIGMA));
+    }
+
+    private static double[] xValues() {
+        final double[] x = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            x[i] = 0.5 * i;
+        }
+        return x;
+    }
+}
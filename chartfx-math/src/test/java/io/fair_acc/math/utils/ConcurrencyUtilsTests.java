@@ -0,0 +1,38 @@
+package io.fair_acc.math.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the {@link ConcurrencyUtils} work distribution
+ */
+public class ConcurrencyUtilsTests {
+    @Test
+    public void testForEachIndex() {
+        final int n = 1000;
+        final AtomicIntegerArray calls = new AtomicIntegerArray(n);
+        ConcurrencyUtils.forEachIndex(n, calls::incrementAndGet);
+        for (int i = 0; i < n; i++) {
+            assertEquals(1, calls.get(i), "index " + i);
+        }
+        ConcurrencyUtils.forEachIndex(0, index -> {
+            throw new IllegalStateException("no index expected");
+        });
+
+        // failures of any worker are re-thrown on the calling thread
+        final IllegalArgumentException failure = new IllegalArgumentException("failing index");
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> ConcurrencyUtils.forEachIndex(n, index -> {
+            if (index == n - 1) {
+                throw failure;
+            }
+        })));
+        assertThrows(AssertionError.class, () -> ConcurrencyUtils.forEachIndex(n, index -> {
+            throw new AssertionError("error");
+        }));
+    }
+}
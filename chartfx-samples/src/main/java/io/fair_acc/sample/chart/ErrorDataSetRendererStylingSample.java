@@ -27,7 +27,13 @@ import io.fair_acc.chartfx.marker.DefaultMarker;
 import io.fair_acc.chartfx.plugins.*;
 import io.fair_acc.chartfx.renderer.ErrorStyle;
 import io.fair_acc.chartfx.renderer.LineStyle;
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
 import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.LargestTriangleThreeBucketsDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.MaxDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.RamanDouglasPeukerDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.VisvalingamMaheswariWhyattDataReducer;
 import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
 import io.fair_acc.chartfx.ui.ProfilerInfoBox;
 import io.fair_acc.chartfx.ui.ProfilerInfoBox.DebugLevel;
@@ -383,6 +389,21 @@ public class ErrorDataSetRendererStylingSample extends ChartSample {
         reductionDashSize.valueProperty().addListener((ch, old, value) -> chart.invalidate());
         pane.addToParameterPane("   Red. Min Distance: ", reductionDashSize);
 
+        final Map<String, RendererDataReducer> reducers = new LinkedHashMap<>();
+        reducers.put("default", dataReducer);
+        reducers.put("max", new MaxDataReducer());
+        reducers.put("M4", new M4DataReducer());
+        reducers.put("LTTB", new LargestTriangleThreeBucketsDataReducer());
+        reducers.put("Douglas-Peucker", new RamanDouglasPeukerDataReducer());
+        reducers.put("Visvalingam-Whyatt", new VisvalingamMaheswariWhyattDataReducer());
+        final ComboBox<String> reducerSelect = new ComboBox<>(FXCollections.observableArrayList(reducers.keySet()));
+        reducerSelect.setValue("default");
+        reducerSelect.valueProperty().addListener((ch, old, selection) -> {
+            errorRenderer.setRendererDataReducer(reducers.get(selection));
+            chart.invalidate();
+        });
+        pane.addToParameterPane("   Reduction Algorithm: ", reducerSelect);
+
         pane.addToParameterPane(" ", null);
         final CheckBox assumeSorted = new CheckBox();
         assumeSorted.selectedProperty().bindBidirectional(errorRenderer.assumeSortedDataProperty());
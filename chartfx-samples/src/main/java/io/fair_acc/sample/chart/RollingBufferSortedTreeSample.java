@@ -29,7 +29,7 @@ import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
 import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
 import io.fair_acc.chartfx.ui.geometry.Side;
 import io.fair_acc.chartfx.utils.SimplePerformanceMeter;
-import io.fair_acc.dataset.spi.LimitedIndexedTreeDataSet;
+import io.fair_acc.dataset.spi.LimitedSortedTreeDataSet;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
 
 /**
@@ -38,9 +38,9 @@ import io.fair_acc.dataset.utils.ProcessingProfiler;
 public class RollingBufferSortedTreeSample extends ChartSample {
     private static final String MONOSPACED = "Monospaced";
     private static final Logger LOGGER = LoggerFactory.getLogger(RollingBufferSortedTreeSample.class);
-    public final LimitedIndexedTreeDataSet rollingBufferDipoleCurrent = new LimitedIndexedTreeDataSet(
+    public final LimitedSortedTreeDataSet rollingBufferDipoleCurrent = new LimitedSortedTreeDataSet(
             "dipole current [A]", RollingBufferSample.BUFFER_CAPACITY);
-    public final LimitedIndexedTreeDataSet rollingBufferBeamIntensity = new LimitedIndexedTreeDataSet(
+    public final LimitedSortedTreeDataSet rollingBufferBeamIntensity = new LimitedSortedTreeDataSet(
             "beam intensity [ppp]", RollingBufferSample.BUFFER_CAPACITY);
     private final ErrorDataSetRenderer beamIntensityRenderer = new ErrorDataSetRenderer();
     private final ErrorDataSetRenderer dipoleCurrentRenderer = new ErrorDataSetRenderer();
@@ -3,8 +3,13 @@ package io.fair_acc.sample.financial.dos;
 import java.util.Collection;
 import java.util.TreeMap;
 
+import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.PriceLadder;
+
 public class PriceVolumeContainer {
+    // minimal price move of the replayed sample tick data (E-mini S&P 500 futures)
+    public static final double DEFAULT_TICK_SIZE = 0.25;
     private final TreeMap<Double, Double[]> priceVolumeMap = new TreeMap<>();
+    private final PriceLadder priceLadder = new PriceLadder(DEFAULT_TICK_SIZE);
     private double pocPrice;
     private double pocVolume = -Double.MAX_VALUE;
 
@@ -24,6 +29,7 @@ public class PriceVolumeContainer {
             priceVolume[1] += volumeDown;
             priceVolume[2] += volumeUp;
         }
+        priceLadder.add(price, volumeDown, volumeUp);
         double totalVolume = priceVolume[1] + priceVolume[2];
         if (totalVolume > pocVolume) {
             pocVolume = totalVolume;
@@ -53,11 +59,19 @@ public class PriceVolumeContainer {
         return priceVolumeMap.values();
     }
 
+    /**
+     * @return primitive price ladder for the footprint renderer
+     */
+    public PriceLadder getPriceLadder() {
+        return priceLadder;
+    }
+
     /**
      * Reset PriceVolume instance
      */
     public void clear() {
         priceVolumeMap.clear();
+        priceLadder.clear();
         pocVolume = -Double.MAX_VALUE;
         pocPrice = 0.0d;
     }
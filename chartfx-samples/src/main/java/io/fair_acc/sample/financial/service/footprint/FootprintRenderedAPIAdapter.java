@@ -5,6 +5,7 @@ import java.util.Collection;
 import io.fair_acc.chartfx.renderer.spi.financial.FootprintRenderer;
 import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.FootprintRendererAttributes;
 import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.NbColumnColorGroup;
+import io.fair_acc.chartfx.renderer.spi.financial.service.footprint.PriceLadder;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
 import io.fair_acc.sample.financial.dos.OHLCVItem;
 
@@ -43,6 +44,11 @@ public class FootprintRenderedAPIAdapter implements FootprintRenderer.IFootprint
         return ((OHLCVItem) ohlcvItem).getExtended().getPriceVolumeContainer().getPocPrice();
     }
 
+    @Override
+    public PriceLadder getPriceLadder(IOhlcvItem ohlcvItem) {
+        return ((OHLCVItem) ohlcvItem).getExtended().getPriceVolumeContainer().getPriceLadder();
+    }
+
     @Override
     public IOhlcvItem getPullbackColumn(IOhlcvItem ohlcvItem) {
         return ((OHLCVItem) ohlcvItem).getExtended().getPullbackOhlcvItem();